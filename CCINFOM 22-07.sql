@@ -34,6 +34,10 @@ DROP TABLE IF EXISTS technicians;
 DROP TABLE IF EXISTS parts;
 DROP TABLE IF EXISTS locations;
 DROP TABLE IF EXISTS staff;
+DROP TABLE IF EXISTS id_sequences;
+DROP TABLE IF EXISTS idempotency_keys;
+-- Migration history (util.MigrationRunner); reloading this script starts it over
+DROP TABLE IF EXISTS schema_migrations;
 
 SET FOREIGN_KEY_CHECKS = 1;
 
@@ -135,6 +139,7 @@ CREATE TABLE vehicles (
     vehicleType VARCHAR(25) NOT NULL,
     status VARCHAR(15) NOT NULL DEFAULT 'Available',
     rentalPrice DECIMAL (10, 2) NOT NULL,
+    version INT NOT NULL DEFAULT 0 COMMENT 'Bumped on every update; bookings compare-and-set on it',
 
     CONSTRAINT chk_vehicle_status
         CHECK (status IN ('Available', 'In Use', 'Maintenance', 'Inactive'))
@@ -201,6 +206,7 @@ CREATE TABLE rentals (
     startDateTime TIMESTAMP NULL COMMENT 'Actual rental start time set by admin',
     endDateTime TIMESTAMP NULL,
     status VARCHAR(15) NOT NULL DEFAULT 'Active',
+    version INT NOT NULL DEFAULT 0 COMMENT 'Bumped on every update; pickup compare-and-sets on it',
 
     CONSTRAINT fk_rental_customer
         FOREIGN KEY (customerID) REFERENCES customers(customerID)
@@ -221,7 +227,7 @@ CREATE TABLE rentals (
         CHECK (status IN ('Active', 'Completed', 'Cancelled'))
 );
 
-CREATE INDEX idx_rental_customer ON rentals(customerID);
+CREATE INDEX idx_rental_customer_status ON rentals(customerID, status, startDateTime);
 CREATE INDEX idx_rental_vehicle ON rentals(plateID);
 CREATE INDEX idx_rental_start_date ON rentals(startDateTime);
 
@@ -391,6 +397,7 @@ CREATE TABLE deployments (
 
 CREATE INDEX idx_deployment_vehicle ON deployments(plateID);
 CREATE INDEX idx_deployment_location ON deployments(locationID);
+CREATE INDEX idx_deployment_start_date ON deployments(startDate);
 
 
 -- =====================================================
@@ -404,6 +411,41 @@ CREATE TABLE staff (
     password VARCHAR(255) NOT NULL
 );
 
+-- =====================================================
+-- 15. ID SEQUENCES TABLE
+-- =====================================================
+-- Hands out blocks of IDs (RNT-, PEN-, DEP-, PART-, TECH-, CUST-) to the application
+-- next_value is the first number of the next unallocated block
+-- Rows are created automatically from the highest existing ID on first use
+CREATE TABLE id_sequences (
+    seq_name VARCHAR(20) PRIMARY KEY,
+    next_value BIGINT NOT NULL
+);
+
+-- =====================================================
+-- 16. IDEMPOTENCY KEYS TABLE
+-- =====================================================
+-- Remembers client submissions (booking, payment, penalty, return) by a key the
+-- screen generates once, so a retried or double-clicked submit returns the
+-- original result instead of writing again
+-- 'Pending' rows are short leases while the first submission runs;
+-- 'Completed' rows keep the result until expires_at (idempotency.ttl.minutes)
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR(64) PRIMARY KEY,
+    operation VARCHAR(40) NOT NULL,
+    status VARCHAR(15) NOT NULL DEFAULT 'Pending',
+    result_value VARCHAR(255),
+    expires_at TIMESTAMP NOT NULL,
+
+    CONSTRAINT chk_idempotency_status
+        CHECK (status IN ('Pending', 'Completed')),
+
+    INDEX idx_idempotency_expires (expires_at)
+);
+
+-- Upgrading an existing database (created before the version columns were added):
+-- run java util.MigrationRunner (sql/migrations/V2__row_version_columns.sql)
+
 -- for verification
 -- SHOW TABLES;
 -- DESCRIBE rentals;
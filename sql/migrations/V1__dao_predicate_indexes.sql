@@ -0,0 +1,40 @@
+-- =====================================================
+-- V1: Composite indexes for the DAOs' hot lookups
+-- =====================================================
+-- Applied on top of "CCINFOM 22-07.sql" by util.MigrationRunner.
+-- Each index matches the WHERE (and, where possible, ORDER BY) of the
+-- queries listed above it, equality columns first.
+--
+-- Single-column indexes that a new index starts with are dropped after it
+-- is created: the composite index serves the same lookups and the foreign key.
+-- =====================================================
+
+-- RentalDAO.hasActiveRental, getActiveRentalByVehicle, VehicleDAO.claimAvailableVehicle (NOT EXISTS):
+--   WHERE plateID = ? AND endDateTime IS NULL AND status = 'Active'
+CREATE INDEX idx_rental_vehicle_open ON rentals(plateID, status, endDateTime);
+DROP INDEX idx_rental_vehicle ON rentals;
+
+-- PenaltyDAO.getPenaltiesByRental, getTotalPenaltiesByRental:
+--   WHERE rentalID = ? AND status = 'Active' ORDER BY dateIssued DESC
+CREATE INDEX idx_penalty_rental_status ON penalty(rentalID, status, dateIssued);
+DROP INDEX idx_penalty_rental ON penalty;
+
+-- PenaltyDAO.getPenaltiesByPaymentStatus, hasUnpaidPenalties:
+--   WHERE penaltyStatus = ? AND status = 'Active' ORDER BY dateIssued DESC
+CREATE INDEX idx_penalty_payment_status_date ON penalty(penaltyStatus, status, dateIssued);
+DROP INDEX idx_penalty_payment_status ON penalty;
+
+-- PaymentDAO.getPaymentsByRental, getPlaceholderPaymentByRentalId:
+--   WHERE rentalID = ? AND status = 'Active' ORDER BY paymentDate ASC
+CREATE INDEX idx_payment_rental_status ON payments(rentalID, status, paymentDate);
+DROP INDEX idx_payment_rental ON payments;
+
+-- VehicleDAO.getVehiclesByLocation, claimAvailableVehicle:
+--   deployments WHERE locationID = ? AND endDate IS NULL, joined on plateID
+-- plateID is included so the join reads the index only (covering)
+CREATE INDEX idx_deployment_location_open ON deployments(locationID, endDate, plateID);
+DROP INDEX idx_deployment_location ON deployments;
+
+-- VehicleDAO.getAvailableVehicles:
+--   WHERE status = ? ORDER BY vehicleType, rentalPrice (no sort step)
+CREATE INDEX idx_vehicle_status_type_price ON vehicles(status, vehicleType, rentalPrice);
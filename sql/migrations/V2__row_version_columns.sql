@@ -0,0 +1,16 @@
+-- =====================================================
+-- V2: Row version columns for compare-and-set updates
+-- =====================================================
+-- Applied on top of "CCINFOM 22-07.sql" by util.MigrationRunner.
+-- VehicleDAO and RentalDAO bump version on every update; bookings and
+-- pickups only write if the version they read is still current.
+--
+-- Databases created from the current main script already have both
+-- columns; "duplicate column" is skipped as already done.
+-- =====================================================
+
+-- VehicleDAO.compareAndSetStatus (bookings, claimAvailableVehicle)
+ALTER TABLE vehicles ADD COLUMN version INT NOT NULL DEFAULT 0;
+
+-- RentalDAO.compareAndSetStart (pickup)
+ALTER TABLE rentals ADD COLUMN version INT NOT NULL DEFAULT 0;
@@ -0,0 +1,28 @@
+-- =====================================================
+-- V3: ID block allocation and idempotency key tables
+-- =====================================================
+-- Applied on top of "CCINFOM 22-07.sql" by util.MigrationRunner.
+-- Same definitions as sections 15 and 16 of the main script; IF NOT EXISTS
+-- makes this a no-op on databases created from the current script.
+-- =====================================================
+
+-- IdSequenceDAO.nextId: blocks of RNT-, PEN-, DEP-, PART-, TECH-, CUST- IDs
+-- Rows are created automatically from the highest existing ID on first use
+CREATE TABLE IF NOT EXISTS id_sequences (
+    seq_name VARCHAR(20) PRIMARY KEY,
+    next_value BIGINT NOT NULL
+);
+
+-- IdempotencyDAO (IdempotencyService): one row per client submission key
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key VARCHAR(64) PRIMARY KEY,
+    operation VARCHAR(40) NOT NULL,
+    status VARCHAR(15) NOT NULL DEFAULT 'Pending',
+    result_value VARCHAR(255),
+    expires_at TIMESTAMP NOT NULL,
+
+    CONSTRAINT chk_idempotency_status
+        CHECK (status IN ('Pending', 'Completed')),
+
+    INDEX idx_idempotency_expires (expires_at)
+);
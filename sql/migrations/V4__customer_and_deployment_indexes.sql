@@ -0,0 +1,17 @@
+-- =====================================================
+-- V4: Current-rental and deployment date indexes
+-- =====================================================
+-- Applied on top of "CCINFOM 22-07.sql" by util.MigrationRunner.
+-- Same indexes as the main script; on databases created from the current
+-- script they already exist and are skipped.
+-- =====================================================
+
+-- RentalDAO.getCurrentRentalForCustomer:
+--   WHERE customerID = ? AND status = 'Active' AND endDateTime IS NULL ORDER BY startDateTime DESC
+-- Its leading column also serves the customer foreign key, so idx_rental_customer goes
+CREATE INDEX idx_rental_customer_status ON rentals(customerID, status, startDateTime);
+DROP INDEX idx_rental_customer ON rentals;
+
+-- DeploymentDAO.getDeploymentsPage, getDeploymentsPageIncludingCancelled (keyset on startDate):
+--   ORDER BY startDate DESC
+CREATE INDEX idx_deployment_start_date ON deployments(startDate);
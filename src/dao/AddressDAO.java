@@ -6,7 +6,11 @@ import model.City;
 import util.DBConnection;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Data Access Object for ADDRESS table operations.
@@ -22,13 +26,12 @@ public class AddressDAO {
      * @return true if insertion successful, false otherwise
      */
     public boolean insertAddress(Address address) {
-        String sql = "INSERT INTO addresses (barangayID, street) VALUES (?, ?)";
+        String sql = INSERT_SQL;
         
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             
-            stmt.setInt(1, address.getBarangayID());
-            stmt.setString(2, address.getStreet());
+            bindInsert(stmt, address);
             
             int rowsAffected = stmt.executeUpdate();
             
@@ -49,6 +52,13 @@ public class AddressDAO {
         return false;
     }
     
+    private static final String INSERT_SQL = "INSERT INTO addresses (barangayID, street) VALUES (?, ?)";
+    
+    private static void bindInsert(PreparedStatement stmt, Address address) throws SQLException {
+        stmt.setInt(1, address.getBarangayID());
+        stmt.setString(2, address.getStreet());
+    }
+    
     /**
      * Update an existing address.
      * 
@@ -322,6 +332,116 @@ public class AddressDAO {
         return null;
     }
     
+    /**
+     * Find or create many addresses at once (batch version of findOrCreateAddress()).
+     * Used by imports, where hundreds of customers share a handful of streets.
+     * 
+     * - Existing addresses are looked up with one query per 500 distinct addresses
+     * - Missing ones are inserted in one batch, then looked up again for their IDs
+     * - Every Address in the list gets its addressID set; repeated
+     *   barangay/street pairs share one address row
+     * - Street matching ignores case, like MySQL's default collation
+     * 
+     * @param addresses Addresses to resolve (barangayID and street set)
+     * @return Number of addresses in the list that now have an addressID
+     */
+    public int findOrCreateAddresses(List<Address> addresses) {
+        Map<String, List<Address>> byKey = new LinkedHashMap<>();
+        int resolved = 0;
+        
+        for (Address address : addresses) {
+            if (address == null || address.getBarangayID() == null) {
+                continue;
+            }
+            if (address.getStreet() == null) {
+                // "street = NULL" never matches, so findOrCreateAddress() always inserts these too
+                if (insertAddress(address)) {
+                    resolved++;
+                }
+                continue;
+            }
+            byKey.computeIfAbsent(addressKey(address.getBarangayID(), address.getStreet()),
+                    key -> new ArrayList<>()).add(address);
+        }
+        if (byKey.isEmpty()) {
+            return resolved;
+        }
+        
+        List<Address> distinct = new ArrayList<>();
+        for (List<Address> group : byKey.values()) {
+            distinct.add(group.get(0));
+        }
+        Map<String, Integer> ids = findAddressIDs(distinct);
+        
+        List<Address> missing = new ArrayList<>();
+        for (Address address : distinct) {
+            if (!ids.containsKey(addressKey(address.getBarangayID(), address.getStreet()))) {
+                missing.add(new Address(null, address.getBarangayID(), address.getStreet()));
+            }
+        }
+        if (!missing.isEmpty()) {
+            BatchInsert.execute("address", INSERT_SQL, missing, AddressDAO::bindInsert);
+            ids.putAll(findAddressIDs(missing));
+        }
+        
+        for (Map.Entry<String, List<Address>> entry : byKey.entrySet()) {
+            Integer addressID = ids.get(entry.getKey());
+            if (addressID != null) {
+                for (Address address : entry.getValue()) {
+                    address.setAddressID(addressID);
+                    resolved++;
+                }
+            }
+        }
+        return resolved;
+    }
+    
+    /**
+     * Look up the IDs of existing addresses, oldest first when there are duplicates.
+     * 
+     * @param addresses Distinct addresses with barangayID and street set
+     * @return addressKey -> addressID for the addresses that exist
+     */
+    private Map<String, Integer> findAddressIDs(List<Address> addresses) {
+        Map<String, Integer> ids = new HashMap<>();
+        
+        try (Connection conn = DBConnection.getConnection()) {
+            for (int start = 0; start < addresses.size(); start += BulkUpdate.MAX_IN_LIST) {
+                List<Address> chunk = addresses.subList(start, Math.min(start + BulkUpdate.MAX_IN_LIST, addresses.size()));
+                int slots = BulkUpdate.paddedSize(chunk.size());
+                String sql = "SELECT addressID, barangayID, street FROM addresses " +
+                             "WHERE (barangayID, street) IN (" +
+                             String.join(", ", Collections.nCopies(slots, "(?, ?)")) + ") " +
+                             "ORDER BY addressID";
+                
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    int param = 1;
+                    for (int i = 0; i < slots; i++) {
+                        // Unused slots repeat the last address
+                        Address address = chunk.get(Math.min(i, chunk.size() - 1));
+                        stmt.setInt(param++, address.getBarangayID());
+                        stmt.setString(param++, address.getStreet());
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            ids.putIfAbsent(addressKey(rs.getInt("barangayID"), rs.getString("street")),
+                                    rs.getInt("addressID"));
+                        }
+                    }
+                }
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error finding addresses: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return ids;
+    }
+    
+    private static String addressKey(int barangayID, String street) {
+        return barangayID + "|" + street.toLowerCase();
+    }
+    
     /**
      * Helper method to extract Address object from ResultSet.
      * 
@@ -0,0 +1,81 @@
+package dao;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Asynchronous facade over the DAO layer.
+ *
+ * PURPOSE: Lets GUI controllers run DAO calls off the JavaFX Application Thread.
+ * Any DAO or service call can be wrapped:
+ *
+ *   AsyncDAO.supply(() -> vehicleDAO.getVehiclesByStatus("Available"))
+ *           .thenAccept(...);
+ *
+ * Independent lookups run in parallel when started together:
+ *
+ *   CompletableFuture<List<Location>> locations = AsyncDAO.supply(locationDAO::getAllLocations);
+ *   CompletableFuture<List<Vehicle>> vehicles = AsyncDAO.supply(vehicleDAO::getAvailableVehicles);
+ *
+ * EXECUTOR:
+ * - Java 21+: one virtual thread per task
+ * - Older JDKs: a fixed pool of daemon threads
+ * Either way, the number of open connections is still capped by the connection pool.
+ *
+ * NOTE: Results complete on a background thread. GUI code should update
+ * controls through main.gui.FxAsync, which hands results back to the FX thread.
+ */
+public final class AsyncDAO {
+
+    private static final ExecutorService EXECUTOR = createExecutor();
+
+    private AsyncDAO() {
+    }
+
+    /**
+     * Run a DAO query in the background.
+     *
+     * @param query DAO call producing a result
+     * @return Future completed with the query result
+     */
+    public static <T> CompletableFuture<T> supply(Supplier<T> query) {
+        return CompletableFuture.supplyAsync(query, EXECUTOR);
+    }
+
+    /**
+     * Run a DAO update in the background.
+     *
+     * @param action DAO call with no result
+     * @return Future completed when the call finishes
+     */
+    public static CompletableFuture<Void> run(Runnable action) {
+        return CompletableFuture.runAsync(action, EXECUTOR);
+    }
+
+    /**
+     * Use virtual threads when the JDK has them, otherwise a bounded daemon pool.
+     * Looked up reflectively so the project still builds on Java 11/17.
+     */
+    private static ExecutorService createExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            // Not available on this JDK (or preview-only)
+        }
+
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory daemonFactory = r -> {
+            Thread t = new Thread(r, "dao-async-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+        return Executors.newFixedThreadPool(threads, daemonFactory);
+    }
+}
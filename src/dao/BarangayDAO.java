@@ -30,6 +30,7 @@ public class BarangayDAO {
             stmt.setString(2, barangay.getName());
             
             int rowsAffected = stmt.executeUpdate();
+            ReferenceDataCache.invalidateAddressData();
             
             if (rowsAffected > 0) {
                 // Retrieve the auto-generated barangayID
@@ -65,6 +66,7 @@ public class BarangayDAO {
             stmt.setInt(3, barangay.getBarangayID());
             
             int rowsAffected = stmt.executeUpdate();
+            ReferenceDataCache.invalidateAddressData();
             return rowsAffected > 0;
             
         } catch (SQLException e) {
@@ -89,6 +91,7 @@ public class BarangayDAO {
             
             stmt.setInt(1, barangayID);
             int rowsAffected = stmt.executeUpdate();
+            ReferenceDataCache.invalidateAddressData();
             return rowsAffected > 0;
             
         } catch (SQLException e) {
@@ -0,0 +1,157 @@
+package dao;
+
+import util.DBConnection;
+import util.UnitOfWork;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Shared JDBC batching for the DAOs' bulk insert methods.
+ *
+ * HOW IT WORKS:
+ * - Rows are sent in chunks of db.batch.size (default 500) with addBatch/executeBatch;
+ *   on MySQL, rewriteBatchedStatements turns each chunk into a few multi-row INSERTs
+ * - Outside a UnitOfWork, each chunk is committed on its own, so a backfill of
+ *   thousands of rows does not hold one huge transaction
+ * - Inside a UnitOfWork, rows join the caller's transaction and nothing is committed here
+ * - If a chunk fails (duplicate key, bad foreign key, ...), the rows that did not
+ *   go in are retried one by one, so every row gets its own result
+ */
+final class BatchInsert {
+
+    private static final int DEFAULT_BATCH_SIZE = 500;
+
+    /**
+     * Copies one row's fields into the INSERT's parameters.
+     */
+    interface RowBinder<T> {
+        void bind(PreparedStatement stmt, T row) throws SQLException;
+    }
+
+    private BatchInsert() {
+    }
+
+    /**
+     * Insert rows in batches.
+     *
+     * @param label Record name for log messages (e.g., "rental")
+     * @param sql INSERT statement with one row of parameters
+     * @param rows Rows to insert (null entries are reported as failures)
+     * @param binder Sets the parameters for one row
+     * @return Per-row result, in the same order as rows
+     */
+    static <T> BatchResult execute(String label, String sql, List<T> rows, RowBinder<T> binder) {
+        BatchResult result = new BatchResult(rows.size());
+        if (rows.isEmpty()) {
+            return result;
+        }
+
+        int batchSize = getBatchSize();
+        boolean ownTransaction = !UnitOfWork.isActive();
+        int committed = 0;
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            if (ownTransaction) {
+                conn.setAutoCommit(false);
+            }
+
+            for (int start = 0; start < rows.size(); start += batchSize) {
+                int end = Math.min(start + batchSize, rows.size());
+                runChunk(stmt, rows, start, end, binder, result);
+                if (ownTransaction) {
+                    conn.commit();
+                    committed = end;
+                }
+            }
+
+        } catch (SQLException e) {
+            // Connection-level failure: an uncommitted chunk is rolled back when the
+            // connection is released, so only committed rows really went in
+            System.err.println("Error in bulk " + label + " insert: " + e.getMessage());
+            e.printStackTrace();
+            for (int i = ownTransaction ? committed : 0; i < rows.size(); i++) {
+                if (ownTransaction || (!result.isSucceeded(i) && result.getError(i) == null)) {
+                    result.markFailed(i, e.getMessage());
+                }
+            }
+        }
+
+        System.out.println("Bulk " + label + " insert: " + result.getSuccessCount() + " of " +
+                rows.size() + " row(s) inserted");
+        return result;
+    }
+
+    private static <T> void runChunk(PreparedStatement stmt, List<T> rows, int start, int end,
+                                     RowBinder<T> binder, BatchResult result) throws SQLException {
+        // Positions in rows of what was actually added to the batch
+        int[] batched = new int[end - start];
+        int count = 0;
+
+        for (int i = start; i < end; i++) {
+            T row = rows.get(i);
+            if (row == null) {
+                result.markFailed(i, "Row is null");
+                continue;
+            }
+            binder.bind(stmt, row);
+            stmt.addBatch();
+            batched[count++] = i;
+        }
+        if (count == 0) {
+            return;
+        }
+
+        int[] updateCounts;
+        try {
+            updateCounts = stmt.executeBatch();
+        } catch (BatchUpdateException e) {
+            updateCounts = e.getUpdateCounts() != null ? e.getUpdateCounts() : new int[0];
+            stmt.clearBatch();
+        }
+
+        for (int k = 0; k < count; k++) {
+            int index = batched[k];
+            boolean inserted = k < updateCounts.length
+                    && (updateCounts[k] > 0 || updateCounts[k] == Statement.SUCCESS_NO_INFO);
+            if (inserted) {
+                result.markSucceeded(index);
+            } else {
+                retrySingle(stmt, rows.get(index), index, binder, result);
+            }
+        }
+    }
+
+    /**
+     * Insert one row on its own, to find out whether (and why) it fails.
+     */
+    private static <T> void retrySingle(PreparedStatement stmt, T row, int index,
+                                        RowBinder<T> binder, BatchResult result) {
+        try {
+            binder.bind(stmt, row);
+            if (stmt.executeUpdate() > 0) {
+                result.markSucceeded(index);
+            } else {
+                result.markFailed(index, "No row inserted");
+            }
+        } catch (SQLException e) {
+            result.markFailed(index, e.getMessage());
+        }
+    }
+
+    private static int getBatchSize() {
+        String value = DBConnection.getProperty("db.batch.size", String.valueOf(DEFAULT_BATCH_SIZE));
+        try {
+            int size = Integer.parseInt(value.trim());
+            return size > 0 ? size : DEFAULT_BATCH_SIZE;
+        } catch (NumberFormatException e) {
+            return DEFAULT_BATCH_SIZE;
+        }
+    }
+}
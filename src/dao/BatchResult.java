@@ -0,0 +1,96 @@
+package dao;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk insert: one success flag (and error message) per input row.
+ *
+ * Rows are reported in the same order as the list passed to the DAO, so
+ * callers can match failures back to their source records:
+ *
+ *   BatchResult result = rentalDAO.insertRentals(rentals);
+ *   for (int i : result.getFailedIndexes()) {
+ *       System.err.println(rentals.get(i).getRentalID() + ": " + result.getError(i));
+ *   }
+ */
+public class BatchResult {
+
+    private final boolean[] succeeded;
+    private final String[] errors;
+
+    BatchResult(int size) {
+        this.succeeded = new boolean[size];
+        this.errors = new String[size];
+    }
+
+    void markSucceeded(int index) {
+        succeeded[index] = true;
+        errors[index] = null;
+    }
+
+    void markFailed(int index, String error) {
+        succeeded[index] = false;
+        errors[index] = error;
+    }
+
+    /**
+     * @return Number of rows submitted
+     */
+    public int size() {
+        return succeeded.length;
+    }
+
+    /**
+     * @param index Position of the row in the submitted list
+     * @return true if that row was inserted
+     */
+    public boolean isSucceeded(int index) {
+        return succeeded[index];
+    }
+
+    /**
+     * @param index Position of the row in the submitted list
+     * @return Database error for that row, or null if it was inserted
+     */
+    public String getError(int index) {
+        return errors[index];
+    }
+
+    public int getSuccessCount() {
+        int count = 0;
+        for (boolean ok : succeeded) {
+            if (ok) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public int getFailureCount() {
+        return size() - getSuccessCount();
+    }
+
+    public boolean isAllSucceeded() {
+        return getFailureCount() == 0;
+    }
+
+    /**
+     * @return Positions of the rows that were NOT inserted
+     */
+    public List<Integer> getFailedIndexes() {
+        List<Integer> failed = new ArrayList<>();
+        for (int i = 0; i < succeeded.length; i++) {
+            if (!succeeded[i]) {
+                failed.add(i);
+            }
+        }
+        return failed;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResult{rows=" + size() + ", inserted=" + getSuccessCount() +
+               ", failed=" + getFailureCount() + "}";
+    }
+}
@@ -0,0 +1,92 @@
+package dao;
+
+import util.DBConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Shared multi-get for the DAOs' getXByIds methods.
+ *
+ * HOW IT WORKS:
+ * - Reads many rows by primary key with "WHERE id IN (?, ?, ...)" instead of one
+ *   SELECT (and one round trip) per ID
+ * - Same chunking and IN-list padding as BulkUpdate, so the statement cache sees
+ *   a few fixed SQL texts
+ * - Duplicate and null IDs are dropped; IDs with no matching row are simply absent
+ *   from the result map
+ */
+final class BulkLookup {
+
+    private static final String IDS = "{ids}";
+
+    private BulkLookup() {
+    }
+
+    /**
+     * Read rows for a collection of IDs.
+     *
+     * @param label Description for error messages (e.g., "parts")
+     * @param sqlTemplate SELECT with an {ids} marker where the IN condition goes
+     * @param column Key column (e.g., "part_id"); also used as the map key
+     * @param ids IDs to look up
+     * @param mapper Builds one model object from a row
+     * @return Map of ID to model object (empty if ids is empty), or null if the query failed
+     */
+    static <T> Map<String, T> byIds(String label, String sqlTemplate, String column,
+                                    Collection<String> ids, RowMapper<T> mapper) {
+        Map<String, T> found = new HashMap<>();
+        List<String> unique = distinct(ids);
+        if (unique.isEmpty()) {
+            return found;
+        }
+
+        try (Connection conn = DBConnection.getConnection()) {
+            for (int start = 0; start < unique.size(); start += BulkUpdate.MAX_IN_LIST) {
+                List<String> chunk = unique.subList(start, Math.min(start + BulkUpdate.MAX_IN_LIST, unique.size()));
+                int slots = BulkUpdate.paddedSize(chunk.size());
+                String sql = sqlTemplate.replace(IDS,
+                        column + " IN (" + String.join(", ", Collections.nCopies(slots, "?")) + ")");
+
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < slots; i++) {
+                        stmt.setString(i + 1, chunk.get(Math.min(i, chunk.size() - 1)));
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            found.put(rs.getString(column), mapper.map(rs));
+                        }
+                    }
+                }
+            }
+            return found;
+
+        } catch (SQLException e) {
+            System.err.println("Error looking up " + label + " by ID: " + e.getMessage());
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    private static List<String> distinct(Collection<String> ids) {
+        Set<String> unique = new LinkedHashSet<>();
+        if (ids != null) {
+            for (String id : ids) {
+                if (id != null) {
+                    unique.add(id);
+                }
+            }
+        }
+        return new ArrayList<>(unique);
+    }
+}
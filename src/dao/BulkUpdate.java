@@ -0,0 +1,140 @@
+package dao;
+
+import util.DBConnection;
+import util.UnitOfWork;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Shared set-based UPDATE for the DAOs' bulk status changes.
+ *
+ * HOW IT WORKS:
+ * - Keys are sent as "WHERE key IN (?, ?, ...)", up to 500 keys per UPDATE,
+ *   instead of one UPDATE (and one round trip) per record
+ * - The IN list is padded (by repeating the last key) to a few fixed sizes,
+ *   so the statement cache sees the same SQL text every time
+ * - All chunks run in one UnitOfWork: either every chunk is applied or none is
+ * - Duplicate and null keys are dropped
+ */
+final class BulkUpdate {
+
+    static final int MAX_IN_LIST = 500;
+    private static final int MIN_IN_LIST = 8;
+    private static final String KEYS = "{keys}";
+
+    private BulkUpdate() {
+    }
+
+    /**
+     * Run an UPDATE for a collection of single-column keys.
+     *
+     * @param label Description for log messages (e.g., "vehicle deactivation")
+     * @param sqlTemplate UPDATE with a {keys} marker where the IN condition goes
+     * @param column Key column (e.g., "plateID")
+     * @param ids Keys to update
+     * @return Number of rows changed, or -1 if the update failed (nothing changed)
+     */
+    static int byIds(String label, String sqlTemplate, String column, Collection<String> ids) {
+        List<String[]> keys = new ArrayList<>();
+        if (ids != null) {
+            for (String id : ids) {
+                keys.add(new String[] { id });
+            }
+        }
+        return byKeys(label, sqlTemplate, column, keys);
+    }
+
+    /**
+     * Run an UPDATE for a collection of keys, which may be composite.
+     *
+     * @param label Description for log messages
+     * @param sqlTemplate UPDATE with a {keys} marker where the IN condition goes
+     * @param keyColumns Key column, or "(col1, col2)" for a composite key
+     * @param keys Key values; each array has one value per key column
+     * @return Number of rows changed, or -1 if the update failed (nothing changed)
+     */
+    static int byKeys(String label, String sqlTemplate, String keyColumns, List<String[]> keys) {
+        List<String[]> unique = distinct(keys);
+        if (unique.isEmpty()) {
+            return 0;
+        }
+
+        int changed = UnitOfWork.execute(
+                () -> runChunks(label, sqlTemplate, keyColumns, unique),
+                count -> count >= 0,
+                -1);
+        if (changed >= 0) {
+            System.out.println("Bulk " + label + ": " + changed + " of " + unique.size() + " record(s) updated");
+        }
+        return changed;
+    }
+
+    private static int runChunks(String label, String sqlTemplate, String keyColumns, List<String[]> keys) {
+        int width = keys.get(0).length;
+        int total = 0;
+
+        try (Connection conn = DBConnection.getConnection()) {
+            for (int start = 0; start < keys.size(); start += MAX_IN_LIST) {
+                List<String[]> chunk = keys.subList(start, Math.min(start + MAX_IN_LIST, keys.size()));
+                int slots = paddedSize(chunk.size());
+                String sql = sqlTemplate.replace(KEYS, keyColumns + " IN (" + placeholders(slots, width) + ")");
+
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    int param = 1;
+                    for (int i = 0; i < slots; i++) {
+                        String[] key = chunk.get(Math.min(i, chunk.size() - 1));
+                        for (String value : key) {
+                            stmt.setString(param++, value);
+                        }
+                    }
+                    total += stmt.executeUpdate();
+                }
+            }
+            return total;
+
+        } catch (SQLException e) {
+            System.err.println("Error in bulk " + label + ": " + e.getMessage());
+            e.printStackTrace();
+            return -1;
+        }
+    }
+
+    /**
+     * Smallest power of two (at least 8) that fits the chunk, capped at MAX_IN_LIST.
+     */
+    static int paddedSize(int size) {
+        int slots = MIN_IN_LIST;
+        while (slots < size) {
+            slots *= 2;
+        }
+        return Math.min(slots, MAX_IN_LIST);
+    }
+
+    private static String placeholders(int slots, int width) {
+        String one = width == 1 ? "?" : "(" + String.join(", ", Collections.nCopies(width, "?")) + ")";
+        return String.join(", ", Collections.nCopies(slots, one));
+    }
+
+    private static List<String[]> distinct(List<String[]> keys) {
+        Set<List<String>> seen = new LinkedHashSet<>();
+        List<String[]> unique = new ArrayList<>();
+        for (String[] key : keys) {
+            if (key == null || Arrays.asList(key).contains(null)) {
+                continue;
+            }
+            if (seen.add(Arrays.asList(key))) {
+                unique.add(key);
+            }
+        }
+        return unique;
+    }
+}
@@ -26,6 +26,7 @@ public class CityDAO {
             stmt.setString(1, city.getName());
             
             int rowsAffected = stmt.executeUpdate();
+            ReferenceDataCache.invalidateAddressData();
             
             if (rowsAffected > 0) {
                 // Retrieve the auto-generated cityID
@@ -60,6 +61,7 @@ public class CityDAO {
             stmt.setInt(2, city.getCityID());
             
             int rowsAffected = stmt.executeUpdate();
+            ReferenceDataCache.invalidateAddressData();
             return rowsAffected > 0;
             
         } catch (SQLException e) {
@@ -84,6 +86,7 @@ public class CityDAO {
             
             stmt.setInt(1, cityID);
             int rowsAffected = stmt.executeUpdate();
+            ReferenceDataCache.invalidateAddressData();
             return rowsAffected > 0;
             
         } catch (SQLException e) {
@@ -1,37 +1,33 @@
 package dao;
 
-import model.Customer;
 import model.Address;
+import model.Barangay;
+import model.City;
+import model.Customer;
 import util.DBConnection;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Data Access Object for CUSTOMER table operations.
  */
 public class CustomerDAO {
+
+    // Prepared ahead of time by DataWarmup (client login)
+    static final String SELECT_BY_ID_SQL = "SELECT * FROM customers WHERE customerID = ?";
     
-    private AddressDAO addressDAO = new AddressDAO();
+    private IdSequenceDAO idSequenceDAO = new IdSequenceDAO();
     
     public boolean insertCustomer(Customer customer) {
-        String sql = "INSERT INTO customers (customerID, lastName, firstName, " +
-                    "contactNumber, addressID, emailAddress, status) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        String sql = INSERT_SQL;
         
         try (Connection conn = DBConnection.getConnection();
             PreparedStatement stmt = conn.prepareStatement(sql)) {
             
-            stmt.setString(1, customer.getCustomerID());
-            stmt.setString(2, customer.getLastName());
-            stmt.setString(3, customer.getFirstName());
-            stmt.setString(4, customer.getContactNumber());
-            if (customer.getAddressID() != null) {
-                stmt.setInt(5, customer.getAddressID());
-            } else {
-                stmt.setNull(5, Types.INTEGER);
-            }
-            stmt.setString(6, customer.getEmailAddress());
-            stmt.setString(7, "Active"); // Default to Active
+            bindInsert(stmt, customer);
             
             int rowsAffected = stmt.executeUpdate();
             return rowsAffected > 0;
@@ -43,6 +39,55 @@ public class CustomerDAO {
         }
     }
     
+    /**
+     * Insert many customers using JDBC batching (for imports).
+     * Customers without an ID get one from the ID sequence (all in one call, so
+     * they never share an ID). Status is always 'Active', the same as insertCustomer().
+     * 
+     * @param customers Customers to insert (addressID must already be resolved)
+     * @return Per-row result, in the same order as customers
+     */
+    public BatchResult insertCustomers(List<Customer> customers) {
+        List<Customer> unnumbered = new ArrayList<>();
+        for (Customer customer : customers) {
+            if (customer != null && (customer.getCustomerID() == null || customer.getCustomerID().isEmpty())) {
+                unnumbered.add(customer);
+            }
+        }
+        if (!unnumbered.isEmpty()) {
+            List<String> ids = idSequenceDAO.nextIds(IdSequenceDAO.Sequence.CUSTOMER, unnumbered.size());
+            if (ids == null) {
+                BatchResult result = new BatchResult(customers.size());
+                for (int i = 0; i < customers.size(); i++) {
+                    result.markFailed(i, "Could not generate customer IDs");
+                }
+                return result;
+            }
+            for (int i = 0; i < unnumbered.size(); i++) {
+                unnumbered.get(i).setCustomerID(ids.get(i));
+            }
+        }
+        return BatchInsert.execute("customer", INSERT_SQL, customers, CustomerDAO::bindInsert);
+    }
+    
+    private static final String INSERT_SQL =
+            "INSERT INTO customers (customerID, lastName, firstName, " +
+            "contactNumber, addressID, emailAddress, status) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    
+    private static void bindInsert(PreparedStatement stmt, Customer customer) throws SQLException {
+        stmt.setString(1, customer.getCustomerID());
+        stmt.setString(2, customer.getLastName());
+        stmt.setString(3, customer.getFirstName());
+        stmt.setString(4, customer.getContactNumber());
+        if (customer.getAddressID() != null) {
+            stmt.setInt(5, customer.getAddressID());
+        } else {
+            stmt.setNull(5, Types.INTEGER);
+        }
+        stmt.setString(6, customer.getEmailAddress());
+        stmt.setString(7, "Active"); // Default to Active
+    }
+    
     public boolean updateCustomer(Customer customer) {
         String sql = "UPDATE customers SET lastName = ?, firstName = ?, " +
                      "contactNumber = ?, addressID = ?, emailAddress = ?, status = ? WHERE customerID = ?";
@@ -131,7 +176,7 @@ public class CustomerDAO {
     }
     
     public Customer getCustomerById(String customerID) {
-        String sql = "SELECT * FROM customers WHERE customerID = ?";
+        String sql = SELECT_BY_ID_SQL;
         
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -292,6 +337,16 @@ public class CustomerDAO {
         return customer;
     }
     
+    // Customer plus address, barangay and city in one row. LEFT JOINs keep
+    // customers without an address; the address is attached only when the
+    // whole chain (address -> barangay -> city) exists, as in getAddressWithFullDetails()
+    private static final String WITH_ADDRESS_SQL =
+            "SELECT c.*, a.street, b.barangayID, b.name AS barangayName, ci.cityID, ci.name AS cityName " +
+            "FROM customers c " +
+            "LEFT JOIN addresses a ON c.addressID = a.addressID " +
+            "LEFT JOIN barangays b ON a.barangayID = b.barangayID " +
+            "LEFT JOIN cities ci ON b.cityID = ci.cityID";
+    
     /**
      * Get customer with full address details (including barangay and city).
      * Use this method when you need complete address information.
@@ -300,33 +355,143 @@ public class CustomerDAO {
      * @return Customer object with Address information, null if not found
      */
     public Customer getCustomerWithAddress(String customerID) {
-        Customer customer = getCustomerById(customerID);
-        if (customer != null && customer.getAddressID() != null) {
-            Address address = addressDAO.getAddressWithFullDetails(customer.getAddressID());
-            customer.setAddress(address);
+        String sql = WITH_ADDRESS_SQL + " WHERE c.customerID = ?";
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setString(1, customerID);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return extractCustomerWithAddress(rs);
+                }
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error getting customer with address: " + e.getMessage());
+            e.printStackTrace();
         }
-        return customer;
+        return null;
     }
     
     /**
-     * Get all customers with full address details.
+     * Get all active customers with full address details.
      * Use this method when you need complete address information for reporting.
+     * One JOIN query, instead of one address lookup per customer.
      * 
      * @return List of customers with Address information
      */
     public List<Customer> getAllCustomersWithAddress() {
-        List<Customer> customers = getAllCustomers();
-        for (Customer customer : customers) {
-            if (customer.getAddressID() != null) {
-                Address address = addressDAO.getAddressWithFullDetails(customer.getAddressID());
-                customer.setAddress(address);
+        return getCustomersWithAddress(WITH_ADDRESS_SQL + " WHERE c.status = 'Active'", null);
+    }
+    
+    /**
+     * Get ALL customers (including inactive) with full address details.
+     * 
+     * @return List of customers with Address information
+     */
+    public List<Customer> getAllCustomersWithAddressIncludingInactive() {
+        return getCustomersWithAddress(WITH_ADDRESS_SQL, null);
+    }
+    
+    /**
+     * Get customers by status, with full address details.
+     * 
+     * @param status "Active" or "Inactive"
+     * @return List of customers with Address information
+     */
+    public List<Customer> getCustomersWithAddressByStatus(String status) {
+        return getCustomersWithAddress(WITH_ADDRESS_SQL + " WHERE c.status = ?", status);
+    }
+    
+    /**
+     * Run an action on every active customer with address details, without
+     * loading them all into memory (exports of large customer bases).
+     * Customers are read in customerID order, one fetch batch at a time.
+     * 
+     * @param action Called once per customer
+     * @return Number of customers processed, or -1 if the query failed
+     */
+    public long forEachCustomerWithAddress(Consumer<? super Customer> action) {
+        return RowCursor.forEach("customers", WITH_ADDRESS_SQL + " WHERE c.status = 'Active' ORDER BY c.customerID",
+                                 this::extractCustomerWithAddress, action);
+    }
+    
+    /**
+     * Lazy stream of active customers with address details, in customerID order.
+     * Holds a database connection until closed, so always use try-with-resources.
+     * 
+     * @return Stream of customers (empty if the query failed)
+     */
+    public Stream<Customer> streamAllCustomersWithAddress() {
+        return RowCursor.stream("customers", WITH_ADDRESS_SQL + " WHERE c.status = 'Active' ORDER BY c.customerID",
+                                this::extractCustomerWithAddress);
+    }
+    
+    private List<Customer> getCustomersWithAddress(String sql, String status) {
+        List<Customer> customers = new ArrayList<>();
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            if (status != null) {
+                stmt.setString(1, status);
+            }
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    customers.add(extractCustomerWithAddress(rs));
+                }
             }
+            
+        } catch (SQLException e) {
+            System.err.println("Error getting customers with address: " + e.getMessage());
+            e.printStackTrace();
         }
         return customers;
     }
+    
+    /**
+     * Build a Customer with its Address -> Barangay -> City graph from a WITH_ADDRESS_SQL row.
+     */
+    private Customer extractCustomerWithAddress(ResultSet rs) throws SQLException {
+        Customer customer = extractCustomerFromResultSet(rs);
+        
+        int cityID = rs.getInt("cityID");
+        if (customer.getAddressID() == null || rs.wasNull()) {
+            return customer;
+        }
+        
+        City city = new City();
+        city.setCityID(cityID);
+        city.setName(rs.getString("cityName"));
+        
+        Barangay barangay = new Barangay();
+        barangay.setBarangayID(rs.getInt("barangayID"));
+        barangay.setCityID(cityID);
+        barangay.setName(rs.getString("barangayName"));
+        barangay.setCity(city);
+        
+        Address address = new Address();
+        address.setAddressID(customer.getAddressID());
+        address.setBarangayID(barangay.getBarangayID());
+        address.setStreet(rs.getString("street"));
+        address.setBarangay(barangay);
+        
+        customer.setAddress(address);
+        return customer;
+    }
 
+    /**
+     * Next customer number after the highest stored ID.
+     * Longer IDs sort first so CUST-1000 beats CUST-999; only one row is read.
+     *
+     * @return Next customer number (1 if there are no customers)
+     */
     public int getNextCustomerNumber() {
-        String sql = "SELECT customerID FROM customers ORDER BY customerID DESC LIMIT 1";
+        String sql = "SELECT customerID FROM customers WHERE customerID LIKE 'CUST-%' " +
+                     "ORDER BY LENGTH(customerID) DESC, customerID DESC LIMIT 1";
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
@@ -336,60 +501,33 @@ public class CustomerDAO {
                 String numericPart = lastID.substring(5);
                 return Integer.parseInt(numericPart) + 1;
             }
-        } catch (SQLException e) {
+        } catch (SQLException | NumberFormatException e) {
             e.printStackTrace();
         }
         return 1;
     }
 
     public String generateCustomerID() {
-        int nextNum = getNextCustomerNumber();
-        return String.format("CUST-%03d", nextNum);
+        return generateNextCustomerID();
     }
 
     /**
      * Generate the next sequential customer ID.
      * Format: CUST-XXX where XXX is a 3-digit number (001, 002, 003, etc.)
-     * Finds the highest existing ID (including inactive) and increments by 1.
+     * Taken from the id_sequences block allocator, so concurrent signups never
+     * get the same ID and no customer rows are loaded. If the sequence table is
+     * unavailable, falls back to the highest stored ID.
      *
      * @return Next customer ID (e.g., "CUST-021")
      */
     public String generateNextCustomerID() {
-        try {
-            // Get all customers including inactive to ensure no ID collisions
-            List<Customer> allCustomers = getAllCustomersIncludingInactive();
-
-            int maxNumber = 0;
-
-            // Find the highest number from existing IDs
-            for (Customer customer : allCustomers) {
-                String id = customer.getCustomerID();
-                // Extract number from format "CUST-XXX"
-                if (id != null && id.startsWith("CUST-") && id.length() >= 8) {
-                    try {
-                        String numberPart = id.substring(5); // Get part after "CUST-"
-                        int number = Integer.parseInt(numberPart);
-                        if (number > maxNumber) {
-                            maxNumber = number;
-                        }
-                    } catch (NumberFormatException e) {
-                        // Skip IDs that don't have numeric suffix
-                        continue;
-                    }
-                }
-            }
-
-            // Generate next ID
-            int nextNumber = maxNumber + 1;
-            String nextID = String.format("CUST-%03d", nextNumber);
-            System.out.println("CustomerDAO: Generated next Customer ID: " + nextID);
-            return nextID;
-
-        } catch (Exception e) {
-            // Fallback: use timestamp-based ID if something goes wrong
-            System.err.println("Error generating customer ID, using fallback: " + e.getMessage());
-            long timestamp = System.currentTimeMillis();
-            return String.format("CUST-%03d", (int)(timestamp % 1000));
+        String allocated = idSequenceDAO.nextId(IdSequenceDAO.Sequence.CUSTOMER);
+        if (allocated != null) {
+            return allocated;
         }
+
+        String nextID = String.format("CUST-%03d", getNextCustomerNumber());
+        System.out.println("CustomerDAO: Generated next Customer ID: " + nextID);
+        return nextID;
     }
 }
\ No newline at end of file
@@ -10,29 +10,74 @@ import java.util.Map;
 
 public class DashboardDAO {
 
+    // Counts loaded during startup warm-up are used by the first dashboard
+    // that opens within this many milliseconds, then discarded
+    private static final long PRELOAD_MAX_AGE_MS = 60 * 1000L;
+
+    private static Map<String, Integer> preloadedCounts;
+    private static long preloadedAt;
+
+    static final String RECORD_COUNTS_SQL =
+            "SELECT 'Customers' as TableName, " + "COUNT(*) as RecordCount FROM customers " +
+            "UNION ALL " +
+            "SELECT 'Vehicles', COUNT(*) FROM vehicles " +
+            "UNION ALL " +
+            "SELECT 'Locations', COUNT(*) FROM locations " +
+            "UNION ALL " +
+            "SELECT 'Technicians', COUNT(*) FROM technicians " +
+            "UNION ALL " +
+            "SELECT 'Parts', COUNT(*) FROM parts " +
+            "UNION ALL " +
+            "SELECT 'Rentals', COUNT(*) FROM rentals " +
+            "UNION ALL " +
+            "SELECT 'Payments', COUNT(*) FROM payments " +
+            "UNION ALL " +
+            "SELECT 'Maintenance', COUNT(*) FROM maintenance " +
+            "UNION ALL " +
+            "SELECT 'Maintenance_Cheque', COUNT(*) FROM maintenance_cheque " +
+            "UNION ALL " +
+            "SELECT 'Penalties', COUNT(*) FROM penalty";
+
+    /**
+     * Get the number of records in each main table.
+     * The first call after startup may use the counts preloaded by DataWarmup.
+     *
+     * @return Map of table label (e.g., "Customers") to record count
+     */
     public Map<String, Integer> getRecordCounts(){
-        Map<String, Integer> counts = new HashMap<>();
+        Map<String, Integer> preloaded = takePreloadedCounts();
+        if (preloaded != null) {
+            return preloaded;
+        }
+        return queryRecordCounts();
+    }
+
+    /**
+     * Run the count query now and keep the result for the first dashboard.
+     * Called by DataWarmup while the login screen is shown.
+     */
+    public void preloadRecordCounts() {
+        Map<String, Integer> counts = queryRecordCounts();
+        if (!counts.isEmpty()) {
+            synchronized (DashboardDAO.class) {
+                preloadedCounts = counts;
+                preloadedAt = System.currentTimeMillis();
+            }
+        }
+    }
 
-        String sql =
-                "SELECT 'Customers' as TableName, " + "COUNT(*) as RecordCount FROM customers " +
-                "UNION ALL " +
-                "SELECT 'Vehicles', COUNT(*) FROM vehicles " +
-                "UNION ALL " +
-                "SELECT 'Locations', COUNT(*) FROM locations " +
-                "UNION ALL " +
-                "SELECT 'Technicians', COUNT(*) FROM technicians " +
-                "UNION ALL " +
-                "SELECT 'Parts', COUNT(*) FROM parts " +
-                "UNION ALL " +
-                "SELECT 'Rentals', COUNT(*) FROM rentals " +
-                "UNION ALL " +
-                "SELECT 'Payments', COUNT(*) FROM payments " +
-                "UNION ALL " +
-                "SELECT 'Maintenance', COUNT(*) FROM maintenance " +
-                "UNION ALL " +
-                "SELECT 'Maintenance_Cheque', COUNT(*) FROM maintenance_cheque " +
-                "UNION ALL " +
-                "SELECT 'Penalties', COUNT(*) FROM penalty";
+    private static synchronized Map<String, Integer> takePreloadedCounts() {
+        Map<String, Integer> counts = preloadedCounts;
+        preloadedCounts = null;
+        if (counts != null && System.currentTimeMillis() - preloadedAt <= PRELOAD_MAX_AGE_MS) {
+            return counts;
+        }
+        return null;
+    }
+
+    private Map<String, Integer> queryRecordCounts() {
+        Map<String, Integer> counts = new HashMap<>();
+        String sql = RECORD_COUNTS_SQL;
 
         try (Connection conn = DBConnection.getConnection();
         PreparedStatement stmt = conn.prepareStatement(sql);
@@ -0,0 +1,72 @@
+package dao;
+
+import util.DBConnection;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Database side of the startup warm-up.
+ *
+ * PURPOSE: The first DAO call after launch pays for reading db.properties,
+ * opening connections and preparing statements, and the first admin screen
+ * waits for the dashboard record counts. start() does all of that in the
+ * background while the user is still on the login screen.
+ *
+ * WHAT RUNS (in parallel):
+ * - Pool: opens the idle connections and prepares the login/dashboard queries on each
+ * - Reference data: locations, cities and barangays go into ReferenceDataCache
+ * - Dashboard: record counts are preloaded for the first admin home screen
+ *
+ * Failures are only logged; every screen still works without the warm-up.
+ */
+public final class DataWarmup {
+
+    // Queries run right after login, in the exact text the DAOs use
+    private static final List<String> HOT_STATEMENTS = Arrays.asList(
+            StaffDAO.SELECT_BY_USERNAME_SQL,
+            CustomerDAO.SELECT_BY_ID_SQL,
+            RentalDAO.SELECT_BY_CUSTOMER_SQL,
+            RentalDAO.CURRENT_BY_CUSTOMER_SQL,
+            PenaltyDAO.UNPAID_BY_CUSTOMER_SQL,
+            DashboardDAO.RECORD_COUNTS_SQL);
+
+    private static CompletableFuture<Void> running;
+
+    private DataWarmup() {
+    }
+
+    /**
+     * Start the warm-up. Only the first call does anything; later calls
+     * (e.g. returning to the login screen) get the same future back.
+     *
+     * @return Future completed when all warm-up tasks have finished
+     */
+    public static synchronized CompletableFuture<Void> start() {
+        if (running != null) {
+            return running;
+        }
+
+        long start = System.currentTimeMillis();
+
+        CompletableFuture<Void> pool = AsyncDAO.run(() -> {
+            int warmed = DBConnection.warmUp(HOT_STATEMENTS);
+            System.out.println("Warm-up: " + warmed + " connection(s) ready, " +
+                    HOT_STATEMENTS.size() + " statements prepared");
+        });
+        CompletableFuture<Void> referenceData = AsyncDAO.run(ReferenceDataCache::preload);
+        CompletableFuture<Void> dashboard = AsyncDAO.run(() -> new DashboardDAO().preloadRecordCounts());
+
+        running = CompletableFuture.allOf(pool, referenceData, dashboard)
+                .whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        System.err.println("Warm-up did not finish: " + error.getMessage());
+                    } else {
+                        System.out.println("Database warm-up finished in " +
+                                (System.currentTimeMillis() - start) + " ms");
+                    }
+                });
+        return running;
+    }
+}
@@ -118,6 +118,32 @@ public class DeploymentDAO {
         return deployments;
     }
     
+    /**
+     * Page through deployments (excludes cancelled), latest start date first.
+     * Same rows as getAllDeployments(), one page at a time (keyset pagination, ties broken by ID).
+     * 
+     * @param pageSize Rows per page (max 1000)
+     * @param pageToken Page.getNextPageToken() of the previous page, or null for the first page
+     * @return The page, or null if the token is invalid or the query failed
+     */
+    public Page<DeploymentTransaction> getDeploymentsPage(int pageSize, String pageToken) {
+        return KeysetPager.fetch("deployments", "deployments", "status != 'Cancelled'", "startDate", false,
+                                 "deploymentID", pageSize, pageToken, this::extractDeploymentFromResultSet);
+    }
+    
+    /**
+     * Page through ALL deployments including cancelled ones, latest start date first.
+     * Same rows as getAllDeploymentsIncludingCancelled(), one page at a time (keyset pagination, ties broken by ID).
+     * 
+     * @param pageSize Rows per page (max 1000)
+     * @param pageToken Page.getNextPageToken() of the previous page, or null for the first page
+     * @return The page, or null if the token is invalid or the query failed
+     */
+    public Page<DeploymentTransaction> getDeploymentsPageIncludingCancelled(int pageSize, String pageToken) {
+        return KeysetPager.fetch("deployments.all", "deployments", null, "startDate", false,
+                                 "deploymentID", pageSize, pageToken, this::extractDeploymentFromResultSet);
+    }
+    
     public List<DeploymentTransaction> getCurrentDeployments() {
         List<DeploymentTransaction> deployments = new ArrayList<>();
         String sql = "SELECT * FROM deployments WHERE endDate IS NULL AND status = 'Active' ORDER BY startDate DESC";
@@ -0,0 +1,255 @@
+package dao;
+
+import util.DBConnection;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data Access Object for the ID_SEQUENCES table.
+ *
+ * PURPOSE: Generates prefixed record IDs (RNT-001, CUST-001, ...) without
+ * querying the target table on every insert.
+ *
+ * HOW IT WORKS (hi/lo block allocation):
+ * - id_sequences stores, per sequence, the first number not yet handed out
+ * - When a sequence runs out, one short transaction reserves the next block
+ *   of numbers (SELECT ... FOR UPDATE, then UPDATE next_value += blockSize)
+ * - IDs inside the block are handed out from memory, so most calls need no
+ *   database access at all
+ * - Several app instances can share the database: each reserves its own
+ *   block, so they never hand out the same ID
+ *
+ * SEEDING:
+ * - The first time a sequence is used, its row is created from the highest
+ *   existing ID in the target table (numeric order, so RNT-1000 > RNT-999)
+ *
+ * NOTES:
+ * - Unused IDs in a block are skipped when the app restarts (gaps are expected)
+ * - Block size comes from sequence.blockSize in db.properties (default 20)
+ * - Allocation commits on its own connection, even inside a UnitOfWork, so a
+ *   rolled-back booking never un-reserves a block another thread already uses
+ * - nextId() returns null if the table is missing; callers fall back to their old
+ *   generator. nextIds() falls back on its own, numbering a whole batch from one lookup
+ */
+public class IdSequenceDAO {
+
+    /**
+     * Known ID sequences: prefix plus the table/column they number.
+     */
+    public enum Sequence {
+        RENTAL("RNT-", "rentals", "rentalID"),
+        PENALTY("PEN-", "penalty", "penaltyID"),
+        DEPLOYMENT("DEP-", "deployments", "deploymentID"),
+        PART("PART-", "parts", "part_id"),
+        TECHNICIAN("TECH-", "technicians", "technician_id"),
+        CUSTOMER("CUST-", "customers", "customerID");
+
+        private final String prefix;
+        private final String table;
+        private final String column;
+
+        Sequence(String prefix, String table, String column) {
+            this.prefix = prefix;
+            this.table = table;
+            this.column = column;
+        }
+
+        public String getPrefix() {
+            return prefix;
+        }
+
+        public String format(long number) {
+            return String.format("%s%03d", prefix, number);
+        }
+    }
+
+    private static final int DEFAULT_BLOCK_SIZE = 20;
+
+    // Reserved block per sequence, shared by every IdSequenceDAO in this JVM
+    private static final Map<Sequence, Block> BLOCKS = new EnumMap<>(Sequence.class);
+
+    static {
+        for (Sequence sequence : Sequence.values()) {
+            BLOCKS.put(sequence, new Block());
+        }
+    }
+
+    /**
+     * Numbers reserved in the database but not handed out yet: next <= n < limit.
+     */
+    private static class Block {
+        long next = 0;
+        long limit = 0;
+    }
+
+    /**
+     * Get the next ID for a sequence.
+     *
+     * @param sequence Which ID to generate
+     * @return Next ID (e.g., "RNT-042"), or null if the sequence table is unavailable
+     */
+    public String nextId(Sequence sequence) {
+        Block block = BLOCKS.get(sequence);
+        synchronized (block) {
+            if (block.next >= block.limit) {
+                if (!allocateBlock(sequence, block)) {
+                    return null;
+                }
+            }
+            return sequence.format(block.next++);
+        }
+    }
+
+    /**
+     * Get IDs for a batch of new rows (e.g. one import chunk).
+     *
+     * Normally these come from the reserved blocks like nextId(). If the sequence
+     * table is unavailable, the rest are numbered from ONE lookup of the highest
+     * stored ID and incremented locally; asking the old per-row generators instead
+     * would hand every row the same "highest + 1".
+     *
+     * @param sequence Which IDs to generate
+     * @param count Number of IDs needed
+     * @return count distinct IDs, or null if they could not be generated
+     */
+    public List<String> nextIds(Sequence sequence, int count) {
+        List<String> ids = new ArrayList<>(count);
+        long lastNumber = 0;
+        while (ids.size() < count) {
+            String id = nextId(sequence);
+            if (id == null) {
+                break;
+            }
+            ids.add(id);
+            lastNumber = Long.parseLong(id.substring(sequence.getPrefix().length()));
+        }
+        if (ids.size() == count) {
+            return ids;
+        }
+
+        // Joins the caller's UnitOfWork, so rows it inserted earlier are counted
+        try (Connection conn = DBConnection.getConnection()) {
+            long next = Math.max(findHighestExistingNumber(conn, sequence), lastNumber) + 1;
+            System.err.println("WARNING: ID sequence unavailable, numbering " + (count - ids.size()) +
+                               " " + sequence.getPrefix() + " IDs from " + sequence.format(next));
+            while (ids.size() < count) {
+                ids.add(sequence.format(next++));
+            }
+            return ids;
+        } catch (SQLException e) {
+            System.err.println("Error generating " + sequence.getPrefix() + " IDs: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Reserve the next block of numbers for a sequence.
+     * Must be called while holding the block's lock.
+     */
+    private boolean allocateBlock(Sequence sequence, Block block) {
+        int blockSize = getBlockSize();
+
+        try (Connection conn = DBConnection.getStandaloneConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                Long start = lockNextValue(conn, sequence);
+                if (start == null) {
+                    seedSequence(conn, sequence);
+                    start = lockNextValue(conn, sequence);
+                }
+                if (start == null) {
+                    conn.rollback();
+                    return false;
+                }
+
+                String sql = "UPDATE id_sequences SET next_value = ? WHERE seq_name = ?";
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setLong(1, start + blockSize);
+                    stmt.setString(2, sequence.name());
+                    stmt.executeUpdate();
+                }
+                conn.commit();
+
+                block.next = start;
+                block.limit = start + blockSize;
+                return true;
+
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            System.err.println("Error allocating " + sequence.getPrefix() + " IDs: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Lock the sequence row and read its next value.
+     *
+     * @return next_value, or null if the row does not exist yet
+     */
+    private Long lockNextValue(Connection conn, Sequence sequence) throws SQLException {
+        String sql = "SELECT next_value FROM id_sequences WHERE seq_name = ? FOR UPDATE";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, sequence.name());
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong("next_value") : null;
+            }
+        }
+    }
+
+    /**
+     * Create the sequence row, starting after the highest existing ID.
+     * INSERT IGNORE makes this safe if another instance seeds it first.
+     */
+    private void seedSequence(Connection conn, Sequence sequence) throws SQLException {
+        long highest = findHighestExistingNumber(conn, sequence);
+
+        String sql = "INSERT IGNORE INTO id_sequences (seq_name, next_value) VALUES (?, ?)";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, sequence.name());
+            stmt.setLong(2, highest + 1);
+            stmt.executeUpdate();
+        }
+        System.out.println("Seeded ID sequence " + sequence.getPrefix() + " at " + (highest + 1));
+    }
+
+    /**
+     * Highest numeric suffix in the target table (0 if empty).
+     * Longer IDs sort first so RNT-1000 beats RNT-999.
+     */
+    private long findHighestExistingNumber(Connection conn, Sequence sequence) throws SQLException {
+        String sql = "SELECT " + sequence.column + " FROM " + sequence.table +
+                     " WHERE " + sequence.column + " LIKE ?" +
+                     " ORDER BY LENGTH(" + sequence.column + ") DESC, " + sequence.column + " DESC";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, sequence.getPrefix() + "%");
+            try (ResultSet rs = stmt.executeQuery()) {
+                // Skip any IDs whose suffix is not a number
+                while (rs.next()) {
+                    String id = rs.getString(1);
+                    try {
+                        return Long.parseLong(id.substring(sequence.getPrefix().length()));
+                    } catch (NumberFormatException e) {
+                        continue;
+                    }
+                }
+            }
+        }
+        return 0;
+    }
+
+    private int getBlockSize() {
+        String value = DBConnection.getProperty("sequence.blockSize", String.valueOf(DEFAULT_BLOCK_SIZE));
+        try {
+            int size = Integer.parseInt(value.trim());
+            return size > 0 ? size : DEFAULT_BLOCK_SIZE;
+        } catch (NumberFormatException e) {
+            return DEFAULT_BLOCK_SIZE;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package dao;
+
+import util.DBConnection;
+import java.sql.*;
+
+/**
+ * Data Access Object for the IDEMPOTENCY_KEYS table.
+ *
+ * PURPOSE: Remembers client submissions by a key the screen generates once,
+ * so a retry of the same submission can be answered from the stored result.
+ *
+ * ROW LIFECYCLE:
+ * - reserve():  INSERT a 'Pending' row; the primary key lets only one
+ *               submission with that key through
+ * - extendLease(): push back expires_at of a 'Pending' row while its action runs
+ * - complete(): store the result and keep it until expires_at
+ * - release():  delete a 'Pending' row after a failed attempt, so it can be retried
+ * - deleteExpired(): housekeeping for rows past expires_at
+ *
+ * NOTES:
+ * - Every call except complete() commits on its own connection, even inside a
+ *   UnitOfWork, so other kiosks see a reservation straight away
+ * - complete() joins the current UnitOfWork, so the result is only stored if the
+ *   action's writes commit with it
+ * - Times are computed in Java, so app and database clocks only need to agree
+ *   between app instances
+ * - Returns null if the table is missing; IdempotencyService then runs the
+ *   action without deduplication
+ */
+public class IdempotencyDAO {
+
+    private static final String STATUS_PENDING = "Pending";
+    private static final String STATUS_COMPLETED = "Completed";
+
+    /**
+     * One stored submission.
+     */
+    public static class Entry {
+        private final String operation;
+        private final String status;
+        private final String resultValue;
+
+        Entry(String operation, String status, String resultValue) {
+            this.operation = operation;
+            this.status = status;
+            this.resultValue = resultValue;
+        }
+
+        public String getOperation() {
+            return operation;
+        }
+
+        public boolean isCompleted() {
+            return STATUS_COMPLETED.equals(status);
+        }
+
+        /**
+         * @return Stored result (only set once completed)
+         */
+        public String getResultValue() {
+            return resultValue;
+        }
+    }
+
+    /**
+     * Claim a key for a new submission.
+     * An expired row with the same key is cleared first.
+     *
+     * @param key Idempotency key from the client screen
+     * @param operation Operation name (e.g., "rental.book")
+     * @param leaseSeconds How long the 'Pending' claim lasts if the app dies mid-way
+     * @return TRUE if claimed, FALSE if the key is already in use, null if the table is unavailable
+     */
+    public Boolean reserve(String key, String operation, int leaseSeconds) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        String deleteSql = "DELETE FROM idempotency_keys WHERE idempotency_key = ? AND expires_at <= ?";
+        String insertSql = "INSERT INTO idempotency_keys (idempotency_key, operation, status, expires_at) " +
+                           "VALUES (?, ?, ?, ?)";
+
+        try (Connection conn = DBConnection.getStandaloneConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(deleteSql)) {
+                stmt.setString(1, key);
+                stmt.setTimestamp(2, now);
+                stmt.executeUpdate();
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(insertSql)) {
+                stmt.setString(1, key);
+                stmt.setString(2, operation);
+                stmt.setString(3, STATUS_PENDING);
+                stmt.setTimestamp(4, new Timestamp(now.getTime() + leaseSeconds * 1000L));
+                stmt.executeUpdate();
+                return Boolean.TRUE;
+            } catch (SQLException e) {
+                // 23xxx = integrity constraint violation (duplicate key)
+                if (e.getSQLState() != null && e.getSQLState().startsWith("23")) {
+                    return Boolean.FALSE;
+                }
+                throw e;
+            }
+        } catch (SQLException e) {
+            System.err.println("Error reserving idempotency key: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Look up an unexpired key.
+     *
+     * @param key Idempotency key
+     * @return Stored entry, or null if there is none (or it expired, or on error)
+     */
+    public Entry find(String key) {
+        String sql = "SELECT operation, status, result_value FROM idempotency_keys " +
+                     "WHERE idempotency_key = ? AND expires_at > ?";
+
+        try (Connection conn = DBConnection.getStandaloneConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, key);
+            stmt.setTimestamp(2, new Timestamp(System.currentTimeMillis()));
+            ResultSet rs = stmt.executeQuery();
+
+            if (rs.next()) {
+                return new Entry(rs.getString("operation"), rs.getString("status"),
+                                 rs.getString("result_value"));
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error reading idempotency key: " + e.getMessage());
+        }
+
+        return null;
+    }
+
+    /**
+     * Keep a 'Pending' claim alive while its action is still running.
+     *
+     * @param key Idempotency key
+     * @param leaseSeconds New lease, counted from now
+     * @return true if a pending row was extended
+     */
+    public boolean extendLease(String key, int leaseSeconds) {
+        String sql = "UPDATE idempotency_keys SET expires_at = ? WHERE idempotency_key = ? AND status = ?";
+
+        try (Connection conn = DBConnection.getStandaloneConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setTimestamp(1, new Timestamp(System.currentTimeMillis() + leaseSeconds * 1000L));
+            stmt.setString(2, key);
+            stmt.setString(3, STATUS_PENDING);
+            return stmt.executeUpdate() > 0;
+
+        } catch (SQLException e) {
+            System.err.println("Error extending idempotency lease: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Store the result of a finished submission.
+     * Joins the current UnitOfWork, so it commits (or rolls back) with the action.
+     *
+     * @param key Idempotency key (must be reserved)
+     * @param resultValue Result to hand back to retries
+     * @param ttlMinutes How long to remember it
+     * @return true if stored
+     */
+    public boolean complete(String key, String resultValue, int ttlMinutes) {
+        String sql = "UPDATE idempotency_keys SET status = ?, result_value = ?, expires_at = ? " +
+                     "WHERE idempotency_key = ?";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, STATUS_COMPLETED);
+            stmt.setString(2, resultValue);
+            stmt.setTimestamp(3, new Timestamp(System.currentTimeMillis() + ttlMinutes * 60_000L));
+            stmt.setString(4, key);
+            return stmt.executeUpdate() > 0;
+
+        } catch (SQLException e) {
+            System.err.println("Error saving idempotency result: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Drop a 'Pending' claim after the submission failed, so a retry runs again.
+     *
+     * @param key Idempotency key
+     * @return true if a pending row was deleted
+     */
+    public boolean release(String key) {
+        String sql = "DELETE FROM idempotency_keys WHERE idempotency_key = ? AND status = ?";
+
+        try (Connection conn = DBConnection.getStandaloneConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, key);
+            stmt.setString(2, STATUS_PENDING);
+            return stmt.executeUpdate() > 0;
+
+        } catch (SQLException e) {
+            System.err.println("Error releasing idempotency key: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Delete every row past its expiry time.
+     *
+     * @return Number of rows deleted, or -1 on error
+     */
+    public int deleteExpired() {
+        String sql = "DELETE FROM idempotency_keys WHERE expires_at <= ?";
+
+        try (Connection conn = DBConnection.getStandaloneConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setTimestamp(1, new Timestamp(System.currentTimeMillis()));
+            return stmt.executeUpdate();
+
+        } catch (SQLException e) {
+            System.err.println("Error deleting expired idempotency keys: " + e.getMessage());
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package dao;
+
+import util.DBConnection;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Shared keyset pagination for the DAOs' page methods.
+ *
+ * HOW IT WORKS:
+ * - Rows are ordered by "sortColumn DESC, idColumn DESC" (newest first, ID breaks ties)
+ * - Each page asks for one row more than it returns, to know if there is a next page
+ * - The token stores the last row's sort value and ID; the next page only reads rows
+ *   that sort after it ("WHERE sortColumn < ? OR (sortColumn = ? AND id < ?)"),
+ *   so the database seeks in the sort column's index instead of skipping rows (OFFSET)
+ * - Nullable sort columns (e.g., rentals.startDateTime before pickup) follow the MySQL
+ *   rule that NULLs come last in DESC order; those rows are paged by ID alone
+ *
+ * TOKEN FORMAT: URL-safe Base64 of (query name, sort value type, sort value, ID).
+ * The query name stops a token from one list being used on another.
+ */
+final class KeysetPager {
+
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private KeysetPager() {
+    }
+
+    /**
+     * Read one page.
+     *
+     * @param name Query name stored in the token (e.g., "rentals")
+     * @param table Table to read
+     * @param filter WHERE condition for the list, or null for all rows
+     * @param sortColumn Column the list is sorted by (DESC)
+     * @param nullable true if sortColumn can be NULL
+     * @param idColumn Unique column that breaks ties (DESC)
+     * @param pageSize Rows per page (1 to 1000)
+     * @param pageToken Token from the previous page, or null for the first page
+     * @param mapper Builds one model object from a row
+     * @return The page, or null if the token is invalid or the query failed
+     */
+    static <T> Page<T> fetch(String name, String table, String filter, String sortColumn, boolean nullable,
+                             String idColumn, int pageSize, String pageToken, RowMapper<T> mapper) {
+        int limit = Math.max(1, Math.min(pageSize, MAX_PAGE_SIZE));
+
+        Cursor after = null;
+        if (pageToken != null) {
+            after = Cursor.decode(name, pageToken);
+            if (after == null) {
+                System.err.println("Error: Invalid page token for " + name);
+                return null;
+            }
+        }
+
+        String sql = "SELECT * FROM " + table + " WHERE " + (filter != null ? "(" + filter + ")" : "1 = 1") +
+                     seekCondition(after, sortColumn, nullable, idColumn) +
+                     " ORDER BY " + sortColumn + " DESC, " + idColumn + " DESC LIMIT ?";
+
+        List<T> items = new ArrayList<>();
+        Object lastValue = null;
+        String lastId = null;
+        boolean more = false;
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            int param = bindSeek(stmt, 1, after);
+            stmt.setInt(param, limit + 1);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    if (items.size() == limit) {
+                        more = true;
+                        break;
+                    }
+                    items.add(mapper.map(rs));
+                    lastValue = normalize(rs.getObject(sortColumn));
+                    lastId = rs.getString(idColumn);
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error reading " + name + " page: " + e.getMessage());
+            e.printStackTrace();
+            return null;
+        }
+
+        String nextToken = more ? new Cursor(lastValue, lastId).encode(name) : null;
+        return new Page<>(items, nextToken);
+    }
+
+    /**
+     * " AND (...)" condition that keeps only rows after the cursor, or "" for the first page.
+     * For queries that cannot use fetch() directly (e.g., a page of rentals joined to penalties).
+     */
+    static String seekCondition(Cursor after, String sortColumn, boolean nullable, String idColumn) {
+        if (after == null) {
+            return "";
+        }
+        if (after.value == null) {
+            return " AND " + sortColumn + " IS NULL AND " + idColumn + " < ?";
+        }
+        return " AND (" + sortColumn + " < ? OR (" + sortColumn + " = ? AND " + idColumn + " < ?)" +
+               (nullable ? " OR " + sortColumn + " IS NULL" : "") + ")";
+    }
+
+    /**
+     * Bind the parameters of seekCondition().
+     *
+     * @return Index of the next parameter
+     */
+    static int bindSeek(PreparedStatement stmt, int param, Cursor after) throws SQLException {
+        if (after != null) {
+            if (after.value != null) {
+                stmt.setObject(param++, after.value);
+                stmt.setObject(param++, after.value);
+            }
+            stmt.setString(param++, after.id);
+        }
+        return param;
+    }
+
+    /**
+     * Newer drivers may return java.time values; the token stores JDBC types.
+     */
+    static Object normalize(Object value) {
+        if (value instanceof LocalDateTime) {
+            return Timestamp.valueOf((LocalDateTime) value);
+        }
+        if (value instanceof LocalDate) {
+            return Date.valueOf((LocalDate) value);
+        }
+        return value;
+    }
+
+    /**
+     * Position after the last row of a page.
+     */
+    static class Cursor {
+        final Object value;   // Timestamp, Date, String or null
+        final String id;
+
+        Cursor(Object value, String id) {
+            this.value = value;
+            this.id = id;
+        }
+
+        String encode(String name) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                out.writeUTF(name);
+                if (value instanceof Timestamp) {
+                    out.writeChar('T');
+                    out.writeUTF(value.toString());
+                } else if (value instanceof Date) {
+                    out.writeChar('D');
+                    out.writeUTF(value.toString());
+                } else if (value == null) {
+                    out.writeChar('N');
+                } else {
+                    out.writeChar('S');
+                    out.writeUTF(value.toString());
+                }
+                out.writeUTF(id);
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot encode page token", e);
+            }
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+        }
+
+        /**
+         * @return The cursor, or null if the token is malformed or belongs to another list
+         */
+        static Cursor decode(String name, String token) {
+            try (DataInputStream in = new DataInputStream(
+                    new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+                if (!name.equals(in.readUTF())) {
+                    return null;
+                }
+                char type = in.readChar();
+                Object value;
+                switch (type) {
+                    case 'T': value = Timestamp.valueOf(in.readUTF()); break;
+                    case 'D': value = Date.valueOf(in.readUTF()); break;
+                    case 'S': value = in.readUTF(); break;
+                    case 'N': value = null; break;
+                    default: return null;
+                }
+                return new Cursor(value, in.readUTF());
+            } catch (IOException | IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+}
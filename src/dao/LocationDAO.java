@@ -22,6 +22,7 @@ public class LocationDAO {
             stmt.setString(3, "Active");
             
             int rowsAffected = stmt.executeUpdate();
+            ReferenceDataCache.invalidateLocations();
             return rowsAffected > 0;
             
         } catch (SQLException e) {
@@ -42,6 +43,7 @@ public class LocationDAO {
             stmt.setString(3, location.getLocationID());
 
             int rowsAffected = stmt.executeUpdate();
+            ReferenceDataCache.invalidateLocations();
             return rowsAffected > 0;
             
         } catch (SQLException e) {
@@ -67,6 +69,7 @@ public class LocationDAO {
 
             stmt.setString(1, locationID);
             int rowsAffected = stmt.executeUpdate();
+            ReferenceDataCache.invalidateLocations();
             
             if (rowsAffected > 0) {
                 System.out.println("Location " + locationID + " has been marked as Inactive (soft deleted)");
@@ -95,6 +98,7 @@ public class LocationDAO {
 
             stmt.setString(1, locationID);
             int rowsAffected = stmt.executeUpdate();
+            ReferenceDataCache.invalidateLocations();
             
             if (rowsAffected > 0) {
                 System.out.println("Location " + locationID + " has been reactivated");
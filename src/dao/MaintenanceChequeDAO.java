@@ -4,6 +4,7 @@ import model.MaintenanceCheque;
 import util.DBConnection;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -28,8 +29,10 @@ import java.util.List;
  * 
  * METHODS IMPLEMENTED:
  * 1. insertMaintenanceCheque()         - INSERT new maintenance part usage record (status defaults to 'Active')
+ *    insertMaintenanceCheques()        - Batched INSERT of many records, with per-row results
  * 2. updateMaintenanceCheque()         - UPDATE quantity used (only active records)
  * 3. deactivateMaintenanceCheque()     - SOFT DELETE a specific part usage
+ *    deactivateMaintenanceCheques()    - SOFT DELETE many part usages in set-based UPDATEs
  * 4. reactivateMaintenanceCheque()     - Sets status back to 'Active'
  * 5. deactivateAllByMaintenance()      - SOFT DELETE all parts for a maintenance record
  * 6. reactivateAllByMaintenance()      - Sets status back to 'Active' for all parts
@@ -56,16 +59,12 @@ public class MaintenanceChequeDAO {
      * @return true if insert successful, false otherwise
      */
     public boolean insertMaintenanceCheque(MaintenanceCheque cheque) {
-        String sql = "INSERT INTO maintenance_cheque (maintenanceID, partID, quantityUsed, status) " +
-                     "VALUES (?, ?, ?, ?)";
+        String sql = INSERT_SQL;
         
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
-            stmt.setString(1, cheque.getMaintenanceID());
-            stmt.setString(2, cheque.getPartID());
-            stmt.setBigDecimal(3, cheque.getQuantityUsed());
-            stmt.setString(4, cheque.getStatus() != null ? cheque.getStatus() : "Active");
+            bindInsert(stmt, cheque);
             
             int rowsAffected = stmt.executeUpdate();
             return rowsAffected > 0;
@@ -77,6 +76,26 @@ public class MaintenanceChequeDAO {
         }
     }
     
+    /**
+     * Insert many part usage records using JDBC batching (for backfills and imports).
+     * 
+     * @param cheques Part usage records to insert
+     * @return Per-row result, in the same order as cheques
+     */
+    public BatchResult insertMaintenanceCheques(List<MaintenanceCheque> cheques) {
+        return BatchInsert.execute("maintenance cheque", INSERT_SQL, cheques, MaintenanceChequeDAO::bindInsert);
+    }
+    
+    private static final String INSERT_SQL =
+            "INSERT INTO maintenance_cheque (maintenanceID, partID, quantityUsed, status) VALUES (?, ?, ?, ?)";
+    
+    private static void bindInsert(PreparedStatement stmt, MaintenanceCheque cheque) throws SQLException {
+        stmt.setString(1, cheque.getMaintenanceID());
+        stmt.setString(2, cheque.getPartID());
+        stmt.setBigDecimal(3, cheque.getQuantityUsed());
+        stmt.setString(4, cheque.getStatus() != null ? cheque.getStatus() : "Active");
+    }
+    
     /**
      * Update quantity used for a part in a maintenance record.
      * Only updates active records (status = 'Active').
@@ -133,6 +152,25 @@ public class MaintenanceChequeDAO {
         }
     }
     
+    /**
+     * SOFT DELETE many part usage records with set-based UPDATEs
+     * (up to 500 maintenanceID/partID pairs per statement).
+     * Records that are already inactive are skipped.
+     * NOTE: Does not return parts to inventory - use
+     * MaintenanceService.deactivateMaintenanceChequesWithInventory() for that.
+     * 
+     * @param cheques Records to deactivate (only the IDs are used)
+     * @return Number of records deactivated, or -1 if the update failed (nothing changed)
+     */
+    public int deactivateMaintenanceCheques(Collection<MaintenanceCheque> cheques) {
+        List<String[]> keys = new ArrayList<>();
+        for (MaintenanceCheque cheque : cheques) {
+            keys.add(new String[] { cheque.getMaintenanceID(), cheque.getPartID() });
+        }
+        String sql = "UPDATE maintenance_cheque SET status = 'Inactive' WHERE {keys} AND status = 'Active'";
+        return BulkUpdate.byKeys("maintenance cheque deactivation", sql, "(maintenanceID, partID)", keys);
+    }
+    
     /**
      * Reactivate a previously deactivated part usage record.
      * Sets status back to 'Active'.
@@ -301,6 +339,20 @@ public class MaintenanceChequeDAO {
 
         return chequeList;
     }
+    
+    /**
+     * Page through all maintenance cheques including inactive ones, latest maintenance ID first.
+     * Cheques of the same maintenance are ordered by part ID.
+     * Same rows as getAllMaintenanceChequesIncludingInactive(), one page at a time (keyset pagination, ties broken by ID).
+     * 
+     * @param pageSize Rows per page (max 1000)
+     * @param pageToken Page.getNextPageToken() of the previous page, or null for the first page
+     * @return The page, or null if the token is invalid or the query failed
+     */
+    public Page<MaintenanceCheque> getMaintenanceChequesPageIncludingInactive(int pageSize, String pageToken) {
+        return KeysetPager.fetch("cheques.all", "maintenance_cheque", null, "maintenanceID", false,
+                                 "partID", pageSize, pageToken, this::extractMaintenanceChequeFromResultSet);
+    }
 
     /**
      *
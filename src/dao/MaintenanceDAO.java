@@ -39,9 +39,68 @@ import java.util.List;
  * 8. getAllMaintenanceIncludingInactive() - SELECT all regardless of status
  * 9. getMaintenanceByVehicle()     - SELECT active maintenance history for a vehicle
  * 10. getMaintenanceByTechnician() - SELECT active work assigned to a technician
+ * 11. getMaintenanceSummariesByStatus() / getAllMaintenanceSummariesIncludingInactive()
+ *     - Displayed columns only, for the maintenance records table
  * 
  */
 public class MaintenanceDAO {
+
+    // Columns shown on the maintenance records screen (totalCost is only needed by the form)
+    private static final String SUMMARY_COLUMNS =
+            "maintenanceID, plateID, technicianID, startDateTime, endDateTime, notes, status";
+
+    /**
+     * One row of the maintenance records table.
+     * Read-only and without the total cost; load the full record with
+     * getMaintenanceById() before editing it.
+     */
+    public static class MaintenanceSummary {
+        private final String maintenanceID;
+        private final String plateID;
+        private final String technicianID;
+        private final Timestamp startDateTime;
+        private final Timestamp endDateTime;
+        private final String notes;
+        private final String status;
+
+        MaintenanceSummary(ResultSet rs) throws SQLException {
+            this.maintenanceID = rs.getString(1);
+            this.plateID = rs.getString(2);
+            this.technicianID = rs.getString(3);
+            this.startDateTime = rs.getTimestamp(4);
+            this.endDateTime = rs.getTimestamp(5);
+            this.notes = rs.getString(6);
+            this.status = rs.getString(7);
+        }
+
+        public String getMaintenanceID() {
+            return maintenanceID;
+        }
+
+        public String getPlateID() {
+            return plateID;
+        }
+
+        public String getTechnicianID() {
+            return technicianID;
+        }
+
+        public Timestamp getStartDateTime() {
+            return startDateTime;
+        }
+
+        public Timestamp getEndDateTime() {
+            return endDateTime;
+        }
+
+        public String getNotes() {
+            return notes;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+    }
     
     /**
      * Insert a new maintenance record into the database.
@@ -250,6 +309,19 @@ public class MaintenanceDAO {
         return maintenanceList;
     }
     
+    /**
+     * Page through active maintenance records, latest start first.
+     * Same rows as getAllMaintenance(), one page at a time (keyset pagination, ties broken by ID).
+     * 
+     * @param pageSize Rows per page (max 1000)
+     * @param pageToken Page.getNextPageToken() of the previous page, or null for the first page
+     * @return The page, or null if the token is invalid or the query failed
+     */
+    public Page<MaintenanceTransaction> getMaintenancePage(int pageSize, String pageToken) {
+        return KeysetPager.fetch("maintenance", "maintenance", "status = 'Active'", "startDateTime", false,
+                                 "maintenanceID", pageSize, pageToken, this::extractMaintenanceFromResultSet);
+    }
+    
     /**
      * Get all maintenance records including inactive ones.
      * Returns both Active and Inactive maintenance records.
@@ -360,6 +432,52 @@ public class MaintenanceDAO {
 
         return maintenanceList;
     }
+
+    /**
+     * Rows for the maintenance records table, active and inactive.
+     * Same order as getAllMaintenanceIncludingInactive(), displayed columns only.
+     * 
+     * @return List of maintenance summaries (empty on error)
+     */
+    public List<MaintenanceSummary> getAllMaintenanceSummariesIncludingInactive() {
+        return getMaintenanceSummaries("SELECT " + SUMMARY_COLUMNS +
+                " FROM maintenance ORDER BY status DESC, startDateTime DESC", null);
+    }
+
+    /**
+     * Rows for the maintenance records table with one status.
+     * Same order as getMaintenanceByStatus(), displayed columns only.
+     * 
+     * @param status The status to filter by (e.g., "Active" or "Inactive")
+     * @return List of maintenance summaries (empty on error)
+     */
+    public List<MaintenanceSummary> getMaintenanceSummariesByStatus(String status) {
+        return getMaintenanceSummaries("SELECT " + SUMMARY_COLUMNS +
+                " FROM maintenance WHERE status = ? ORDER BY startDateTime DESC", status);
+    }
+
+    private List<MaintenanceSummary> getMaintenanceSummaries(String sql, String status) {
+        List<MaintenanceSummary> maintenanceList = new ArrayList<>();
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            if (status != null) {
+                stmt.setString(1, status);
+            }
+            ResultSet rs = stmt.executeQuery();
+
+            while (rs.next()) {
+                maintenanceList.add(new MaintenanceSummary(rs));
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error retrieving maintenance summaries: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        return maintenanceList;
+    }
     
     /**
      * Helper method to extract MaintenanceTransaction object from ResultSet.
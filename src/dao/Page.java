@@ -0,0 +1,52 @@
+package dao;
+
+import java.util.List;
+
+/**
+ * One page of a list query, plus the token for the page after it.
+ *
+ * Pages are read with keyset ("seek") pagination: the token remembers the sort
+ * value and ID of the last row, and the next query starts right after that row
+ * using the index. Page 1000 costs the same as page 1, and rows inserted while
+ * the user is paging do not shift later pages.
+ *
+ *   Page<RentalTransaction> page = rentalDAO.getRentalsPage(50, null);
+ *   while (true) {
+ *       show(page.getItems());
+ *       if (!page.hasNextPage()) break;
+ *       page = rentalDAO.getRentalsPage(50, page.getNextPageToken());
+ *   }
+ */
+public class Page<T> {
+
+    private final List<T> items;
+    private final String nextPageToken;
+
+    Page(List<T> items, String nextPageToken) {
+        this.items = items;
+        this.nextPageToken = nextPageToken;
+    }
+
+    /**
+     * @return Rows on this page (at most the requested page size)
+     */
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * @return Opaque token to pass back for the next page, or null on the last page
+     */
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
+
+    public boolean hasNextPage() {
+        return nextPageToken != null;
+    }
+
+    @Override
+    public String toString() {
+        return "Page{items=" + items.size() + ", hasNextPage=" + hasNextPage() + "}";
+    }
+}
@@ -4,7 +4,9 @@ import model.Part;
 import util.DBConnection;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Data Access Object for PART table operations.
@@ -27,6 +29,7 @@ import java.util.List;
  * 
  * METHODS IMPLEMENTED:
  * 1. insertPart()           - INSERT new part (status defaults to 'Active')
+ *    insertParts()          - Batched INSERT of many parts, with per-row results
  * 2. updatePart()           - UPDATE part record (only active parts)
  * 3. deactivatePart()       - SOFT DELETE (sets status to 'Inactive')
  * 4. reactivatePart()       - Sets status back to 'Active'
@@ -35,6 +38,7 @@ import java.util.List;
  * 8. getAllPartsIncludingInactive() - SELECT all parts regardless of status
  * 9. updatePartQuantity()   - UPDATE quantity (for restocking)
  * 10. decrementPartQuantity() - Reduce quantity when part is used (with validation)
+ *     consumeParts()        - Batched conditional decrement of several parts at once
  * 11. incrementPartQuantity() - Add to quantity when restocking
  * 12. getLowStockParts()    - SELECT active parts with quantity below threshold
  * 13. extractPartFromResultSet() - Helper to map ResultSet to Part object
@@ -56,16 +60,12 @@ public class PartDAO {
      * @return true if insert successful, false otherwise
      */
     public boolean insertPart(Part part) {
-        String sql = "INSERT INTO parts (part_id, part_name, quantity, price, status) VALUES (?, ?, ?, ?, ?)";
+        String sql = INSERT_SQL;
         
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
-            stmt.setString(1, part.getPartId());
-            stmt.setString(2, part.getPartName());
-            stmt.setInt(3, part.getQuantity());
-            stmt.setBigDecimal(4, part.getPrice());
-            stmt.setString(5, part.getStatus() != null ? part.getStatus() : "Active");
+            bindInsert(stmt, part);
             
             int rowsAffected = stmt.executeUpdate();
             return rowsAffected > 0;
@@ -77,6 +77,27 @@ public class PartDAO {
         }
     }
     
+    /**
+     * Insert many parts using JDBC batching (for stocking a new branch).
+     * 
+     * @param parts Parts to insert (IDs must already be set)
+     * @return Per-row result, in the same order as parts
+     */
+    public BatchResult insertParts(List<Part> parts) {
+        return BatchInsert.execute("part", INSERT_SQL, parts, PartDAO::bindInsert);
+    }
+    
+    private static final String INSERT_SQL =
+            "INSERT INTO parts (part_id, part_name, quantity, price, status) VALUES (?, ?, ?, ?, ?)";
+    
+    private static void bindInsert(PreparedStatement stmt, Part part) throws SQLException {
+        stmt.setString(1, part.getPartId());
+        stmt.setString(2, part.getPartName());
+        stmt.setInt(3, part.getQuantity());
+        stmt.setBigDecimal(4, part.getPrice());
+        stmt.setString(5, part.getStatus() != null ? part.getStatus() : "Active");
+    }
+    
     /**
      * Update an existing part record.
      * Note: Does not update status field (use deactivatePart/reactivatePart for that)
@@ -220,6 +241,29 @@ public class PartDAO {
         return null;
     }
     
+    /**
+     * Get many active parts in one query.
+     * 
+     * @param partIds Part IDs to retrieve
+     * @return Map of part ID to Part (IDs that are missing or inactive are absent), or null on error
+     */
+    public Map<String, Part> getPartsByIds(Collection<String> partIds) {
+        return BulkLookup.byIds("parts", "SELECT * FROM parts WHERE {ids} AND status = 'Active'", "part_id",
+                                partIds, this::extractPartFromResultSet);
+    }
+    
+    /**
+     * Get many parts in one query regardless of status.
+     * Used for cost calculations, where inactive parts still count.
+     * 
+     * @param partIds Part IDs to retrieve
+     * @return Map of part ID to Part (missing IDs are absent), or null on error
+     */
+    public Map<String, Part> getPartsByIdsIncludingInactive(Collection<String> partIds) {
+        return BulkLookup.byIds("parts", "SELECT * FROM parts WHERE {ids}", "part_id",
+                                partIds, this::extractPartFromResultSet);
+    }
+    
     /**
      * Get all active parts in inventory.
      * Only returns parts with status = 'Active'.
@@ -333,14 +377,13 @@ public class PartDAO {
             return false;
         }
         
-        // Perform the decrement (only for active parts)
-        String sql = "UPDATE parts SET quantity = quantity - ? WHERE part_id = ? AND status = 'Active'";
+        // Perform the decrement (only for active parts, and only if the stock is still there)
+        String sql = CONSUME_SQL;
         
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
-            stmt.setInt(1, usedQuantity);
-            stmt.setString(2, partId);
+            bindConsume(stmt, partId, usedQuantity);
             
             int rowsAffected = stmt.executeUpdate();
             if (rowsAffected > 0) {
@@ -357,6 +400,62 @@ public class PartDAO {
         return false;
     }
     
+    /**
+     * Take several parts out of stock with one batch of conditional decrements.
+     * 
+     * Each UPDATE only applies if the part is active and has at least the requested
+     * quantity (quantity >= ?), so stock can never go negative, even when two
+     * technicians use the same part at once. The whole batch is sent in one round trip.
+     * 
+     * This method does NOT undo the decrements that did apply when some part is short:
+     * call it inside a UnitOfWork and roll back if the returned list is not empty.
+     * 
+     * @param quantities Part ID -> quantity to take (each quantity must be positive)
+     * @return Part IDs that could not be decremented (short, inactive or unknown);
+     *         empty if every part was taken, or null on a database error
+     */
+    public List<String> consumeParts(Map<String, Integer> quantities) {
+        List<String> shortParts = new ArrayList<>();
+        if (quantities.isEmpty()) {
+            return shortParts;
+        }
+        
+        List<String> partIds = new ArrayList<>(quantities.keySet());
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(CONSUME_SQL)) {
+            
+            for (String partId : partIds) {
+                bindConsume(stmt, partId, quantities.get(partId));
+                stmt.addBatch();
+            }
+            int[] updateCounts = stmt.executeBatch();
+            
+            for (int i = 0; i < partIds.size(); i++) {
+                if (updateCounts[i] == 0) {
+                    shortParts.add(partIds.get(i));
+                }
+            }
+            System.out.println("Parts consumed: " + (partIds.size() - shortParts.size()) + " of " +
+                             partIds.size() + (shortParts.isEmpty() ? "" : " (short: " + shortParts + ")"));
+            return shortParts;
+            
+        } catch (SQLException e) {
+            System.err.println("Error consuming parts: " + e.getMessage());
+            e.printStackTrace();
+            return null;
+        }
+    }
+    
+    private static final String CONSUME_SQL =
+            "UPDATE parts SET quantity = quantity - ? WHERE part_id = ? AND status = 'Active' AND quantity >= ?";
+    
+    private static void bindConsume(PreparedStatement stmt, String partId, int quantity) throws SQLException {
+        stmt.setInt(1, quantity);
+        stmt.setString(2, partId);
+        stmt.setInt(3, quantity);
+    }
+    
     /**
      * Increment part quantity when restocking.
      * Only works with active parts.
@@ -5,7 +5,10 @@ import util.DBConnection;
 import java.sql.*;
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Data Access Object for PAYMENT table operations.
@@ -29,13 +32,17 @@ import java.util.List;
  * 
  * METHODS IMPLEMENTED:
  * 1. insertPayment()       - INSERT new payment record (status defaults to 'Active')
+ *    insertPayments()      - Batched INSERT of many records, with per-row results
  * 2. updatePayment()       - UPDATE payment record (only active)
  * 3. deactivatePayment()   - SOFT DELETE (sets status to 'Inactive')
+ *    deactivatePayments()  - SOFT DELETE many payments in set-based UPDATEs (also by rental)
  * 4. reactivatePayment()   - Sets status back to 'Active'
  * 5. getPaymentById()      - SELECT active payment by ID
  * 6. getPaymentByIdIncludingInactive() - SELECT regardless of status
  * 7. getAllPayments()      - SELECT all active payments
  * 8. getAllPaymentsIncludingInactive() - SELECT all regardless of status
+ *    getPaymentsPage()     - Keyset-paginated version of 7 and 8 (...IncludingInactive)
+ *    forEachPayment() / streamAllPayments() - Row-by-row version of 7 and 8 for exports
  * 9. getPaymentsByRental() - SELECT active payments for a rental
  * 10. getPaymentsByRentalIncludingInactive() - SELECT all payments for rental
  * 11. getPaymentsByDateRange() - SELECT active payments within date range
@@ -57,16 +64,12 @@ public class PaymentDAO {
      * @return true if insert successful, false otherwise
      */
     public boolean insertPayment(PaymentTransaction payment) {
-        String sql = "INSERT INTO payments (paymentID, amount, rentalID, paymentDate, status) VALUES (?, ?, ?, ?, ?)";
+        String sql = INSERT_SQL;
         
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
-            stmt.setString(1, payment.getPaymentID());
-            stmt.setBigDecimal(2, payment.getAmount());
-            stmt.setString(3, payment.getRentalID());
-            stmt.setDate(4, payment.getPaymentDate());
-            stmt.setString(5, payment.getStatus() != null ? payment.getStatus() : "Active");
+            bindInsert(stmt, payment);
             
             int rowsAffected = stmt.executeUpdate();
             return rowsAffected > 0;
@@ -78,6 +81,27 @@ public class PaymentDAO {
         }
     }
     
+    /**
+     * Insert many payment records using JDBC batching (for backfills and imports).
+     * 
+     * @param payments Payments to insert
+     * @return Per-row result, in the same order as payments
+     */
+    public BatchResult insertPayments(List<PaymentTransaction> payments) {
+        return BatchInsert.execute("payment", INSERT_SQL, payments, PaymentDAO::bindInsert);
+    }
+    
+    private static final String INSERT_SQL =
+            "INSERT INTO payments (paymentID, amount, rentalID, paymentDate, status) VALUES (?, ?, ?, ?, ?)";
+    
+    private static void bindInsert(PreparedStatement stmt, PaymentTransaction payment) throws SQLException {
+        stmt.setString(1, payment.getPaymentID());
+        stmt.setBigDecimal(2, payment.getAmount());
+        stmt.setString(3, payment.getRentalID());
+        stmt.setDate(4, payment.getPaymentDate());
+        stmt.setString(5, payment.getStatus() != null ? payment.getStatus() : "Active");
+    }
+    
     /**
      * Update an existing payment record.
      * Only updates active records (status = 'Active').
@@ -136,6 +160,29 @@ public class PaymentDAO {
         return false;
     }
     
+    /**
+     * SOFT DELETE many payments with set-based UPDATEs (up to 500 IDs per statement).
+     * Payments that are already inactive are skipped.
+     * 
+     * @param paymentIDs Payments to deactivate
+     * @return Number of payments deactivated, or -1 if the update failed (nothing changed)
+     */
+    public int deactivatePayments(Collection<String> paymentIDs) {
+        String sql = "UPDATE payments SET status = 'Inactive' WHERE {keys} AND status = 'Active'";
+        return BulkUpdate.byIds("payment deactivation", sql, "paymentID", paymentIDs);
+    }
+    
+    /**
+     * SOFT DELETE every active payment of the given rentals (e.g., after cancelling them).
+     * 
+     * @param rentalIDs Rentals whose payments should be deactivated
+     * @return Number of payments deactivated, or -1 if the update failed (nothing changed)
+     */
+    public int deactivatePaymentsByRentals(Collection<String> rentalIDs) {
+        String sql = "UPDATE payments SET status = 'Inactive' WHERE {keys} AND status = 'Active'";
+        return BulkUpdate.byIds("payment deactivation by rental", sql, "rentalID", rentalIDs);
+    }
+    
     /**
      * Reactivate a previously deactivated payment record.
      * Sets status back to 'Active'.
@@ -273,6 +320,80 @@ public class PaymentDAO {
         return paymentList;
     }
     
+    /**
+     * Page through active payments, latest payment date first.
+     * Same rows as getAllPayments(), one page at a time (keyset pagination, ties broken by ID).
+     * 
+     * @param pageSize Rows per page (max 1000)
+     * @param pageToken Page.getNextPageToken() of the previous page, or null for the first page
+     * @return The page, or null if the token is invalid or the query failed
+     */
+    public Page<PaymentTransaction> getPaymentsPage(int pageSize, String pageToken) {
+        return KeysetPager.fetch("payments", "payments", "status = 'Active'", "paymentDate", false,
+                                 "paymentID", pageSize, pageToken, this::extractPaymentFromResultSet);
+    }
+    
+    /**
+     * Page through all payments including inactive ones, latest payment date first.
+     * Same rows as getAllPaymentsIncludingInactive(), one page at a time (keyset pagination, ties broken by ID).
+     * 
+     * @param pageSize Rows per page (max 1000)
+     * @param pageToken Page.getNextPageToken() of the previous page, or null for the first page
+     * @return The page, or null if the token is invalid or the query failed
+     */
+    public Page<PaymentTransaction> getPaymentsPageIncludingInactive(int pageSize, String pageToken) {
+        return KeysetPager.fetch("payments.all", "payments", null, "paymentDate", false,
+                                 "paymentID", pageSize, pageToken, this::extractPaymentFromResultSet);
+    }
+
+    /**
+     * Run an action on every active payment without loading them all into memory.
+     * Rows are read in paymentID order, one fetch batch at a time (exports, reprocessing).
+     * 
+     * @param action Called once per payment
+     * @return Number of payments processed, or -1 if the query failed
+     */
+    public long forEachPayment(Consumer<? super PaymentTransaction> action) {
+        return RowCursor.forEach("payments", "SELECT * FROM payments WHERE status = 'Active' ORDER BY paymentID",
+                                 this::extractPaymentFromResultSet, action);
+    }
+    
+    /**
+     * Lazy stream of every active payment, in paymentID order.
+     * Holds a database connection until closed, so always use try-with-resources:
+     *   try (Stream<PaymentTransaction> payments = dao.streamAllPayments()) { ... }
+     * 
+     * @return Stream of payments (empty if the query failed)
+     */
+    public Stream<PaymentTransaction> streamAllPayments() {
+        return RowCursor.stream("payments", "SELECT * FROM payments WHERE status = 'Active' ORDER BY paymentID",
+                                this::extractPaymentFromResultSet);
+    }
+
+    /**
+     * Run an action on every payment including inactive ones without loading them all into memory.
+     * Rows are read in paymentID order, one fetch batch at a time (exports, reprocessing).
+     * 
+     * @param action Called once per payment
+     * @return Number of payments processed, or -1 if the query failed
+     */
+    public long forEachPaymentIncludingInactive(Consumer<? super PaymentTransaction> action) {
+        return RowCursor.forEach("payments.all", "SELECT * FROM payments ORDER BY paymentID",
+                                 this::extractPaymentFromResultSet, action);
+    }
+    
+    /**
+     * Lazy stream of every payment including inactive ones, in paymentID order.
+     * Holds a database connection until closed, so always use try-with-resources:
+     *   try (Stream<PaymentTransaction> payments = dao.streamAllPaymentsIncludingInactive()) { ... }
+     * 
+     * @return Stream of payments (empty if the query failed)
+     */
+    public Stream<PaymentTransaction> streamAllPaymentsIncludingInactive() {
+        return RowCursor.stream("payments.all", "SELECT * FROM payments ORDER BY paymentID",
+                                this::extractPaymentFromResultSet);
+    }
+    
     /**
      * Get all active payments for a specific rental.
      * Multiple payments may exist per rental (e.g., deposit + final payment).
@@ -6,6 +6,7 @@ import util.DBConnection;
 import java.sql.*;
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -25,8 +26,10 @@ import java.util.List;
  * 
  * METHODS IMPLEMENTED:
  * 1. insertPenalty()       - INSERT new penalty record
+ *    insertPenalties()     - Batched INSERT of many records, with per-row results
  * 2. updatePenalty()       - UPDATE penalty record
  * 3. deactivatePenalty()   - SOFT DELETE penalty record (sets status to Inactive)
+ *    deactivatePenalties() - SOFT DELETE many penalties in set-based UPDATEs
  * 4. reactivatePenalty()   - RESTORE soft deleted penalty (sets status to Active)
  * 5. getPenaltyById()      - SELECT active penalty by ID
  * 6. getAllPenalties()     - SELECT all active penalties
@@ -49,6 +52,15 @@ import java.util.List;
  * - Handle SQLException by printing stack trace (or log in production)
  */
 public class PenaltyDAO {
+
+    private final IdSequenceDAO idSequenceDAO = new IdSequenceDAO();
+
+    // Prepared ahead of time by DataWarmup (client dashboard)
+    static final String UNPAID_BY_CUSTOMER_SQL = "SELECT COUNT(*) FROM penalty p " +
+            "JOIN rentals r ON p.rentalID = r.rentalID " +
+            "WHERE r.customerID = ? " +
+            "AND p.penaltyStatus = 'UNPAID' " +
+            "AND p.status = 'Active'";
     
     /**
      * Insert a new penalty record into the database.
@@ -57,19 +69,12 @@ public class PenaltyDAO {
      * @return true if insert successful, false otherwise
      */
     public boolean insertPenalty(PenaltyTransaction penalty) {
-        String sql = "INSERT INTO penalty (penaltyID, rentalID, totalPenalty, penaltyStatus, maintenanceID, dateIssued, status) " +
-                     "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        String sql = INSERT_SQL;
         
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
-            stmt.setString(1, penalty.getPenaltyID());
-            stmt.setString(2, penalty.getRentalID());
-            stmt.setBigDecimal(3, penalty.getTotalPenalty());
-            stmt.setString(4, penalty.getPenaltyStatus());
-            stmt.setString(5, penalty.getMaintenanceID());
-            stmt.setDate(6, penalty.getDateIssued());
-            stmt.setString(7, penalty.getStatus() != null ? penalty.getStatus() : "Active");
+            bindInsert(stmt, penalty);
             
             int rowsAffected = stmt.executeUpdate();
             return rowsAffected > 0;
@@ -81,6 +86,30 @@ public class PenaltyDAO {
         }
     }
     
+    /**
+     * Insert many penalty records using JDBC batching (for backfills and imports).
+     * 
+     * @param penalties Penalties to insert
+     * @return Per-row result, in the same order as penalties
+     */
+    public BatchResult insertPenalties(List<PenaltyTransaction> penalties) {
+        return BatchInsert.execute("penalty", INSERT_SQL, penalties, PenaltyDAO::bindInsert);
+    }
+    
+    private static final String INSERT_SQL =
+            "INSERT INTO penalty (penaltyID, rentalID, totalPenalty, penaltyStatus, maintenanceID, dateIssued, status) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    
+    private static void bindInsert(PreparedStatement stmt, PenaltyTransaction penalty) throws SQLException {
+        stmt.setString(1, penalty.getPenaltyID());
+        stmt.setString(2, penalty.getRentalID());
+        stmt.setBigDecimal(3, penalty.getTotalPenalty());
+        stmt.setString(4, penalty.getPenaltyStatus());
+        stmt.setString(5, penalty.getMaintenanceID());
+        stmt.setDate(6, penalty.getDateIssued());
+        stmt.setString(7, penalty.getStatus() != null ? penalty.getStatus() : "Active");
+    }
+    
     /**
      * Update an existing penalty record.
      * 
@@ -142,6 +171,18 @@ public class PenaltyDAO {
         }
     }
 
+    /**
+     * SOFT DELETE many penalties with set-based UPDATEs (up to 500 IDs per statement).
+     * Penalties that are already inactive are skipped.
+     * 
+     * @param penaltyIDs Penalties to deactivate
+     * @return Number of penalties deactivated, or -1 if the update failed (nothing changed)
+     */
+    public int deactivatePenalties(Collection<String> penaltyIDs) {
+        String sql = "UPDATE penalty SET status = 'Inactive' WHERE {keys} AND status = 'Active'";
+        return BulkUpdate.byIds("penalty deactivation", sql, "penaltyID", penaltyIDs);
+    }
+
     /**
      * Reactivate a penalty record (RESTORE SOFT DELETE).
      * Sets the status back to 'Active' to restore a previously deactivated penalty.
@@ -393,6 +434,32 @@ public class PenaltyDAO {
         return penaltyList;
     }
     
+    /**
+     * Page through active penalties, latest issue date first.
+     * Same rows as getAllPenalties(), one page at a time (keyset pagination, ties broken by ID).
+     * 
+     * @param pageSize Rows per page (max 1000)
+     * @param pageToken Page.getNextPageToken() of the previous page, or null for the first page
+     * @return The page, or null if the token is invalid or the query failed
+     */
+    public Page<PenaltyTransaction> getPenaltiesPage(int pageSize, String pageToken) {
+        return KeysetPager.fetch("penalties", "penalty", "status = 'Active'", "dateIssued", false,
+                                 "penaltyID", pageSize, pageToken, this::extractPenaltyFromResultSet);
+    }
+    
+    /**
+     * Page through all penalties including inactive ones, latest issue date first.
+     * Same rows as getAllPenaltiesIncludingInactive(), one page at a time (keyset pagination, ties broken by ID).
+     * 
+     * @param pageSize Rows per page (max 1000)
+     * @param pageToken Page.getNextPageToken() of the previous page, or null for the first page
+     * @return The page, or null if the token is invalid or the query failed
+     */
+    public Page<PenaltyTransaction> getPenaltiesPageIncludingInactive(int pageSize, String pageToken) {
+        return KeysetPager.fetch("penalties.all", "penalty", null, "dateIssued", false,
+                                 "penaltyID", pageSize, pageToken, this::extractPenaltyFromResultSet);
+    }
+    
     /**
      * Get active penalties within a date range.
      * Useful for penalty reports and analysis.
@@ -475,11 +542,7 @@ public class PenaltyDAO {
      * @return true if they have unpaid penalties, false otherwise
      */
     public boolean hasUnpaidPenalties(String customerID) {
-        String sql = "SELECT COUNT(*) FROM penalty p " +
-                "JOIN rentals r ON p.rentalID = r.rentalID " +
-                "WHERE r.customerID = ? " +
-                "AND p.penaltyStatus = 'UNPAID' " +
-                "AND p.status = 'Active'"; // Only count Active records
+        String sql = UNPAID_BY_CUSTOMER_SQL; // Only counts Active records
 
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -547,7 +610,18 @@ public class PenaltyDAO {
         return false;
     }
 
+    /**
+     * Generate the next penalty ID (PEN-XXX).
+     * Uses the id_sequences block allocator; falls back to the last stored ID
+     * if the sequence table is unavailable.
+     */
     public String generateNewPenaltyID() {
+        // Fast path: next ID from the in-memory block reserved in id_sequences
+        String allocated = idSequenceDAO.nextId(IdSequenceDAO.Sequence.PENALTY);
+        if (allocated != null) {
+            return allocated;
+        }
+
         String sql = "SELECT penaltyID FROM penalty ORDER BY LENGTH(penaltyID) DESC, penaltyID DESC LIMIT 1";
 
         try (Connection conn = DBConnection.getConnection();
@@ -0,0 +1,157 @@
+package dao;
+
+import model.Barangay;
+import model.City;
+import model.Location;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory cache of rarely changing lookup data: active locations, cities
+ * and barangays.
+ *
+ * PURPOSE: The rent, signup, customer, rental and deployment forms fill their
+ * combo boxes from these tables every time they open. The data is small and
+ * almost never changes, so it is loaded once (during startup warm-up) and
+ * shared by every screen.
+ *
+ * FRESHNESS:
+ * - LocationDAO, CityDAO and BarangayDAO clear the cache whenever they write
+ * - Entries also expire after 5 minutes, to pick up changes made by another
+ *   running copy of the app
+ *
+ * Callers get their own copy of each list, so they may modify it freely.
+ */
+public final class ReferenceDataCache {
+
+    private static final long MAX_AGE_MS = 5 * 60 * 1000L;
+
+    private static volatile Snapshot<List<Location>> locations;
+    private static volatile Snapshot<List<City>> cities;
+    private static volatile Snapshot<Map<Integer, List<Barangay>>> barangaysByCity;
+
+    // Bumped on every invalidation, so a load that overlapped a write is not kept
+    private static final AtomicInteger LOCATION_VERSION = new AtomicInteger();
+    private static final AtomicInteger ADDRESS_VERSION = new AtomicInteger();
+
+    private ReferenceDataCache() {
+    }
+
+    /**
+     * A loaded value and when it was loaded.
+     */
+    private static class Snapshot<T> {
+        final T value;
+        final long loadedAt = System.currentTimeMillis();
+
+        Snapshot(T value) {
+            this.value = value;
+        }
+
+        boolean isFresh() {
+            return System.currentTimeMillis() - loadedAt < MAX_AGE_MS;
+        }
+    }
+
+    /**
+     * Load everything into the cache.
+     * Called by DataWarmup while the login screen is shown.
+     */
+    public static void preload() {
+        getActiveLocations();
+        getCities();
+        getBarangaysByCity(null);
+    }
+
+    /**
+     * Get all ACTIVE locations, sorted by name (same as LocationDAO.getAllLocations()).
+     *
+     * @return Copy of the cached list
+     */
+    public static List<Location> getActiveLocations() {
+        Snapshot<List<Location>> snapshot = locations;
+        if (snapshot == null || !snapshot.isFresh()) {
+            int version = LOCATION_VERSION.get();
+            List<Location> loaded = new LocationDAO().getAllLocations();
+            snapshot = new Snapshot<>(Collections.unmodifiableList(loaded));
+            // An empty result may be a failed query, so try again next time
+            if (!loaded.isEmpty() && version == LOCATION_VERSION.get()) {
+                locations = snapshot;
+            }
+        }
+        return new ArrayList<>(snapshot.value);
+    }
+
+    /**
+     * Get all cities, sorted by name (same as CityDAO.getAllCities()).
+     *
+     * @return Copy of the cached list
+     */
+    public static List<City> getCities() {
+        Snapshot<List<City>> snapshot = cities;
+        if (snapshot == null || !snapshot.isFresh()) {
+            int version = ADDRESS_VERSION.get();
+            List<City> loaded = new CityDAO().getAllCities();
+            snapshot = new Snapshot<>(Collections.unmodifiableList(loaded));
+            if (!loaded.isEmpty() && version == ADDRESS_VERSION.get()) {
+                cities = snapshot;
+            }
+        }
+        return new ArrayList<>(snapshot.value);
+    }
+
+    /**
+     * Get the barangays of one city, sorted by name (same as
+     * BarangayDAO.getBarangaysByCity()). All barangays are loaded in one query
+     * and grouped by city, so switching cities in a form needs no database trip.
+     *
+     * @param cityID City to look up (null just loads the cache)
+     * @return Copy of the cached list (empty if the city has no barangays)
+     */
+    public static List<Barangay> getBarangaysByCity(Integer cityID) {
+        Snapshot<Map<Integer, List<Barangay>>> snapshot = barangaysByCity;
+        if (snapshot == null || !snapshot.isFresh()) {
+            int version = ADDRESS_VERSION.get();
+            List<Barangay> loaded = new BarangayDAO().getAllBarangays();
+            if (loaded.isEmpty()) {
+                // Nothing cached; fall back to a direct lookup
+                return cityID == null ? new ArrayList<>() : new BarangayDAO().getBarangaysByCity(cityID);
+            }
+            Map<Integer, List<Barangay>> grouped = new LinkedHashMap<>();
+            for (Barangay barangay : loaded) {
+                grouped.computeIfAbsent(barangay.getCityID(), id -> new ArrayList<>()).add(barangay);
+            }
+            snapshot = new Snapshot<>(grouped);
+            if (version == ADDRESS_VERSION.get()) {
+                barangaysByCity = snapshot;
+            }
+        }
+        if (cityID == null) {
+            return new ArrayList<>();
+        }
+        List<Barangay> list = snapshot.value.get(cityID);
+        return list == null ? new ArrayList<>() : new ArrayList<>(list);
+    }
+
+    /**
+     * Forget cached locations. Called by LocationDAO after every write.
+     */
+    public static void invalidateLocations() {
+        LOCATION_VERSION.incrementAndGet();
+        locations = null;
+    }
+
+    /**
+     * Forget cached cities and barangays. Called by CityDAO and BarangayDAO after every write.
+     */
+    public static void invalidateAddressData() {
+        ADDRESS_VERSION.incrementAndGet();
+        cities = null;
+        barangaysByCity = null;
+    }
+}
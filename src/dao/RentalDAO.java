@@ -1,16 +1,156 @@
 package dao;
 
+import model.PenaltyTransaction;
 import model.RentalTransaction;
 import util.DBConnection;
+import java.math.BigDecimal;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Data Access Object for RENTAL TRANSACTION table operations.
  */
 public class RentalDAO {
 
+    private final IdSequenceDAO idSequenceDAO = new IdSequenceDAO();
+
+    // Prepared ahead of time by DataWarmup (client dashboard)
+    static final String SELECT_BY_CUSTOMER_SQL =
+            "SELECT * FROM rentals WHERE customerID = ? AND status != 'Cancelled' ORDER BY startDateTime DESC";
+
+    // Prepared ahead of time by DataWarmup (rent/return check).
+    // Served by idx_rental_customer_status (customerID, status, startDateTime): one index probe
+    static final String CURRENT_BY_CUSTOMER_SQL =
+            "SELECT * FROM rentals WHERE customerID = ? AND status = 'Active' AND endDateTime IS NULL " +
+            "ORDER BY startDateTime DESC, rentalID DESC LIMIT 1";
+
+    // Query name stored in getRentalHistoryPage() tokens
+    private static final String HISTORY_PAGE_NAME = "rentals.history";
+
+    // Columns shown on the rental records screen (everything except the version counter)
+    private static final String SUMMARY_COLUMNS =
+            "rentalID, customerID, plateID, locationID, pickUpDateTime, startDateTime, endDateTime, status";
+
+    /**
+     * One row of the rental records table.
+     * Read-only and without the version counter; load the full rental with
+     * getRentalById() before editing it.
+     */
+    public static class RentalSummary {
+        private final String rentalID;
+        private final String customerID;
+        private final String plateID;
+        private final String locationID;
+        private final Timestamp pickUpDateTime;
+        private final Timestamp startDateTime;
+        private final Timestamp endDateTime;
+        private final String status;
+
+        RentalSummary(ResultSet rs) throws SQLException {
+            this.rentalID = rs.getString(1);
+            this.customerID = rs.getString(2);
+            this.plateID = rs.getString(3);
+            this.locationID = rs.getString(4);
+            this.pickUpDateTime = rs.getTimestamp(5);
+            this.startDateTime = rs.getTimestamp(6);
+            this.endDateTime = rs.getTimestamp(7);
+            this.status = rs.getString(8);
+        }
+
+        public String getRentalID() {
+            return rentalID;
+        }
+
+        public String getCustomerID() {
+            return customerID;
+        }
+
+        public String getPlateID() {
+            return plateID;
+        }
+
+        public String getLocationID() {
+            return locationID;
+        }
+
+        public Timestamp getPickUpDateTime() {
+            return pickUpDateTime;
+        }
+
+        public Timestamp getStartDateTime() {
+            return startDateTime;
+        }
+
+        public Timestamp getEndDateTime() {
+            return endDateTime;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+    }
+
+    /**
+     * One rental on a customer's history, with its active penalties.
+     */
+    public static class RentalHistory {
+        private final RentalTransaction rental;
+        private final List<PenaltyTransaction> penalties = new ArrayList<>();
+
+        RentalHistory(RentalTransaction rental) {
+            this.rental = rental;
+        }
+
+        public RentalTransaction getRental() {
+            return rental;
+        }
+
+        /**
+         * @return Active penalties of the rental, newest first (empty if none)
+         */
+        public List<PenaltyTransaction> getPenalties() {
+            return penalties;
+        }
+
+        /**
+         * @return Sum of all active penalties, whatever their payment status
+         */
+        public BigDecimal getPenaltyTotal() {
+            return sumPenalties(null);
+        }
+
+        /**
+         * @return Sum of the penalties still UNPAID
+         */
+        public BigDecimal getUnpaidPenaltyTotal() {
+            return sumPenalties("UNPAID");
+        }
+
+        public boolean hasUnpaidPenalties() {
+            for (PenaltyTransaction penalty : penalties) {
+                if ("UNPAID".equals(penalty.getPenaltyStatus())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private BigDecimal sumPenalties(String penaltyStatus) {
+            BigDecimal total = BigDecimal.ZERO;
+            for (PenaltyTransaction penalty : penalties) {
+                if (penaltyStatus == null || penaltyStatus.equals(penalty.getPenaltyStatus())) {
+                    total = total.add(penalty.getTotalPenalty());
+                }
+            }
+            return total;
+        }
+    }
+
     // ==================== CREATE ====================
 
     public boolean insertRental(RentalTransaction rental) {
@@ -19,20 +159,12 @@ public class RentalDAO {
             rental.setRentalID(generateRentalID());
         }
 
-        String sql = "INSERT INTO rentals (rentalID, customerID, plateID, locationID, " +
-                     "pickUpDateTime, startDateTime, endDateTime, status) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        String sql = INSERT_SQL;
         
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
-            stmt.setString(1, rental.getRentalID());
-            stmt.setString(2, rental.getCustomerID());
-            stmt.setString(3, rental.getPlateID());
-            stmt.setString(4, rental.getLocationID());
-            stmt.setTimestamp(5, rental.getPickUpDateTime());
-            stmt.setTimestamp(6, rental.getStartDateTime());
-            stmt.setTimestamp(7, rental.getEndDateTime());
-            stmt.setString(8, "Active");
+            bindInsert(stmt, rental);
             
             int rowsAffected = stmt.executeUpdate();
             
@@ -49,6 +181,38 @@ public class RentalDAO {
         return false;
     }
     
+    /**
+     * Insert many rentals using JDBC batching (for backfills and imports).
+     * Rentals without an ID get one from the ID sequence. Status is always 'Active',
+     * the same as insertRental().
+     * 
+     * @param rentals Rentals to insert
+     * @return Per-row result, in the same order as rentals
+     */
+    public BatchResult insertRentals(List<RentalTransaction> rentals) {
+        for (RentalTransaction rental : rentals) {
+            if (rental != null && (rental.getRentalID() == null || rental.getRentalID().isEmpty())) {
+                rental.setRentalID(generateRentalID());
+            }
+        }
+        return BatchInsert.execute("rental", INSERT_SQL, rentals, RentalDAO::bindInsert);
+    }
+    
+    private static final String INSERT_SQL =
+            "INSERT INTO rentals (rentalID, customerID, plateID, locationID, " +
+            "pickUpDateTime, startDateTime, endDateTime, status) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private static void bindInsert(PreparedStatement stmt, RentalTransaction rental) throws SQLException {
+        stmt.setString(1, rental.getRentalID());
+        stmt.setString(2, rental.getCustomerID());
+        stmt.setString(3, rental.getPlateID());
+        stmt.setString(4, rental.getLocationID());
+        stmt.setTimestamp(5, rental.getPickUpDateTime());
+        stmt.setTimestamp(6, rental.getStartDateTime());
+        stmt.setTimestamp(7, rental.getEndDateTime());
+        stmt.setString(8, "Active");
+    }
+    
     // ==================== READ ====================
     
     public RentalTransaction getRentalById(String rentalID) {
@@ -72,6 +236,17 @@ public class RentalDAO {
         return null;
     }
     
+    /**
+     * Get many rentals in one query (any status, like getRentalById()).
+     * 
+     * @param rentalIDs Rental IDs to retrieve
+     * @return Map of rental ID to rental (missing IDs are absent), or null on error
+     */
+    public Map<String, RentalTransaction> getRentalsByIds(Collection<String> rentalIDs) {
+        return BulkLookup.byIds("rentals", "SELECT * FROM rentals WHERE {ids}", "rentalID",
+                                rentalIDs, this::extractRentalFromResultSet);
+    }
+    
     /**
      * Get all ACTIVE rentals (excludes cancelled)
      */
@@ -121,6 +296,82 @@ public class RentalDAO {
         return rentals;
     }
     
+    /**
+     * Page through active rentals (excludes cancelled), latest start first.
+     * Rentals not picked up yet (startDateTime NULL) come after the started ones.
+     * Same rows as getAllRentals(), one page at a time (keyset pagination, ties broken by ID).
+     * 
+     * @param pageSize Rows per page (max 1000)
+     * @param pageToken Page.getNextPageToken() of the previous page, or null for the first page
+     * @return The page, or null if the token is invalid or the query failed
+     */
+    public Page<RentalTransaction> getRentalsPage(int pageSize, String pageToken) {
+        return KeysetPager.fetch("rentals", "rentals", "status != 'Cancelled'", "startDateTime", true,
+                                 "rentalID", pageSize, pageToken, this::extractRentalFromResultSet);
+    }
+    
+    /**
+     * Page through ALL rentals including cancelled ones, latest start first.
+     * Rentals not picked up yet (startDateTime NULL) come after the started ones.
+     * Same rows as getAllRentalsIncludingCancelled(), one page at a time (keyset pagination, ties broken by ID).
+     * 
+     * @param pageSize Rows per page (max 1000)
+     * @param pageToken Page.getNextPageToken() of the previous page, or null for the first page
+     * @return The page, or null if the token is invalid or the query failed
+     */
+    public Page<RentalTransaction> getRentalsPageIncludingCancelled(int pageSize, String pageToken) {
+        return KeysetPager.fetch("rentals.all", "rentals", null, "startDateTime", true,
+                                 "rentalID", pageSize, pageToken, this::extractRentalFromResultSet);
+    }
+
+    /**
+     * Run an action on every active rental (excludes cancelled) without loading them all into memory.
+     * Rows are read in rentalID order, one fetch batch at a time (exports, reprocessing).
+     * 
+     * @param action Called once per rental
+     * @return Number of rentals processed, or -1 if the query failed
+     */
+    public long forEachRental(Consumer<? super RentalTransaction> action) {
+        return RowCursor.forEach("rentals", "SELECT * FROM rentals WHERE status != 'Cancelled' ORDER BY rentalID",
+                                 this::extractRentalFromResultSet, action);
+    }
+    
+    /**
+     * Lazy stream of every active rental (excludes cancelled), in rentalID order.
+     * Holds a database connection until closed, so always use try-with-resources:
+     *   try (Stream<RentalTransaction> rentals = dao.streamAllRentals()) { ... }
+     * 
+     * @return Stream of rentals (empty if the query failed)
+     */
+    public Stream<RentalTransaction> streamAllRentals() {
+        return RowCursor.stream("rentals", "SELECT * FROM rentals WHERE status != 'Cancelled' ORDER BY rentalID",
+                                this::extractRentalFromResultSet);
+    }
+
+    /**
+     * Run an action on every rental including cancelled ones without loading them all into memory.
+     * Rows are read in rentalID order, one fetch batch at a time (exports, reprocessing).
+     * 
+     * @param action Called once per rental
+     * @return Number of rentals processed, or -1 if the query failed
+     */
+    public long forEachRentalIncludingCancelled(Consumer<? super RentalTransaction> action) {
+        return RowCursor.forEach("rentals.all", "SELECT * FROM rentals ORDER BY rentalID",
+                                 this::extractRentalFromResultSet, action);
+    }
+    
+    /**
+     * Lazy stream of every rental including cancelled ones, in rentalID order.
+     * Holds a database connection until closed, so always use try-with-resources:
+     *   try (Stream<RentalTransaction> rentals = dao.streamAllRentalsIncludingCancelled()) { ... }
+     * 
+     * @return Stream of rentals (empty if the query failed)
+     */
+    public Stream<RentalTransaction> streamAllRentalsIncludingCancelled() {
+        return RowCursor.stream("rentals.all", "SELECT * FROM rentals ORDER BY rentalID",
+                                this::extractRentalFromResultSet);
+    }
+    
     public List<RentalTransaction> getActiveRentals() {
         List<RentalTransaction> rentals = new ArrayList<>();
         String sql = "SELECT * FROM rentals WHERE endDateTime IS NULL AND status = 'Active' ORDER BY startDateTime DESC";
@@ -165,7 +416,7 @@ public class RentalDAO {
     
     public List<RentalTransaction> getRentalsByCustomer(String customerID) {
         List<RentalTransaction> rentals = new ArrayList<>();
-        String sql = "SELECT * FROM rentals WHERE customerID = ? AND status != 'Cancelled' ORDER BY startDateTime DESC";
+        String sql = SELECT_BY_CUSTOMER_SQL;
         
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -185,18 +436,127 @@ public class RentalDAO {
         return rentals;
     }
 
-    public RentalTransaction getActiveRentalsByCustomer(String customerID) {
+    /**
+     * One page of a customer's rental history, each rental with its active penalties.
+     * Same rentals and order as getRentalsByCustomer() (cancelled excluded, latest
+     * start first, not-yet-started last), read in ONE query per page: the page of
+     * rentals is picked in a subquery and joined to its penalties.
+     * 
+     * @param customerID Customer whose history to read
+     * @param pageSize Rentals per page (max 1000)
+     * @param pageToken Page.getNextPageToken() of the previous page, or null for the first page
+     * @return The page, or null if the token is invalid or the query failed
+     */
+    public Page<RentalHistory> getRentalHistoryPage(String customerID, int pageSize, String pageToken) {
+        int limit = Math.max(1, Math.min(pageSize, KeysetPager.MAX_PAGE_SIZE));
+
+        KeysetPager.Cursor after = null;
+        if (pageToken != null) {
+            after = KeysetPager.Cursor.decode(HISTORY_PAGE_NAME, pageToken);
+            if (after == null) {
+                System.err.println("Error: Invalid page token for rental history");
+                return null;
+            }
+        }
 
-        String sql = "SELECT * FROM rentals WHERE customerID = ? AND status != 'Cancelled' ORDER BY startDateTime DESC";
+        String sql = "SELECT r.*, p.penaltyID, p.totalPenalty, p.penaltyStatus, " +
+                     "p.maintenanceID AS penaltyMaintenanceID, p.dateIssued " +
+                     "FROM (SELECT * FROM rentals WHERE customerID = ? AND status != 'Cancelled'" +
+                     KeysetPager.seekCondition(after, "startDateTime", true, "rentalID") +
+                     " ORDER BY startDateTime DESC, rentalID DESC LIMIT ?) r " +
+                     "LEFT JOIN penalty p ON p.rentalID = r.rentalID AND p.status = 'Active' " +
+                     "ORDER BY r.startDateTime DESC, r.rentalID DESC, p.dateIssued DESC, p.penaltyID DESC";
+
+        List<RentalHistory> history = new ArrayList<>();
+        boolean more = false;
 
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setString(1, customerID);
-            ResultSet rs = stmt.executeQuery();
+            int param = KeysetPager.bindSeek(stmt, 2, after);
+            stmt.setInt(param, limit + 1);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                RentalHistory current = null;
+                while (rs.next()) {
+                    String rentalID = rs.getString("rentalID");
+                    if (current == null || !current.getRental().getRentalID().equals(rentalID)) {
+                        if (history.size() == limit) {
+                            more = true;
+                            break;
+                        }
+                        current = new RentalHistory(extractRentalFromResultSet(rs));
+                        history.add(current);
+                    }
+                    String penaltyID = rs.getString("penaltyID");
+                    if (penaltyID != null) {
+                        current.getPenalties().add(new PenaltyTransaction(penaltyID, rentalID,
+                                rs.getBigDecimal("totalPenalty"), rs.getString("penaltyStatus"),
+                                rs.getString("penaltyMaintenanceID"), rs.getDate("dateIssued"), "Active"));
+                    }
+                }
+            }
 
-            while (rs.next()) {
-                return extractRentalFromResultSet(rs);
+        } catch (SQLException e) {
+            System.err.println("Error getting rental history: " + e.getMessage());
+            e.printStackTrace();
+            return null;
+        }
+
+        String nextToken = null;
+        if (more) {
+            RentalTransaction last = history.get(history.size() - 1).getRental();
+            nextToken = new KeysetPager.Cursor(KeysetPager.normalize(last.getStartDateTime()), last.getRentalID())
+                    .encode(HISTORY_PAGE_NAME);
+        }
+        return new Page<>(history, nextToken);
+    }
+
+    /**
+     * Get the customer's current rental: Active and not yet returned.
+     * A rental already started comes before one still waiting for pickup.
+     *
+     * @param customerID Customer to check
+     * @return The current rental, or null if the customer has none (or the query failed)
+     */
+    public RentalTransaction getCurrentRentalForCustomer(String customerID) {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(CURRENT_BY_CUSTOMER_SQL)) {
+
+            stmt.setString(1, customerID);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return extractRentalFromResultSet(rs);
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error getting current rental: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        return null;
+    }
+
+    /**
+     * Get the customer's latest non-cancelled rental, even a completed one.
+     *
+     * @param customerID Customer to check
+     * @return Latest non-cancelled rental, or null if none (or the query failed)
+     * @deprecated Despite the name this is not the rental in progress; for the
+     *             rent/return check use getCurrentRentalForCustomer()
+     */
+    @Deprecated
+    public RentalTransaction getActiveRentalsByCustomer(String customerID) {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_BY_CUSTOMER_SQL)) {
+
+            stmt.setString(1, customerID);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return extractRentalFromResultSet(rs);
+                }
             }
 
         } catch (SQLException e) {
@@ -280,6 +640,50 @@ public class RentalDAO {
         return rentals;
     }
 
+    /**
+     * Rows for the rental records table, all statuses including cancelled.
+     * Reads only the displayed columns, in the same order as getAllRentalsIncludingCancelled().
+     *
+     * @return List of rental summaries (empty on error)
+     */
+    public List<RentalSummary> getAllRentalSummariesIncludingCancelled() {
+        return getRentalSummaries("SELECT " + SUMMARY_COLUMNS + " FROM rentals ORDER BY startDateTime DESC", null);
+    }
+
+    /**
+     * Rows for the rental records table with one status.
+     * Reads only the displayed columns, in the same order as getRentalsByStatus().
+     *
+     * @param status Status to filter by ('Active', 'Completed', 'Cancelled')
+     * @return List of rental summaries (empty on error)
+     */
+    public List<RentalSummary> getRentalSummariesByStatus(String status) {
+        return getRentalSummaries("SELECT " + SUMMARY_COLUMNS + " FROM rentals WHERE status = ? ORDER BY startDateTime DESC", status);
+    }
+
+    private List<RentalSummary> getRentalSummaries(String sql, String status) {
+        List<RentalSummary> rentals = new ArrayList<>();
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            if (status != null) {
+                stmt.setString(1, status);
+            }
+            ResultSet rs = stmt.executeQuery();
+
+            while (rs.next()) {
+                rentals.add(new RentalSummary(rs));
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error getting rental summaries: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        return rentals;
+    }
+
     public boolean hasActiveRental(String plateID) {
         String sql = "SELECT COUNT(*) FROM rentals WHERE plateID = ? AND endDateTime IS NULL AND status = 'Active'";
         
@@ -339,7 +743,8 @@ public class RentalDAO {
         }
 
         String sql = "UPDATE rentals SET customerID = ?, plateID = ?, locationID = ?, " +
-                "pickUpDateTime = ?, startDateTime = ?, endDateTime = ?, status = ? WHERE rentalID = ?";
+                "pickUpDateTime = ?, startDateTime = ?, endDateTime = ?, status = ?, version = version + 1 " +
+                "WHERE rentalID = ?";
 
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -385,8 +790,43 @@ public class RentalDAO {
         return false;
     }
 
+    /**
+     * OPTIMISTIC UPDATE: Record the pickup time only if the rental is unchanged since
+     * it was read (same version, still Active and not yet started).
+     * If two staff members start the same rental at once, exactly one UPDATE matches.
+     * 
+     * @param rentalID Rental ID
+     * @param expectedVersion Version the caller read (RentalTransaction.getVersion())
+     * @param startDateTime Actual pickup time
+     * @return true if the rental was started, false if it changed in the meantime (or on error)
+     */
+    public boolean compareAndSetStart(String rentalID, int expectedVersion, Timestamp startDateTime) {
+        String sql = "UPDATE rentals SET startDateTime = ?, version = version + 1 " +
+                     "WHERE rentalID = ? AND version = ? AND status = 'Active' AND startDateTime IS NULL";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setTimestamp(1, startDateTime);
+            stmt.setString(2, rentalID);
+            stmt.setInt(3, expectedVersion);
+
+            if (stmt.executeUpdate() > 0) {
+                return true;
+            }
+            System.out.println("Rental " + rentalID + " was changed by another request (expected version " +
+                               expectedVersion + ")");
+
+        } catch (SQLException e) {
+            System.err.println("Error starting rental: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        return false;
+    }
+
     public boolean completeRental(String rentalID, Timestamp endDateTime) {
-        String sql = "UPDATE rentals SET endDateTime = ?, status = 'Completed' WHERE rentalID = ?";
+        String sql = "UPDATE rentals SET endDateTime = ?, status = 'Completed', version = version + 1 WHERE rentalID = ?";
 
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -410,7 +850,7 @@ public class RentalDAO {
     }
 
     public boolean reactivateRental(String rentalID) {
-        String sql = "UPDATE rentals SET status = 'Active' WHERE rentalID = ?";
+        String sql = "UPDATE rentals SET status = 'Active', version = version + 1 WHERE rentalID = ?";
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, rentalID);
@@ -437,7 +877,7 @@ public class RentalDAO {
      * @return true if cancellation successful, false otherwise
      */
     public boolean cancelRental(String rentalID) {
-        String sql = "UPDATE rentals SET status = 'Cancelled' WHERE rentalID = ?";
+        String sql = "UPDATE rentals SET status = 'Cancelled', version = version + 1 WHERE rentalID = ?";
         
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -458,6 +898,21 @@ public class RentalDAO {
         return false;
     }
     
+    /**
+     * Cancel many rentals with set-based UPDATEs (up to 500 IDs per statement).
+     * Only 'Active' rentals that have not been picked up (startDateTime is NULL) are
+     * changed; picked-up, completed or already cancelled ones are skipped.
+     * Use RentalService.cancelRentals(), which also deactivates their payments.
+     * 
+     * @param rentalIDs Rentals to cancel
+     * @return Number of rentals cancelled, or -1 if the update failed (nothing changed)
+     */
+    public int cancelRentals(Collection<String> rentalIDs) {
+        String sql = "UPDATE rentals SET status = 'Cancelled', version = version + 1 " +
+                     "WHERE {keys} AND status = 'Active' AND startDateTime IS NULL";
+        return BulkUpdate.byIds("rental cancellation", sql, "rentalID", rentalIDs);
+    }
+    
     // ==================== HELPER ====================
     
     /**
@@ -473,10 +928,22 @@ public class RentalDAO {
         rental.setStartDateTime(rs.getTimestamp("startDateTime"));
         rental.setEndDateTime(rs.getTimestamp("endDateTime"));
         rental.setStatus(rs.getString("status"));
+        rental.setVersion(rs.getInt("version"));
         return rental;
     }
 
+    /**
+     * Generate the next rental ID (RNT-XXX).
+     * Uses the id_sequences block allocator; falls back to the last stored ID
+     * if the sequence table is unavailable.
+     */
     public String generateRentalID() {
+        // Fast path: next ID from the in-memory block reserved in id_sequences
+        String allocated = idSequenceDAO.nextId(IdSequenceDAO.Sequence.RENTAL);
+        if (allocated != null) {
+            return allocated;
+        }
+
         String lastID = getLastRentalID();
         int nextNumber = 1;
         if (lastID != null && lastID.startsWith("RNT-")) {
@@ -0,0 +1,192 @@
+package dao;
+
+import util.DBConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Shared row-by-row reading for the DAOs' stream and forEach methods.
+ *
+ * HOW IT WORKS:
+ * - The query runs with a fetch size (db.stream.fetchSize, default 500), so the
+ *   driver holds one batch of rows at a time instead of the whole result
+ * - On MySQL this needs useCursorFetch=true, which DBConnection adds to the URL:
+ *   the server keeps a cursor and sends the next batch when the last one is used up
+ * - Each row is mapped to a model object only when the caller asks for it
+ *
+ * CLOSING:
+ * - forEach() closes everything before it returns (or throws)
+ * - stream() keeps a pooled connection until the stream is closed; use it in
+ *   try-with-resources. Reading the last row also closes it.
+ * - A stream kept open longer than db.pool.leakDetectionMs is reported as a
+ *   possible leak, but keeps working
+ */
+final class RowCursor {
+
+    private static final int DEFAULT_FETCH_SIZE = 500;
+
+    private RowCursor() {
+    }
+
+    /**
+     * Run an action on every row, holding one fetch batch in memory.
+     *
+     * @param name What is being read, for error messages (e.g., "rentals")
+     * @param sql Query without parameters
+     * @param mapper Builds one model object from a row
+     * @param action Called once per row, in query order
+     * @return Number of rows processed, or -1 if the query failed
+     */
+    static <T> long forEach(String name, String sql, RowMapper<T> mapper, Consumer<? super T> action) {
+        long count = 0;
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setFetchSize(getFetchSize());
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    action.accept(mapper.map(rs));
+                    count++;
+                }
+            }
+            return count;
+
+        } catch (SQLException e) {
+            System.err.println("Error reading " + name + " (after " + count + " rows): " + e.getMessage());
+            e.printStackTrace();
+            return -1;
+        }
+    }
+
+    /**
+     * Open a lazy stream over the rows. The caller must close it.
+     *
+     * @param name What is being read, for error messages (e.g., "rentals")
+     * @param sql Query without parameters
+     * @param mapper Builds one model object from a row
+     * @return Stream of mapped rows; empty if the query could not be started
+     * @throws IllegalStateException from the stream if reading a row fails part-way
+     */
+    static <T> Stream<T> stream(String name, String sql, RowMapper<T> mapper) {
+        Connection conn = null;
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
+
+        try {
+            conn = DBConnection.getConnection();
+            stmt = conn.prepareStatement(sql);
+            stmt.setFetchSize(getFetchSize());
+            rs = stmt.executeQuery();
+        } catch (SQLException e) {
+            System.err.println("Error opening " + name + " stream: " + e.getMessage());
+            e.printStackTrace();
+            closeQuietly(rs, stmt, conn);
+            return Stream.empty();
+        }
+
+        Rows<T> rows = new Rows<>(name, conn, stmt, rs, mapper);
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(rows::close);
+    }
+
+    private static int getFetchSize() {
+        String value = DBConnection.getProperty("db.stream.fetchSize", String.valueOf(DEFAULT_FETCH_SIZE));
+        try {
+            int size = Integer.parseInt(value.trim());
+            return size > 0 ? size : DEFAULT_FETCH_SIZE;
+        } catch (NumberFormatException e) {
+            return DEFAULT_FETCH_SIZE;
+        }
+    }
+
+    private static void closeQuietly(ResultSet rs, PreparedStatement stmt, Connection conn) {
+        try {
+            if (rs != null) rs.close();
+        } catch (SQLException e) {
+            // Closing anyway
+        }
+        try {
+            if (stmt != null) stmt.close();
+        } catch (SQLException e) {
+            // Closing anyway
+        }
+        try {
+            if (conn != null) conn.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing stream connection: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Iterator over an open ResultSet that owns its connection.
+     */
+    private static class Rows<T> implements Iterator<T> {
+        private final String name;
+        private final Connection conn;
+        private final PreparedStatement stmt;
+        private final ResultSet rs;
+        private final RowMapper<T> mapper;
+
+        private T next;
+        private boolean closed;
+
+        Rows(String name, Connection conn, PreparedStatement stmt, ResultSet rs, RowMapper<T> mapper) {
+            this.name = name;
+            this.conn = conn;
+            this.stmt = stmt;
+            this.rs = rs;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            if (closed) {
+                return false;
+            }
+            try {
+                if (rs.next()) {
+                    next = mapper.map(rs);
+                    return true;
+                }
+            } catch (SQLException e) {
+                close();
+                throw new IllegalStateException("Error reading " + name + ": " + e.getMessage(), e);
+            }
+            // Last row read: give the connection back without waiting for close()
+            close();
+            return false;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T row = next;
+            next = null;
+            return row;
+        }
+
+        void close() {
+            if (!closed) {
+                closed = true;
+                closeQuietly(rs, stmt, conn);
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Converts the current row of a ResultSet to a model object.
+ * Used by the shared read helpers (KeysetPager, RowCursor, BulkLookup).
+ */
+interface RowMapper<T> {
+    T map(ResultSet rs) throws SQLException;
+}
@@ -9,6 +9,9 @@ import java.sql.SQLException;
 
 public class StaffDAO {
 
+    // Prepared ahead of time by DataWarmup (admin login)
+    static final String SELECT_BY_USERNAME_SQL = "SELECT * FROM staff WHERE username = ?";
+
     public boolean insertStaff(Staff staff){
 
         String sql = "INSERT INTO staff (staffID, username, staffEmail, password) " +
@@ -39,7 +42,7 @@ public class StaffDAO {
 
     public Staff getStaffByUsername(String username){
 
-        String sql = "SELECT * FROM staff WHERE username = ?";
+        String sql = SELECT_BY_USERNAME_SQL;
 
         try (Connection conn = DBConnection.getConnection();
             PreparedStatement stmt = conn.prepareStatement(sql)){
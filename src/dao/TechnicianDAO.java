@@ -5,7 +5,9 @@ import util.DBConnection;
 import java.math.BigDecimal;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Data Access Object for TECHNICIAN table operations.
@@ -229,6 +231,28 @@ public class TechnicianDAO {
         return null;
     }
     
+    /**
+     * Get many active technicians in one query.
+     * 
+     * @param technicianIds Technician IDs to retrieve
+     * @return Map of technician ID to Technician (missing or inactive IDs are absent), or null on error
+     */
+    public Map<String, Technician> getTechniciansByIds(Collection<String> technicianIds) {
+        return BulkLookup.byIds("technicians", "SELECT * FROM technicians WHERE {ids} AND status = 'Active'",
+                                "technician_id", technicianIds, this::extractTechnicianFromResultSet);
+    }
+    
+    /**
+     * Get many technicians in one query regardless of status (labor costs of past jobs).
+     * 
+     * @param technicianIds Technician IDs to retrieve
+     * @return Map of technician ID to Technician (missing IDs are absent), or null on error
+     */
+    public Map<String, Technician> getTechniciansByIdsIncludingInactive(Collection<String> technicianIds) {
+        return BulkLookup.byIds("technicians", "SELECT * FROM technicians WHERE {ids}",
+                                "technician_id", technicianIds, this::extractTechnicianFromResultSet);
+    }
+    
     /**
      * Get all active technicians.
      * Only returns technicians with status = 'Active'.
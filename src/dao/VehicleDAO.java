@@ -5,7 +5,9 @@ import util.DBConnection;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Data Access Object for VEHICLE table operations.
@@ -27,6 +29,7 @@ import java.util.List;
  * - getAllVehiclesIncludingInactive(): Returns ALL vehicles for reporting
  * - getAvailableVehicles(): Returns only vehicles with status = 'Available'
  * - getVehiclesByLocation(): Automatically excludes inactive vehicles
+ * - claimAvailableVehicle(): Locks one bookable vehicle of a type at a location
  * - getVehiclesByType(): Automatically excludes inactive vehicles
  * - getVehiclesByStatus(): Can query any status including 'Inactive'
  * - getVehicleById(): Returns vehicle regardless of status (for lookups)
@@ -43,16 +46,12 @@ public class VehicleDAO {
     private static final String STATUS_INACTIVE = "Inactive";
     
     public boolean insertVehicle(Vehicle vehicle) {
-        String sql = "INSERT INTO vehicles (plateID, vehicleType, status, rentalPrice) " +
-                "VALUES (?, ?, ?, ?)";
+        String sql = INSERT_SQL;
         
         try (Connection conn = DBConnection.getConnection();
             PreparedStatement stmt = conn.prepareStatement(sql)) {
             
-            stmt.setString(1, vehicle.getPlateID());
-            stmt.setString(2, vehicle.getVehicleType());
-            stmt.setString(3, vehicle.getStatus());
-            stmt.setDouble(4, vehicle.getRentalPrice());
+            bindInsert(stmt, vehicle);
             
             int rowsAffected = stmt.executeUpdate();
             
@@ -68,10 +67,30 @@ public class VehicleDAO {
         
         return false;
     }
+    
+    /**
+     * Insert many vehicles using JDBC batching (for imports of a new branch's fleet).
+     * 
+     * @param vehicles Vehicles to insert
+     * @return Per-row result, in the same order as vehicles
+     */
+    public BatchResult insertVehicles(List<Vehicle> vehicles) {
+        return BatchInsert.execute("vehicle", INSERT_SQL, vehicles, VehicleDAO::bindInsert);
+    }
+    
+    private static final String INSERT_SQL =
+            "INSERT INTO vehicles (plateID, vehicleType, status, rentalPrice) VALUES (?, ?, ?, ?)";
+    
+    private static void bindInsert(PreparedStatement stmt, Vehicle vehicle) throws SQLException {
+        stmt.setString(1, vehicle.getPlateID());
+        stmt.setString(2, vehicle.getVehicleType());
+        stmt.setString(3, vehicle.getStatus());
+        stmt.setDouble(4, vehicle.getRentalPrice());
+    }
 
     public boolean updateVehicle(Vehicle vehicle) {
         String sql = "UPDATE vehicles SET vehicleType = ?, " +
-                    "status = ?, rentalPrice = ? WHERE plateID = ?";
+                    "status = ?, rentalPrice = ?, version = version + 1 WHERE plateID = ?";
         
         try (Connection conn = DBConnection.getConnection();
             PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -105,7 +124,7 @@ public class VehicleDAO {
      * @return true if deactivation successful, false otherwise
      */
     public boolean deactivateVehicle(String plateID) {
-        String sql = "UPDATE vehicles SET status = 'Inactive' WHERE plateID = ?";
+        String sql = "UPDATE vehicles SET status = 'Inactive', version = version + 1 WHERE plateID = ?";
         
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -126,6 +145,18 @@ public class VehicleDAO {
         return false;
     }
     
+    /**
+     * SOFT DELETE many vehicles with set-based UPDATEs (up to 500 IDs per statement).
+     * Only 'Available' vehicles are changed; rented or in-maintenance vehicles are skipped.
+     * 
+     * @param plateIDs Vehicles to deactivate
+     * @return Number of vehicles deactivated, or -1 if the update failed (nothing changed)
+     */
+    public int deactivateVehicles(Collection<String> plateIDs) {
+        String sql = "UPDATE vehicles SET status = 'Inactive', version = version + 1 WHERE {keys} AND status = 'Available'";
+        return BulkUpdate.byIds("vehicle deactivation", sql, "plateID", plateIDs);
+    }
+    
     /**
      * Reactivate a previously deactivated vehicle.
      * Sets status back to Available.
@@ -134,7 +165,7 @@ public class VehicleDAO {
      * @return true if reactivation successful, false otherwise
      */
     public boolean reactivateVehicle(String plateID) {
-        String sql = "UPDATE vehicles SET status = 'Available' WHERE plateID = ?";
+        String sql = "UPDATE vehicles SET status = 'Available', version = version + 1 WHERE plateID = ?";
         
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -175,6 +206,17 @@ public class VehicleDAO {
         
         return null;
     }
+
+    /**
+     * Get many vehicles in one query (any status, like getVehicleById()).
+     * 
+     * @param plateIDs Plate IDs to retrieve
+     * @return Map of plate ID to Vehicle (missing IDs are absent), or null on error
+     */
+    public Map<String, Vehicle> getVehiclesByIds(Collection<String> plateIDs) {
+        return BulkLookup.byIds("vehicles", "SELECT * FROM vehicles WHERE {ids}", "plateID",
+                                plateIDs, this::extractVehicleFromResultSet);
+    }
     
     /**
      * Get all ACTIVE vehicles (excludes Inactive/retired)
@@ -273,13 +315,56 @@ public class VehicleDAO {
         return vehicles;
     }
     
+    /**
+     * Lock one bookable vehicle of a type at a location, for the caller's transaction.
+     * 
+     * Bookable means: deployed there now, status 'Available' and no open booking.
+     * The row is read with FOR UPDATE SKIP LOCKED, so customers booking the same
+     * type at once each lock a DIFFERENT vehicle instead of queueing on the first one.
+     * The lock is held until the caller's UnitOfWork commits or rolls back; call this
+     * inside a UnitOfWork (with auto-commit the lock is released straight away).
+     * 
+     * @param locationID Location the vehicle must be deployed at
+     * @param vehicleType Vehicle type (e.g., "E-Scooter")
+     * @return Locked vehicle, or null if none is free (or on error)
+     */
+    public Vehicle claimAvailableVehicle(String locationID, String vehicleType) {
+        String sql = "SELECT v.* FROM vehicles v " +
+                     "JOIN deployments d ON v.plateID = d.plateID " +
+                     "WHERE d.locationID = ? AND d.endDate IS NULL " +
+                     "AND v.vehicleType = ? AND v.status = 'Available' " +
+                     "AND NOT EXISTS (SELECT 1 FROM rentals r WHERE r.plateID = v.plateID " +
+                     "AND r.endDateTime IS NULL AND r.status = 'Active') " +
+                     "ORDER BY v.plateID LIMIT 1 " +
+                     // H2 has no SKIP LOCKED; its plain FOR UPDATE waits instead
+                     (DBConnection.isEmbedded() ? "FOR UPDATE" : "FOR UPDATE OF v SKIP LOCKED");
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setString(1, locationID);
+            stmt.setString(2, vehicleType);
+            ResultSet rs = stmt.executeQuery();
+            
+            if (rs.next()) {
+                return extractVehicleFromResultSet(rs);
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error claiming vehicle: " + e.getMessage());
+            e.printStackTrace();
+        }
+        
+        return null;
+    }
+    
     public boolean updateVehicleStatus(String plateID, String newStatus) {
         if (!isValidStatus(newStatus)) {
             System.err.println("Invalid status: " + newStatus);
             return false;
         }
         
-        String sql = "UPDATE vehicles SET status = ? WHERE plateID = ?";
+        String sql = "UPDATE vehicles SET status = ?, version = version + 1 WHERE plateID = ?";
         
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -302,6 +387,51 @@ public class VehicleDAO {
         return false;
     }
     
+    /**
+     * OPTIMISTIC UPDATE: Change a vehicle's status only if nobody else changed the
+     * vehicle since it was read (same version and same status).
+     * No lock is held between the read and this call; a concurrent writer makes
+     * this UPDATE match zero rows instead of silently overwriting their change.
+     * Passing the same expected and new status just "claims" the current version.
+     * 
+     * @param plateID Vehicle plate ID
+     * @param expectedVersion Version the caller read (Vehicle.getVersion())
+     * @param expectedStatus Status the caller read
+     * @param newStatus Status to set
+     * @return true if the vehicle was updated, false if it changed in the meantime (or on error)
+     */
+    public boolean compareAndSetStatus(String plateID, int expectedVersion,
+                                       String expectedStatus, String newStatus) {
+        if (!isValidStatus(newStatus)) {
+            System.err.println("Invalid status: " + newStatus);
+            return false;
+        }
+        
+        String sql = "UPDATE vehicles SET status = ?, version = version + 1 " +
+                     "WHERE plateID = ? AND version = ? AND status = ?";
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setString(1, newStatus);
+            stmt.setString(2, plateID);
+            stmt.setInt(3, expectedVersion);
+            stmt.setString(4, expectedStatus);
+            
+            if (stmt.executeUpdate() > 0) {
+                return true;
+            }
+            System.out.println("Vehicle " + plateID + " was changed by another request (expected version " +
+                               expectedVersion + ", status " + expectedStatus + ")");
+            
+        } catch (SQLException e) {
+            System.err.println("Error updating vehicle status: " + e.getMessage());
+            e.printStackTrace();
+        }
+        
+        return false;
+    }
+    
     public List<Vehicle> getVehiclesByStatus(String status) {
         List<Vehicle> vehicles = new ArrayList<>();
         String sql = "SELECT * FROM vehicles WHERE status = ? ORDER BY vehicleType, plateID";
@@ -421,6 +551,7 @@ public class VehicleDAO {
         vehicle.setVehicleType(rs.getString("vehicleType"));
         vehicle.setStatus(rs.getString("status"));
         vehicle.setRentalPrice(rs.getDouble("rentalPrice"));
+        vehicle.setVersion(rs.getInt("version"));
         return vehicle;
     }
     
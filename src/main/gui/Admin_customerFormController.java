@@ -10,8 +10,7 @@ import java.io.IOException;
 import java.util.Objects;
 import javafx.scene.control.DialogPane;
 import dao.AddressDAO;
-import dao.BarangayDAO;
-import dao.CityDAO;
+import dao.ReferenceDataCache;
 import dao.CustomerDAO;
 import model.Address;
 import model.Barangay;
@@ -43,8 +42,6 @@ public class Admin_customerFormController implements Initializable {
     // DAOs
     private CustomerDAO customerDAO = new CustomerDAO();
     private AddressDAO addressDAO = new AddressDAO();
-    private CityDAO cityDAO = new CityDAO();
-    private BarangayDAO barangayDAO = new BarangayDAO();
 
     private Admin_dashboardController mainController;
     private boolean isUpdatingRecord = false;
@@ -60,11 +57,11 @@ public class Admin_customerFormController implements Initializable {
             idField.getStyleClass().add("form-text-field-disabled");
         }
 
-        cityComboBox.getItems().setAll(cityDAO.getAllCities());
+        cityComboBox.getItems().setAll(ReferenceDataCache.getCities());
         cityComboBox.getSelectionModel().selectedItemProperty().addListener((obs, oldVal, newVal) -> {
             if (newVal != null) {
                 barangayComboBox.setDisable(false);
-                barangayComboBox.getItems().setAll(barangayDAO.getBarangaysByCity(newVal.getCityID()));
+                barangayComboBox.getItems().setAll(ReferenceDataCache.getBarangaysByCity(newVal.getCityID()));
             } else {
                 barangayComboBox.setDisable(true);
                 barangayComboBox.getItems().clear();
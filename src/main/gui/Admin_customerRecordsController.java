@@ -1,6 +1,5 @@
 package main.gui;
 
-import dao.AddressDAO;
 import javafx.scene.control.Tooltip;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.control.Tooltip;
@@ -11,16 +10,18 @@ import javafx.geometry.Bounds;
 
 import dao.CustomerDAO;
 import javafx.scene.control.*;
-import model.Address;
 import model.Customer;
+import service.ImportService;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.stage.FileChooser;
 import javafx.util.Callback;
 
+import java.io.File;
 import java.net.URL;
 import java.util.List;
 import java.util.ResourceBundle;
@@ -39,10 +40,11 @@ public class Admin_customerRecordsController implements Initializable {
 
     @FXML private TableColumn<Customer, Void> actionColumn;
     @FXML private ComboBox<String> statusFilterComboBox;
+    @FXML private Button importButton;
 
     private CustomerDAO customerDAO = new CustomerDAO();
+    private final ImportService importService = new ImportService();
     private Admin_dashboardController mainController;
-    private AddressDAO addressDAO = new AddressDAO();
 
     @Override
     public void initialize(URL url, ResourceBundle rb) {
@@ -76,32 +78,24 @@ public class Admin_customerRecordsController implements Initializable {
         customerTable.getItems().clear();
 
         String statusFilter = statusFilterComboBox.getValue();
-        List<Customer> customerList;
 
-        if ("All".equals(statusFilter)) {
-            customerList = customerDAO.getAllCustomersIncludingInactive();
-        } else {
-            customerList = customerDAO.getCustomersByStatus(statusFilter);
-        }
-
-        for (Customer customer : customerList) {
-            try {
-                if (customer != null && customer.getAddressID() != null) {
-                    Address address = addressDAO.getAddressWithFullDetails(customer.getAddressID());
-                    if (address != null) {
-                        customer.setAddress(address);
-                    }
-                }
-            } catch (Exception e) {
-
-                System.err.println("Error loading address for customer " + customer.getCustomerID() + ": " + e.getMessage());
+        FxAsync.load(() -> fetchCustomers(statusFilter),
+                customerList -> {
+                    ObservableList<Customer> customers = FXCollections.observableArrayList(customerList);
+                    customerTable.setItems(customers);
+                    customerCountLabel.setText("(" + customers.size() + ") CUSTOMERS: ");
+                },
+                error -> customerCountLabel.setText("Failed to load customers."));
+    }
 
-            }
+    /**
+     * Runs in the background: loads customers with their addresses in one query.
+     */
+    private List<Customer> fetchCustomers(String statusFilter) {
+        if ("All".equals(statusFilter)) {
+            return customerDAO.getAllCustomersWithAddressIncludingInactive();
         }
-
-        ObservableList<Customer> customers = FXCollections.observableArrayList(customerList);
-        customerTable.setItems(customers);
-        customerCountLabel.setText("(" + customers.size() + ") CUSTOMERS: ");
+        return customerDAO.getCustomersWithAddressByStatus(statusFilter);
     }
 
     @FXML
@@ -244,6 +238,35 @@ public class Admin_customerRecordsController implements Initializable {
         };
     }
 
+    /**
+     * Handler for "Import CSV": adds customers (and their addresses) from a CSV file in the background.
+     * Rows that cannot be imported are saved to a .rejects.csv file next to it.
+     */
+    @FXML
+    private void handleImportCsv() {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Import Customers");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV Files", "*.csv"));
+        File file = chooser.showOpenDialog(importButton.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+
+        importButton.setDisable(true);
+        FxAsync.load(() -> importService.importCustomers(file.toPath()),
+                result -> {
+                    importButton.setDisable(false);
+                    Alert.AlertType type = result.isCompleted() && result.getRejected() == 0
+                            ? Alert.AlertType.INFORMATION : Alert.AlertType.WARNING;
+                    showAlert(type, "Import Customers", result.getSummary());
+                    loadCustomerData();
+                },
+                error -> {
+                    importButton.setDisable(false);
+                    showAlert(Alert.AlertType.ERROR, "Import Failed", "Could not import " + file.getName() + ".");
+                });
+    }
+
     private void showAlert(Alert.AlertType type, String title, String content) {
         Alert alert = new Alert(type);
         alert.setTitle(title);
@@ -10,6 +10,7 @@ import java.io.IOException;
 import dao.DeploymentDAO;
 import dao.VehicleDAO;
 import dao.LocationDAO;
+import dao.ReferenceDataCache;
 import model.DeploymentTransaction;
 import model.Vehicle;
 import model.Location;
@@ -264,7 +265,7 @@ public class Admin_deploymentFormController implements Initializable {
         }
 
         try {
-            List<Location> locations = locationDAO.getAllLocations();
+            List<Location> locations = ReferenceDataCache.getActiveLocations();
             ObservableList<Location> locationList = FXCollections.observableArrayList(locations);
             locationComboBox.setItems(locationList);
 
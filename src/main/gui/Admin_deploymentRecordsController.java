@@ -16,7 +16,6 @@ import javafx.util.Callback;
 
 import java.net.URL;
 import java.sql.Date;
-import java.util.List;
 import java.util.ResourceBundle;
 
 public class Admin_deploymentRecordsController implements Initializable {
@@ -82,19 +81,21 @@ public class Admin_deploymentRecordsController implements Initializable {
     private void loadDeploymentData() {
         deploymentTable.getItems().clear();
         String statusFilter = statusFilterComboBox.getValue();
-        List<DeploymentTransaction> deployments;
-
-        if ("All".equals(statusFilter)) {
-            deployments = deploymentDAO.getAllDeploymentsIncludingCancelled();
-        } else if ("Cancelled".equals(statusFilter)) {
-            deployments = deploymentDAO.getDeploymentsByStatus("Cancelled");
-        } else {
-            deployments = deploymentDAO.getAllDeployments(); // This is your original method
-        }
 
-        ObservableList<DeploymentTransaction> data = FXCollections.observableArrayList(deployments);
-        deploymentTable.setItems(data);
-        deploymentCountLabel.setText("(" + deployments.size() + ") DEPLOYMENTS:");
+        FxAsync.load(() -> {
+                    if ("All".equals(statusFilter)) {
+                        return deploymentDAO.getAllDeploymentsIncludingCancelled();
+                    } else if ("Cancelled".equals(statusFilter)) {
+                        return deploymentDAO.getDeploymentsByStatus("Cancelled");
+                    }
+                    return deploymentDAO.getAllDeployments(); // This is your original method
+                },
+                deployments -> {
+                    ObservableList<DeploymentTransaction> data = FXCollections.observableArrayList(deployments);
+                    deploymentTable.setItems(data);
+                    deploymentCountLabel.setText("(" + deployments.size() + ") DEPLOYMENTS:");
+                },
+                error -> deploymentCountLabel.setText("Failed to load deployments."));
     }
 
     @FXML
@@ -69,7 +69,10 @@ public class Admin_homeController implements Initializable {
     }
 
     private void loadRecordData() {
-        Map<String, Integer> counts = dashboardDAO.getRecordCounts();
+        FxAsync.load(dashboardDAO::getRecordCounts, this::showRecordCounts, null);
+    }
+
+    private void showRecordCounts(Map<String, Integer> counts) {
         ObservableList<RecordSummary> records = FXCollections.observableArrayList();
 
         records.add(new RecordSummary("Customer records", counts.getOrDefault("Customers", 0), "Core"));
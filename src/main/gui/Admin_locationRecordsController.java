@@ -12,7 +12,6 @@ import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.util.Callback;
 
 import java.net.URL;
-import java.util.List;
 import java.util.ResourceBundle;
 
 public class Admin_locationRecordsController implements  Initializable{
@@ -51,17 +50,16 @@ public class Admin_locationRecordsController implements  Initializable{
     private  void loadData(){
         table.getItems().clear();
         String statusFilter = statusFilterComboBox.getValue();
-        List<Location> list;
 
-        if ("All".equals(statusFilter)) {
-            list = dao.getAllLocationsIncludingInactive();
-        } else {
-            list = dao.getAllLocationsByStatus(statusFilter);
-        }
-
-        ObservableList<Location> data = FXCollections.observableArrayList(list);
-        table.setItems(data);
-        countLabel.setText("(" + data.size() + ") LOCATIONS:");
+        FxAsync.load(() -> "All".equals(statusFilter)
+                        ? dao.getAllLocationsIncludingInactive()
+                        : dao.getAllLocationsByStatus(statusFilter),
+                list -> {
+                    ObservableList<Location> data = FXCollections.observableArrayList(list);
+                    table.setItems(data);
+                    countLabel.setText("(" + data.size() + ") LOCATIONS:");
+                },
+                error -> countLabel.setText("Failed to load locations."));
     }
 
     @FXML private void handleAdd(){
@@ -4,6 +4,7 @@ import javafx.scene.layout.AnchorPane;
 import dao.MaintenanceChequeDAO;
 import model.MaintenanceCheque;
 import service.MaintenanceService;
+import javafx.beans.binding.Bindings;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
@@ -22,6 +23,7 @@ public class Admin_maintenanceChequeRecordsController implements Initializable {
 
     @FXML private Label chequeCountLabel;
     @FXML private TableView<MaintenanceCheque> chequeTable;
+    @FXML private Button bulkDeactivateButton;
     @FXML private TableColumn<MaintenanceCheque, String> maintenanceIDColumn;
     @FXML private TableColumn<MaintenanceCheque, String> partIDColumn;
     @FXML private TableColumn<MaintenanceCheque, String> quantityUsedColumn;
@@ -37,6 +39,7 @@ public class Admin_maintenanceChequeRecordsController implements Initializable {
 
     @Override
     public void initialize(URL url, ResourceBundle rb) {
+        setupBulkSelection();
         maintenanceIDColumn.setCellValueFactory(new PropertyValueFactory<>("maintenanceID"));
         partIDColumn.setCellValueFactory(new PropertyValueFactory<>("partID"));
         quantityUsedColumn.setCellValueFactory(new PropertyValueFactory<>("quantityUsed"));
@@ -56,26 +59,18 @@ public class Admin_maintenanceChequeRecordsController implements Initializable {
     }
 
     private void loadChequeData() {
-        try {
-            chequeTable.getItems().clear();
-            String statusFilter = statusFilterComboBox.getValue();
-            List<MaintenanceCheque> chequeList;
-
-            if ("All".equals(statusFilter)) {
-                chequeList = chequeDAO.getAllMaintenanceChequesIncludingInactive();
-            } else {
-                chequeList = chequeDAO.getMaintenanceChequesByStatus(statusFilter);
-            }
-
-            ObservableList<MaintenanceCheque> observableList = FXCollections.observableArrayList(chequeList);
-            chequeTable.setItems(observableList);
-            chequeCountLabel.setText("(" + observableList.size() + ") MAINTENANCE CHEQUES:");
-
-        } catch (Exception e) {
-            System.err.println("Failed to load maintenance cheque data:");
-            e.printStackTrace();
-            showAlert(Alert.AlertType.ERROR, "Load Error", "Could not load data.");
-        }
+        chequeTable.getItems().clear();
+        String statusFilter = statusFilterComboBox.getValue();
+
+        FxAsync.load(() -> "All".equals(statusFilter)
+                        ? chequeDAO.getAllMaintenanceChequesIncludingInactive()
+                        : chequeDAO.getMaintenanceChequesByStatus(statusFilter),
+                chequeList -> {
+                    ObservableList<MaintenanceCheque> observableList = FXCollections.observableArrayList(chequeList);
+                    chequeTable.setItems(observableList);
+                    chequeCountLabel.setText("(" + observableList.size() + ") MAINTENANCE CHEQUES:");
+                },
+                error -> showAlert(Alert.AlertType.ERROR, "Load Error", "Could not load data."));
     }
 
     @FXML
@@ -182,6 +177,54 @@ public class Admin_maintenanceChequeRecordsController implements Initializable {
         }
     }
 
+    /**
+     * Lets several rows be selected for "Deactivate Selected".
+     */
+    private void setupBulkSelection() {
+        chequeTable.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+        bulkDeactivateButton.disableProperty().bind(
+                Bindings.isEmpty(chequeTable.getSelectionModel().getSelectedItems()));
+    }
+
+    /**
+     * Handler for "Deactivate Selected": deactivates every selected Active cheque
+     * in one transaction and returns their parts to inventory.
+     */
+    @FXML
+    private void handleDeactivateSelected() {
+        List<MaintenanceCheque> selected = new ArrayList<>();
+        for (MaintenanceCheque cheque : chequeTable.getSelectionModel().getSelectedItems()) {
+            if ("Active".equals(cheque.getStatus())) {
+                selected.add(cheque);
+            }
+        }
+        if (selected.isEmpty()) {
+            showAlert(Alert.AlertType.WARNING, "Nothing to Deactivate", "None of the selected maintenance cheques are Active.");
+            return;
+        }
+
+        Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
+        alert.setTitle("Confirmation");
+        alert.setHeaderText("Confirm deactivate");
+        alert.setContentText("Are you sure you want to deactivate " + selected.size() + " maintenance cheque(s)?" +
+                "\n\nNote: The parts used by these cheques will be returned to inventory." +
+                (selected.size() < chequeTable.getSelectionModel().getSelectedItems().size()
+                        ? "\nSelected maintenance cheques that are not Active will be skipped." : ""));
+
+        if (alert.showAndWait().get() == ButtonType.OK) {
+            FxAsync.load(() -> maintenanceService.deactivateMaintenanceChequesWithInventory(selected),
+                    count -> {
+                        if (count >= 0) {
+                            showAlert(Alert.AlertType.INFORMATION, "Success", count + " maintenance cheque(s) deactivated.");
+                            loadChequeData();
+                        } else {
+                            showAlert(Alert.AlertType.ERROR, "Error", "Failed to deactivate the selected maintenance cheques. No changes were made.");
+                        }
+                    },
+                    error -> showAlert(Alert.AlertType.ERROR, "Error", "Failed to deactivate the selected maintenance cheques."));
+        }
+    }
+
     private void showAlert(Alert.AlertType type, String title, String content) {
         Alert alert = new Alert(type);
         alert.setTitle(title);
@@ -122,6 +122,7 @@ public class Admin_maintenanceFormController implements Initializable {
             }
 
             boolean isSuccessful;
+            String failureMessage = null;
             
             if (isUpdatingRecord) {
                 // Check if maintenance is being completed for the FIRST TIME (endDateTime was null, now being set)
@@ -165,10 +166,14 @@ public class Admin_maintenanceFormController implements Initializable {
                     }
                     
                     // COMPLETING MAINTENANCE (FIRST TIME): Use service to handle vehicle status update and cost calculation
-                    isSuccessful = maintenanceService.completeMaintenance(
+                    MaintenanceService.CompletionResult completion = maintenanceService.tryCompleteMaintenance(
                         maintenanceID,
-                        java.sql.Timestamp.valueOf(endDateTime)
+                        java.sql.Timestamp.valueOf(endDateTime),
+                        null
                     );
+                    isSuccessful = completion.isCompleted();
+                    // Tells the admin which parts are short, or why else nothing was saved
+                    failureMessage = completion.getMessage();
                 } else {
                     // REGULAR UPDATE (editing already-completed or still-incomplete record): Use DAO directly
                     // This handles: 1) editing fields without setting endDateTime, 2) editing already-completed records
@@ -224,7 +229,8 @@ public class Admin_maintenanceFormController implements Initializable {
                 }
                 mainController.loadPage("Admin-maintenanceRecords.fxml");
             } else {
-                showAlert(AlertType.ERROR, "Error", "Failed to save maintenance record.");
+                showAlert(AlertType.ERROR, "Error", failureMessage != null ?
+                    failureMessage : "Failed to save maintenance record.");
             }
 
         } catch (NullPointerException e) {
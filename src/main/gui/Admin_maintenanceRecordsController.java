@@ -1,7 +1,7 @@
 package main.gui;
 
 import dao.MaintenanceDAO;
-import model.MaintenanceTransaction;
+import dao.MaintenanceDAO.MaintenanceSummary;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
@@ -17,23 +17,22 @@ import javafx.util.Callback;
 
 import java.net.URL;
 import java.sql.Timestamp;
-import java.util.List;
 import java.util.ResourceBundle;
 
 public class Admin_maintenanceRecordsController implements Initializable {
 
     @FXML private Label maintenanceCountLabel;
-    @FXML private TableView<MaintenanceTransaction> maintenanceTable;
-    @FXML private TableColumn<MaintenanceTransaction, String> maintenanceIDColumn;
-    @FXML private TableColumn<MaintenanceTransaction, String> plateIDColumn;
-    @FXML private TableColumn<MaintenanceTransaction, String> technicianIDColumn;
-    @FXML private TableColumn<MaintenanceTransaction, Timestamp> startDateTimeColumn;
-    @FXML private TableColumn<MaintenanceTransaction, Timestamp> endDateTimeColumn;
-    @FXML private TableColumn<MaintenanceTransaction, String> notesColumn;
-    @FXML private TableColumn<MaintenanceTransaction, String> statusColumn;
-    @FXML private TableColumn<MaintenanceTransaction, Void> editColumn;
+    @FXML private TableView<MaintenanceSummary> maintenanceTable;
+    @FXML private TableColumn<MaintenanceSummary, String> maintenanceIDColumn;
+    @FXML private TableColumn<MaintenanceSummary, String> plateIDColumn;
+    @FXML private TableColumn<MaintenanceSummary, String> technicianIDColumn;
+    @FXML private TableColumn<MaintenanceSummary, Timestamp> startDateTimeColumn;
+    @FXML private TableColumn<MaintenanceSummary, Timestamp> endDateTimeColumn;
+    @FXML private TableColumn<MaintenanceSummary, String> notesColumn;
+    @FXML private TableColumn<MaintenanceSummary, String> statusColumn;
+    @FXML private TableColumn<MaintenanceSummary, Void> editColumn;
 
-    @FXML private TableColumn<MaintenanceTransaction, Void> actionColumn;
+    @FXML private TableColumn<MaintenanceSummary, Void> actionColumn;
     @FXML private ComboBox<String> statusFilterComboBox;
 
     private MaintenanceDAO maintenanceDAO = new MaintenanceDAO();
@@ -69,7 +68,7 @@ public class Admin_maintenanceRecordsController implements Initializable {
         notesColumn.setCellValueFactory(new PropertyValueFactory<>("notes"));
         statusColumn.setCellValueFactory(new PropertyValueFactory<>("status"));
 
-        notesColumn.setCellFactory(column -> new TableCell<MaintenanceTransaction, String>() {
+        notesColumn.setCellFactory(column -> new TableCell<MaintenanceSummary, String>() {
 
             @Override
             protected void updateItem(String item, boolean empty) {
@@ -110,18 +109,16 @@ public class Admin_maintenanceRecordsController implements Initializable {
     private void loadMaintenanceData() {
         maintenanceTable.getItems().clear();
         String statusFilter = statusFilterComboBox.getValue();
-        List<MaintenanceTransaction> maintenanceList;
 
-        if ("All".equals(statusFilter)) {
-            maintenanceList = maintenanceDAO.getAllMaintenanceIncludingInactive();
-        } else {
-
-            maintenanceList = maintenanceDAO.getMaintenanceByStatus(statusFilter);
-        }
-
-        ObservableList<MaintenanceTransaction> maintenances = FXCollections.observableArrayList(maintenanceList);
-        maintenanceTable.setItems(maintenances);
-        maintenanceCountLabel.setText("(" + maintenances.size() + ") MAINTENANCES:");
+        FxAsync.load(() -> "All".equals(statusFilter)
+                        ? maintenanceDAO.getAllMaintenanceSummariesIncludingInactive()
+                        : maintenanceDAO.getMaintenanceSummariesByStatus(statusFilter),
+                maintenanceList -> {
+                    ObservableList<MaintenanceSummary> maintenances = FXCollections.observableArrayList(maintenanceList);
+                    maintenanceTable.setItems(maintenances);
+                    maintenanceCountLabel.setText("(" + maintenances.size() + ") MAINTENANCES:");
+                },
+                error -> maintenanceCountLabel.setText("Failed to load maintenance records."));
     }
 
     @FXML
@@ -129,28 +126,42 @@ public class Admin_maintenanceRecordsController implements Initializable {
         mainController.loadMaintenanceForm(null);
     }
 
-    private void handleEditMaintenance(MaintenanceTransaction maintenance) {
-        mainController.loadMaintenanceForm(maintenance);
+    /**
+     * The table only holds summaries, so the full record is loaded when the form is opened.
+     */
+    private void handleEditMaintenance(MaintenanceSummary summary) {
+        FxAsync.load(() -> maintenanceDAO.getMaintenanceById(summary.getMaintenanceID()),
+                maintenance -> {
+                    if (maintenance != null) {
+                        mainController.loadMaintenanceForm(maintenance);
+                    } else {
+                        showAlert(Alert.AlertType.ERROR, "Error",
+                                "Maintenance " + summary.getMaintenanceID() + " is no longer active.");
+                        loadMaintenanceData();
+                    }
+                },
+                error -> showAlert(Alert.AlertType.ERROR, "Error",
+                        "Failed to load maintenance " + summary.getMaintenanceID() + "."));
     }
 
     private void setupEditButtonColumn() {
-        Callback<TableColumn<MaintenanceTransaction, Void>, TableCell<MaintenanceTransaction, Void>> cellFactory = new Callback<>() {
+        Callback<TableColumn<MaintenanceSummary, Void>, TableCell<MaintenanceSummary, Void>> cellFactory = new Callback<>() {
             @Override
-            public TableCell<MaintenanceTransaction, Void> call(final TableColumn<MaintenanceTransaction, Void> param) {
-                final TableCell<MaintenanceTransaction, Void> cell = new TableCell<>() {
+            public TableCell<MaintenanceSummary, Void> call(final TableColumn<MaintenanceSummary, Void> param) {
+                final TableCell<MaintenanceSummary, Void> cell = new TableCell<>() {
                     @Override
                     public void updateItem(Void item, boolean empty) {
                         super.updateItem(item, empty);
                         if (empty || getTableRow() == null || getTableRow().getItem() == null) {
                             setGraphic(null);
                         } else {
-                            MaintenanceTransaction maintenance = getTableRow().getItem();
+                            MaintenanceSummary maintenance = getTableRow().getItem();
                             // REQUIREMENT: Only show Edit button for Active maintenance records
                             if ("Active".equals(maintenance.getStatus())) {
                                 Button btn = new Button("Edit");
                                 btn.getStyleClass().add("edit-button");
                                 btn.setOnAction(event -> {
-                                    MaintenanceTransaction maint = getTableRow().getItem();
+                                    MaintenanceSummary maint = getTableRow().getItem();
                                     if (maint != null) {
                                         handleEditMaintenance(maint);
                                     }
@@ -169,17 +180,17 @@ public class Admin_maintenanceRecordsController implements Initializable {
     }
 
     private void setupActionColumn() {
-        Callback<TableColumn<MaintenanceTransaction, Void>, TableCell<MaintenanceTransaction, Void>> cellFactory = new Callback<>() {
+        Callback<TableColumn<MaintenanceSummary, Void>, TableCell<MaintenanceSummary, Void>> cellFactory = new Callback<>() {
             @Override
-            public TableCell<MaintenanceTransaction, Void> call(final TableColumn<MaintenanceTransaction, Void> param) {
-                final TableCell<MaintenanceTransaction, Void> cell = new TableCell<>() {
+            public TableCell<MaintenanceSummary, Void> call(final TableColumn<MaintenanceSummary, Void> param) {
+                final TableCell<MaintenanceSummary, Void> cell = new TableCell<>() {
                     @Override
                     public void updateItem(Void item, boolean empty) {
                         super.updateItem(item, empty);
                         if (empty || getTableRow() == null || getTableRow().getItem() == null) {
                             setGraphic(null);
                         } else {
-                            MaintenanceTransaction maintenance = getTableRow().getItem();
+                            MaintenanceSummary maintenance = getTableRow().getItem();
                             Button btn = new Button();
 
                             if ("Active".equals(maintenance.getStatus())) {
@@ -191,7 +202,7 @@ public class Admin_maintenanceRecordsController implements Initializable {
                             }
 
                             btn.setOnAction((ActionEvent event) -> {
-                                MaintenanceTransaction currentMaint = getTableRow().getItem();
+                                MaintenanceSummary currentMaint = getTableRow().getItem();
                                 if (currentMaint != null) {
                                     handleDeactivateReactivate(currentMaint);
                                 }
@@ -206,7 +217,7 @@ public class Admin_maintenanceRecordsController implements Initializable {
         actionColumn.setCellFactory(cellFactory);
     }
 
-    private void handleDeactivateReactivate(MaintenanceTransaction maintenance) {        
+    private void handleDeactivateReactivate(MaintenanceSummary maintenance) {        
         // Build detailed confirmation message
         String action = "Active".equals(maintenance.getStatus()) ? "Cancellation" : "Revert Cancellation";
         String message = "Are you sure you want to " + action + " maintenance: " + maintenance.getMaintenanceID() + "?";
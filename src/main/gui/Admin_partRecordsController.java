@@ -2,6 +2,7 @@ package main.gui;
 
 import dao.PartDAO;
 import model.Part;
+import service.ImportService;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
@@ -9,11 +10,12 @@ import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.stage.FileChooser;
 import javafx.util.Callback;
 
+import java.io.File;
 import java.math.BigDecimal;
 import java.net.URL;
-import java.util.List;
 import java.util.ResourceBundle;
 
 public class Admin_partRecordsController implements Initializable {
@@ -39,8 +41,11 @@ public class Admin_partRecordsController implements Initializable {
     private TableColumn<Part, Void> actionColumn;
     @FXML
     private ComboBox<String> statusFilterComboBox;
+    @FXML
+    private Button importButton;
 
     private PartDAO dao = new PartDAO();
+    private final ImportService importService = new ImportService();
     private Admin_dashboardController mainController;
 
     @Override
@@ -68,17 +73,16 @@ public class Admin_partRecordsController implements Initializable {
     private void loadData() {
         table.getItems().clear();
         String statusFilter = statusFilterComboBox.getValue();
-        List<Part> list;
-
-        if ("All".equals(statusFilter)) {
-            list = dao.getAllPartsIncludingInactive();
-        } else {
-            list = dao.getPartsByStatus(statusFilter);
-        }
 
-        ObservableList<Part> data = FXCollections.observableArrayList(list);
-        table.setItems(data);
-        countLabel.setText("(" + data.size() + ") PARTS:");
+        FxAsync.load(() -> "All".equals(statusFilter)
+                        ? dao.getAllPartsIncludingInactive()
+                        : dao.getPartsByStatus(statusFilter),
+                list -> {
+                    ObservableList<Part> data = FXCollections.observableArrayList(list);
+                    table.setItems(data);
+                    countLabel.setText("(" + data.size() + ") PARTS:");
+                },
+                error -> countLabel.setText("Failed to load parts."));
     }
 
     @FXML
@@ -188,6 +192,35 @@ public class Admin_partRecordsController implements Initializable {
         }
     }
 
+    /**
+     * Handler for "Import CSV": adds parts from a CSV file in the background.
+     * Rows that cannot be imported are saved to a .rejects.csv file next to it.
+     */
+    @FXML
+    private void handleImportCsv() {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Import Parts");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV Files", "*.csv"));
+        File file = chooser.showOpenDialog(importButton.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+
+        importButton.setDisable(true);
+        FxAsync.load(() -> importService.importParts(file.toPath()),
+                result -> {
+                    importButton.setDisable(false);
+                    Alert.AlertType type = result.isCompleted() && result.getRejected() == 0
+                            ? Alert.AlertType.INFORMATION : Alert.AlertType.WARNING;
+                    showAlert(type, "Import Parts", result.getSummary());
+                    loadData();
+                },
+                error -> {
+                    importButton.setDisable(false);
+                    showAlert(Alert.AlertType.ERROR, "Import Failed", "Could not import " + file.getName() + ".");
+                });
+    }
+
     private void showAlert(Alert.AlertType type, String title, String content) {
         Alert alert = new Alert(type);
         alert.setTitle(title);
@@ -9,6 +9,7 @@ import javafx.geometry.Bounds;
 import dao.PaymentDAO;
 import javafx.scene.control.*;
 import model.PaymentTransaction;
+import javafx.beans.binding.Bindings;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
@@ -19,6 +20,7 @@ import javafx.util.Callback;
 
 import java.net.URL;
 import java.sql.Date;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.ResourceBundle;
 
@@ -26,6 +28,7 @@ public class Admin_paymentRecordsController implements Initializable {
 
     @FXML private Label paymentCountLabel;
     @FXML private TableView<PaymentTransaction> paymentTable;
+    @FXML private Button bulkDeactivateButton;
     @FXML private TableColumn<PaymentTransaction, String> paymentIDColumn;
     @FXML private TableColumn<PaymentTransaction, String> rentalIDColumn;
     @FXML private TableColumn<PaymentTransaction, String> amountColumn;
@@ -59,6 +62,7 @@ public class Admin_paymentRecordsController implements Initializable {
 
     @Override
     public void initialize(URL url, ResourceBundle rb) {
+        setupBulkSelection();
         paymentIDColumn.setCellValueFactory(new PropertyValueFactory<>("paymentID"));
         rentalIDColumn.setCellValueFactory(new PropertyValueFactory<>("rentalID"));
         amountColumn.setCellValueFactory(new PropertyValueFactory<>("amount"));
@@ -81,17 +85,16 @@ public class Admin_paymentRecordsController implements Initializable {
     private void loadPaymentData() {
         paymentTable.getItems().clear();
         String statusFilter = statusFilterComboBox.getValue();
-        List<PaymentTransaction> paymentList;
 
-        if ("All".equals(statusFilter)) {
-            paymentList = paymentDAO.getAllPaymentsIncludingInactive();
-        } else {
-            paymentList = paymentDAO.getPaymentsByStatus(statusFilter);
-        }
-
-        ObservableList<PaymentTransaction> payments = FXCollections.observableArrayList(paymentList);
-        paymentTable.setItems(payments);
-        paymentCountLabel.setText("(" + payments.size() + ") PAYMENTS:");
+        FxAsync.load(() -> "All".equals(statusFilter)
+                        ? paymentDAO.getAllPaymentsIncludingInactive()
+                        : paymentDAO.getPaymentsByStatus(statusFilter),
+                paymentList -> {
+                    ObservableList<PaymentTransaction> payments = FXCollections.observableArrayList(paymentList);
+                    paymentTable.setItems(payments);
+                    paymentCountLabel.setText("(" + payments.size() + ") PAYMENTS:");
+                },
+                error -> paymentCountLabel.setText("Failed to load payments."));
     }
 
     @FXML
@@ -194,6 +197,52 @@ public class Admin_paymentRecordsController implements Initializable {
         }
     }
 
+    /**
+     * Lets several rows be selected for "Deactivate Selected".
+     */
+    private void setupBulkSelection() {
+        paymentTable.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+        bulkDeactivateButton.disableProperty().bind(
+                Bindings.isEmpty(paymentTable.getSelectionModel().getSelectedItems()));
+    }
+
+    /**
+     * Handler for "Deactivate Selected": deactivates every selected Active payment in one bulk update.
+     */
+    @FXML
+    private void handleDeactivateSelected() {
+        List<String> selected = new ArrayList<>();
+        for (PaymentTransaction payment : paymentTable.getSelectionModel().getSelectedItems()) {
+            if ("Active".equals(payment.getStatus())) {
+                selected.add(payment.getPaymentID());
+            }
+        }
+        if (selected.isEmpty()) {
+            showAlert(Alert.AlertType.WARNING, "Nothing to Deactivate", "None of the selected payments are Active.");
+            return;
+        }
+
+        Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
+        alert.setTitle("Confirmation");
+        alert.setHeaderText("Confirm deactivate");
+        alert.setContentText("Are you sure you want to deactivate " + selected.size() + " payment(s)?" +
+                (selected.size() < paymentTable.getSelectionModel().getSelectedItems().size()
+                        ? "\nSelected payments that are not Active will be skipped." : ""));
+
+        if (alert.showAndWait().get() == ButtonType.OK) {
+            FxAsync.load(() -> paymentDAO.deactivatePayments(selected),
+                    count -> {
+                        if (count >= 0) {
+                            showAlert(Alert.AlertType.INFORMATION, "Success", count + " payment(s) deactivated.");
+                            loadPaymentData();
+                        } else {
+                            showAlert(Alert.AlertType.ERROR, "Error", "Failed to deactivate the selected payments. No changes were made.");
+                        }
+                    },
+                    error -> showAlert(Alert.AlertType.ERROR, "Error", "Failed to deactivate the selected payments."));
+        }
+    }
+
     private void showAlert(Alert.AlertType type, String title, String content) {
         Alert alert = new Alert(type);
         alert.setTitle(title);
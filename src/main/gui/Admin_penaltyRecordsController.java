@@ -2,6 +2,7 @@ package main.gui;
 
 import dao.PenaltyDAO;
 import model.PenaltyTransaction;
+import javafx.beans.binding.Bindings;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
@@ -13,6 +14,7 @@ import javafx.util.Callback;
 
 import java.net.URL;
 import java.sql.Date;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.ResourceBundle;
 
@@ -20,6 +22,7 @@ public class Admin_penaltyRecordsController implements Initializable {
 
     @FXML private Label penaltyCountLabel;
     @FXML private TableView<PenaltyTransaction> penaltyTable;
+    @FXML private Button bulkDeactivateButton;
     @FXML private TableColumn<PenaltyTransaction, String> penaltyIDColumn;
     @FXML private TableColumn<PenaltyTransaction, String> rentalIDColumn;
     @FXML private TableColumn<PenaltyTransaction, String> maintenanceIDColumn;
@@ -39,6 +42,7 @@ public class Admin_penaltyRecordsController implements Initializable {
 
     @Override
     public void initialize(URL url, ResourceBundle rb) {
+        setupBulkSelection();
 
         penaltyIDColumn.setCellValueFactory(new PropertyValueFactory<>("penaltyID"));
         rentalIDColumn.setCellValueFactory(new PropertyValueFactory<>("rentalID"));
@@ -73,31 +77,30 @@ public class Admin_penaltyRecordsController implements Initializable {
     }
 
     private void loadPenaltyData() {
-        try {
-            penaltyTable.getItems().clear();
-            String statusFilter = statusFilterComboBox.getValue();
-            String paymentFilter = (paymentFilterComboBox != null) ? paymentFilterComboBox.getValue() : "All";
+        penaltyTable.getItems().clear();
+        String statusFilter = statusFilterComboBox.getValue();
+        String paymentFilter = (paymentFilterComboBox != null) ? paymentFilterComboBox.getValue() : "All";
 
-            List<PenaltyTransaction> penalties;
+        FxAsync.load(() -> {
+                    List<PenaltyTransaction> penalties;
 
-            if ("All".equals(statusFilter)) {
-                penalties = penaltyDAO.getAllPenaltiesIncludingInactive();
-            } else {
-                penalties = penaltyDAO.getPenaltiesByStatus(statusFilter);
-            }
-
-            if (!"All".equals(paymentFilter)) {
-                penalties.removeIf(p -> !p.getPenaltyStatus().equalsIgnoreCase(paymentFilter));
-            }
-
-            ObservableList<PenaltyTransaction> data = FXCollections.observableArrayList(penalties);
-            penaltyTable.setItems(data);
-            penaltyCountLabel.setText("(" + data.size() + ") PENALTIES:");
+                    if ("All".equals(statusFilter)) {
+                        penalties = penaltyDAO.getAllPenaltiesIncludingInactive();
+                    } else {
+                        penalties = penaltyDAO.getPenaltiesByStatus(statusFilter);
+                    }
 
-        } catch (Exception e) {
-            e.printStackTrace();
-            showAlert(Alert.AlertType.ERROR, "Load Error", "Failed to load penalty data.");
-        }
+                    if (!"All".equals(paymentFilter)) {
+                        penalties.removeIf(p -> !p.getPenaltyStatus().equalsIgnoreCase(paymentFilter));
+                    }
+                    return penalties;
+                },
+                penalties -> {
+                    ObservableList<PenaltyTransaction> data = FXCollections.observableArrayList(penalties);
+                    penaltyTable.setItems(data);
+                    penaltyCountLabel.setText("(" + data.size() + ") PENALTIES:");
+                },
+                error -> showAlert(Alert.AlertType.ERROR, "Load Error", "Failed to load penalty data."));
     }
 
     @FXML
@@ -195,6 +198,52 @@ public class Admin_penaltyRecordsController implements Initializable {
         }
     }
 
+    /**
+     * Lets several rows be selected for "Deactivate Selected".
+     */
+    private void setupBulkSelection() {
+        penaltyTable.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+        bulkDeactivateButton.disableProperty().bind(
+                Bindings.isEmpty(penaltyTable.getSelectionModel().getSelectedItems()));
+    }
+
+    /**
+     * Handler for "Deactivate Selected": deactivates every selected Active penalty in one bulk update.
+     */
+    @FXML
+    private void handleDeactivateSelected() {
+        List<String> selected = new ArrayList<>();
+        for (PenaltyTransaction penalty : penaltyTable.getSelectionModel().getSelectedItems()) {
+            if ("Active".equals(penalty.getStatus())) {
+                selected.add(penalty.getPenaltyID());
+            }
+        }
+        if (selected.isEmpty()) {
+            showAlert(Alert.AlertType.WARNING, "Nothing to Deactivate", "None of the selected penalties are Active.");
+            return;
+        }
+
+        Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
+        alert.setTitle("Confirmation");
+        alert.setHeaderText("Confirm deactivate");
+        alert.setContentText("Are you sure you want to deactivate " + selected.size() + " penalt(s)?" +
+                (selected.size() < penaltyTable.getSelectionModel().getSelectedItems().size()
+                        ? "\nSelected penalties that are not Active will be skipped." : ""));
+
+        if (alert.showAndWait().get() == ButtonType.OK) {
+            FxAsync.load(() -> penaltyDAO.deactivatePenalties(selected),
+                    count -> {
+                        if (count >= 0) {
+                            showAlert(Alert.AlertType.INFORMATION, "Success", count + " penalt(s) deactivated.");
+                            loadPenaltyData();
+                        } else {
+                            showAlert(Alert.AlertType.ERROR, "Error", "Failed to deactivate the selected penalties. No changes were made.");
+                        }
+                    },
+                    error -> showAlert(Alert.AlertType.ERROR, "Error", "Failed to deactivate the selected penalties."));
+        }
+    }
+
     private void showAlert(Alert.AlertType type, String title, String content) {
         Alert alert = new Alert(type);
         alert.setTitle(title);
@@ -3,6 +3,7 @@ package main.gui;
 import dao.CustomerDAO;
 import dao.LocationDAO;
 import dao.PaymentDAO;
+import dao.ReferenceDataCache;
 import dao.RentalDAO;
 import dao.VehicleDAO;
 import service.PaymentService;
@@ -209,6 +210,7 @@ public class Admin_rentalFormController implements Initializable{
             rental.setStartDateTime(java.sql.Timestamp.valueOf(newStartDateTime));
 
             boolean success;
+            String failureMessage = null;
             if (isUpdatingRecord) {
                 // UPDATE EXISTING RENTAL
                 
@@ -226,7 +228,10 @@ public class Admin_rentalFormController implements Initializable{
                 // Check if transitioning from not-picked-up to picked-up
                 else if (!currentRental.isPickedUp() && newStartDateTime != null) {
                     // Start the rental using service with custom timestamp
-                    success = rentalService.startRental(rental.getRentalID(), java.sql.Timestamp.valueOf(newStartDateTime));
+                    RentalService.RentalResult startResult =
+                        rentalService.tryStartRental(rental.getRentalID(), java.sql.Timestamp.valueOf(newStartDateTime));
+                    success = startResult.isOk();
+                    failureMessage = startResult.getMessage();
                     
                     if (success) {
                         rental.setStartDateTime(java.sql.Timestamp.valueOf(newStartDateTime));
@@ -264,22 +269,26 @@ public class Admin_rentalFormController implements Initializable{
 
             } else {
                 // NEW RENTAL: Use service layer to create booking
-                String newRentalID = rentalService.bookRental(
+                RentalService.RentalResult bookResult = rentalService.tryBookRental(
                     newCustomer.getCustomerID(),
                     newVehicle.getPlateID(),
                     newLocation.getLocationID(),
                     java.sql.Timestamp.valueOf(newPickUpDateTime)
                 );
+                String newRentalID = bookResult.getRentalID();
                 
-                success = (newRentalID != null);
+                success = bookResult.isOk();
+                failureMessage = bookResult.getMessage();
                 
                 if (success) {
                     // If startDateTime is set, also mark as picked up
                     if (newStartDateTime != null) {
-                        boolean pickupSuccess = rentalService.startRental(newRentalID);
-                        if (!pickupSuccess) {
+                        RentalService.RentalResult pickupResult = rentalService.tryStartRental(
+                            newRentalID, new java.sql.Timestamp(System.currentTimeMillis()));
+                        if (!pickupResult.isOk()) {
                             showAlert(AlertType.WARNING, "Partial Success", 
-                                "Rental created but failed to mark as picked up. Please update manually.");
+                                "Rental created but failed to mark as picked up. Please update manually.\n\n" +
+                                pickupResult.getMessage());
                         }
                     }
                     
@@ -311,6 +320,8 @@ public class Admin_rentalFormController implements Initializable{
                     showConfirmationDialog(title, content);
                 }
                 mainController.loadPage("Admin-rentalRecords.fxml");
+            } else if (failureMessage != null) {
+                showAlert(AlertType.ERROR, "Error", "Failed to save rental record.\n\n" + failureMessage);
             } else {
                 showAlert(AlertType.ERROR, "Error", "Failed to save rental record.");
             }
@@ -441,7 +452,7 @@ public class Admin_rentalFormController implements Initializable{
 
     private void loadLocationComboBox() {
         try {
-            List<Location> locations = locationDAO.getAllLocations();
+            List<Location> locations = ReferenceDataCache.getActiveLocations();
             locationComboBox.setItems(FXCollections.observableArrayList(locations));
 
             locationComboBox.setConverter(new StringConverter<Location>() {
@@ -1,6 +1,12 @@
 package main.gui;
 
+import dao.CustomerDAO;
+import dao.LocationDAO;
+import dao.PaymentDAO;
 import dao.RentalDAO;
+import dao.RentalDAO.RentalSummary;
+import dao.VehicleDAO;
+import javafx.beans.binding.Bindings;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
@@ -9,11 +15,13 @@ import javafx.fxml.Initializable;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.util.Callback;
-import model.RentalTransaction;
+import service.PaymentService;
+import service.RentalService;
 
 import java.net.URL;
 import java.sql.Timestamp;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.ResourceBundle;
 
@@ -22,21 +30,24 @@ import javafx.beans.property.SimpleStringProperty;
 public class Admin_rentalRecordsController implements Initializable {
 
     @FXML private Label rentalCountLabel;
-    @FXML private TableView<RentalTransaction> rentalTable;
-    @FXML private TableColumn<RentalTransaction, String> rentalIDColumn;
-    @FXML private TableColumn<RentalTransaction, String> customerIDColumn;
-    @FXML private TableColumn<RentalTransaction, String> plateIDColumn;
-    @FXML private TableColumn<RentalTransaction, String> locationIDColumn;
-    @FXML private TableColumn<RentalTransaction, String> pickUpColumn;
-    @FXML private TableColumn<RentalTransaction, String> startColumn;
-    @FXML private TableColumn<RentalTransaction, String> endColumn;
-    @FXML private TableColumn<RentalTransaction, String> statusColumn;
-
-    @FXML private TableColumn<RentalTransaction, Void> editColumn;
-    @FXML private TableColumn<RentalTransaction, Void> actionColumn;
+    @FXML private TableView<RentalSummary> rentalTable;
+    @FXML private Button bulkDeactivateButton;
+    @FXML private TableColumn<RentalSummary, String> rentalIDColumn;
+    @FXML private TableColumn<RentalSummary, String> customerIDColumn;
+    @FXML private TableColumn<RentalSummary, String> plateIDColumn;
+    @FXML private TableColumn<RentalSummary, String> locationIDColumn;
+    @FXML private TableColumn<RentalSummary, String> pickUpColumn;
+    @FXML private TableColumn<RentalSummary, String> startColumn;
+    @FXML private TableColumn<RentalSummary, String> endColumn;
+    @FXML private TableColumn<RentalSummary, String> statusColumn;
+
+    @FXML private TableColumn<RentalSummary, Void> editColumn;
+    @FXML private TableColumn<RentalSummary, Void> actionColumn;
     @FXML private ComboBox<String> statusFilterComboBox;
 
     private RentalDAO rentalDAO = new RentalDAO();
+    private RentalService rentalService = new RentalService(new CustomerDAO(), new VehicleDAO(), new LocationDAO(),
+            rentalDAO, new PaymentDAO(), new PaymentService());
     private Admin_dashboardController mainController;
 
     private final DateTimeFormatter dtf = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
@@ -47,6 +58,7 @@ public class Admin_rentalRecordsController implements Initializable {
 
     @Override
     public void initialize(URL url, ResourceBundle rb) {
+        setupBulkSelection();
 
         rentalIDColumn.setCellValueFactory(new PropertyValueFactory<>("rentalID"));
         customerIDColumn.setCellValueFactory(new PropertyValueFactory<>("customerID"));
@@ -80,15 +92,28 @@ public class Admin_rentalRecordsController implements Initializable {
         loadRentalRecords();
     }
 
-    private void handleEditRental(RentalTransaction rental) {
-        mainController.loadRentalForm(rental);
+    /**
+     * The table only holds summaries, so the full rental (with its current
+     * version) is loaded when the form is opened.
+     */
+    private void handleEditRental(RentalSummary summary) {
+        FxAsync.load(() -> rentalDAO.getRentalById(summary.getRentalID()),
+                rental -> {
+                    if (rental != null) {
+                        mainController.loadRentalForm(rental);
+                    } else {
+                        showAlert(Alert.AlertType.ERROR, "Error", "Rental " + summary.getRentalID() + " no longer exists.");
+                        loadRentalRecords();
+                    }
+                },
+                error -> showAlert(Alert.AlertType.ERROR, "Error", "Failed to load rental " + summary.getRentalID() + "."));
     }
 
     /**
      * Shows the "Edit" button for ALL records, including "Completed".
      */
     private void setupEditButtonColumn() {
-        Callback<TableColumn<RentalTransaction, Void>, TableCell<RentalTransaction, Void>> cellFactory = col -> new TableCell<>() {
+        Callback<TableColumn<RentalSummary, Void>, TableCell<RentalSummary, Void>> cellFactory = col -> new TableCell<>() {
             @Override
             protected void updateItem(Void item, boolean empty) {
                 super.updateItem(item, empty);
@@ -98,7 +123,7 @@ public class Admin_rentalRecordsController implements Initializable {
                     Button btn = new Button("Edit");
                     btn.getStyleClass().add("edit-button");
                     btn.setOnAction(event -> {
-                        RentalTransaction rentalOnClick = getTableRow().getItem();
+                        RentalSummary rentalOnClick = getTableRow().getItem();
                         if (rentalOnClick != null) {
                             handleEditRental(rentalOnClick);
                         }
@@ -114,26 +139,18 @@ public class Admin_rentalRecordsController implements Initializable {
      * Loads rentals based on the filter.
      */
     public void loadRentalRecords() {
-        try {
-            rentalTable.getItems().clear();
-            String statusFilter = statusFilterComboBox.getValue();
-            List<RentalTransaction> rentals;
-
-            if ("All".equals(statusFilter)) {
-                rentals = rentalDAO.getAllRentalsIncludingCancelled();
-            } else if ("Active".equals(statusFilter)) {
-                rentals = rentalDAO.getRentalsByStatus("Active");
-            } else {
-                rentals = rentalDAO.getRentalsByStatus(statusFilter);
-            }
+        rentalTable.getItems().clear();
+        String statusFilter = statusFilterComboBox.getValue();
 
-            ObservableList<RentalTransaction> obsList = FXCollections.observableArrayList(rentals);
-            rentalTable.setItems(obsList);
-            rentalCountLabel.setText("(" + rentals.size() + ") RENTALS:");
-        } catch (Exception e) {
-            showAlert(Alert.AlertType.ERROR, "Error", "Failed to load rental records.");
-            e.printStackTrace();
-        }
+        FxAsync.load(() -> "All".equals(statusFilter)
+                        ? rentalDAO.getAllRentalSummariesIncludingCancelled()
+                        : rentalDAO.getRentalSummariesByStatus(statusFilter),
+                rentals -> {
+                    ObservableList<RentalSummary> obsList = FXCollections.observableArrayList(rentals);
+                    rentalTable.setItems(obsList);
+                    rentalCountLabel.setText("(" + rentals.size() + ") RENTALS:");
+                },
+                error -> showAlert(Alert.AlertType.ERROR, "Error", "Failed to load rental records."));
     }
 
     @FXML
@@ -147,20 +164,20 @@ public class Admin_rentalRecordsController implements Initializable {
      * Sets up the action buttons for "Cancel" and "Reactivate".
      */
     private void setupActionColumn() {
-        Callback<TableColumn<RentalTransaction, Void>, TableCell<RentalTransaction, Void>> cellFactory = new Callback<>() {
+        Callback<TableColumn<RentalSummary, Void>, TableCell<RentalSummary, Void>> cellFactory = new Callback<>() {
             @Override
-            public TableCell<RentalTransaction, Void> call(final TableColumn<RentalTransaction, Void> param) {
-                final TableCell<RentalTransaction, Void> cell = new TableCell<>() {
+            public TableCell<RentalSummary, Void> call(final TableColumn<RentalSummary, Void> param) {
+                final TableCell<RentalSummary, Void> cell = new TableCell<>() {
                     @Override
                     public void updateItem(Void item, boolean empty) {
                         super.updateItem(item, empty);
                         if (empty || getTableRow() == null || getTableRow().getItem() == null) {
                             setGraphic(null);
                         } else {
-                            RentalTransaction rental = getTableRow().getItem();
+                            RentalSummary rental = getTableRow().getItem();
                             Button btn = new Button();
 
-                            if ("Active".equals(rental.getStatus())) {
+                            if (RentalService.isCancellable(rental.getStatus(), rental.getStartDateTime())) {
                                 btn.setText("Cancel");
                                 btn.getStyleClass().add("deactivate-button");
                                 btn.setOnAction(e -> handleCancelReactivate(rental));
@@ -185,7 +202,7 @@ public class Admin_rentalRecordsController implements Initializable {
     /**
      * Handler for the "Cancel" / "Reactivate" buttons.
      */
-    private void handleCancelReactivate(RentalTransaction rental) {
+    private void handleCancelReactivate(RentalSummary rental) {
         String action = "Active".equals(rental.getStatus()) ? "Cancellation" : "Revert Cancellation";
 
         Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
@@ -195,7 +212,7 @@ public class Admin_rentalRecordsController implements Initializable {
 
         if (alert.showAndWait().get() == ButtonType.OK) {
             boolean success;
-            if ("Active".equals(rental.getStatus())) {
+            if (RentalService.isCancellable(rental.getStatus(), rental.getStartDateTime())) {
                 success = rentalDAO.cancelRental(rental.getRentalID());
             } else {
                 success = rentalDAO.reactivateRental(rental.getRentalID());
@@ -210,6 +227,55 @@ public class Admin_rentalRecordsController implements Initializable {
         }
     }
 
+    /**
+     * Lets several rows be selected for "Cancel Selected".
+     */
+    private void setupBulkSelection() {
+        rentalTable.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+        bulkDeactivateButton.disableProperty().bind(
+                Bindings.isEmpty(rentalTable.getSelectionModel().getSelectedItems()));
+    }
+
+    /**
+     * Handler for "Cancel Selected": cancels every selected rental that is still waiting for
+     * pickup and deactivates their payments, in one transaction (RentalService.cancelRentals).
+     */
+    @FXML
+    private void handleDeactivateSelected() {
+        List<String> selected = new ArrayList<>();
+        for (RentalSummary rental : rentalTable.getSelectionModel().getSelectedItems()) {
+            if (RentalService.isCancellable(rental.getStatus(), rental.getStartDateTime())) {
+                selected.add(rental.getRentalID());
+            }
+        }
+        if (selected.isEmpty()) {
+            showAlert(Alert.AlertType.WARNING, "Nothing to Cancel",
+                    "None of the selected rentals are Active and waiting for pickup.");
+            return;
+        }
+
+        Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
+        alert.setTitle("Confirmation");
+        alert.setHeaderText("Confirm cancel");
+        alert.setContentText("Are you sure you want to cancel " + selected.size() + " rental(s)?" +
+                (selected.size() < rentalTable.getSelectionModel().getSelectedItems().size()
+                        ? "\nSelected rentals that are picked up, completed or cancelled will be skipped." : "") +
+                "\nTheir payment records will be deactivated.");
+
+        if (alert.showAndWait().get() == ButtonType.OK) {
+            FxAsync.load(() -> rentalService.cancelRentals(selected),
+                    count -> {
+                        if (count >= 0) {
+                            showAlert(Alert.AlertType.INFORMATION, "Success", count + " rental(s) cancelled.");
+                            loadRentalRecords();
+                        } else {
+                            showAlert(Alert.AlertType.ERROR, "Error", "Failed to cancel the selected rentals. No changes were made.");
+                        }
+                    },
+                    error -> showAlert(Alert.AlertType.ERROR, "Error", "Failed to cancel the selected rentals."));
+        }
+    }
+
     private void showAlert(Alert.AlertType type, String title, String content) {
         Alert alert = new Alert(type);
         alert.setTitle(title);
@@ -13,7 +13,6 @@ import javafx.util.Callback;
 
 import java.math.BigDecimal;
 import java.net.URL;
-import java.util.List;
 import java.util.ResourceBundle;
 
 public class Admin_technicianRecordsController implements Initializable {
@@ -82,17 +81,16 @@ public class Admin_technicianRecordsController implements Initializable {
     private void loadData() {
         table.getItems().clear();
         String statusFilter = statusFilterComboBox.getValue();
-        List<Technician> list;
 
-        if ("All".equals(statusFilter)) {
-            list = technicianDAO.getAllTechniciansIncludingInactive();
-        } else {
-            list = technicianDAO.getTechniciansByStatus(statusFilter);
-        }
-
-        ObservableList<Technician> data = FXCollections.observableArrayList(list);
-        table.setItems(data);
-        countLabel.setText("(" + data.size() + ") TECHNICIANS:");
+        FxAsync.load(() -> "All".equals(statusFilter)
+                        ? technicianDAO.getAllTechniciansIncludingInactive()
+                        : technicianDAO.getTechniciansByStatus(statusFilter),
+                list -> {
+                    ObservableList<Technician> data = FXCollections.observableArrayList(list);
+                    table.setItems(data);
+                    countLabel.setText("(" + data.size() + ") TECHNICIANS:");
+                },
+                error -> countLabel.setText("Failed to load technicians."));
     }
 
     private void setupEditButton() {
@@ -2,6 +2,8 @@ package main.gui;
 
 import dao.VehicleDAO;
 import model.Vehicle;
+import service.ImportService;
+import javafx.beans.binding.Bindings;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
@@ -13,13 +15,17 @@ import javafx.scene.control.TableCell;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.stage.FileChooser;
 import javafx.util.Callback;
 
 import javafx.scene.control.Alert;
 import javafx.scene.control.ButtonType;
 import javafx.scene.control.ComboBox;
+import javafx.scene.control.SelectionMode;
 
+import java.io.File;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.ResourceBundle;
 
@@ -27,6 +33,7 @@ public class Admin_vehicleRecordsController implements  Initializable {
 
     @FXML private Label vehicleCountLabel;
     @FXML private TableView<Vehicle> vehicleTable;
+    @FXML private Button bulkDeactivateButton;
     @FXML private TableColumn<Vehicle, String> plateColumn;
     @FXML private TableColumn<Vehicle, String> typeColumn;
     @FXML private TableColumn<Vehicle, Double> priceColumn;
@@ -35,12 +42,15 @@ public class Admin_vehicleRecordsController implements  Initializable {
 
     @FXML private TableColumn<Vehicle, Void> actionColumn;
     @FXML private ComboBox<String> statusFilterComboBox;
+    @FXML private Button importButton;
 
     private VehicleDAO vehicleDAO = new VehicleDAO();
+    private final ImportService importService = new ImportService();
     private Admin_dashboardController mainController;
 
     @Override
     public void initialize(URL url, ResourceBundle rb) {
+        setupBulkSelection();
         plateColumn.setCellValueFactory(new PropertyValueFactory<>("plateID"));
         typeColumn.setCellValueFactory(new PropertyValueFactory<>("vehicleType"));
         priceColumn.setCellValueFactory(new PropertyValueFactory<>("rentalPrice"));
@@ -63,17 +73,16 @@ public class Admin_vehicleRecordsController implements  Initializable {
     private void loadVehicleData() {
         vehicleTable.getItems().clear();
         String statusFilter = statusFilterComboBox.getValue();
-        List<Vehicle> list;
 
-        if ("All".equals(statusFilter)) {
-            list = vehicleDAO.getAllVehiclesIncludingInactive();
-        } else {
-            list = vehicleDAO.getVehiclesByStatus(statusFilter);
-        }
-
-        ObservableList<Vehicle> vehicles = FXCollections.observableArrayList(list);
-        vehicleTable.setItems(vehicles);
-        vehicleCountLabel.setText("(" + vehicles.size() + ") VEHICLES:");
+        FxAsync.load(() -> "All".equals(statusFilter)
+                        ? vehicleDAO.getAllVehiclesIncludingInactive()
+                        : vehicleDAO.getVehiclesByStatus(statusFilter),
+                list -> {
+                    ObservableList<Vehicle> vehicles = FXCollections.observableArrayList(list);
+                    vehicleTable.setItems(vehicles);
+                    vehicleCountLabel.setText("(" + vehicles.size() + ") VEHICLES:");
+                },
+                error -> vehicleCountLabel.setText("Failed to load vehicles."));
     }
 
     @FXML
@@ -196,6 +205,81 @@ public class Admin_vehicleRecordsController implements  Initializable {
         }
     }
 
+    /**
+     * Lets several rows be selected for "Deactivate Selected".
+     */
+    private void setupBulkSelection() {
+        vehicleTable.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+        bulkDeactivateButton.disableProperty().bind(
+                Bindings.isEmpty(vehicleTable.getSelectionModel().getSelectedItems()));
+    }
+
+    /**
+     * Handler for "Deactivate Selected": deactivates every selected Available vehicle in one bulk update.
+     */
+    @FXML
+    private void handleDeactivateSelected() {
+        List<String> selected = new ArrayList<>();
+        for (Vehicle vehicle : vehicleTable.getSelectionModel().getSelectedItems()) {
+            if ("Available".equals(vehicle.getStatus())) {
+                selected.add(vehicle.getPlateID());
+            }
+        }
+        if (selected.isEmpty()) {
+            showAlert(Alert.AlertType.WARNING, "Nothing to Deactivate", "None of the selected vehicles are Available.");
+            return;
+        }
+
+        Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
+        alert.setTitle("Confirmation");
+        alert.setHeaderText("Confirm deactivate");
+        alert.setContentText("Are you sure you want to deactivate " + selected.size() + " vehicle(s)?" +
+                (selected.size() < vehicleTable.getSelectionModel().getSelectedItems().size()
+                        ? "\nSelected vehicles that are not Available will be skipped." : ""));
+
+        if (alert.showAndWait().get() == ButtonType.OK) {
+            FxAsync.load(() -> vehicleDAO.deactivateVehicles(selected),
+                    count -> {
+                        if (count >= 0) {
+                            showAlert(Alert.AlertType.INFORMATION, "Success", count + " vehicle(s) deactivated.");
+                            loadVehicleData();
+                        } else {
+                            showAlert(Alert.AlertType.ERROR, "Error", "Failed to deactivate the selected vehicles. No changes were made.");
+                        }
+                    },
+                    error -> showAlert(Alert.AlertType.ERROR, "Error", "Failed to deactivate the selected vehicles."));
+        }
+    }
+
+    /**
+     * Handler for "Import CSV": adds vehicles from a CSV file in the background.
+     * Rows that cannot be imported are saved to a .rejects.csv file next to it.
+     */
+    @FXML
+    private void handleImportCsv() {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Import Vehicles");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV Files", "*.csv"));
+        File file = chooser.showOpenDialog(importButton.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+
+        importButton.setDisable(true);
+        FxAsync.load(() -> importService.importVehicles(file.toPath()),
+                result -> {
+                    importButton.setDisable(false);
+                    Alert.AlertType type = result.isCompleted() && result.getRejected() == 0
+                            ? Alert.AlertType.INFORMATION : Alert.AlertType.WARNING;
+                    showAlert(type, "Import Vehicles", result.getSummary());
+                    loadVehicleData();
+                },
+                error -> {
+                    importButton.setDisable(false);
+                    showAlert(Alert.AlertType.ERROR, "Import Failed", "Could not import " + file.getName() + ".");
+                });
+    }
+
     private void showAlert(Alert.AlertType type, String title, String content) {
         Alert alert = new Alert(type);
         alert.setTitle(title);
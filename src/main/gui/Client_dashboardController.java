@@ -81,24 +81,25 @@ public class Client_dashboardController implements Initializable {
             return;
         }
 
-        if (penaltyDAO.hasUnpaidPenalties(loggedInCustomer.getCustomerID())) {
+        String customerID = loggedInCustomer.getCustomerID();
+        System.out.println("Checking penalties and active rental for customer: " + customerID);
+
+        // Both checks are independent, so run them at the same time
+        FxAsync.loadBoth(
+                () -> penaltyDAO.hasUnpaidPenalties(customerID),
+                () -> rentalDAO.getCurrentRentalForCustomer(customerID),
+                this::showRentOrReturnPage,
+                null);
+    }
+
+    private void showRentOrReturnPage(boolean hasUnpaidPenalties, RentalTransaction activeRental) {
+        if (hasUnpaidPenalties) {
             System.out.println("BLOCK: User has unpaid penalties.");
             showPenaltyBlockDialog();
             return;
         }
 
         setActiveNav(rentButton);
-        System.out.println("Checking for active rental for customer: " + loggedInCustomer.getCustomerID());
-
-        List<RentalTransaction> allCustomerRentals = rentalDAO.getRentalsByCustomer(loggedInCustomer.getCustomerID());
-        RentalTransaction activeRental = null;
-
-        for (RentalTransaction rental: allCustomerRentals){
-            if (rental.isOngoing()){
-                activeRental = rental;
-                break;
-            }
-        }
 
         if (activeRental != null) {
             System.out.println("INFO: Found active rental. Loading return/pending screen.");
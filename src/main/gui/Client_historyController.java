@@ -1,7 +1,7 @@
 package main.gui;
 
 import main.gui.Client_homeController.Transaction;
-import dao.PenaltyDAO;
+import dao.Page;
 import dao.RentalDAO;
 import model.Customer;
 import model.PenaltyTransaction;
@@ -11,12 +11,12 @@ import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
+import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 
 import java.net.URL;
-import java.util.List;
 import java.util.ResourceBundle;
 
 public class Client_historyController implements Initializable {
@@ -24,8 +24,10 @@ public class Client_historyController implements Initializable {
     private Client_dashboardController mainController;
     private Customer loggedInCustomer;
 
+    // Rentals per history query; most customers fit on the first page
+    private static final int HISTORY_PAGE_SIZE = 200;
+
     private RentalDAO rentalDAO = new RentalDAO();
-    private PenaltyDAO penaltyDAO = new PenaltyDAO();
 
     @FXML private TableView<Transaction> transactionsTable;
     @FXML private TableColumn<Transaction, String> dateColumn;
@@ -52,15 +54,36 @@ public class Client_historyController implements Initializable {
     }
 
     private void loadAllTransactions(){
-        ObservableList<Transaction> allTransactions = getFullHistoryData();
-        transactionsTable.setItems(allTransactions);
+        FxAsync.load(this::getFullHistoryData,
+                history -> {
+                    transactionsTable.setItems(history.transactions);
+                    if (!history.complete) {
+                        showAlert(Alert.AlertType.WARNING, "History Incomplete",
+                                "Only part of your history could be loaded. Please reopen this page to try again.");
+                    }
+                },
+                error -> showAlert(Alert.AlertType.ERROR, "Load Error",
+                        "Your transaction history could not be loaded. Please try again later."));
+    }
+
+    /**
+     * Rows for the table, and whether every page of the history was read.
+     */
+    private static class HistoryData {
+        final ObservableList<Transaction> transactions;
+        final boolean complete;
+
+        HistoryData(ObservableList<Transaction> transactions, boolean complete) {
+            this.transactions = transactions;
+            this.complete = complete;
+        }
     }
 
-    private ObservableList<Transaction> getFullHistoryData(){
+    private HistoryData getFullHistoryData(){
 
         if (this.loggedInCustomer == null){
             System.err.println("Error: Customer data not initialized");
-            return FXCollections.observableArrayList();
+            return new HistoryData(FXCollections.observableArrayList(), true);
         }
 
         ObservableList<Transaction> allTransactions = FXCollections.observableArrayList();
@@ -68,10 +91,15 @@ public class Client_historyController implements Initializable {
 
         System.out.println("Fetching all transactions for Customer ID: " + customerID);
 
-        List<RentalTransaction> rentals = rentalDAO.getRentalsByCustomer(customerID);
+        // Rentals and their penalties come back together, one query per page
+        Page<RentalDAO.RentalHistory> page = rentalDAO.getRentalHistoryPage(customerID, HISTORY_PAGE_SIZE, null);
+        if (page == null) {
+            throw new IllegalStateException("Could not load rental history for " + customerID);
+        }
 
-        if (rentals != null){
-            for (RentalTransaction rental: rentals){
+        while (true) {
+            for (RentalDAO.RentalHistory entry : page.getItems()) {
+                RentalTransaction rental = entry.getRental();
                 String id = rental.isCompleted() ? rental.getRentalID() : "ONGOING - " + rental.getRentalID();
 
                 String date;
@@ -85,21 +113,35 @@ public class Client_historyController implements Initializable {
 
                 allTransactions.add(new Transaction(date, id, "Vehicle Rental"));
 
-                List<PenaltyTransaction> penalties = penaltyDAO.getPenaltiesByRental(rental.getRentalID());
-                if (penalties != null) {
-                    for (PenaltyTransaction penalty : penalties) {
-                        allTransactions.add(new Transaction(
-                                penalty.getDateIssued().toString(),
-                                penalty.getPenaltyID(),
-                                "Penalty (" + penalty.getPenaltyStatus() + ")"
-                        ));
-                    }
+                for (PenaltyTransaction penalty : entry.getPenalties()) {
+                    allTransactions.add(new Transaction(
+                            penalty.getDateIssued().toString(),
+                            penalty.getPenaltyID(),
+                            "Penalty (" + penalty.getPenaltyStatus() + ")"
+                    ));
                 }
             }
+            if (!page.hasNextPage()) {
+                break;
+            }
+            page = rentalDAO.getRentalHistoryPage(customerID, HISTORY_PAGE_SIZE, page.getNextPageToken());
+            if (page == null) {
+                // Keep what was read so far; the screen warns that it is incomplete
+                System.err.println("Error: Rental history stopped after " + allTransactions.size() + " transactions");
+                return new HistoryData(allTransactions, false);
+            }
         }
 
         System.out.println("Total transactions loaded: " + allTransactions.size());
-        return allTransactions;
+        return new HistoryData(allTransactions, true);
+    }
+
+    private void showAlert(Alert.AlertType type, String title, String content) {
+        Alert alert = new Alert(type);
+        alert.setTitle(title);
+        alert.setHeaderText(null);
+        alert.setContentText(content);
+        alert.showAndWait();
     }
 
     public void setMainController(Client_dashboardController mainController) {
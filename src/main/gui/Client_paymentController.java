@@ -6,6 +6,7 @@ import model.PaymentTransaction;
 import model.RentalTransaction;
 import model.Vehicle;
 import service.DeploymentService;
+import service.IdempotencyService;
 import service.PaymentService;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
@@ -34,12 +35,14 @@ public class Client_paymentController {
     private PaymentService paymentService = new PaymentService();
     private DeploymentService deploymentService = new DeploymentService(new DeploymentDAO(), new VehicleDAO(), new LocationDAO());
     private PaymentDAO paymentDAO = new PaymentDAO();
+    private IdempotencyService idempotencyService = new IdempotencyService();
 
     private Client_dashboardController mainController;
     private Customer loggedInCustomer;
     private RentalTransaction finalRental;
     private Vehicle foundVehicle;
     private BigDecimal totalCost;
+    private String paymentKey;  // One key per settlement screen, reused on retries
 
     public void setMainController(Client_dashboardController mainController) {
         this.mainController = mainController;
@@ -48,6 +51,7 @@ public class Client_paymentController {
     public void initData(Customer customer, RentalTransaction completedRental) {
         this.loggedInCustomer = customer;
         this.finalRental = completedRental;
+        this.paymentKey = IdempotencyService.newKey();
 
         this.foundVehicle = vehicleDAO.getVehicleById(completedRental.getPlateID());
 
@@ -104,7 +108,8 @@ public class Client_paymentController {
             String rentalID = finalRental.getRentalID();
             Date paymentDate = Date.valueOf(LocalDate.now());
 
-            boolean paymentSuccess = paymentService.finalizePaymentForRental(rentalID, totalCost, paymentDate);
+            boolean paymentSuccess = idempotencyService.execute(paymentKey, "payment.finalize",
+                    () -> paymentService.finalizePaymentForRental(rentalID, totalCost, paymentDate));
 
             if (paymentSuccess) {
                 System.out.println("Final Payment recorded for Rental ID: " + rentalID);
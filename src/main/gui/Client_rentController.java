@@ -2,6 +2,7 @@ package main.gui;
 
 import dao.*;
 import model.*;
+import service.IdempotencyService;
 import service.PaymentService;
 import service.RentalService;
 
@@ -18,7 +19,6 @@ import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.util.List;
 
 public class Client_rentController {
 
@@ -32,6 +32,10 @@ public class Client_rentController {
     private PaymentDAO paymentDAO = new PaymentDAO();
     private PaymentService paymentService = new PaymentService();
     private RentalService rentalService;
+    private IdempotencyService idempotencyService = new IdempotencyService();
+
+    // Same key for every retry of one booking, so a double-click books only once
+    private String bookingKey = IdempotencyService.newKey();
 
     private String selectedVehicleType = null;
     private RentalTransaction activeRental;
@@ -60,21 +64,18 @@ public class Client_rentController {
                 paymentService
         );
 
-        try {
-            List<Location> locations = locationDAO.getAllLocations();
-            locationComboBox.getItems().addAll(locations);
-            locationComboBox.setConverter(new javafx.util.StringConverter<>() {
-                @Override
-                public String toString(Location location) {
-                    return location == null ? null : location.getName() + " (" + location.getLocationID() + ")";
-                }
-                @Override
-                public Location fromString(String string) { return null; }
-            });
-        } catch (Exception e) {
-            e.printStackTrace();
-            showError("Could not load locations.");
-        }
+        locationComboBox.setConverter(new javafx.util.StringConverter<>() {
+            @Override
+            public String toString(Location location) {
+                return location == null ? null : location.getName() + " (" + location.getLocationID() + ")";
+            }
+            @Override
+            public Location fromString(String string) { return null; }
+        });
+
+        FxAsync.load(ReferenceDataCache::getActiveLocations,
+                locations -> locationComboBox.getItems().addAll(locations),
+                error -> showError("Could not load locations."));
     }
 
     public void initData(Customer customer) {
@@ -118,34 +119,40 @@ public class Client_rentController {
             return;
         }
 
-        List<Vehicle> vehiclesAtLocation = vehicleDAO.getVehiclesByLocation(location.getLocationID());
-        String availablePlateID = null;
-
-        for (Vehicle v : vehiclesAtLocation) {
-            if (v.getVehicleType().equals(selectedVehicleType) && v.getStatus().equals("Available")) {
-                availablePlateID = v.getPlateID();
-                break;
-            }
-        }
-
-        if (availablePlateID == null) {
-            showError("Sorry, no " + selectedVehicleType + "s are available at " + location.getName() + " right now.");
-            return;
-        }
-
-        String newRentalID = rentalService.bookRental(
-                loggedInCustomer.getCustomerID(),
-                availablePlateID,
-                location.getLocationID(),
-                pickUpDateTime
-        );
-
-        if (newRentalID == null) {
-            showError("Failed to create rental. Please try again.");
-            return;
-        }
+        String vehicleType = selectedVehicleType;
+        String customerID = loggedInCustomer.getCustomerID();
+        String submissionKey = bookingKey;
+        confirmButton.setDisable(true);
+        errorLabel.setVisible(false);
 
-        mainController.handleRentVehicle(null);
+        FxAsync.load(() -> idempotencyService.execute(submissionKey, "rental.book",
+                        () -> rentalService.bookAvailableVehicle(
+                                customerID,
+                                vehicleType,
+                                location.getLocationID(),
+                                pickUpDateTime
+                        ),
+                        result -> result.isOk() ? result.getRentalID() : null,
+                        RentalService.RentalResult::ok,
+                        RentalService.RentalResult::isConflict,
+                        RentalService.MAX_CLAIM_ATTEMPTS),
+                result -> {
+                    confirmButton.setDisable(false);
+                    if (result == null) {
+                        showError("Your booking is still being processed. Please wait a moment.");
+                    } else if (result.isOk()) {
+                        bookingKey = IdempotencyService.newKey();
+                        mainController.handleRentVehicle(null);
+                    } else if (result.isConflict()) {
+                        showError("Sorry, no " + vehicleType + "s are available at " + location.getName() + " right now.");
+                    } else {
+                        showError(result.getMessage());
+                    }
+                },
+                error -> {
+                    confirmButton.setDisable(false);
+                    showError("Failed to create rental. Please try again.");
+                });
     }
 
     @FXML
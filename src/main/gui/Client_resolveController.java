@@ -5,6 +5,7 @@ import dao.RentalDAO;
 import model.Customer;
 import model.PenaltyTransaction;
 import model.RentalTransaction;
+import service.IdempotencyService;
 import service.PenaltyService;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
@@ -32,6 +33,8 @@ public class Client_resolveController {
     private PenaltyService penaltyService = new PenaltyService();
     private PenaltyDAO penaltyDAO = new PenaltyDAO();
     private RentalDAO rentalDAO = new RentalDAO();
+    private IdempotencyService idempotencyService = new IdempotencyService();
+    private String resolveKey;  // One key per penalty shown, reused on retries
 
     public void setMainController(Client_dashboardController mainController) {
         this.mainController = mainController;
@@ -66,6 +69,8 @@ public class Client_resolveController {
 
         if(penalty == null) return;
 
+        this.resolveKey = IdempotencyService.newKey();
+
         DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("MMMM d, yyyy");
         String dateString;
         Date sqlDate = penalty.getDateIssued();
@@ -106,7 +111,9 @@ public class Client_resolveController {
             return;
         }
 
-        boolean success = penaltyService.updatePenaltyPayment(currentPenalty.getPenaltyID(), "PAID");
+        String penaltyID = currentPenalty.getPenaltyID();
+        boolean success = idempotencyService.execute(resolveKey, "penalty.resolve",
+                () -> penaltyService.updatePenaltyPayment(penaltyID, "PAID"));
 
         if (success){
 
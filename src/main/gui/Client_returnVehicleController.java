@@ -3,6 +3,7 @@ package main.gui;
 import dao.RentalDAO;
 import model.Customer;
 import model.RentalTransaction;
+import service.IdempotencyService;
 
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -20,6 +21,8 @@ public class Client_returnVehicleController {
     private Customer loggedInCustomer;
     private RentalTransaction activeRental;
     private RentalDAO rentalDAO = new RentalDAO();
+    private IdempotencyService idempotencyService = new IdempotencyService();
+    private String returnKey;  // One key per return screen, reused on retries
 
     @FXML private Label rentalIdLabel;
     @FXML private Label customerIdLabel;
@@ -30,6 +33,7 @@ public class Client_returnVehicleController {
     public void initData(Customer customer, RentalTransaction rental) {
         this.loggedInCustomer = customer;
         this.activeRental = rental;
+        this.returnKey = IdempotencyService.newKey();
 
         if (activeRental != null) {
             rentalIdLabel.setText(rental.getRentalID());
@@ -60,11 +64,22 @@ public class Client_returnVehicleController {
             return;
         }
 
-        Timestamp returnTimestamp = new Timestamp(System.currentTimeMillis());
-        activeRental.setEndDateTime(returnTimestamp);
-        activeRental.setStatus("Completed");
+        // A repeated submit keeps the first return time instead of moving it
+        boolean success = idempotencyService.execute(returnKey, "rental.return", () -> {
+            // Re-read it: the screen may be stale (e.g., an admin already closed the rental)
+            RentalTransaction current = rentalDAO.getCurrentRentalForCustomer(activeRental.getCustomerID());
+            if (current == null || !current.getRentalID().equals(activeRental.getRentalID())
+                    || current.getStartDateTime() == null) {
+                System.err.println("Rental " + activeRental.getRentalID() + " is no longer ongoing.");
+                return false;
+            }
+            activeRental = current;
 
-        boolean success = rentalDAO.updateRental(activeRental);
+            Timestamp returnTimestamp = new Timestamp(System.currentTimeMillis());
+            activeRental.setEndDateTime(returnTimestamp);
+            activeRental.setStatus("Completed");
+            return rentalDAO.updateRental(activeRental);
+        });
 
         if (success) {
             System.out.println("Rental successfully finalized in DB: " + activeRental.getRentalID());
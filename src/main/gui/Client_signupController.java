@@ -2,8 +2,7 @@ package main.gui;
 
 import dao.CustomerDAO;
 import dao.AddressDAO;
-import dao.BarangayDAO;
-import dao.CityDAO;
+import dao.ReferenceDataCache;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.Pane;
 import model.Customer;
@@ -31,8 +30,6 @@ public class Client_signupController implements Initializable {
     // DAOs
     private CustomerDAO customerDAO = new CustomerDAO();
     private AddressDAO addressDAO = new AddressDAO();
-    private CityDAO cityDAO = new CityDAO();
-    private BarangayDAO barangayDAO = new BarangayDAO();
 
     // FXML Fields
     @FXML private TextField lastNameField;
@@ -58,7 +55,7 @@ public class Client_signupController implements Initializable {
         orangeOverlay.prefWidthProperty().bind(bgImage.fitWidthProperty());
         orangeOverlay.prefHeightProperty().bind(bgImage.fitHeightProperty());
         // 1. Load all cities into the first dropdown
-        cityComboBox.getItems().setAll(cityDAO.getAllCities());
+        cityComboBox.getItems().setAll(ReferenceDataCache.getCities());
 
         // 2. Add a listener to the city ComboBox
         cityComboBox.getSelectionModel().selectedItemProperty().addListener((options, oldVal, newVal) -> {
@@ -77,7 +74,7 @@ public class Client_signupController implements Initializable {
             barangayComboBox.setDisable(false);
             barangayComboBox.setPromptText("Select a Barangay");
             // 2. Load all barangays for that city
-            barangayComboBox.getItems().setAll(barangayDAO.getBarangaysByCity(selectedCity.getCityID()));
+            barangayComboBox.getItems().setAll(ReferenceDataCache.getBarangaysByCity(selectedCity.getCityID()));
         } else {
             // No city is selected:
             // 1. Disable and clear the barangay dropdown
@@ -0,0 +1,106 @@
+package main.gui;
+
+import dao.AsyncDAO;
+import javafx.application.Platform;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs DAO calls in the background and hands the results back to the JavaFX thread.
+ *
+ * Controllers use this so database round trips do not freeze the screen:
+ *
+ *   FxAsync.load(() -> vehicleDAO.getVehiclesByStatus(filter),
+ *                list -> vehicleTable.setItems(FXCollections.observableArrayList(list)),
+ *                error -> showAlert(...));
+ *
+ * Both callbacks always run on the FX Application Thread.
+ */
+public final class FxAsync {
+
+    private FxAsync() {
+    }
+
+    /**
+     * Run one query in the background.
+     *
+     * @param query DAO/service call (runs off the FX thread)
+     * @param onLoaded Receives the result on the FX thread
+     * @param onError Receives the failure on the FX thread (may be null)
+     */
+    public static <T> CompletableFuture<Void> load(Supplier<T> query, Consumer<T> onLoaded,
+                                                   Consumer<Throwable> onError) {
+        return deliver(AsyncDAO.supply(query), onLoaded, onError);
+    }
+
+    /**
+     * Run two independent queries in parallel and receive both results together.
+     *
+     * @param first First DAO/service call
+     * @param second Second DAO/service call
+     * @param onLoaded Receives both results on the FX thread
+     * @param onError Receives the first failure on the FX thread (may be null)
+     */
+    public static <A, B> CompletableFuture<Void> loadBoth(Supplier<A> first, Supplier<B> second,
+                                                          BiConsumer<A, B> onLoaded,
+                                                          Consumer<Throwable> onError) {
+        CompletableFuture<A> a = AsyncDAO.supply(first);
+        CompletableFuture<B> b = AsyncDAO.supply(second);
+
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        a.thenCombine(b, (resultA, resultB) -> {
+            Platform.runLater(() -> {
+                try {
+                    onLoaded.accept(resultA, resultB);
+                } finally {
+                    done.complete(null);
+                }
+            });
+            return null;
+        }).exceptionally(error -> {
+            fail(error, onError, done);
+            return null;
+        });
+        return done;
+    }
+
+    private static <T> CompletableFuture<Void> deliver(CompletableFuture<T> future, Consumer<T> onLoaded,
+                                                       Consumer<Throwable> onError) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        future.whenComplete((result, error) -> {
+            if (error != null) {
+                fail(error, onError, done);
+                return;
+            }
+            Platform.runLater(() -> {
+                try {
+                    onLoaded.accept(result);
+                } finally {
+                    done.complete(null);
+                }
+            });
+        });
+        return done;
+    }
+
+    private static void fail(Throwable error, Consumer<Throwable> onError, CompletableFuture<Void> done) {
+        Throwable cause = (error instanceof CompletionException && error.getCause() != null)
+                ? error.getCause() : error;
+        System.err.println("Background database call failed: " + cause);
+        cause.printStackTrace();
+
+        Platform.runLater(() -> {
+            try {
+                if (onError != null) {
+                    onError.accept(cause);
+                }
+            } finally {
+                done.complete(null);
+            }
+        });
+    }
+}
@@ -97,6 +97,9 @@ public class Main_loginController implements Initializable {
         animClient.play();
         animSignup.play();
         animQuit.play();
+
+        //Warm up the database and next screens while the user picks an option
+        StartupWarmup.start();
     }
 
     /**
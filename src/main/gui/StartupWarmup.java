@@ -0,0 +1,140 @@
+package main.gui;
+
+import dao.AsyncDAO;
+import dao.DataWarmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Warms up the app while the main login screen is shown.
+ *
+ * Main_loginController calls start() when it appears. In the background:
+ * - DataWarmup primes the connection pool, prepares the login queries and
+ *   preloads locations, cities, barangays and dashboard counts
+ * - The FXML files opened right after login are read, and the controller and
+ *   control classes they use are loaded, so the first FXMLLoader.load() after
+ *   login skips the class-loading cost
+ *
+ * Nothing here touches live nodes, so it is safe off the FX thread.
+ */
+public final class StartupWarmup {
+
+    // Screens reached from the login options
+    private static final String[] FXML_FILES = {
+            "Admin-login.fxml", "Client-login.fxml", "Client-signup.fxml",
+            "Admin-dashboard.fxml", "Admin-home.fxml",
+            "Client-dashboard.fxml", "Client-home.fxml", "Client-rent.fxml"
+    };
+
+    private static final Pattern IMPORT = Pattern.compile("<\\?import\\s+([\\w.]+?)(\\.\\*)?\\s*\\?>");
+    private static final Pattern CONTROLLER = Pattern.compile("fx:controller=\"([\\w.]+)\"");
+    private static final Pattern ELEMENT = Pattern.compile("<([A-Z]\\w*)[\\s/>]");
+
+    private static boolean started = false;
+
+    private StartupWarmup() {
+    }
+
+    /**
+     * Start the warm-up. Safe to call every time the login screen opens;
+     * it only runs once per launch.
+     */
+    public static synchronized void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+
+        DataWarmup.start();
+        AsyncDAO.run(StartupWarmup::preloadFxml);
+    }
+
+    private static void preloadFxml() {
+        long start = System.currentTimeMillis();
+        int classes = 0;
+        for (String file : FXML_FILES) {
+            classes += preloadClasses(file);
+        }
+        System.out.println("FXML warm-up: " + classes + " classes loaded for " + FXML_FILES.length +
+                " screens in " + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    /**
+     * Load (without initializing) the controller and element classes an FXML file uses.
+     *
+     * @return Number of classes found
+     */
+    private static int preloadClasses(String fxmlFile) {
+        URL url = StartupWarmup.class.getResource(fxmlFile);
+        if (url == null) {
+            System.err.println("FXML warm-up: " + fxmlFile + " not found");
+            return 0;
+        }
+
+        String fxml;
+        try (InputStream in = url.openStream()) {
+            fxml = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.err.println("FXML warm-up: could not read " + fxmlFile + ": " + e.getMessage());
+            return 0;
+        }
+
+        List<String> packages = new ArrayList<>();
+        Set<String> classNames = new LinkedHashSet<>();
+
+        Matcher m = IMPORT.matcher(fxml);
+        while (m.find()) {
+            if (m.group(2) != null) {
+                packages.add(m.group(1));
+            } else {
+                classNames.add(m.group(1));
+            }
+        }
+        m = CONTROLLER.matcher(fxml);
+        if (m.find()) {
+            classNames.add(m.group(1));
+        }
+
+        // Elements from wildcard imports: try each imported package
+        Set<String> elements = new LinkedHashSet<>();
+        m = ELEMENT.matcher(fxml);
+        while (m.find()) {
+            elements.add(m.group(1));
+        }
+
+        ClassLoader loader = StartupWarmup.class.getClassLoader();
+        int loaded = 0;
+        for (String name : classNames) {
+            if (load(name, loader)) {
+                loaded++;
+            }
+        }
+        for (String element : elements) {
+            for (String pkg : packages) {
+                if (load(pkg + "." + element, loader)) {
+                    loaded++;
+                    break;
+                }
+            }
+        }
+        return loaded;
+    }
+
+    private static boolean load(String className, ClassLoader loader) {
+        try {
+            Class.forName(className, false, loader);
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
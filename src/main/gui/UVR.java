@@ -68,6 +68,17 @@ public class UVR extends Application {
         stage.show();
     }
 
+    /**
+    ================================================
+    This method closes the pooled database
+    connections when the application exits.
+    ================================================
+     */
+    @Override
+    public void stop() {
+        util.DBConnection.shutdown();
+    }
+
     public static void main(String[] args) {
         launch();
     }
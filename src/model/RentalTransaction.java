@@ -14,6 +14,7 @@ public class RentalTransaction {
     private Timestamp startDateTime;   // Actual rental start (set by admin)
     private Timestamp endDateTime;
     private String status;  // ADDED: Active, Completed, or Cancelled
+    private int version;    // Bumped on every update (optimistic concurrency)
     
     // Default constructor
     public RentalTransaction() {
@@ -112,6 +113,14 @@ public class RentalTransaction {
         this.status = status;
     }
     
+    public int getVersion() {
+        return version;
+    }
+    
+    public void setVersion(int version) {
+        this.version = version;
+    }
+    
     // Utility methods
     public boolean isActive() {
         return "Active".equalsIgnoreCase(status);
@@ -42,6 +42,7 @@ public class Vehicle {
     private String vehicleType;
     private String status;
     private double rentalPrice;
+    private int version;  // Bumped on every update (optimistic concurrency)
 
     
     // TODO: Add constructors (default and parameterized)
@@ -88,6 +89,14 @@ public class Vehicle {
     public void setRentalPrice(double rentalPrice) {
         this.rentalPrice = rentalPrice;
     }
+    
+    public int getVersion() {
+        return version;
+    }
+    
+    public void setVersion(int version) {
+        this.version = version;
+    }
 
     // TODO: Add toString(), equals(), hashCode()
     public boolean isAvailable() {
@@ -323,7 +323,7 @@ public class CustomerRentalReport {
                         "HAVING number_of_rentals > 0 " +
                         "ORDER BY " + orderByClause;
 
-        try (Connection conn = util.DBConnection.getConnection();
+        try (Connection conn = util.DBConnection.getReportingConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setInt(1, year);
@@ -394,7 +394,7 @@ public class CustomerRentalReport {
                         "HAVING number_of_rentals > 0 " +
                         "ORDER BY " + orderByClause;
 
-        try (Connection conn = util.DBConnection.getConnection();
+        try (Connection conn = util.DBConnection.getReportingConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setInt(1, year);
@@ -444,7 +444,7 @@ public class CustomerRentalReport {
                         "GROUP BY ci.cityID, ci.name, b.barangayID, b.name " +
                         "ORDER BY customer_count DESC, ci.name, b.name";
 
-        try (Connection conn = util.DBConnection.getConnection();
+        try (Connection conn = util.DBConnection.getReportingConnection();
              PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
 
@@ -503,7 +503,7 @@ public class CustomerRentalReport {
                         "HAVING number_of_rentals > 0 " +
                         "ORDER BY total_penalty_payments DESC, number_of_penalties DESC";
 
-        try (Connection conn = util.DBConnection.getConnection();
+        try (Connection conn = util.DBConnection.getReportingConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setInt(1, year);
@@ -564,7 +564,7 @@ public class CustomerRentalReport {
                         "HAVING number_of_rentals > 0 " +
                         "ORDER BY total_penalty_payments DESC, number_of_penalties DESC";
 
-        try (Connection conn = util.DBConnection.getConnection();
+        try (Connection conn = util.DBConnection.getReportingConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setInt(1, year);
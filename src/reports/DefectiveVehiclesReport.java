@@ -271,7 +271,7 @@ public class DefectiveVehiclesReport {
                         "    END DESC, " +
                         "    total_maintenance_cost DESC";
 
-        try (Connection conn = util.DBConnection.getConnection();
+        try (Connection conn = util.DBConnection.getReportingConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             // Set parameters for subqueries and main query
@@ -370,7 +370,7 @@ public class DefectiveVehiclesReport {
                         "    END DESC, " +
                         "    total_maintenance_cost DESC";
 
-        try (Connection conn = util.DBConnection.getConnection();
+        try (Connection conn = util.DBConnection.getReportingConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setInt(1, year);  // rentals_in_period year
@@ -432,7 +432,7 @@ public class DefectiveVehiclesReport {
                         "WHERE status = 'Active' " +
                         "ORDER BY quantity ASC, part_name ASC";
 
-        try (Connection conn = util.DBConnection.getConnection();
+        try (Connection conn = util.DBConnection.getReportingConnection();
              PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
 
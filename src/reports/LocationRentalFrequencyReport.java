@@ -235,7 +235,7 @@ public class LocationRentalFrequencyReport {
                         "HAVING number_of_rentals > 0 " +
                         "ORDER BY number_of_rentals DESC, total_revenue DESC";
 
-        try (Connection conn = util.DBConnection.getConnection();
+        try (Connection conn = util.DBConnection.getReportingConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setInt(1, year);  // most_rented_type year
@@ -307,7 +307,7 @@ public class LocationRentalFrequencyReport {
                         "HAVING number_of_rentals > 0 " +
                         "ORDER BY number_of_rentals DESC, total_revenue DESC";
 
-        try (Connection conn = util.DBConnection.getConnection();
+        try (Connection conn = util.DBConnection.getReportingConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setInt(1, year);  // most_rented_type year
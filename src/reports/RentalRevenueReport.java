@@ -189,7 +189,7 @@ public class RentalRevenueReport {
                         " GROUP BY v.vehicleType, DATE(r.startDateTime) " +
                         "ORDER BY v.vehicleType, rental_date";
 
-        try (Connection conn = util.DBConnection.getConnection();
+        try (Connection conn = util.DBConnection.getReportingConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             int paramIndex = 1;
@@ -252,7 +252,7 @@ public class RentalRevenueReport {
                         " GROUP BY v.vehicleType, YEAR(r.startDateTime), MONTH(r.startDateTime) " +
                         "ORDER BY YEAR(r.startDateTime), MONTH(r.startDateTime), v.vehicleType";
 
-        try (Connection conn = util.DBConnection.getConnection();
+        try (Connection conn = util.DBConnection.getReportingConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             int paramIndex = 1;
@@ -319,7 +319,7 @@ public class RentalRevenueReport {
                         " GROUP BY v.vehicleType, YEAR(r.startDateTime) " +
                         "ORDER BY period, v.vehicleType";
 
-        try (Connection conn = util.DBConnection.getConnection();
+        try (Connection conn = util.DBConnection.getReportingConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             int paramIndex = 1;
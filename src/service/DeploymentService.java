@@ -5,6 +5,7 @@ import model.*;
 import java.sql.Date;
 import java.time.LocalDate;
 import java.util.List;
+import util.UnitOfWork;
 
 /**
  * Business Logic Service for DEPLOYMENT operations.
@@ -14,6 +15,7 @@ public class DeploymentService {
     private DeploymentDAO deploymentDAO;
     private VehicleDAO vehicleDAO;
     private LocationDAO locationDAO;
+    private IdSequenceDAO idSequenceDAO = new IdSequenceDAO();
     
     public DeploymentService(DeploymentDAO deploymentDAO, VehicleDAO vehicleDAO, LocationDAO locationDAO){
         this.deploymentDAO = deploymentDAO;
@@ -29,6 +31,14 @@ public class DeploymentService {
      * @return Deployment ID if successful, null otherwise
      */
     public String deployVehicle(String plateID, String locationID) {
+        // Ending the old deployment and creating the new one commit together
+        return UnitOfWork.execute(
+            () -> doDeployVehicle(plateID, locationID),
+            deploymentID -> deploymentID != null,
+            null);
+    }
+    
+    private String doDeployVehicle(String plateID, String locationID) {
         System.out.println("\n=== Deploying Vehicle ===");
         
         // VALIDATE VEHICLE
@@ -274,11 +284,18 @@ public class DeploymentService {
     /**
      * Generate the next sequential deployment ID.
      * Format: DEP-XXX where XXX is a 3-digit number (001, 002, 003, etc.)
-     * Finds the highest existing ID (including cancelled) and increments by 1.
+     * Taken from the id_sequences block allocator. If that is unavailable,
+     * finds the highest existing ID (including cancelled) and increments by 1.
      *
      * @return Next deployment ID (e.g., "DEP-021")
      */
     public String generateDeploymentID() {
+        // Fast path: next ID from the in-memory block reserved in id_sequences
+        String allocated = idSequenceDAO.nextId(IdSequenceDAO.Sequence.DEPLOYMENT);
+        if (allocated != null) {
+            return allocated;
+        }
+
         try {
             // Get all deployments including cancelled to ensure no ID collisions
             List<DeploymentTransaction> allDeployments = deploymentDAO.getAllDeploymentsIncludingCancelled();
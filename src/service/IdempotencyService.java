@@ -0,0 +1,246 @@
+package service;
+
+import dao.IdempotencyDAO;
+import util.DBConnection;
+import util.UnitOfWork;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Business Logic Service for IDEMPOTENT client submissions.
+ *
+ * PURPOSE: A kiosk submit can be repeated (double-click, retry after a timeout).
+ * Each screen generates one key per submission with newKey() and passes it on
+ * every attempt; only the first attempt runs the database writes, and repeats
+ * get the first attempt's result back.
+ *
+ * HOW IT WORKS:
+ * 1. The key is reserved as 'Pending' (a short lease, so a crash does not block it forever)
+ * 2. The action runs inside one UnitOfWork (its own transactions join it); the lease
+ *    is renewed while it runs. Actions that can lose a race may ask for a retry,
+ *    which runs in a new UnitOfWork under the same key
+ * 3. Success: the result is stored for idempotency.ttl.minutes (default 24 hours),
+ *    in the same transaction as the action's writes
+ *    Failure: the action is rolled back and the reservation released, so the user
+ *    can try again. If the result cannot be stored, the action is rolled back too.
+ * 4. A repeat with a completed key gets the stored result without running the action;
+ *    a repeat while the first attempt is still running gets null
+ *
+ * USAGE:
+ *   boolean paid = idempotencyService.execute(paymentKey, "payment.finalize",
+ *       () -> paymentService.finalizePaymentForRental(rentalID, amount, date));
+ *
+ * NOTE: If the idempotency_keys table is missing, actions run without deduplication.
+ */
+public class IdempotencyService {
+
+    private static final int PENDING_LEASE_SECONDS = 120;
+    private static final int DEFAULT_TTL_MINUTES = 1440;
+    private static final long PURGE_INTERVAL_MS = 10 * 60_000L;
+    private static final int LEASE_RENEW_SECONDS = PENDING_LEASE_SECONDS / 3;
+
+    // Extends the 'Pending' lease of actions that are still running
+    private static final ScheduledExecutorService LEASE_RENEWER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "idempotency-lease");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Last time expired keys were deleted, shared by every instance in this JVM
+    private static volatile long lastPurge = 0;
+
+    private IdempotencyDAO idempotencyDAO;
+
+    public IdempotencyService() {
+        this.idempotencyDAO = new IdempotencyDAO();
+    }
+
+    /**
+     * Generate a key for one client submission.
+     * Keep it while the user retries the same submission; make a new one for the next.
+     *
+     * @return Random key (UUID)
+     */
+    public static String newKey() {
+        return UUID.randomUUID().toString();
+    }
+
+    /**
+     * Run an action at most once per key.
+     *
+     * @param key Submission key from newKey() (null runs the action without deduplication)
+     * @param operation Operation name, stored with the key (e.g., "rental.book")
+     * @param action The database writes to run
+     * @param resultOf Value to remember for a successful result, or null if the result is a failure
+     * @param replay Rebuilds the result from a remembered value
+     * @return The action's result, the replayed result of an earlier attempt,
+     *         or null if an earlier attempt with this key is still running or the
+     *         successful result could not be committed (the action was rolled back)
+     */
+    public <T> T execute(String key, String operation, Supplier<T> action,
+                         Function<T, String> resultOf, Function<String, T> replay) {
+        return execute(key, operation, action, resultOf, replay, result -> false, 1);
+    }
+
+    /**
+     * Run an action at most once per key, retrying results that are worth another try.
+     * Each attempt is its own transaction while the key stays reserved, so the action
+     * can retry a lost race (e.g. a vehicle claimed by someone else) without the failed
+     * attempt rolling back the one that succeeds.
+     *
+     * @param key Submission key from newKey() (null runs the action without deduplication)
+     * @param operation Operation name, stored with the key (e.g., "rental.book")
+     * @param action The database writes to run, in a transaction of its own per attempt
+     * @param resultOf Value to remember for a successful result, or null if the result is a failure
+     * @param replay Rebuilds the result from a remembered value
+     * @param retryIf Failed results that should be tried again (e.g. RentalResult::isConflict)
+     * @param maxAttempts Maximum number of attempts (at least 1)
+     * @return Same as execute() without retries
+     */
+    public <T> T execute(String key, String operation, Supplier<T> action,
+                         Function<T, String> resultOf, Function<String, T> replay,
+                         Predicate<T> retryIf, int maxAttempts) {
+        if (key == null) {
+            return action.get();
+        }
+        purgeExpiredIfDue();
+
+        // Second pass only if the other attempt released the key between our two calls
+        for (int attempt = 0; attempt < 2; attempt++) {
+            Boolean reserved = idempotencyDAO.reserve(key, operation, PENDING_LEASE_SECONDS);
+
+            if (reserved == null) {
+                System.err.println("WARNING: Idempotency store unavailable, running " + operation + " without it");
+                return action.get();
+            }
+
+            if (reserved) {
+                return runReserved(key, action, resultOf, retryIf, Math.max(1, maxAttempts));
+            }
+
+            IdempotencyDAO.Entry entry = idempotencyDAO.find(key);
+            if (entry == null) {
+                continue;
+            }
+            if (!operation.equals(entry.getOperation())) {
+                System.err.println("Error: Key " + key + " was already used for " + entry.getOperation());
+                return null;
+            }
+            if (entry.isCompleted()) {
+                System.out.println("Repeated " + operation + " submission - returning the original result");
+                return replay.apply(entry.getResultValue());
+            }
+
+            System.out.println("Repeated " + operation + " submission while the first is still running");
+            return null;
+        }
+        return null;
+    }
+
+    /**
+     * Run a true/false action at most once per key.
+     * A repeat of a successful submission returns true without running the action again.
+     *
+     * @param key Submission key from newKey()
+     * @param operation Operation name (e.g., "payment.finalize")
+     * @param action The database writes to run
+     * @return true if this or an earlier attempt with the key succeeded
+     */
+    public boolean execute(String key, String operation, BooleanSupplier action) {
+        Boolean result = execute(key, operation, action::getAsBoolean,
+                                 success -> success ? "true" : null,
+                                 stored -> Boolean.TRUE);
+        return Boolean.TRUE.equals(result);
+    }
+
+    /**
+     * Run the action for a key this attempt has reserved.
+     * The action's writes and the stored result commit in one transaction, so a
+     * crash or a failed store can never leave writes behind under a 'Pending' key.
+     * A retried attempt gets a fresh transaction; the key and its lease are kept
+     * across attempts, and the lease is renewed while the action runs.
+     */
+    private <T> T runReserved(String key, Supplier<T> action, Function<T, String> resultOf,
+                              Predicate<T> retryIf, int maxAttempts) {
+        boolean[] completed = { false };
+        boolean[] storeFailed = { false };
+        ScheduledFuture<?> renewal = LEASE_RENEWER.scheduleAtFixedRate(
+                () -> idempotencyDAO.extendLease(key, PENDING_LEASE_SECONDS),
+                LEASE_RENEW_SECONDS, LEASE_RENEW_SECONDS, TimeUnit.SECONDS);
+
+        T result = null;
+        try {
+            for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+                boolean last = attempt == maxAttempts;
+                result = UnitOfWork.execute(() -> {
+                    T value = action.get();
+                    String stored = resultOf.apply(value);
+                    if (stored != null) {
+                        // complete() locks the row until this transaction ends
+                        renewal.cancel(false);
+                        completed[0] = idempotencyDAO.complete(key, stored, getTtlMinutes());
+                        storeFailed[0] = !completed[0];
+                        if (storeFailed[0]) {
+                            System.err.println("ERROR: Could not store the result for key " + key +
+                                               "; rolling back the action");
+                        }
+                    }
+                    return value;
+                }, value -> completed[0], null);
+
+                // A stored result ends the loop whether or not it committed
+                if (completed[0] || storeFailed[0] || last || result == null || !retryIf.test(result)) {
+                    break;
+                }
+                System.out.println("Retrying under key " + key + " (attempt " + (attempt + 1) +
+                                   " of " + maxAttempts + ")");
+            }
+        } catch (RuntimeException e) {
+            idempotencyDAO.release(key);
+            throw e;
+        } finally {
+            renewal.cancel(false);
+        }
+
+        if (completed[0] && result != null) {
+            return result;
+        }
+
+        // Rolled back: the action failed, its result could not be stored, or the commit failed
+        // (UnitOfWork then returns null). Either way nothing was kept, so the key can be retried.
+        idempotencyDAO.release(key);
+        return completed[0] || storeFailed[0] ? null : result;
+    }
+
+    /**
+     * Delete expired keys, at most once every 10 minutes per JVM.
+     */
+    private void purgeExpiredIfDue() {
+        long now = System.currentTimeMillis();
+        if (now - lastPurge < PURGE_INTERVAL_MS) {
+            return;
+        }
+        lastPurge = now;
+        int deleted = idempotencyDAO.deleteExpired();
+        if (deleted > 0) {
+            System.out.println("Deleted " + deleted + " expired idempotency key(s)");
+        }
+    }
+
+    private int getTtlMinutes() {
+        String value = DBConnection.getProperty("idempotency.ttl.minutes", String.valueOf(DEFAULT_TTL_MINUTES));
+        try {
+            int minutes = Integer.parseInt(value.trim());
+            return minutes > 0 ? minutes : DEFAULT_TTL_MINUTES;
+        } catch (NumberFormatException e) {
+            return DEFAULT_TTL_MINUTES;
+        }
+    }
+}
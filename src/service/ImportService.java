@@ -0,0 +1,738 @@
+package service;
+
+import dao.AddressDAO;
+import dao.BatchResult;
+import dao.CustomerDAO;
+import dao.IdSequenceDAO;
+import dao.PartDAO;
+import dao.ReferenceDataCache;
+import dao.VehicleDAO;
+import model.Address;
+import model.Barangay;
+import model.City;
+import model.Customer;
+import model.Part;
+import model.Vehicle;
+import util.CsvReader;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Service layer for bulk CSV imports (onboarding a new branch).
+ *
+ * PURPOSE: Loads hundreds or thousands of vehicles, parts, customers or
+ * addresses from a CSV file instead of entering them one at a time through
+ * the admin forms.
+ *
+ * PIPELINE (per file):
+ * 1. Stream: rows are read with CsvReader in chunks of 500, so memory use
+ *    does not grow with the file size
+ * 2. Validate: each chunk is checked in parallel (required fields, lengths,
+ *    numbers, city/barangay names); no check needs the database
+ * 3. Write: valid rows go in through the DAOs' batched inserts, and each
+ *    chunk is committed on its own
+ * 4. Reject: every bad row (failed a check, repeats an ID earlier in the
+ *    file, or was refused by the database) is copied to <file>.rejects.csv
+ *    with two extra columns, source_line and reject_reason
+ *
+ * CSV FORMAT:
+ * - The first row is a header; columns are matched by name in any order,
+ *   ignoring case, spaces and underscores ("Plate ID" = "plateID")
+ * - Unknown columns are ignored, so a corrected reject file can be imported as is
+ *
+ * COLUMNS ([optional] ones may be left out or blank):
+ * - Vehicles:  plateID, vehicleType, rentalPrice, [status]
+ * - Parts:     partName, quantity, [partID], [price]
+ * - Customers: lastName, firstName, city, barangay, [customerID],
+ *              [contactNumber], [emailAddress], [street]
+ * - Addresses: city, barangay, street
+ *
+ * CITIES, BARANGAYS AND ADDRESSES:
+ * - Names are resolved through ReferenceDataCache, once per import instead of
+ *   once per row; unknown names are rejected, not created
+ * - Addresses are deduplicated like AddressDAO.findOrCreateAddress(): an
+ *   existing barangay + street is reused instead of inserted again
+ * - Missing customer and part IDs are generated from the ID sequences
+ */
+public class ImportService {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private static final List<String> VEHICLE_STATUSES =
+            Arrays.asList("Available", "In Use", "Maintenance", "Inactive");
+
+    private final VehicleDAO vehicleDAO;
+    private final PartDAO partDAO;
+    private final CustomerDAO customerDAO;
+    private final AddressDAO addressDAO;
+    private final IdSequenceDAO idSequenceDAO;
+
+    public ImportService() {
+        this.vehicleDAO = new VehicleDAO();
+        this.partDAO = new PartDAO();
+        this.customerDAO = new CustomerDAO();
+        this.addressDAO = new AddressDAO();
+        this.idSequenceDAO = new IdSequenceDAO();
+    }
+
+    /**
+     * Summary of one import, shown to the admin when it finishes.
+     */
+    public static class ImportResult {
+        private final String recordType;
+        private final Path rejectFile;
+        private int rowsRead;
+        private int imported;
+        private int rejected;
+        private String error;
+        private long elapsedMs;
+
+        ImportResult(String recordType, Path rejectFile) {
+            this.recordType = recordType;
+            this.rejectFile = rejectFile;
+        }
+
+        public String getRecordType() {
+            return recordType;
+        }
+
+        /**
+         * @return Data rows in the file (not counting the header)
+         */
+        public int getRowsRead() {
+            return rowsRead;
+        }
+
+        public int getImported() {
+            return imported;
+        }
+
+        public int getRejected() {
+            return rejected;
+        }
+
+        /**
+         * @return File with the rejected rows, or null if every row was imported
+         */
+        public Path getRejectFile() {
+            return rejected > 0 ? rejectFile : null;
+        }
+
+        /**
+         * @return Why the file could not be imported at all (unreadable, missing
+         *         columns, ...), or null if it was processed
+         */
+        public String getError() {
+            return error;
+        }
+
+        public boolean isCompleted() {
+            return error == null;
+        }
+
+        public long getElapsedMs() {
+            return elapsedMs;
+        }
+
+        /**
+         * @return One-paragraph summary for an alert dialog
+         */
+        public String getSummary() {
+            StringBuilder summary = new StringBuilder();
+            summary.append("Imported ").append(imported).append(" of ").append(rowsRead)
+                   .append(" ").append(recordType).append(" row(s).");
+            if (rejected > 0) {
+                summary.append("\n").append(rejected).append(" row(s) were rejected and saved to:\n")
+                       .append(rejectFile);
+            }
+            if (error != null) {
+                summary.append("\n").append(error);
+            }
+            return summary.toString();
+        }
+
+        @Override
+        public String toString() {
+            return "ImportResult{" + recordType + ", read=" + rowsRead + ", imported=" + imported +
+                   ", rejected=" + rejected + (error != null ? ", error='" + error + '\'' : "") +
+                   ", " + elapsedMs + " ms}";
+        }
+    }
+
+    // ==================== PUBLIC IMPORTS ====================
+
+    /**
+     * Import vehicles. Status defaults to 'Available'.
+     *
+     * @param csvFile CSV with plateID, vehicleType, rentalPrice and optional status columns
+     * @return Import summary
+     */
+    public ImportResult importVehicles(Path csvFile) {
+        return runImport("vehicle", csvFile,
+                new String[] { "plateID", "vehicleType", "rentalPrice" },
+                this::parseVehicle,
+                Vehicle::getPlateID,
+                vehicles -> errorsOf(vehicleDAO.insertVehicles(vehicles)));
+    }
+
+    /**
+     * Import parts. Parts without a partID get the next PART-XXX ID.
+     *
+     * @param csvFile CSV with partName, quantity and optional partID and price columns
+     * @return Import summary
+     */
+    public ImportResult importParts(Path csvFile) {
+        return runImport("part", csvFile,
+                new String[] { "partName", "quantity" },
+                this::parsePart,
+                Part::getPartId,
+                this::writeParts);
+    }
+
+    /**
+     * Import customers together with their addresses.
+     * Customers without a customerID get the next CUST-XXX ID.
+     *
+     * @param csvFile CSV with lastName, firstName, city, barangay and optional
+     *                customerID, contactNumber, emailAddress and street columns
+     * @return Import summary
+     */
+    public ImportResult importCustomers(Path csvFile) {
+        AddressLookup lookup = new AddressLookup();
+        return runImport("customer", csvFile,
+                new String[] { "lastName", "firstName", "city", "barangay" },
+                row -> parseCustomer(row, lookup),
+                Customer::getCustomerID,
+                this::writeCustomers);
+    }
+
+    /**
+     * Import addresses. Addresses that already exist are counted as imported
+     * but not inserted again.
+     *
+     * @param csvFile CSV with city, barangay and street columns
+     * @return Import summary
+     */
+    public ImportResult importAddresses(Path csvFile) {
+        AddressLookup lookup = new AddressLookup();
+        return runImport("address", csvFile,
+                new String[] { "city", "barangay", "street" },
+                row -> parseAddress(row, lookup),
+                address -> null,
+                this::writeAddresses);
+    }
+
+    /**
+     * Where the rejected rows of an import are written.
+     *
+     * @param csvFile Imported file (e.g., branch-vehicles.csv)
+     * @return Reject file next to it (e.g., branch-vehicles.rejects.csv)
+     */
+    public static Path rejectFileFor(Path csvFile) {
+        String name = csvFile.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        return csvFile.resolveSibling(base + ".rejects.csv");
+    }
+
+    // ==================== PIPELINE ====================
+
+    /**
+     * Checks one row and builds its record.
+     */
+    private interface RowParser<T> {
+        /**
+         * @return Why the row is invalid, or null after setting row.record
+         */
+        String parse(Row<T> row);
+    }
+
+    /**
+     * Saves the valid records of one chunk.
+     */
+    private interface ChunkWriter<T> {
+        /**
+         * @return One entry per record: null if saved, otherwise the reason it was not
+         */
+        String[] write(List<T> records);
+    }
+
+    /**
+     * One data row of the file, plus its record or error once validated.
+     */
+    private static class Row<T> {
+        final long line;
+        final List<String> fields;
+        final Map<String, Integer> columns;
+        T record;
+        String error;
+
+        Row(long line, List<String> fields, Map<String, Integer> columns) {
+            this.line = line;
+            this.fields = fields;
+            this.columns = columns;
+        }
+
+        /**
+         * @return Trimmed value of a column, or "" if the column or value is missing
+         */
+        String get(String column) {
+            Integer index = columns.get(columnKey(column));
+            if (index == null || index >= fields.size()) {
+                return "";
+            }
+            return fields.get(index).trim();
+        }
+    }
+
+    private <T> ImportResult runImport(String recordType, Path csvFile, String[] requiredColumns,
+                                       RowParser<T> parser, Function<T, String> keyOf,
+                                       ChunkWriter<T> writer) {
+        long start = System.currentTimeMillis();
+        ImportResult result = new ImportResult(recordType, rejectFileFor(csvFile));
+
+        try (CsvReader csv = new CsvReader(Files.newBufferedReader(csvFile, StandardCharsets.UTF_8));
+             RejectWriter rejects = new RejectWriter(result.rejectFile)) {
+
+            List<String> header = csv.readRecord();
+            if (header == null) {
+                result.error = "The file is empty.";
+                return result;
+            }
+            Map<String, Integer> columns = indexColumns(header);
+            List<String> missing = new ArrayList<>();
+            for (String column : requiredColumns) {
+                if (!columns.containsKey(columnKey(column))) {
+                    missing.add(column);
+                }
+            }
+            if (!missing.isEmpty()) {
+                result.error = "Missing column(s): " + String.join(", ", missing);
+                return result;
+            }
+            rejects.header = header;
+
+            // IDs already taken by earlier rows of this file
+            Set<String> seenKeys = new HashSet<>();
+            List<Row<T>> chunk = new ArrayList<>(CHUNK_SIZE);
+            List<String> fields;
+
+            while ((fields = csv.readRecord()) != null) {
+                chunk.add(new Row<>(csv.getRecordLine(), fields, columns));
+                if (chunk.size() == CHUNK_SIZE) {
+                    processChunk(chunk, parser, keyOf, writer, seenKeys, rejects, result);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                processChunk(chunk, parser, keyOf, writer, seenKeys, rejects, result);
+            }
+
+        } catch (IOException e) {
+            System.err.println("Error importing " + recordType + " CSV: " + e.getMessage());
+            result.error = "Import stopped: " + e.getMessage();
+        } finally {
+            result.elapsedMs = System.currentTimeMillis() - start;
+        }
+
+        System.out.println("CSV import: " + result);
+        return result;
+    }
+
+    private <T> void processChunk(List<Row<T>> chunk, RowParser<T> parser, Function<T, String> keyOf,
+                                  ChunkWriter<T> writer, Set<String> seenKeys,
+                                  RejectWriter rejects, ImportResult result) throws IOException {
+        // Validation is CPU-only, so rows are checked in parallel
+        chunk.parallelStream().forEach(row -> row.error = parser.parse(row));
+
+        List<Row<T>> valid = new ArrayList<>();
+        for (Row<T> row : chunk) {
+            result.rowsRead++;
+            if (row.error == null) {
+                String key = keyOf.apply(row.record);
+                if (key != null && !key.isEmpty() && !seenKeys.add(key.toLowerCase(Locale.ROOT))) {
+                    row.error = "Duplicate ID " + key + " (already used earlier in the file)";
+                }
+            }
+            if (row.error != null) {
+                rejects.write(row);
+                result.rejected++;
+            } else {
+                valid.add(row);
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        List<T> records = new ArrayList<>(valid.size());
+        for (Row<T> row : valid) {
+            records.add(row.record);
+        }
+        String[] errors = writer.write(records);
+
+        for (int i = 0; i < valid.size(); i++) {
+            if (errors[i] == null) {
+                result.imported++;
+            } else {
+                valid.get(i).error = errors[i];
+                rejects.write(valid.get(i));
+                result.rejected++;
+            }
+        }
+    }
+
+    /**
+     * Map header names to column positions, keyed by columnKey() ("Plate ID" -> "plateid").
+     * If a name appears twice, the first column wins.
+     */
+    private static Map<String, Integer> indexColumns(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.putIfAbsent(columnKey(header.get(i)), i);
+        }
+        return columns;
+    }
+
+    private static String columnKey(String name) {
+        return normalize(name).replace(" ", "").replace("_", "");
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String[] errorsOf(BatchResult result) {
+        String[] errors = new String[result.size()];
+        for (int i : result.getFailedIndexes()) {
+            errors[i] = result.getError(i) != null ? result.getError(i) : "Not saved";
+        }
+        return errors;
+    }
+
+    /**
+     * Writes rejected rows to the reject file, creating it on the first one.
+     */
+    private static class RejectWriter implements Closeable {
+        private final Path file;
+        private List<String> header;
+        private BufferedWriter out;
+
+        RejectWriter(Path file) {
+            this.file = file;
+        }
+
+        void write(Row<?> row) throws IOException {
+            if (out == null) {
+                out = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+                writeHeader();
+            }
+            List<String> fields = new ArrayList<>(header.size() + 2);
+            for (int i = 0; i < header.size(); i++) {
+                fields.add(i < row.fields.size() ? row.fields.get(i) : "");
+            }
+            fields.add(String.valueOf(row.line));
+            fields.add(row.error);
+            out.write(CsvReader.toLine(fields));
+            out.newLine();
+        }
+
+        private void writeHeader() throws IOException {
+            List<String> fields = new ArrayList<>(header);
+            fields.add("source_line");
+            fields.add("reject_reason");
+            out.write(CsvReader.toLine(fields));
+            out.newLine();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (out != null) {
+                out.close();
+            }
+        }
+    }
+
+    // ==================== ROW CHECKS ====================
+
+    private String parseVehicle(Row<Vehicle> row) {
+        String plateID = row.get("plateID");
+        String vehicleType = row.get("vehicleType");
+        String price = row.get("rentalPrice");
+        String status = row.get("status");
+
+        String error = checkText("plateID", plateID, 11, true);
+        if (error == null) {
+            error = checkText("vehicleType", vehicleType, 25, true);
+        }
+        if (error != null) {
+            return error;
+        }
+
+        double rentalPrice;
+        try {
+            rentalPrice = Double.parseDouble(price);
+        } catch (NumberFormatException e) {
+            return "rentalPrice must be a number (got '" + price + "')";
+        }
+        if (rentalPrice <= 0) {
+            return "rentalPrice must be greater than 0";
+        }
+
+        String canonicalStatus = "Available";
+        if (!status.isEmpty()) {
+            canonicalStatus = null;
+            for (String allowed : VEHICLE_STATUSES) {
+                if (allowed.equalsIgnoreCase(status)) {
+                    canonicalStatus = allowed;
+                }
+            }
+            if (canonicalStatus == null) {
+                return "status must be one of " + VEHICLE_STATUSES + " (got '" + status + "')";
+            }
+        }
+
+        row.record = new Vehicle(plateID, vehicleType, canonicalStatus, rentalPrice);
+        return null;
+    }
+
+    private String parsePart(Row<Part> row) {
+        String partID = row.get("partID");
+        String partName = row.get("partName");
+        String quantityText = row.get("quantity");
+        String priceText = row.get("price");
+
+        String error = checkText("partID", partID, 11, false);
+        if (error == null) {
+            error = checkText("partName", partName, 25, true);
+        }
+        if (error != null) {
+            return error;
+        }
+
+        int quantity;
+        try {
+            quantity = Integer.parseInt(quantityText);
+        } catch (NumberFormatException e) {
+            return "quantity must be a whole number (got '" + quantityText + "')";
+        }
+        if (quantity < 0) {
+            return "quantity cannot be negative";
+        }
+
+        BigDecimal price = BigDecimal.ZERO;
+        if (!priceText.isEmpty()) {
+            try {
+                price = new BigDecimal(priceText);
+            } catch (NumberFormatException e) {
+                return "price must be a number (got '" + priceText + "')";
+            }
+            if (price.signum() < 0) {
+                return "price cannot be negative";
+            }
+        }
+
+        row.record = new Part(partID.isEmpty() ? null : partID, partName, quantity, price, "Active");
+        return null;
+    }
+
+    private String parseCustomer(Row<Customer> row, AddressLookup lookup) {
+        String customerID = row.get("customerID");
+        String lastName = row.get("lastName");
+        String firstName = row.get("firstName");
+        String contactNumber = row.get("contactNumber");
+        String email = row.get("emailAddress");
+
+        String error = checkText("customerID", customerID, 11, false);
+        if (error == null) {
+            error = checkText("lastName", lastName, 25, true);
+        }
+        if (error == null) {
+            error = checkText("firstName", firstName, 25, true);
+        }
+        if (error == null && !contactNumber.isEmpty() && !contactNumber.matches("\\d{1,11}")) {
+            error = "contactNumber must be up to 11 digits (got '" + contactNumber + "')";
+        }
+        if (error == null) {
+            error = checkText("emailAddress", email, 80, false);
+        }
+        if (error == null && !email.isEmpty() && !email.matches("[^@\\s]+@[^@\\s]+\\.[^@\\s]+")) {
+            error = "emailAddress is not a valid email (got '" + email + "')";
+        }
+        if (error != null) {
+            return error;
+        }
+
+        Address address = new Address();
+        error = lookup.resolve(row, address, false);
+        if (error != null) {
+            return error;
+        }
+
+        Customer customer = new Customer(customerID.isEmpty() ? null : customerID, lastName, firstName,
+                contactNumber.isEmpty() ? null : contactNumber, null,
+                email.isEmpty() ? null : email, "Active");
+        customer.setAddress(address);
+        row.record = customer;
+        return null;
+    }
+
+    private String parseAddress(Row<Address> row, AddressLookup lookup) {
+        Address address = new Address();
+        String error = lookup.resolve(row, address, true);
+        if (error != null) {
+            return error;
+        }
+        row.record = address;
+        return null;
+    }
+
+    /**
+     * @return Error message, or null if the value fits the column
+     */
+    private static String checkText(String column, String value, int maxLength, boolean required) {
+        if (required && value.isEmpty()) {
+            return column + " is required";
+        }
+        if (value.length() > maxLength) {
+            return column + " is longer than " + maxLength + " characters";
+        }
+        return null;
+    }
+
+    /**
+     * City and barangay names -> IDs, loaded once per import from ReferenceDataCache.
+     * Read-only after construction, so the parallel row checks can share it.
+     */
+    private static class AddressLookup {
+        private final Map<String, City> citiesByName = new HashMap<>();
+        private final Map<Integer, Map<String, Barangay>> barangaysByCity = new HashMap<>();
+
+        AddressLookup() {
+            for (City city : ReferenceDataCache.getCities()) {
+                citiesByName.putIfAbsent(normalize(city.getName()), city);
+                Map<String, Barangay> barangays = new HashMap<>();
+                for (Barangay barangay : ReferenceDataCache.getBarangaysByCity(city.getCityID())) {
+                    barangays.putIfAbsent(normalize(barangay.getName()), barangay);
+                }
+                barangaysByCity.put(city.getCityID(), barangays);
+            }
+        }
+
+        /**
+         * Fill in the address's barangayID and street from the row's city, barangay and street.
+         *
+         * @return Error message, or null if resolved
+         */
+        String resolve(Row<?> row, Address address, boolean streetRequired) {
+            String cityName = row.get("city");
+            String barangayName = row.get("barangay");
+            String street = row.get("street");
+
+            if (cityName.isEmpty() || barangayName.isEmpty()) {
+                return "city and barangay are required";
+            }
+            String error = checkText("street", street, 30, streetRequired);
+            if (error != null) {
+                return error;
+            }
+
+            City city = citiesByName.get(normalize(cityName));
+            if (city == null) {
+                return "Unknown city '" + cityName + "'";
+            }
+            Barangay barangay = barangaysByCity.get(city.getCityID()).get(normalize(barangayName));
+            if (barangay == null) {
+                return "Unknown barangay '" + barangayName + "' in " + city.getName();
+            }
+
+            address.setBarangayID(barangay.getBarangayID());
+            address.setStreet(street.isEmpty() ? null : street);
+            return null;
+        }
+    }
+
+    // ==================== CHUNK WRITERS ====================
+
+    private String[] writeParts(List<Part> parts) {
+        List<Part> unnumbered = new ArrayList<>();
+        for (Part part : parts) {
+            if (part.getPartId() == null) {
+                unnumbered.add(part);
+            }
+        }
+        if (!unnumbered.isEmpty()) {
+            // One call for the whole chunk, so every row gets a different ID
+            List<String> ids = idSequenceDAO.nextIds(IdSequenceDAO.Sequence.PART, unnumbered.size());
+            if (ids == null) {
+                String[] errors = new String[parts.size()];
+                Arrays.fill(errors, "Could not generate part IDs");
+                return errors;
+            }
+            for (int i = 0; i < unnumbered.size(); i++) {
+                unnumbered.get(i).setPartId(ids.get(i));
+            }
+        }
+        return errorsOf(partDAO.insertParts(parts));
+    }
+
+    private String[] writeCustomers(List<Customer> customers) {
+        String[] errors = new String[customers.size()];
+
+        List<Address> addresses = new ArrayList<>(customers.size());
+        for (Customer customer : customers) {
+            addresses.add(customer.getAddress());
+        }
+        addressDAO.findOrCreateAddresses(addresses);
+
+        // Only customers whose address was saved go on to the insert
+        List<Customer> ready = new ArrayList<>();
+        List<Integer> readyIndexes = new ArrayList<>();
+        for (int i = 0; i < customers.size(); i++) {
+            Customer customer = customers.get(i);
+            Integer addressID = customer.getAddress().getAddressID();
+            if (addressID == null) {
+                errors[i] = "Could not save the customer's address";
+            } else {
+                customer.setAddressID(addressID);
+                ready.add(customer);
+                readyIndexes.add(i);
+            }
+        }
+        if (ready.isEmpty()) {
+            return errors;
+        }
+
+        String[] insertErrors = errorsOf(customerDAO.insertCustomers(ready));
+        for (int k = 0; k < ready.size(); k++) {
+            errors[readyIndexes.get(k)] = insertErrors[k];
+        }
+        return errors;
+    }
+
+    private String[] writeAddresses(List<Address> addresses) {
+        addressDAO.findOrCreateAddresses(addresses);
+        String[] errors = new String[addresses.size()];
+        for (int i = 0; i < addresses.size(); i++) {
+            if (addresses.get(i).getAddressID() == null) {
+                errors[i] = "Could not save address";
+            }
+        }
+        return errors;
+    }
+}
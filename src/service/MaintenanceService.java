@@ -6,6 +6,11 @@ import java.math.BigDecimal;
 import java.sql.Timestamp;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import util.UnitOfWork;
 
 /**
  * Business Logic Service for MAINTENANCE operations.
@@ -36,9 +41,9 @@ import java.util.ArrayList;
  * 
  * 2. completeMaintenance(String maintenanceID, Date dateRepaired, List<PartUsage> partsUsed)
  *    - Get maintenance record (MaintenanceDAO)
- *    - Validate parts availability (PartDAO)
- *    - Create MaintenanceCheque records for each part used (MaintenanceChequeDAO)
- *    - Decrement parts inventory (PartDAO.decrementPartQuantity)
+ *    - Take all parts out of stock in one batch of conditional decrements (PartDAO.consumeParts)
+ *    - Create MaintenanceCheque records for each part used, batched (MaintenanceChequeDAO)
+ *    - Short parts are reported by tryCompleteMaintenance() and nothing is saved
  *    - Update maintenance record with dateRepaired (MaintenanceDAO)
  *    - Update vehicle status to "Available" (VehicleDAO)
  * 
@@ -199,14 +204,24 @@ public class MaintenanceService {
                 return BigDecimal.ZERO;
             }
             
+            // Get every part's price in one query (including inactive parts for historical accuracy)
+            List<String> partIDs = new ArrayList<>();
+            for (model.MaintenanceCheque cheque : cheques) {
+                partIDs.add(cheque.getPartID());
+            }
+            Map<String, Part> parts = partDAO.getPartsByIdsIncludingInactive(partIDs);
+            if (parts == null) {
+                System.out.println("Could not load parts for maintenance " + maintenanceID);
+                return BigDecimal.ZERO;
+            }
+            
             BigDecimal totalPartsCost = BigDecimal.ZERO;
             
             for (model.MaintenanceCheque cheque : cheques) {
                 String partID = cheque.getPartID();
                 BigDecimal quantityUsed = cheque.getQuantityUsed();
                 
-                // Get part details including price (including inactive parts for historical accuracy)
-                Part part = partDAO.getPartByIdIncludingInactive(partID);
+                Part part = parts.get(partID);
                 if (part == null) {
                     System.out.println("Part not found: " + partID);
                     continue;
@@ -498,6 +513,68 @@ public class MaintenanceService {
         }
     }
     
+    /**
+     * Deactivate many maintenance cheques at once and return their parts to inventory.
+     * Used by the "Deactivate Selected" button on the maintenance cheque records screen.
+     * 
+     * Runs as one transaction:
+     * - All cheques are deactivated with set-based UPDATEs
+     * - Each part's stock goes up once, by the total quantity returned
+     * - Each affected maintenance record's cost is recalculated once
+     * If any selected cheque is no longer active (changed since the table was
+     * loaded), nothing is changed.
+     * 
+     * @param cheques Cheques selected in the records table (inactive ones are ignored)
+     * @return Number of cheques deactivated, or -1 if nothing was changed
+     */
+    public int deactivateMaintenanceChequesWithInventory(List<MaintenanceCheque> cheques) {
+        return UnitOfWork.execute(
+                () -> doDeactivateMaintenanceChequesWithInventory(cheques),
+                count -> count >= 0,
+                -1);
+    }
+    
+    private int doDeactivateMaintenanceChequesWithInventory(List<MaintenanceCheque> cheques) {
+        List<MaintenanceCheque> active = new ArrayList<>();
+        Map<String, Integer> returnedByPart = new LinkedHashMap<>();
+        Set<String> maintenanceIDs = new LinkedHashSet<>();
+        
+        for (MaintenanceCheque cheque : cheques) {
+            if (!"Active".equals(cheque.getStatus())) {
+                continue;
+            }
+            active.add(cheque);
+            returnedByPart.merge(cheque.getPartID(), cheque.getQuantityUsed().intValue(), Integer::sum);
+            maintenanceIDs.add(cheque.getMaintenanceID());
+        }
+        if (active.isEmpty()) {
+            return 0;
+        }
+        
+        int deactivated = maintenanceChequeDAO.deactivateMaintenanceCheques(active);
+        if (deactivated != active.size()) {
+            System.out.println("Error: " + (active.size() - Math.max(deactivated, 0)) +
+                    " selected cheque(s) were already changed. Reload and try again.");
+            return -1;
+        }
+        
+        for (Map.Entry<String, Integer> entry : returnedByPart.entrySet()) {
+            if (entry.getValue() > 0 && !partDAO.incrementPartQuantity(entry.getKey(), entry.getValue())) {
+                System.out.println("Error: Failed to return part " + entry.getKey() + " to inventory.");
+                return -1;
+            }
+        }
+        
+        for (String maintenanceID : maintenanceIDs) {
+            if (!recalculateMaintenanceCost(maintenanceID)) {
+                System.out.println("Warning: Cost recalculation failed for maintenance " + maintenanceID);
+            }
+        }
+        
+        System.out.println(deactivated + " maintenance cheque(s) deactivated, parts returned to inventory.");
+        return deactivated;
+    }
+    
     /**
      * Reactivate a maintenance cheque and deduct parts from inventory.
      * Automatically recalculates the total maintenance cost.
@@ -585,56 +662,80 @@ public class MaintenanceService {
      */
     public boolean completeMaintenance(String maintenanceID, Timestamp endDateTime, 
                                       List<PartUsage> partsUsed) {
+        return tryCompleteMaintenance(maintenanceID, endDateTime, partsUsed).isCompleted();
+    }
+    
+    /**
+     * Complete a maintenance job, reporting which parts were short if it fails.
+     * 
+     * All parts are taken out of stock with one batch of conditional decrements
+     * (quantity >= needed), and their cheques are inserted as one batch. If any part
+     * is short, the whole completion is rolled back: no stock, cheque or status change
+     * is kept. Repeated part IDs in partsUsed are added together.
+     * 
+     * @param maintenanceID Maintenance record to complete
+     * @param endDateTime Timestamp when repair was completed
+     * @param partsUsed List of PartUsage objects (partID and quantity), may be null
+     * @return Result with the short parts (if any) and a message for the user
+     */
+    public CompletionResult tryCompleteMaintenance(String maintenanceID, Timestamp endDateTime, 
+                                                   List<PartUsage> partsUsed) {
+        // All part usage, inventory and status changes commit together or not at all
+        return UnitOfWork.execute(
+            () -> doCompleteMaintenance(maintenanceID, endDateTime, partsUsed),
+            CompletionResult::isCompleted,
+            CompletionResult.failed("Failed to save the maintenance completion."));
+    }
+    
+    private CompletionResult doCompleteMaintenance(String maintenanceID, Timestamp endDateTime, 
+                                                   List<PartUsage> partsUsed) {
         try {
             // Get maintenance record
             MaintenanceTransaction maintenance = maintenanceDAO.getMaintenanceById(maintenanceID);
             if (maintenance == null) {
                 System.out.println("Error: Maintenance record " + maintenanceID + " not found.");
-                return false;
+                return CompletionResult.failed("Maintenance record " + maintenanceID + " not found.");
             }
             
             // ENFORCE: Only complete if endDateTime is NOT already set (first-time completion only)
             if (maintenance.getEndDateTime() != null) {
                 System.out.println("Error: Maintenance " + maintenanceID + " is already completed. Cannot complete again.");
                 System.out.println("Use recalculateMaintenanceCost() if you need to update costs after adding parts.");
-                return false;
+                return CompletionResult.failed("Maintenance " + maintenanceID + " is already completed.");
             }
             
-            // Process parts used
+            // Process parts used: one batched decrement, then one batched cheque insert
             if (partsUsed != null && !partsUsed.isEmpty()) {
+                Map<String, Integer> quantities = new LinkedHashMap<>();
                 for (PartUsage usage : partsUsed) {
-                    // Verify part exists
-                    Part part = partDAO.getPartById(usage.getPartID());
-                    if (part == null) {
-                        System.out.println("Error: Part " + usage.getPartID() + " not found.");
-                        return false;
-                    }
-                    
-                    // Check if sufficient inventory
-                    if (part.getQuantity() < usage.getQuantity().intValue()) {
-                        System.out.println("Error: Insufficient inventory for part " + 
-                                         usage.getPartID() + ". Available: " + part.getQuantity() + 
-                                         ", Required: " + usage.getQuantity());
-                        return false;
-                    }
-                    
-                    // Create maintenance cheque record
-                    MaintenanceCheque cheque = new MaintenanceCheque(
-                        maintenanceID, usage.getPartID(), usage.getQuantity()
-                    );
-                    boolean chequeInsert = maintenanceChequeDAO.insertMaintenanceCheque(cheque);
-                    if (!chequeInsert) {
-                        System.out.println("Error: Failed to record part usage for " + usage.getPartID());
-                        return false;
-                    }
-                    
-                    // Decrement part inventory
-                    boolean inventoryUpdate = partDAO.decrementPartQuantity(
-                        usage.getPartID(), usage.getQuantity().intValue()
-                    );
-                    if (!inventoryUpdate) {
-                        System.out.println("Warning: Part usage recorded but inventory update failed.");
+                    if (usage.getQuantity() == null || usage.getQuantity().intValue() <= 0) {
+                        System.out.println("Error: Quantity for part " + usage.getPartID() + " must be positive.");
+                        return CompletionResult.failed("Quantity for part " + usage.getPartID() + " must be positive.");
                     }
+                    quantities.merge(usage.getPartID(), usage.getQuantity().intValue(), Integer::sum);
+                }
+                
+                List<String> shortParts = partDAO.consumeParts(quantities);
+                if (shortParts == null) {
+                    System.out.println("Error: Inventory update failed.");
+                    return CompletionResult.failed("Inventory update failed.");
+                }
+                if (!shortParts.isEmpty()) {
+                    return CompletionResult.shortParts(describeShortParts(shortParts, quantities), shortParts);
+                }
+                
+                List<MaintenanceCheque> cheques = new ArrayList<>();
+                for (Map.Entry<String, Integer> entry : quantities.entrySet()) {
+                    cheques.add(new MaintenanceCheque(
+                        maintenanceID, entry.getKey(), BigDecimal.valueOf(entry.getValue())
+                    ));
+                }
+                BatchResult chequeInsert = maintenanceChequeDAO.insertMaintenanceCheques(cheques);
+                if (!chequeInsert.isAllSucceeded()) {
+                    int failed = chequeInsert.getFailedIndexes().get(0);
+                    System.out.println("Error: Failed to record part usage for " + cheques.get(failed).getPartID());
+                    return CompletionResult.failed("Failed to record part usage for " +
+                                                   cheques.get(failed).getPartID() + ".");
                 }
             }
             
@@ -653,7 +754,7 @@ public class MaintenanceService {
             boolean updateSuccess = maintenanceDAO.updateMaintenance(maintenance);
             if (!updateSuccess) {
                 System.out.println("Error: Failed to update maintenance record.");
-                return false;
+                return CompletionResult.failed("Failed to update maintenance record.");
             }
             
             // Update vehicle status back to "Available"
@@ -661,19 +762,40 @@ public class MaintenanceService {
                 maintenance.getPlateID(), "Available"
             );
             if (!statusUpdate) {
-                System.out.println("Warning: Maintenance completed but vehicle status update failed.");
+                System.out.println("Error: Vehicle status update failed.");
+                return CompletionResult.failed("Vehicle status update failed.");
             }
             
             System.out.println("Maintenance completed successfully: " + maintenanceID);
-            return true;
+            return CompletionResult.completed();
             
         } catch (Exception e) {
             System.out.println("Error completing maintenance: " + e.getMessage());
             e.printStackTrace();
-            return false;
+            return CompletionResult.failed("Error completing maintenance: " + e.getMessage());
         }
     }
     
+    /**
+     * Build the "not enough stock" message. Only runs on the failure path,
+     * so the extra lookups do not cost anything when every part is in stock.
+     */
+    private String describeShortParts(List<String> shortParts, Map<String, Integer> quantities) {
+        StringBuilder message = new StringBuilder("Insufficient inventory:");
+        for (String partID : shortParts) {
+            Part part = partDAO.getPartById(partID);
+            message.append("\n - ").append(partID);
+            if (part == null) {
+                message.append(": not found or inactive");
+            } else {
+                message.append(" (").append(part.getPartName()).append("): available ")
+                       .append(part.getQuantity()).append(", required ").append(quantities.get(partID));
+            }
+        }
+        System.out.println("Error: " + message);
+        return message.toString();
+    }
+    
     /**
      * Flag a vehicle as defective and create a maintenance record.
      * 
@@ -980,8 +1102,18 @@ public class MaintenanceService {
                 .collect(java.util.stream.Collectors.toList());
             
             // STEP 3: Validate inventory availability for ALL parts before proceeding
+            // (one query for every part on the job)
+            List<String> partIDs = new ArrayList<>();
             for (MaintenanceCheque cheque : inactiveCheques) {
-                Part part = partDAO.getPartById(cheque.getPartID());
+                partIDs.add(cheque.getPartID());
+            }
+            Map<String, Part> parts = partDAO.getPartsByIds(partIDs);
+            if (parts == null) {
+                System.err.println("Could not load parts for maintenance " + maintenanceID);
+                return false;
+            }
+            for (MaintenanceCheque cheque : inactiveCheques) {
+                Part part = parts.get(cheque.getPartID());
                 if (part == null) {
                     System.err.println("Part not found: " + cheque.getPartID());
                     return false;
@@ -1047,6 +1179,52 @@ public class MaintenanceService {
         }
     }
     
+    /**
+     * Inner class to represent the outcome of tryCompleteMaintenance().
+     * When parts were short, getShortParts() lists their IDs.
+     */
+    public static class CompletionResult {
+        private boolean completed;
+        private String message;
+        private List<String> shortParts;
+        
+        private CompletionResult(boolean completed, String message, List<String> shortParts) {
+            this.completed = completed;
+            this.message = message;
+            this.shortParts = shortParts;
+        }
+        
+        static CompletionResult completed() {
+            return new CompletionResult(true, null, new ArrayList<>());
+        }
+        
+        static CompletionResult failed(String message) {
+            return new CompletionResult(false, message, new ArrayList<>());
+        }
+        
+        static CompletionResult shortParts(String message, List<String> shortParts) {
+            return new CompletionResult(false, message, shortParts);
+        }
+        
+        public boolean isCompleted() {
+            return completed;
+        }
+        
+        /**
+         * @return Why the completion failed (suitable for showing to the user), null if completed
+         */
+        public String getMessage() {
+            return message;
+        }
+        
+        /**
+         * @return IDs of parts without enough active stock (empty unless that was the reason)
+         */
+        public List<String> getShortParts() {
+            return shortParts;
+        }
+    }
+    
     /**
      * Inner class to represent part usage in maintenance completion.
      * Used to pass part ID and quantity together.
@@ -1,5 +1,6 @@
 package service;
 
+import dao.IdSequenceDAO;
 import dao.PartDAO;
 import model.Part;
 import java.util.List;
@@ -11,6 +12,7 @@ import java.util.List;
 public class PartService {
 
     private final PartDAO partDAO;
+    private final IdSequenceDAO idSequenceDAO = new IdSequenceDAO();
 
     public PartService() {
         this.partDAO = new PartDAO();
@@ -19,11 +21,18 @@ public class PartService {
     /**
      * Generate the next sequential part ID.
      * Format: PART-XXX where XXX is a 3-digit number (001, 002, 003, etc.)
-     * Finds the highest existing ID (including inactive) and increments by 1.
+     * Taken from the id_sequences block allocator. If that is unavailable,
+     * finds the highest existing ID (including inactive) and increments by 1.
      * 
      * @return Next part ID (e.g., "PART-021")
      */
     public String generateNextPartID() {
+        // Fast path: next ID from the in-memory block reserved in id_sequences
+        String allocated = idSequenceDAO.nextId(IdSequenceDAO.Sequence.PART);
+        if (allocated != null) {
+            return allocated;
+        }
+
         try {
             // Get all parts including inactive to ensure no ID collisions
             List<Part> allParts = partDAO.getAllPartsIncludingInactive();
@@ -3,7 +3,11 @@ package service;
 import dao.*;
 import model.*;
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import util.UnitOfWork;
 
 /**
  * Business Logic Service for RENTAL operations.
@@ -20,6 +24,10 @@ public class RentalService {
     private RentalDAO rentalDAO;
     private PaymentDAO paymentDAO;
     private PaymentService paymentService;
+    private IdSequenceDAO idSequenceDAO = new IdSequenceDAO();
+    
+    // Attempts to book any free vehicle before giving up on lost races
+    public static final int MAX_CLAIM_ATTEMPTS = 3;
 
     // Constructor with all dependencies
     public RentalService(CustomerDAO customerDAO, VehicleDAO vehicleDAO, LocationDAO locationDAO, RentalDAO rentalDAO, PaymentDAO paymentDAO, PaymentService paymentService){
@@ -40,9 +48,88 @@ public class RentalService {
      * @param plateID Vehicle being booked
      * @param locationID Rental location
      * @param pickUpDateTime Customer's selected pickup date and time
-     * @return Rental ID if successful, null otherwise
+     * @return Rental ID if successful, null otherwise (use tryBookRental to tell a conflict apart)
      */
     public String bookRental(String customerID, String plateID, String locationID, Timestamp pickUpDateTime)
+    {
+        return tryBookRental(customerID, plateID, locationID, pickUpDateTime).getRentalID();
+    }
+    
+    /**
+     * Book a rental, reporting WHY a booking was not made.
+     * 
+     * CONCURRENCY: No lock is taken while validating. Instead the vehicle row is
+     * claimed with a compare-and-set on its version column just before the rental is
+     * inserted. If two kiosks book the same vehicle at once, both may pass validation,
+     * but only one claim matches; the other gets CONFLICT and nothing is saved.
+     * 
+     * @param customerID Customer booking the vehicle
+     * @param plateID Vehicle being booked
+     * @param locationID Rental location
+     * @param pickUpDateTime Customer's selected pickup date and time
+     * @return OK with the rental ID, CONFLICT if another booking got the vehicle first,
+     *         or REJECTED if the booking is not valid
+     */
+    public RentalResult tryBookRental(String customerID, String plateID, String locationID, Timestamp pickUpDateTime)
+    {
+        // Vehicle claim, rental and placeholder payment are saved in one transaction
+        return UnitOfWork.execute(
+            () -> doBookRental(customerID, plateID, locationID, pickUpDateTime),
+            RentalResult::isOk,
+            RentalResult.rejected("Booking could not be saved. Please try again."));
+    }
+    
+    /**
+     * Book ANY free vehicle of a type at a location (kiosk "rent a scooter here").
+     * 
+     * The vehicle is picked and locked by one query (VehicleDAO.claimAvailableVehicle)
+     * in the same transaction as the booking, so simultaneous customers get different
+     * vehicles instead of all racing for the first one in the list.
+     * 
+     * Each retry after a lost race needs a transaction of its own, so call this outside
+     * a UnitOfWork. Inside one (e.g. IdempotencyService.execute) only one attempt is made,
+     * because a failed attempt would roll back the caller's whole transaction; the caller
+     * retries a CONFLICT itself, up to MAX_CLAIM_ATTEMPTS times.
+     * 
+     * @param customerID Customer booking the vehicle
+     * @param vehicleType Vehicle type wanted
+     * @param locationID Rental location
+     * @param pickUpDateTime Customer's selected pickup date and time
+     * @return OK with the rental ID, or REJECTED if no vehicle of that type is free
+     *         or the booking is not valid (CONFLICT only if every attempt lost a race)
+     */
+    public RentalResult bookAvailableVehicle(String customerID, String vehicleType, String locationID,
+                                             Timestamp pickUpDateTime)
+    {
+        RentalResult result = null;
+        // Without SKIP LOCKED (embedded database) two requests can still pick the same
+        // vehicle; the loser's compare-and-set fails and it tries the next one
+        int attempts = UnitOfWork.isActive() ? 1 : MAX_CLAIM_ATTEMPTS;
+        for (int attempt = 0; attempt < attempts; attempt++) {
+            result = UnitOfWork.execute(
+                () -> doBookAvailableVehicle(customerID, vehicleType, locationID, pickUpDateTime),
+                RentalResult::isOk,
+                RentalResult.rejected("Booking could not be saved. Please try again."));
+            if (!result.isConflict()) {
+                break;
+            }
+        }
+        return result;
+    }
+    
+    private RentalResult doBookAvailableVehicle(String customerID, String vehicleType, String locationID,
+                                                Timestamp pickUpDateTime)
+    {
+        Vehicle vehicle = vehicleDAO.claimAvailableVehicle(locationID, vehicleType);
+        if (vehicle == null) {
+            System.err.println("Err: No available " + vehicleType + " at " + locationID);
+            return RentalResult.rejected("No " + vehicleType + " is available at this location right now.");
+        }
+        System.out.println("✓ Claimed vehicle " + vehicle.getPlateID());
+        return doBookRental(customerID, vehicle.getPlateID(), locationID, pickUpDateTime);
+    }
+    
+    private RentalResult doBookRental(String customerID, String plateID, String locationID, Timestamp pickUpDateTime)
     {
         // VALIDATE CUSTOMER
         System.out.println("Validating Customer 🔎...");
@@ -50,13 +137,13 @@ public class RentalService {
 
         if(customer == null) {
             System.err.println("Err: Customer " + customerID + " not found!");
-            return null;
+            return RentalResult.rejected("Customer " + customerID + " not found.");
         }
 
         // Check if customer is active
         if (!customer.isActive()) {
             System.err.println("Err: Customer account is inactive!");
-            return null;
+            return RentalResult.rejected("Customer account is inactive.");
         }
 
         System.out.println("Customer found: " + customer.getFullName());
@@ -68,13 +155,13 @@ public class RentalService {
 
         if(vehicle == null) {
             System.err.println("Err: Vehicle " + plateID + " not found!");
-            return null;
+            return RentalResult.rejected("Vehicle " + plateID + " not found.");
         }
         
         // Check if vehicle is active (not retired)
         if (!vehicle.isActive()) {
             System.err.println("Err: Vehicle is retired/inactive!");
-            return null;
+            return RentalResult.rejected("Vehicle " + plateID + " is retired/inactive.");
         }
         
         System.out.println("Vehicle found: " + vehicle.getVehicleType());
@@ -93,7 +180,14 @@ public class RentalService {
             } else if (vehicle.isInMaintenance()) {
                 System.err.println("   This vehicle is in maintenance");
             }
-            return null;
+            return RentalResult.conflict("Vehicle " + plateID + " is no longer available (" + vehicle.getStatus() + ").");
+        }
+        
+        // A vehicle stays 'Available' while a booking waits for pickup,
+        // so an open rental on it also means it is taken
+        if (rentalDAO.hasActiveRental(plateID)) {
+            System.err.println("Err: Vehicle already has an open booking!");
+            return RentalResult.conflict("Vehicle " + plateID + " was just booked by someone else.");
         }
         System.out.println("✓ Vehicle is available for booking");
 
@@ -103,17 +197,24 @@ public class RentalService {
         
         if (location == null) {
             System.err.println("Err: Location " + locationID + " not found!");
-            return null;
+            return RentalResult.rejected("Location " + locationID + " not found.");
         }
         
         // Check if location is active
         if (!location.isActive()) {
             System.err.println("Err: Location is closed/inactive!");
-            return null;
+            return RentalResult.rejected("Location is closed/inactive.");
         }
         
         System.out.println("✓ Location found: " + location.getName());
 
+        // CLAIM VEHICLE: bumps its version only if nobody changed it since we read it.
+        // A concurrent booking that read the same version now matches zero rows.
+        if (!vehicleDAO.compareAndSetStatus(plateID, vehicle.getVersion(), "Available", "Available")) {
+            System.err.println("Err: Vehicle was changed by another request!");
+            return RentalResult.conflict("Vehicle " + plateID + " was just booked by someone else.");
+        }
+
         // GENERATE RENTAL ID
         String rentalID = rentalDAO.generateRentalID();
         System.out.println("Generated Rental ID: " + rentalID);
@@ -133,7 +234,7 @@ public class RentalService {
         
         if (!rentalCreated) {
             System.err.println("Err: Failed to create rental booking!");
-            return null;
+            return RentalResult.rejected("Failed to create rental booking.");
         }
         
         System.out.println("✓ Rental booking created!");
@@ -154,11 +255,11 @@ public class RentalService {
         boolean paymentCreated = paymentDAO.insertPayment(placeholderPayment);
         
         if (!paymentCreated) {
-            System.err.println("WARNING: Failed to create placeholder payment!");
-            System.err.println("Booking created but payment record is missing");
-        } else {
-            System.out.println("Placeholder payment created: " + paymentID);
+            System.err.println("Err: Failed to create placeholder payment!");
+            System.err.println("   Booking will not be saved");
+            return RentalResult.rejected("Failed to create placeholder payment.");
         }
+        System.out.println("Placeholder payment created: " + paymentID);
         
         // ===== SUCCESS! =====
         System.out.println("\n━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
@@ -174,7 +275,7 @@ public class RentalService {
         System.out.println("   Status: Awaiting pickup (can be cancelled)");
         System.out.println("────────────────────────────────\n");
         
-        return rentalID;
+        return RentalResult.ok(rentalID);
     }
     
     /**
@@ -200,6 +301,30 @@ public class RentalService {
      * @return true if successful, false otherwise
      */
     public boolean startRental(String rentalID, Timestamp startDateTime) {
+        return tryStartRental(rentalID, startDateTime).isOk();
+    }
+    
+    /**
+     * Start a rental, reporting WHY it could not be started.
+     * 
+     * Both writes are compare-and-set on the version read here: the rental must still
+     * be Active and not started, and the vehicle must still be Available. If another
+     * request changed either one in between, nothing is saved and CONFLICT is returned.
+     * 
+     * @param rentalID Rental to start
+     * @param startDateTime Start timestamp
+     * @return OK with the rental ID, CONFLICT if the rental or vehicle changed meanwhile,
+     *         or REJECTED if the rental cannot be started
+     */
+    public RentalResult tryStartRental(String rentalID, Timestamp startDateTime) {
+        // Rental start and vehicle status change are saved together or not at all
+        return UnitOfWork.execute(
+            () -> doStartRental(rentalID, startDateTime),
+            RentalResult::isOk,
+            RentalResult.rejected("Rental start could not be saved. Please try again."));
+    }
+    
+    private RentalResult doStartRental(String rentalID, Timestamp startDateTime) {
         System.out.println("\n=== Starting Rental (Physical Pickup) ===");
         
         // FETCH RENTAL RECORD
@@ -207,7 +332,7 @@ public class RentalService {
         
         if (rental == null) {
             System.err.println("Err: Rental " + rentalID + " not found!");
-            return false;
+            return RentalResult.rejected("Rental " + rentalID + " not found.");
         }
         
         System.out.println("✓ Rental found!");
@@ -219,17 +344,17 @@ public class RentalService {
         if (rental.isPickedUp()) {
             System.err.println("Err: Rental already started!");
             System.err.println("   Start Time: " + rental.getStartDateTime());
-            return false;
+            return RentalResult.rejected("Rental already started at " + rental.getStartDateTime() + ".");
         }
         
         if (rental.isCancelled()) {
             System.err.println("Err: Rental was cancelled!");
-            return false;
+            return RentalResult.rejected("Rental was cancelled.");
         }
         
         if (rental.isCompleted()) {
             System.err.println("Err: Rental is already completed!");
-            return false;
+            return RentalResult.rejected("Rental is already completed.");
         }
         
         System.out.println("✓ Rental is awaiting pickup");
@@ -239,44 +364,32 @@ public class RentalService {
         
         if (vehicle == null) {
             System.err.println("Err: Vehicle not found!");
-            return false;
+            return RentalResult.rejected("Vehicle " + rental.getPlateID() + " not found.");
         }
         
         if (!vehicle.isAvailable()) {
             System.err.println("Err: Vehicle is not available!");
             System.err.println("   Current Status: " + vehicle.getStatus());
-            return false;
+            return RentalResult.conflict("Vehicle " + rental.getPlateID() + " is not available (" +
+                                         vehicle.getStatus() + ").");
         }
         
-        // SET START TIME (use provided timestamp)
-        rental.setStartDateTime(startDateTime);
-        
-        // UPDATE RENTAL RECORD
-        boolean rentalUpdated = rentalDAO.updateRental(rental);
-        
-        if (!rentalUpdated) {
-            System.err.println("Err: Failed to update rental record!");
-            return false;
+        // SET START TIME (only if the rental is unchanged since we read it)
+        if (!rentalDAO.compareAndSetStart(rentalID, rental.getVersion(), startDateTime)) {
+            System.err.println("Err: Rental was changed by another request!");
+            return RentalResult.conflict("Rental " + rentalID + " was changed by someone else. Reload and try again.");
         }
         
         System.out.println("✓ Rental start time set: " + startDateTime);
         
-        // UPDATE VEHICLE STATUS TO "IN USE"
+        // UPDATE VEHICLE STATUS TO "IN USE" (only if still Available at the version we read)
         System.out.println("Updating vehicle status to 'In Use'...");
         
-        boolean statusUpdated = vehicleDAO.updateVehicleStatus(rental.getPlateID(), "In Use");
-        
-        if (!statusUpdated) {
-            System.err.println("Err: Failed to update vehicle status!");
-            System.err.println("WARNING: Rental started but vehicle status not updated");
-            System.err.println("Attempting rollback...");
-            
-            // ROLLBACK: Reset startDateTime to NULL
-            rental.setStartDateTime(null);
-            rentalDAO.updateRental(rental);
-            System.err.println("Rental start rolled back");
-            
-            return false;
+        if (!vehicleDAO.compareAndSetStatus(rental.getPlateID(), vehicle.getVersion(), "Available", "In Use")) {
+            System.err.println("Err: Vehicle was changed by another request!");
+            System.err.println("   Rental start will not be saved");
+            return RentalResult.conflict("Vehicle " + rental.getPlateID() + " was changed by someone else. " +
+                                         "Reload and try again.");
         }
         
         System.out.println("✓ Vehicle status updated to 'In Use'");
@@ -292,7 +405,7 @@ public class RentalService {
         System.out.println("   Status: In progress (cannot be cancelled)");
         System.out.println("────────────────────────────────\n");
         
-        return true;
+        return RentalResult.ok(rentalID);
     }
 
     /**
@@ -303,6 +416,14 @@ public class RentalService {
      * @return Total rental cost if successful, 0.0 otherwise
      */
     public double completeRental(String rentalID){
+        // Rental end, payment and vehicle status commit together
+        return UnitOfWork.execute(
+            () -> doCompleteRental(rentalID),
+            cost -> cost > 0,
+            0.0);
+    }
+    
+    private double doCompleteRental(String rentalID){
         System.out.println("\n=== Completing Rental ===");
         
         // FETCH RENTAL RECORD
@@ -354,8 +475,9 @@ public class RentalService {
         java.math.BigDecimal totalCost = paymentService.calculateRentalFee(rentalID);
         
         if (totalCost == null || totalCost.compareTo(java.math.BigDecimal.ZERO) <= 0) {
-            System.err.println("WARNING: Cost calculation failed or returned zero");
-            System.err.println("   Payment may need manual adjustment");
+            System.err.println("Err: Cost calculation failed or returned zero");
+            System.err.println("   Rental will not be completed");
+            return 0.0;
         }
         
         // FINALIZE PAYMENT RECORD
@@ -364,21 +486,19 @@ public class RentalService {
         boolean paymentFinalized = paymentService.finalizePaymentForRental(rentalID, totalCost, paymentDate);
         
         if (!paymentFinalized) {
-            System.err.println("WARNING: Failed to finalize payment record");
+            System.err.println("Err: Failed to finalize payment record");
             System.err.println("   Payment amount: ₱" + totalCost);
-            System.err.println("   Manual payment update may be required");
+            return 0.0;
         }
         System.out.println("✓ Rental record updated successfully!");
 
         // UPDATE VEHICLE STATUS
         boolean statusUpdated = vehicleDAO.updateVehicleStatus(rental.getPlateID(), "Available");
         if (!statusUpdated) {
-            System.err.println("WARNING: Failed to update vehicle status");
-            System.err.println("   Rental was completed but vehicle still shows 'In Use'");
-            System.err.println("   Manual intervention may be required");
-        } else {
-            System.out.println("✓ Vehicle status updated to 'Available'");
+            System.err.println("Err: Failed to update vehicle status");
+            return 0.0;
         }
+        System.out.println("✓ Vehicle status updated to 'Available'");
         
         // SUMMARY
         System.out.println("\n━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
@@ -391,6 +511,18 @@ public class RentalService {
         return totalCost.doubleValue();
     }
 
+    /**
+     * Check if a rental can still be cancelled: Active and not picked up yet.
+     * Screens use this to decide which rentals to offer for cancellation.
+     * 
+     * @param status Rental status
+     * @param startDateTime Pickup time (null if not picked up)
+     * @return true if cancelRental()/cancelRentals() would accept the rental
+     */
+    public static boolean isCancellable(String status, Timestamp startDateTime) {
+        return "Active".equalsIgnoreCase(status) && startDateTime == null;
+    }
+    
     /**
      * Cancel a rental (SOFT DELETE)
      * Only allowed if vehicle has NOT been picked up (startDateTime is NULL).
@@ -467,6 +599,61 @@ public class RentalService {
         return cancelled;
     }
     
+    /**
+     * Cancel many rentals at once (SOFT DELETE), e.g. from the rental records screen.
+     * Same rule as cancelRental(): only Active rentals that have not been picked up
+     * are cancelled, the rest are skipped. Their payments are deactivated in the
+     * same transaction, so either everything changes or nothing does.
+     * 
+     * @param rentalIDs Rentals to cancel
+     * @return Number of rentals cancelled, or -1 if anything failed (nothing changed)
+     */
+    public int cancelRentals(Collection<String> rentalIDs) {
+        return UnitOfWork.execute(
+            () -> doCancelRentals(rentalIDs),
+            count -> count >= 0,
+            -1);
+    }
+    
+    private int doCancelRentals(Collection<String> rentalIDs) {
+        System.out.println("\n=== Cancelling Rentals ===");
+        
+        Map<String, RentalTransaction> rentals = rentalDAO.getRentalsByIds(rentalIDs);
+        if (rentals == null) {
+            return -1;
+        }
+        
+        List<String> cancellable = new ArrayList<>();
+        for (RentalTransaction rental : rentals.values()) {
+            if (isCancellable(rental.getStatus(), rental.getStartDateTime())) {
+                cancellable.add(rental.getRentalID());
+            }
+        }
+        if (cancellable.isEmpty()) {
+            System.out.println("Note: None of the rentals can be cancelled");
+            return 0;
+        }
+        
+        int cancelled = rentalDAO.cancelRentals(cancellable);
+        if (cancelled != cancellable.size()) {
+            // A rental was picked up (or cancelled) since it was read; start over from the screen
+            System.err.println("Err: Cancelled " + cancelled + " of " + cancellable.size() + " rentals");
+            return -1;
+        }
+        
+        int payments = paymentDAO.deactivatePaymentsByRentals(cancellable);
+        if (payments < 0) {
+            System.err.println("Err: Failed to deactivate payment records");
+            return -1;
+        }
+        
+        System.out.println("✓ " + cancelled + " rental(s) cancelled, " + payments + " payment record(s) deactivated");
+        if (cancelled < rentals.size()) {
+            System.out.println("   Skipped " + (rentals.size() - cancelled) + " rental(s) that were picked up, completed or cancelled");
+        }
+        return cancelled;
+    }
+    
     /**
      * Get rental history for a customer
      * 
@@ -491,37 +678,45 @@ public class RentalService {
     /**
      * Generate the next sequential rental ID.
      * Format: RNT-XXX where XXX is a 3-digit number (001, 002, 003, etc.)
-     * Finds the highest existing ID (including cancelled) and increments by 1.
+     * Taken from the id_sequences block allocator. If that is unavailable,
+     * finds the highest existing ID (including cancelled) and increments by 1.
      *
      * @return Next rental ID (e.g., "RNT-021")
      */
     public String generateNextRentalID() {
-        try {
-            // Get all rentals including cancelled to ensure no ID collisions
-            List<RentalTransaction> allRentals = rentalDAO.getAllRentalsIncludingCancelled();
+        // Fast path: next ID from the in-memory block reserved in id_sequences
+        String allocated = idSequenceDAO.nextId(IdSequenceDAO.Sequence.RENTAL);
+        if (allocated != null) {
+            return allocated;
+        }
 
-            int maxNumber = 0;
+        try {
+            // Scan all rentals including cancelled to ensure no ID collisions
+            // (row by row, so the whole table is never held in memory)
+            int[] maxNumber = {0};
 
             // Find the highest number from existing IDs
-            for (RentalTransaction rental : allRentals) {
+            long scanned = rentalDAO.forEachRentalIncludingCancelled(rental -> {
                 String id = rental.getRentalID();
                 // Extract number from format "RNT-XXX"
                 if (id != null && id.startsWith("RNT-") && id.length() >= 7) {
                     try {
                         String numberPart = id.substring(4); // Get part after "RNT-"
                         int number = Integer.parseInt(numberPart);
-                        if (number > maxNumber) {
-                            maxNumber = number;
+                        if (number > maxNumber[0]) {
+                            maxNumber[0] = number;
                         }
                     } catch (NumberFormatException e) {
                         // Skip IDs that don't have numeric suffix
-                        continue;
                     }
                 }
+            });
+            if (scanned < 0) {
+                throw new IllegalStateException("could not read existing rental IDs");
             }
 
             // Generate next ID
-            int nextNumber = maxNumber + 1;
+            int nextNumber = maxNumber[0] + 1;
             String nextID = String.format("RNT-%03d", nextNumber);
             System.out.println("RentalService: Generated next Rental ID: " + nextID);
             return nextID;
@@ -586,4 +781,66 @@ public class RentalService {
         long timestamp = System.currentTimeMillis();
         return "PAY-" + (timestamp % 1000000);
     }
+
+    /**
+     * Outcome of tryBookRental / tryStartRental.
+     * CONFLICT means another request changed the vehicle or rental first;
+     * the caller can reload and retry (or pick another vehicle).
+     */
+    public static class RentalResult {
+        
+        public enum Status { OK, CONFLICT, REJECTED }
+        
+        private final Status status;
+        private final String rentalID;
+        private final String message;
+        
+        private RentalResult(Status status, String rentalID, String message) {
+            this.status = status;
+            this.rentalID = rentalID;
+            this.message = message;
+        }
+        
+        /**
+         * Successful result; public so a remembered booking can be replayed
+         * (see IdempotencyService).
+         */
+        public static RentalResult ok(String rentalID) {
+            return new RentalResult(Status.OK, rentalID, null);
+        }
+        
+        static RentalResult conflict(String message) {
+            return new RentalResult(Status.CONFLICT, null, message);
+        }
+        
+        static RentalResult rejected(String message) {
+            return new RentalResult(Status.REJECTED, null, message);
+        }
+        
+        public Status getStatus() {
+            return status;
+        }
+        
+        public boolean isOk() {
+            return status == Status.OK;
+        }
+        
+        public boolean isConflict() {
+            return status == Status.CONFLICT;
+        }
+        
+        /**
+         * @return Rental ID if OK, null otherwise
+         */
+        public String getRentalID() {
+            return rentalID;
+        }
+        
+        /**
+         * @return Reason for CONFLICT or REJECTED (suitable for showing to the user), null if OK
+         */
+        public String getMessage() {
+            return message;
+        }
+    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package service;
 
+import dao.IdSequenceDAO;
 import dao.TechnicianDAO;
 import model.Technician;
 import java.util.List;
@@ -11,6 +12,7 @@ import java.util.List;
 public class TechnicianService {
 
     private final TechnicianDAO technicianDAO;
+    private final IdSequenceDAO idSequenceDAO = new IdSequenceDAO();
 
     public TechnicianService() {
         this.technicianDAO = new TechnicianDAO();
@@ -19,11 +21,18 @@ public class TechnicianService {
     /**
      * Generate the next sequential technician ID.
      * Format: TECH-XXX where XXX is a 3-digit number (001, 002, 003, etc.)
-     * Finds the highest existing ID (including inactive) and increments by 1.
+     * Taken from the id_sequences block allocator. If that is unavailable,
+     * finds the highest existing ID (including inactive) and increments by 1.
      * 
      * @return Next technician ID (e.g., "TECH-021")
      */
     public String generateNextTechnicianID() {
+        // Fast path: next ID from the in-memory block reserved in id_sequences
+        String allocated = idSequenceDAO.nextId(IdSequenceDAO.Sequence.TECHNICIAN);
+        if (allocated != null) {
+            return allocated;
+        }
+
         try {
             // Get all technicians including inactive to ensure no ID collisions
             List<Technician> allTechnicians = technicianDAO.getAllTechniciansIncludingInactive();
@@ -0,0 +1,364 @@
+package test;
+
+import util.ConnectionPool;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * CONNECTION POOL TEST CLASS
+ *
+ * PURPOSE: Checks the pool behavior DAOs rely on:
+ * - close() returns the connection instead of closing it
+ * - The pool never hands out more than maxSize connections
+ * - Borrowers past the acquire timeout get an SQLException
+ * - Broken and expired connections are replaced
+ * - Prepared statements are reused across borrowers
+ * - Reporting-style limits (query timeout, max waiters) are enforced
+ *
+ * PREREQUISITES:
+ * - None. Uses fake in-memory connections, so no MySQL database is needed.
+ *
+ * HOW TO RUN:
+ * 1. Right-click this file → Run As → Java Application
+ * 2. Check console output for success/failure messages
+ */
+public class ConnectionPoolTest {
+
+    // Test counters
+    private static int totalTests = 0;
+    private static int passedTests = 0;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("═══════════════════════════════════════════════════");
+        System.out.println("   CONNECTION POOL TEST");
+        System.out.println("═══════════════════════════════════════════════════\n");
+
+        testReuse();
+        testMaxSizeAndTimeout();
+        testBrokenConnectionDiscarded();
+        testMaxLifetime();
+        testTransactionStateReset();
+        testStatementCache();
+        testWorkloadLimits();
+        testWarmUp();
+
+        System.out.println("\n═══════════════════════════════════════════════════");
+        System.out.println("   Tests Passed: " + passedTests + " / " + totalTests);
+        System.out.println("═══════════════════════════════════════════════════");
+
+        if (passedTests != totalTests) {
+            System.exit(1);
+        }
+    }
+
+    private static void check(String name, boolean passed) {
+        totalTests++;
+        if (passed) {
+            passedTests++;
+            System.out.println(":) " + name);
+        } else {
+            System.out.println(":( " + name);
+        }
+    }
+
+    /**
+     * Test 1: Closing a borrowed connection returns it for reuse.
+     */
+    private static void testReuse() throws SQLException {
+        FakeDatabase db = new FakeDatabase();
+        ConnectionPool pool = new ConnectionPool("reuse", settings("2", "0", "200"), db::open);
+
+        try (Connection conn = pool.getConnection()) {
+            check("Borrowed connection is open", !conn.isClosed());
+        }
+        try (Connection conn = pool.getConnection()) {
+            check("Second borrow reuses the physical connection", !conn.isClosed() && db.opened.get() == 1);
+        }
+        check("Returned connection goes back to idle", pool.getIdleCount() == 1 && pool.getActiveCount() == 0);
+        check("Physical connection stays open after close()", db.closed.get() == 0);
+
+        pool.shutdown();
+        check("Shutdown closes idle connections", db.closed.get() == 1);
+    }
+
+    /**
+     * Test 2: The pool is bounded and times out waiting borrowers.
+     */
+    private static void testMaxSizeAndTimeout() throws SQLException {
+        FakeDatabase db = new FakeDatabase();
+        ConnectionPool pool = new ConnectionPool("bounded", settings("2", "0", "100"), db::open);
+
+        Connection first = pool.getConnection();
+        Connection second = pool.getConnection();
+
+        boolean timedOut = false;
+        long start = System.currentTimeMillis();
+        try {
+            pool.getConnection().close();
+        } catch (SQLTransientConnectionException e) {
+            timedOut = true;
+        }
+        long waited = System.currentTimeMillis() - start;
+
+        check("Third borrower times out when pool is full", timedOut);
+        check("Borrower waited for the acquire timeout", waited >= 90);
+        check("No more than maxSize connections opened", db.opened.get() == 2);
+
+        first.close();
+        first.close(); // double close must not release twice
+        try (Connection third = pool.getConnection()) {
+            check("Freed slot can be borrowed again", third != null);
+        }
+        second.close();
+        check("All connections returned", pool.getActiveCount() == 0 && pool.getIdleCount() == 2);
+
+        boolean rejected = false;
+        try {
+            first.createStatement();
+        } catch (SQLException e) {
+            rejected = true;
+        }
+        check("Closed handle rejects further use", rejected);
+
+        pool.shutdown();
+    }
+
+    /**
+     * Test 3: An idle connection that fails validation is replaced.
+     */
+    private static void testBrokenConnectionDiscarded() throws SQLException {
+        FakeDatabase db = new FakeDatabase();
+        Properties props = new Properties();
+        props.setProperty("db.pool.maxSize", "2");
+        props.setProperty("db.pool.minIdle", "0");
+        props.setProperty("db.pool.validationIntervalMs", "0");
+        ConnectionPool pool = new ConnectionPool("validate",
+                ConnectionPool.Settings.fromProperties(props, "db.pool."), db::open);
+
+        pool.getConnection().close();  // borrow and return once
+        db.valid = false;
+        try (Connection conn = pool.getConnection()) {
+            check("Invalid idle connection is replaced with a new one", !conn.isClosed() && db.opened.get() == 2);
+        }
+        check("Invalid connection is closed", db.closed.get() >= 1);
+
+        pool.shutdown();
+    }
+
+    /**
+     * Test 4: Connections older than maxLifetime are retired.
+     */
+    private static void testMaxLifetime() throws Exception {
+        FakeDatabase db = new FakeDatabase();
+        Properties props = new Properties();
+        props.setProperty("db.pool.maxSize", "1");
+        props.setProperty("db.pool.minIdle", "0");
+        props.setProperty("db.pool.maxLifetimeMs", "50");
+        ConnectionPool pool = new ConnectionPool("lifetime",
+                ConnectionPool.Settings.fromProperties(props, "db.pool."), db::open);
+
+        pool.getConnection().close();  // borrow and return once
+        Thread.sleep(80);
+        try (Connection conn = pool.getConnection()) {
+            check("Expired connection is replaced", !conn.isClosed() && db.opened.get() == 2);
+        }
+
+        pool.shutdown();
+    }
+
+    /**
+     * Test 5: A borrower that leaves autocommit off does not leak it to the next borrower.
+     */
+    private static void testTransactionStateReset() throws SQLException {
+        FakeDatabase db = new FakeDatabase();
+        ConnectionPool pool = new ConnectionPool("reset", settings("1", "0", "200"), db::open);
+
+        try (Connection conn = pool.getConnection()) {
+            conn.setAutoCommit(false);
+        }
+        try (Connection conn = pool.getConnection()) {
+            check("Autocommit restored on return", conn.getAutoCommit());
+            check("Open transaction rolled back on return", db.rollbacks.get() == 1);
+        }
+
+        pool.shutdown();
+    }
+
+    /**
+     * Test 6: The same SQL is prepared once per physical connection.
+     */
+    private static void testStatementCache() throws SQLException {
+        FakeDatabase db = new FakeDatabase();
+        ConnectionPool pool = new ConnectionPool("stmt", settings("1", "0", "200"), db::open);
+        String sql = "SELECT * FROM rentals WHERE rentalID = ?";
+
+        for (int i = 0; i < 3; i++) {
+            try (Connection conn = pool.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setString(1, "RNT-001");
+                stmt.executeQuery();
+            }
+        }
+        check("Repeated SQL prepared once", db.prepared.get() == 1);
+        check("Cache hits counted", pool.getStatementCacheHits() == 2 && pool.getStatementCacheMisses() == 1);
+        check("Cached statement not closed on server", db.statementsClosed.get() == 0);
+        check("Parameters cleared between callers", db.parametersCleared.get() == 3);
+
+        try (Connection conn = pool.getConnection();
+             PreparedStatement outer = conn.prepareStatement(sql);
+             PreparedStatement inner = conn.prepareStatement(sql)) {
+            check("Same SQL open twice gets a separate statement", outer != inner);
+        }
+        check("Uncached duplicate is really closed", db.statementsClosed.get() == 1);
+
+        pool.shutdown();
+        check("Cached statement closed with its connection", db.statementsClosed.get() == 2);
+    }
+
+    /**
+     * Test 7: Reporting pool settings apply a query timeout and reject extra waiters.
+     */
+    private static void testWorkloadLimits() throws Exception {
+        FakeDatabase db = new FakeDatabase();
+        Properties props = new Properties();
+        props.setProperty("db.reporting.pool.maxSize", "1");
+        props.setProperty("db.reporting.pool.acquireTimeoutMs", "2000");
+        props.setProperty("db.reporting.pool.maxWaiters", "1");
+        props.setProperty("db.reporting.pool.queryTimeoutSec", "7");
+        ConnectionPool pool = new ConnectionPool("reporting",
+                ConnectionPool.Settings.fromProperties(props, "db.reporting.pool.",
+                        ConnectionPool.Settings.reportingDefaults()), db::open);
+
+        Connection held = pool.getConnection();
+        held.prepareStatement("SELECT 1").close();
+        check("Statements get the pool query timeout", db.lastQueryTimeout.get() == 7);
+
+        Thread waiter = new Thread(() -> {
+            try {
+                pool.getConnection().close();  // waits until 'held' is returned
+            } catch (SQLException e) {
+                // not expected
+            }
+        });
+        waiter.start();
+        while (pool.getWaitingCount() < 1) {
+            Thread.sleep(5);
+        }
+
+        boolean rejected = false;
+        long start = System.currentTimeMillis();
+        try {
+            pool.getConnection().close();
+        } catch (SQLTransientConnectionException e) {
+            rejected = true;
+        }
+        check("Caller beyond maxWaiters is rejected", rejected);
+        check("Rejection does not wait for the acquire timeout", System.currentTimeMillis() - start < 1000);
+
+        held.close();
+        waiter.join();
+        check("Queued waiter gets the connection", pool.getActiveCount() == 0);
+
+        pool.shutdown();
+    }
+
+    /**
+     * Test 8: Warm-up opens minIdle connections and fills their statement caches.
+     */
+    private static void testWarmUp() throws SQLException {
+        FakeDatabase db = new FakeDatabase();
+        ConnectionPool pool = new ConnectionPool("warmup", settings("3", "2", "200"), db::open);
+        List<String> hot = Arrays.asList("SELECT * FROM staff WHERE username = ?",
+                                         "SELECT * FROM locations WHERE status = 'Active' ORDER BY name");
+
+        int warmed = pool.warmUp(hot);
+        check("Warm-up uses minIdle connections", warmed == 2 && db.opened.get() == 2);
+        check("Warm-up returns every connection", pool.getActiveCount() == 0 && pool.getIdleCount() == 2);
+        check("Each hot statement prepared on each connection", db.prepared.get() == 4);
+
+        try (Connection conn = pool.getConnection()) {
+            conn.prepareStatement(hot.get(0)).close();
+            check("First real query hits the warmed cache", pool.getStatementCacheHits() == 1 && db.prepared.get() == 4);
+        }
+
+        pool.shutdown();
+    }
+
+    private static ConnectionPool.Settings settings(String maxSize, String minIdle, String timeoutMs) {
+        Properties props = new Properties();
+        props.setProperty("db.pool.maxSize", maxSize);
+        props.setProperty("db.pool.minIdle", minIdle);
+        props.setProperty("db.pool.acquireTimeoutMs", timeoutMs);
+        return ConnectionPool.Settings.fromProperties(props, "db.pool.");
+    }
+
+    /**
+     * Creates fake Connection objects and counts what the pool does with them.
+     */
+    private static class FakeDatabase {
+        final AtomicInteger opened = new AtomicInteger();
+        final AtomicInteger closed = new AtomicInteger();
+        final AtomicInteger rollbacks = new AtomicInteger();
+        final AtomicInteger prepared = new AtomicInteger();
+        final AtomicInteger statementsClosed = new AtomicInteger();
+        final AtomicInteger parametersCleared = new AtomicInteger();
+        final AtomicInteger lastQueryTimeout = new AtomicInteger();
+        volatile boolean valid = true;
+
+        Connection open() {
+            opened.incrementAndGet();
+            boolean[] state = { true, false, false }; // autoCommit, readOnly, closed
+
+            return (Connection) Proxy.newProxyInstance(
+                    ConnectionPoolTest.class.getClassLoader(),
+                    new Class<?>[] { Connection.class },
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "getAutoCommit": return state[0];
+                            case "setAutoCommit": state[0] = (Boolean) args[0]; return null;
+                            case "isReadOnly": return state[1];
+                            case "setReadOnly": state[1] = (Boolean) args[0]; return null;
+                            case "isClosed": return state[2];
+                            case "close":
+                                if (!state[2]) {
+                                    state[2] = true;
+                                    closed.incrementAndGet();
+                                }
+                                return null;
+                            case "rollback": rollbacks.incrementAndGet(); return null;
+                            case "isValid": return valid && !state[2];
+                            case "prepareStatement": return newStatement();
+                            case "hashCode": return System.identityHashCode(proxy);
+                            case "equals": return proxy == args[0];
+                            case "toString": return "FakeConnection";
+                            default: return null;
+                        }
+                    });
+        }
+
+        PreparedStatement newStatement() {
+            prepared.incrementAndGet();
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    ConnectionPoolTest.class.getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class },
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "close": statementsClosed.incrementAndGet(); return null;
+                            case "clearParameters": parametersCleared.incrementAndGet(); return null;
+                            case "setQueryTimeout": lastQueryTimeout.set((Integer) args[0]); return null;
+                            case "hashCode": return System.identityHashCode(proxy);
+                            case "equals": return proxy == args[0];
+                            default: return null;
+                        }
+                    });
+        }
+    }
+}
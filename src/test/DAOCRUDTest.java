@@ -8,7 +8,9 @@ import dao.MaintenanceDAO;
 import dao.MaintenanceChequeDAO;
 import dao.PartDAO;
 import dao.PaymentDAO;
+import dao.Page;
 import dao.PenaltyDAO;
+import dao.RentalDAO;
 import dao.TechnicianDAO;
 import model.Address;
 import model.Barangay;
@@ -19,9 +21,14 @@ import model.MaintenanceCheque;
 import model.Part;
 import model.PaymentTransaction;
 import model.PenaltyTransaction;
+import model.RentalTransaction;
 import model.Technician;
+import util.DBConnection;
+import util.MigrationRunner;
 
 import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Statement;
 import java.sql.Timestamp;
 import java.util.List;
 
@@ -39,6 +46,10 @@ import java.util.List;
  * 3. db.properties file must be configured with YOUR MySQL credentials
  * 4. At least one vehicle must exist (e.g., ES-001)
  * 
+ * WITHOUT MYSQL:
+ * - Run with -Ddb.profile=embedded and the H2 jar on the classpath; the
+ *   schema and test data are loaded into an in-memory database automatically
+ * 
  * HOW TO RUN:
  * 1. Right-click this file → Run As → Java Application
  * 2. Check console output for success/failure messages
@@ -68,6 +79,16 @@ public class DAOCRUDTest {
         testMaintenanceChequeDAO();
         testPaymentDAO();
         testPenaltyDAO();
+        testBatchInsert();
+        testBulkDeactivate();
+        testKeysetPagination();
+        testStreaming();
+        testRecordSummaries();
+        testMultiGet();
+        testCustomersWithAddress();
+        testRentalHistory();
+        testCurrentRental();
+        testMigrations();
         
         System.out.println("\n═══════════════════════════════════════════════════");
         System.out.println("   ALL TESTS COMPLETED");
@@ -1280,4 +1301,538 @@ public class DAOCRUDTest {
             e.printStackTrace();
         }
     }
+    
+    /**
+     * Test 11: Bulk insert with per-row results (PenaltyDAO.insertPenalties)
+     */
+    private static void testBatchInsert() {
+        System.out.println("═══════════════════════════════════════════════════");
+        System.out.println("TEST 11: Bulk Insert - Batched Penalties");
+        System.out.println("═══════════════════════════════════════════════════\n");
+        
+        PenaltyDAO penDao = new PenaltyDAO();
+        String testRentalId = "RNT-005";  // Using existing rental from test data
+        java.sql.Date today = new java.sql.Date(System.currentTimeMillis());
+        
+        try {
+            System.out.println("─── 11.1 CREATE: Inserting 3 penalties in one batch (1 duplicate ID) ───");
+            List<PenaltyTransaction> penalties = java.util.Arrays.asList(
+                new PenaltyTransaction("CRUD-BPEN1", testRentalId, new BigDecimal("100.00"), "UNPAID", null, today, "Active"),
+                new PenaltyTransaction("CRUD-BPEN2", testRentalId, new BigDecimal("200.00"), "UNPAID", null, today, "Active"),
+                new PenaltyTransaction("CRUD-BPEN1", testRentalId, new BigDecimal("300.00"), "UNPAID", null, today, "Active")
+            );
+            
+            dao.BatchResult result = penDao.insertPenalties(penalties);
+            System.out.println(result.getSuccessCount() == 2 ? 
+                ":) Batch inserted 2 of 3 rows" : 
+                ":( Expected 2 rows inserted, got " + result.getSuccessCount());
+            System.out.println(result.getFailedIndexes().equals(java.util.Collections.singletonList(2)) ? 
+                ":) Duplicate row reported as failed: " + result.getError(2) : 
+                ":( Wrong rows reported as failed: " + result.getFailedIndexes());
+            
+            PenaltyTransaction first = penDao.getPenaltyById("CRUD-BPEN1");
+            System.out.println(first != null && first.getTotalPenalty().compareTo(new BigDecimal("100.00")) == 0 ? 
+                ":) Verified: first row kept, duplicate not applied" : 
+                ":( Verification failed for CRUD-BPEN1");
+            
+            System.out.println("\n─── 11.2 CLEANUP: Deactivating batch rows ───");
+            penDao.deactivatePenalty("CRUD-BPEN1");
+            penDao.deactivatePenalty("CRUD-BPEN2");
+            System.out.println(":) Cleanup complete");
+            
+            System.out.println("\n> Bulk Insert Tests Complete\n");
+            
+        } catch (Exception e) {
+            System.out.println(":( ERROR in bulk insert test: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+    
+    /**
+     * Test 12: Set-based bulk soft delete (PenaltyDAO.deactivatePenalties)
+     */
+    private static void testBulkDeactivate() {
+        System.out.println("═══════════════════════════════════════════════════");
+        System.out.println("TEST 12: Bulk Deactivate - Set-Based Penalty Update");
+        System.out.println("═══════════════════════════════════════════════════\n");
+        
+        PenaltyDAO penDao = new PenaltyDAO();
+        String testRentalId = "RNT-005";  // Using existing rental from test data
+        java.sql.Date today = new java.sql.Date(System.currentTimeMillis());
+        
+        try {
+            System.out.println("─── 12.1 SETUP: Inserting 10 penalties ───");
+            List<PenaltyTransaction> penalties = new java.util.ArrayList<>();
+            List<String> ids = new java.util.ArrayList<>();
+            for (int i = 1; i <= 10; i++) {
+                String id = "CRUD-BDEL" + i;
+                penalties.add(new PenaltyTransaction(id, testRentalId, new BigDecimal("50.00"), "UNPAID", null, today, "Active"));
+                ids.add(id);
+            }
+            int inserted = penDao.insertPenalties(penalties).getSuccessCount();
+            System.out.println(inserted == 10 ? ":) Inserted 10 penalties" : ":( Expected 10 inserted, got " + inserted);
+            
+            System.out.println("\n─── 12.2 UPDATE: Deactivating all 10 in one call (with a repeated ID) ───");
+            List<String> toDeactivate = new java.util.ArrayList<>(ids);
+            toDeactivate.add("CRUD-BDEL1");
+            int changed = penDao.deactivatePenalties(toDeactivate);
+            System.out.println(changed == 10 ? ":) 10 penalties deactivated" : ":( Expected 10 deactivated, got " + changed);
+            
+            PenaltyTransaction last = penDao.getPenaltyByIdIncludingInactive("CRUD-BDEL10");
+            System.out.println(last != null && "Inactive".equals(last.getStatus()) ? 
+                ":) Verified: CRUD-BDEL10 is Inactive" : 
+                ":( Verification failed for CRUD-BDEL10");
+            
+            System.out.println("\n─── 12.3 UPDATE: Repeating the call skips inactive rows ───");
+            changed = penDao.deactivatePenalties(ids);
+            System.out.println(changed == 0 ? ":) No rows changed the second time" : ":( Expected 0 changed, got " + changed);
+            
+            System.out.println("\n> Bulk Deactivate Tests Complete\n");
+            
+        } catch (Exception e) {
+            System.out.println(":( ERROR in bulk deactivate test: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+    
+    /**
+     * Test 13: Keyset pagination of the rentals list
+     */
+    private static void testKeysetPagination() {
+        System.out.println("═══════════════════════════════════════════════════");
+        System.out.println("TEST 13: Keyset Pagination - Rentals Page by Page");
+        System.out.println("═══════════════════════════════════════════════════\n");
+        
+        RentalDAO rentalDao = new RentalDAO();
+        
+        try {
+            System.out.println("─── 13.1 READ: Paging through all rentals 3 at a time ───");
+            List<RentalTransaction> all = rentalDao.getAllRentals();
+            List<String> paged = new java.util.ArrayList<>();
+            int pages = 0;
+            
+            Page<RentalTransaction> page = rentalDao.getRentalsPage(3, null);
+            while (page != null) {
+                pages++;
+                for (RentalTransaction r : page.getItems()) {
+                    paged.add(r.getRentalID());
+                }
+                if (!page.hasNextPage()) break;
+                page = rentalDao.getRentalsPage(3, page.getNextPageToken());
+            }
+            
+            java.util.Set<String> expected = new java.util.HashSet<>();
+            for (RentalTransaction r : all) {
+                expected.add(r.getRentalID());
+            }
+            boolean noDuplicates = new java.util.HashSet<>(paged).size() == paged.size();
+            System.out.println(page != null && noDuplicates && expected.equals(new java.util.HashSet<>(paged)) ?
+                ":) " + paged.size() + " rentals in " + pages + " page(s), none missing or repeated" :
+                ":( Paged rentals do not match getAllRentals() (" + paged.size() + " vs " + all.size() + ")");
+            
+            System.out.println("\n─── 13.2 READ: Invalid and foreign tokens are rejected ───");
+            Page<RentalTransaction> bad = rentalDao.getRentalsPage(3, "not-a-token");
+            System.out.println(bad == null ? ":) Invalid token rejected" : ":( Invalid token was accepted");
+            
+            Page<PaymentTransaction> payments = new PaymentDAO().getPaymentsPage(1, null);
+            if (payments != null && payments.hasNextPage()) {
+                bad = rentalDao.getRentalsPage(3, payments.getNextPageToken());
+                System.out.println(bad == null ? ":) Payments token rejected for rentals" : ":( Payments token was accepted for rentals");
+            }
+            
+            System.out.println("\n> Keyset Pagination Tests Complete\n");
+            
+        } catch (Exception e) {
+            System.out.println(":( ERROR in keyset pagination test: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+    
+    /**
+     * Test 14: Row-by-row streaming of rentals and payments
+     */
+    private static void testStreaming() {
+        System.out.println("═══════════════════════════════════════════════════");
+        System.out.println("TEST 14: Streaming - Rentals and Payments Row by Row");
+        System.out.println("═══════════════════════════════════════════════════\n");
+        
+        RentalDAO rentalDao = new RentalDAO();
+        PaymentDAO paymentDao = new PaymentDAO();
+        
+        try {
+            System.out.println("─── 14.1 READ: forEach visits every rental once ───");
+            int expected = rentalDao.getAllRentalsIncludingCancelled().size();
+            java.util.Set<String> seen = new java.util.HashSet<>();
+            long count = rentalDao.forEachRentalIncludingCancelled(r -> seen.add(r.getRentalID()));
+            System.out.println(count == expected && seen.size() == expected ?
+                ":) forEach processed " + count + " rentals" :
+                ":( forEach processed " + count + " rentals (" + seen.size() + " distinct), expected " + expected);
+            
+            System.out.println("\n─── 14.2 READ: Stream sums the same revenue as the list ───");
+            BigDecimal listTotal = BigDecimal.ZERO;
+            for (PaymentTransaction p : paymentDao.getAllPayments()) {
+                listTotal = listTotal.add(p.getAmount());
+            }
+            BigDecimal streamTotal;
+            try (java.util.stream.Stream<PaymentTransaction> payments = paymentDao.streamAllPayments()) {
+                streamTotal = payments.map(PaymentTransaction::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add);
+            }
+            System.out.println(listTotal.compareTo(streamTotal) == 0 ?
+                ":) Stream total matches: " + streamTotal :
+                ":( Stream total " + streamTotal + " differs from list total " + listTotal);
+            
+            System.out.println("\n─── 14.3 READ: Closing a stream early returns its connection ───");
+            int activeBefore = util.DBConnection.getPool().getActiveCount();
+            try (java.util.stream.Stream<RentalTransaction> rentals = rentalDao.streamAllRentals()) {
+                long firstThree = rentals.limit(3).count();
+                System.out.println(firstThree == 3 ? ":) Read the first 3 rentals" : ":( Expected 3 rentals, got " + firstThree);
+            }
+            int activeAfter = util.DBConnection.getPool().getActiveCount();
+            System.out.println(activeAfter == activeBefore ?
+                ":) Connection returned to the pool" :
+                ":( " + (activeAfter - activeBefore) + " connection(s) still borrowed after close");
+            
+            System.out.println("\n> Streaming Tests Complete\n");
+            
+        } catch (Exception e) {
+            System.out.println(":( ERROR in streaming test: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+    
+    /**
+     * Test 15: Summary rows for the records screens match the full lists
+     */
+    private static void testRecordSummaries() {
+        System.out.println("═══════════════════════════════════════════════════");
+        System.out.println("TEST 15: Record Summaries - Projected Columns Only");
+        System.out.println("═══════════════════════════════════════════════════\n");
+        
+        RentalDAO rentalDao = new RentalDAO();
+        MaintenanceDAO maintenanceDao = new MaintenanceDAO();
+        
+        try {
+            System.out.println("─── 15.1 READ: Rental summaries match the full rentals ───");
+            List<RentalTransaction> rentals = rentalDao.getRentalsByStatus("Active");
+            List<RentalDAO.RentalSummary> rentalRows = rentalDao.getRentalSummariesByStatus("Active");
+            boolean same = rentals.size() == rentalRows.size();
+            for (int i = 0; same && i < rentals.size(); i++) {
+                RentalTransaction full = rentals.get(i);
+                RentalDAO.RentalSummary row = rentalRows.get(i);
+                same = full.getRentalID().equals(row.getRentalID())
+                        && java.util.Objects.equals(full.getStartDateTime(), row.getStartDateTime())
+                        && full.getStatus().equals(row.getStatus());
+            }
+            System.out.println(same ? ":) " + rentalRows.size() + " active rental summaries match" :
+                ":( Rental summaries differ from getRentalsByStatus()");
+            
+            int allRentals = rentalDao.getAllRentalSummariesIncludingCancelled().size();
+            System.out.println(allRentals == rentalDao.getAllRentalsIncludingCancelled().size() ?
+                ":) " + allRentals + " summaries including cancelled" :
+                ":( Summary count including cancelled differs");
+            
+            System.out.println("\n─── 15.2 READ: Maintenance summaries match the full records ───");
+            List<MaintenanceTransaction> records = maintenanceDao.getAllMaintenanceIncludingInactive();
+            List<MaintenanceDAO.MaintenanceSummary> maintenanceRows = maintenanceDao.getAllMaintenanceSummariesIncludingInactive();
+            same = records.size() == maintenanceRows.size();
+            for (int i = 0; same && i < records.size(); i++) {
+                same = records.get(i).getMaintenanceID().equals(maintenanceRows.get(i).getMaintenanceID())
+                        && java.util.Objects.equals(records.get(i).getNotes(), maintenanceRows.get(i).getNotes());
+            }
+            System.out.println(same ? ":) " + maintenanceRows.size() + " maintenance summaries match" :
+                ":( Maintenance summaries differ from getAllMaintenanceIncludingInactive()");
+            
+            System.out.println("\n> Record Summary Tests Complete\n");
+            
+        } catch (Exception e) {
+            System.out.println(":( ERROR in record summary test: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+    
+    /**
+     * Test 16: Multi-get by ID (one IN-list query instead of one query per ID)
+     */
+    private static void testMultiGet() {
+        System.out.println("═══════════════════════════════════════════════════");
+        System.out.println("TEST 16: Multi-Get - Parts and Rentals by ID");
+        System.out.println("═══════════════════════════════════════════════════\n");
+        
+        PartDAO partDao = new PartDAO();
+        RentalDAO rentalDao = new RentalDAO();
+        
+        try {
+            System.out.println("─── 16.1 READ: Parts by ID match single lookups ───");
+            List<String> partIds = new java.util.ArrayList<>();
+            for (Part part : partDao.getAllPartsIncludingInactive()) {
+                partIds.add(part.getPartId());
+            }
+            partIds.add(partIds.get(0));      // repeated ID
+            partIds.add("NO-SUCH-PART");      // missing ID
+            java.util.Map<String, Part> parts = partDao.getPartsByIdsIncludingInactive(partIds);
+            boolean same = parts != null && parts.size() == partIds.size() - 2 && !parts.containsKey("NO-SUCH-PART");
+            for (int i = 0; same && i < partIds.size() - 2; i++) {
+                Part single = partDao.getPartByIdIncludingInactive(partIds.get(i));
+                same = single.getPrice().compareTo(parts.get(partIds.get(i)).getPrice()) == 0;
+            }
+            System.out.println(same ? ":) " + parts.size() + " parts in one lookup, missing ID skipped" :
+                ":( Multi-get parts differ from single lookups");
+            
+            System.out.println("\n─── 16.2 READ: More IDs than one IN list holds ───");
+            List<String> rentalIds = new java.util.ArrayList<>();
+            for (RentalTransaction rental : rentalDao.getAllRentalsIncludingCancelled()) {
+                rentalIds.add(rental.getRentalID());
+            }
+            int real = rentalIds.size();
+            for (int i = 0; i < 600; i++) {
+                rentalIds.add("RNT-X" + i);
+            }
+            java.util.Map<String, RentalTransaction> rentals = rentalDao.getRentalsByIds(rentalIds);
+            System.out.println(rentals != null && rentals.size() == real ?
+                ":) Found all " + real + " rentals among " + rentalIds.size() + " IDs" :
+                ":( Expected " + real + " rentals, got " + (rentals == null ? "an error" : rentals.size()));
+            
+            System.out.println("\n> Multi-Get Tests Complete\n");
+            
+        } catch (Exception e) {
+            System.out.println(":( ERROR in multi-get test: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+    
+    /**
+     * Test 17: Customers with address details from one JOIN query
+     */
+    private static void testCustomersWithAddress() {
+        System.out.println("═══════════════════════════════════════════════════");
+        System.out.println("TEST 17: Customers With Address - Single JOIN");
+        System.out.println("═══════════════════════════════════════════════════\n");
+        
+        CustomerDAO custDao = new CustomerDAO();
+        AddressDAO addrDao = new AddressDAO();
+        
+        try {
+            System.out.println("─── 17.1 READ: Joined addresses match per-address lookups ───");
+            List<Customer> customers = custDao.getAllCustomersWithAddress();
+            int mismatches = 0;
+            for (Customer customer : customers) {
+                String expected = "N/A";
+                if (customer.getAddressID() != null) {
+                    Address address = addrDao.getAddressWithFullDetails(customer.getAddressID());
+                    expected = address != null ? address.getFullAddress() : "Address ID: " + customer.getAddressID();
+                }
+                if (!expected.equals(customer.getFullAddressString())) {
+                    mismatches++;
+                    System.out.println("   " + customer.getCustomerID() + ": '" + customer.getFullAddressString() +
+                                       "' vs '" + expected + "'");
+                }
+            }
+            System.out.println(mismatches == 0 && !customers.isEmpty() ?
+                ":) " + customers.size() + " customers loaded with addresses in one query" :
+                ":( " + mismatches + " customer address(es) differ");
+            
+            System.out.println("\n─── 17.2 READ: Streaming variant sees the same customers ───");
+            long streamed;
+            try (java.util.stream.Stream<Customer> stream = custDao.streamAllCustomersWithAddress()) {
+                streamed = stream.filter(c -> c.getAddressID() == null || c.getAddress() != null).count();
+            }
+            System.out.println(streamed == customers.size() ?
+                ":) Streamed " + streamed + " customers with addresses attached" :
+                ":( Streamed " + streamed + " customers, expected " + customers.size());
+            
+            System.out.println("\n> Customers With Address Tests Complete\n");
+            
+        } catch (Exception e) {
+            System.out.println(":( ERROR in customers with address test: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+    
+    /**
+     * Test 18: Rental history with penalties, one joined query per page
+     */
+    private static void testRentalHistory() {
+        System.out.println("═══════════════════════════════════════════════════");
+        System.out.println("TEST 18: Rental History - Rentals Joined to Penalties");
+        System.out.println("═══════════════════════════════════════════════════\n");
+        
+        RentalDAO rentalDao = new RentalDAO();
+        PenaltyDAO penDao = new PenaltyDAO();
+        
+        try {
+            System.out.println("─── 18.1 READ: Paged history matches rentals + per-rental penalties ───");
+            int customersChecked = 0;
+            int mismatches = 0;
+            for (Customer customer : new CustomerDAO().getAllCustomersIncludingInactive()) {
+                List<RentalTransaction> rentals = rentalDao.getRentalsByCustomer(customer.getCustomerID());
+                
+                List<RentalDAO.RentalHistory> history = new java.util.ArrayList<>();
+                Page<RentalDAO.RentalHistory> page = rentalDao.getRentalHistoryPage(customer.getCustomerID(), 2, null);
+                while (page != null) {
+                    history.addAll(page.getItems());
+                    if (!page.hasNextPage()) break;
+                    page = rentalDao.getRentalHistoryPage(customer.getCustomerID(), 2, page.getNextPageToken());
+                }
+                
+                boolean same = page != null && history.size() == rentals.size();
+                for (int i = 0; same && i < rentals.size(); i++) {
+                    RentalDAO.RentalHistory entry = history.get(i);
+                    same = entry.getRental().getRentalID().equals(rentals.get(i).getRentalID());
+                    
+                    BigDecimal expectedTotal = BigDecimal.ZERO;
+                    List<PenaltyTransaction> penalties = penDao.getPenaltiesByRental(rentals.get(i).getRentalID());
+                    for (PenaltyTransaction penalty : penalties) {
+                        expectedTotal = expectedTotal.add(penalty.getTotalPenalty());
+                    }
+                    same = same && entry.getPenalties().size() == penalties.size()
+                                && entry.getPenaltyTotal().compareTo(expectedTotal) == 0;
+                }
+                if (!same) {
+                    mismatches++;
+                    System.out.println("   History differs for " + customer.getCustomerID());
+                }
+                customersChecked++;
+            }
+            System.out.println(mismatches == 0 ?
+                ":) History matches for " + customersChecked + " customers (page size 2)" :
+                ":( History differs for " + mismatches + " customer(s)");
+            
+            System.out.println("\n> Rental History Tests Complete\n");
+            
+        } catch (Exception e) {
+            System.out.println(":( ERROR in rental history test: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+    
+    /**
+     * Test 19: Current rental lookup (single row from the composite index)
+     */
+    private static void testCurrentRental() {
+        System.out.println("═══════════════════════════════════════════════════");
+        System.out.println("TEST 19: Current Rental For Customer");
+        System.out.println("═══════════════════════════════════════════════════\n");
+        
+        RentalDAO rentalDao = new RentalDAO();
+        
+        try {
+            System.out.println("─── 19.1 READ: Matches the first ongoing rental in the customer's list ───");
+            int customersChecked = 0;
+            int withCurrent = 0;
+            int mismatches = 0;
+            for (Customer customer : new CustomerDAO().getAllCustomersIncludingInactive()) {
+                RentalTransaction expected = null;
+                for (RentalTransaction rental : rentalDao.getRentalsByCustomer(customer.getCustomerID())) {
+                    if (rental.isOngoing()) {
+                        expected = rental;
+                        break;
+                    }
+                }
+                
+                RentalTransaction current = rentalDao.getCurrentRentalForCustomer(customer.getCustomerID());
+                String expectedId = expected != null ? expected.getRentalID() : null;
+                String currentId = current != null ? current.getRentalID() : null;
+                if (expectedId == null ? currentId != null : !expectedId.equals(currentId)) {
+                    mismatches++;
+                    System.out.println("   " + customer.getCustomerID() + ": expected " + expectedId + ", got " + currentId);
+                }
+                if (current != null) withCurrent++;
+                customersChecked++;
+            }
+            System.out.println(mismatches == 0 ?
+                ":) Current rental matches for " + customersChecked + " customers (" + withCurrent + " with one)" :
+                ":( Current rental differs for " + mismatches + " customer(s)");
+            
+            System.out.println("\n> Current Rental Tests Complete\n");
+            
+        } catch (Exception e) {
+            System.out.println(":( ERROR in current rental test: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+    
+    /**
+     * Test 20: Schema migrations (sql/migrations) are recorded and applied once
+     */
+    private static void testMigrations() {
+        System.out.println("═══════════════════════════════════════════════════");
+        System.out.println("TEST 20: Schema Migrations");
+        System.out.println("═══════════════════════════════════════════════════\n");
+        
+        try (Connection conn = DBConnection.getStandaloneConnection()) {
+            System.out.println("─── 20.1 READ: Every migration script is recorded ───");
+            List<MigrationRunner.Migration> scripts = MigrationRunner.findMigrations(MigrationRunner.DEFAULT_DIRECTORY);
+            List<Integer> applied = MigrationRunner.getAppliedVersions(conn);
+            System.out.println((!scripts.isEmpty() && applied.size() == scripts.size() ? ":) " : ":( ") +
+                               scripts.size() + " script(s), applied versions " + applied);
+            
+            if (!DBConnection.isEmbedded()) {
+                System.out.println("   (20.2 to 20.4 only run on the embedded profile; they undo parts of V1 to V4)");
+                System.out.println("\n> Migration Tests Complete\n");
+                return;
+            }
+            
+            System.out.println("\n─── 20.2 RE-RUN: Nothing pending, then a half-applied V1 is finished ───");
+            int again = MigrationRunner.migrate(conn, MigrationRunner.DEFAULT_DIRECTORY);
+            System.out.println(again == 0 ? ":) Second run applied nothing" : ":( Second run applied " + again);
+            
+            // As if V1 had failed after its first CREATE/DROP pair
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("DELETE FROM schema_migrations WHERE version = 1");
+                stmt.execute("DROP INDEX idx_penalty_rental_status ON penalty");
+            }
+            int resumed = MigrationRunner.migrate(conn, MigrationRunner.DEFAULT_DIRECTORY);
+            boolean indexBack = false;
+            try (java.sql.ResultSet rs = conn.getMetaData().getIndexInfo(null, null, "penalty", false, false)) {
+                while (rs.next()) {
+                    indexBack |= "idx_penalty_rental_status".equalsIgnoreCase(rs.getString("INDEX_NAME"));
+                }
+            }
+            System.out.println(resumed == 1 && indexBack ?
+                ":) Half-applied V1 finished (existing indexes skipped)" :
+                ":( Resume failed (applied " + resumed + ", index present: " + indexBack + ")");
+            
+            System.out.println("\n─── 20.3 UPGRADE: V2 adds a missing version column ───");
+            // As if the database predates the version columns
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("DELETE FROM schema_migrations WHERE version = 2");
+                stmt.execute("ALTER TABLE vehicles DROP COLUMN version");
+            }
+            int upgraded = MigrationRunner.migrate(conn, MigrationRunner.DEFAULT_DIRECTORY);
+            boolean columnBack = false;
+            try (java.sql.ResultSet rs = conn.getMetaData().getColumns(null, null, "vehicles", "version")) {
+                columnBack = rs.next();
+            }
+            System.out.println(upgraded == 1 && columnBack ?
+                ":) Version column added again (existing rentals.version skipped)" :
+                ":( Upgrade failed (applied " + upgraded + ", column present: " + columnBack + ")");
+            
+            System.out.println("\n─── 20.4 UPGRADE: V3 and V4 add a missing table and index ───");
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("DELETE FROM schema_migrations WHERE version IN (3, 4)");
+                stmt.execute("DROP TABLE id_sequences");
+                stmt.execute("DROP INDEX idx_deployment_start_date ON deployments");
+            }
+            int caughtUp = MigrationRunner.migrate(conn, MigrationRunner.DEFAULT_DIRECTORY);
+            boolean tableBack;
+            try (java.sql.ResultSet rs = conn.getMetaData().getTables(null, null, "id_sequences", null)) {
+                tableBack = rs.next();
+            }
+            boolean dateIndexBack = false;
+            try (java.sql.ResultSet rs = conn.getMetaData().getIndexInfo(null, null, "deployments", false, false)) {
+                while (rs.next()) {
+                    dateIndexBack |= "idx_deployment_start_date".equalsIgnoreCase(rs.getString("INDEX_NAME"));
+                }
+            }
+            System.out.println(caughtUp == 2 && tableBack && dateIndexBack ?
+                ":) id_sequences and idx_deployment_start_date created again" :
+                ":( Upgrade failed (applied " + caughtUp + ", table: " + tableBack + ", index: " + dateIndexBack + ")");
+            
+            System.out.println("\n> Migration Tests Complete\n");
+            
+        } catch (Exception e) {
+            System.out.println(":( ERROR in migration test: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
 }
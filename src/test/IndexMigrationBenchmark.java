@@ -0,0 +1,312 @@
+package test;
+
+import dao.PaymentDAO;
+import dao.PenaltyDAO;
+import dao.RentalDAO;
+import dao.VehicleDAO;
+import util.DBConnection;
+import util.MigrationRunner;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * INDEX MIGRATION BENCHMARK
+ *
+ * PURPOSE: Measures the DAO lookups that sql/migrations adds indexes for,
+ * before and after the migrations are applied:
+ * - RentalDAO.hasActiveRental / getActiveRentalByVehicle
+ * - PenaltyDAO.getPenaltiesByRental / getTotalPenaltiesByRental / getPenaltiesByPaymentStatus
+ * - PaymentDAO.getPaymentsByRental
+ * - VehicleDAO.getVehiclesByLocation / getAvailableVehicles
+ *
+ * HOW TO RUN:
+ * - Embedded (recommended): java -Ddb.profile=embedded test.IndexMigrationBenchmark
+ *   Loads "CCINFOM 22-07.sql" without migrations, adds synthetic rows so the
+ *   tables are big enough for indexes to matter, measures, migrates, measures again.
+ * - MySQL: java test.IndexMigrationBenchmark --apply
+ *   Uses the existing data (nothing is inserted) and APPLIES the pending
+ *   migrations to the db.properties database between the two runs.
+ *
+ * OUTPUT: Median and 95th percentile time per call, in microseconds.
+ * Timings depend on the machine and database; compare the two columns, not
+ * the numbers between machines. H2 plans differ from MySQL's, so confirm MySQL
+ * gains with a run against MySQL.
+ */
+public class IndexMigrationBenchmark {
+
+    private static final int WARMUP_CALLS = 100;
+    private static final int MEASURED_CALLS = 500;
+
+    // Synthetic data for the embedded run
+    private static final int VEHICLES = 3000;
+    private static final int RENTALS_PER_VEHICLE = 10;
+    private static final int CLOSED_DEPLOYMENTS_PER_VEHICLE = 2;
+    private static final int RENTALS_PER_PENALTY = 5;
+    private static final String[] VEHICLE_TYPES = { "E-Scooter", "E-Bike", "E-Trike" };
+    private static final String[] VEHICLE_STATUSES = { "Available", "In Use", "Available", "Maintenance" };
+    private static final String[] PENALTY_STATUSES = { "PAID", "WAIVED", "UNPAID", "PAID" };
+
+    public static void main(String[] args) throws Exception {
+        // Keep the embedded database at the plain script, so there is a "before"
+        System.setProperty("db.embedded.migrate", "false");
+
+        boolean apply = Arrays.asList(args).contains("--apply");
+        if (!DBConnection.isEmbedded() && !apply) {
+            System.out.println("This would apply the pending migrations to the MySQL database in db.properties.");
+            System.out.println("Run with --apply to do that, or with -Ddb.profile=embedded to use a throwaway database.");
+            return;
+        }
+
+        System.out.println("═══════════════════════════════════════════════════");
+        System.out.println("   INDEX MIGRATION BENCHMARK (" + DBConnection.getProfile() + ")");
+        System.out.println("═══════════════════════════════════════════════════\n");
+
+        try (Connection conn = DBConnection.getStandaloneConnection()) {
+            if (DBConnection.isEmbedded()) {
+                seed(conn);
+            }
+
+            List<MigrationRunner.Migration> all = MigrationRunner.findMigrations(MigrationRunner.DEFAULT_DIRECTORY);
+            List<Integer> applied = MigrationRunner.getAppliedVersions(conn);
+            if (applied.size() >= all.size()) {
+                System.out.println("No pending migrations (applied: " + applied + "); measuring current state only.\n");
+            }
+
+            Samples samples = loadSamples(conn);
+            System.out.println("Data: " + samples.plates.size() + " vehicles, " + samples.rentals.size() +
+                               " rentals, " + samples.locations.size() + " locations\n");
+
+            Map<String, long[]> before = measureAll(samples);
+            if (applied.size() >= all.size()) {
+                printResults(before, null);
+                return;
+            }
+
+            long start = System.currentTimeMillis();
+            int count = MigrationRunner.migrate(conn, MigrationRunner.DEFAULT_DIRECTORY);
+            System.out.println(count + " migration(s) applied in " + (System.currentTimeMillis() - start) + " ms\n");
+
+            Map<String, long[]> after = measureAll(samples);
+            printResults(before, after);
+
+        } finally {
+            DBConnection.shutdown();
+        }
+    }
+
+    /**
+     * Keys the lookups rotate through, read from the database.
+     */
+    private static class Samples {
+        final List<String> plates = new ArrayList<>();
+        final List<String> rentals = new ArrayList<>();
+        final List<String> locations = new ArrayList<>();
+    }
+
+    private static Samples loadSamples(Connection conn) throws SQLException {
+        Samples samples = new Samples();
+        readColumn(conn, "SELECT plateID FROM vehicles ORDER BY plateID", samples.plates);
+        readColumn(conn, "SELECT rentalID FROM rentals ORDER BY rentalID", samples.rentals);
+        readColumn(conn, "SELECT locationID FROM locations ORDER BY locationID", samples.locations);
+        return samples;
+    }
+
+    private static void readColumn(Connection conn, String sql, List<String> into) throws SQLException {
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                into.add(rs.getString(1));
+            }
+        }
+    }
+
+    // ==================== MEASURING ====================
+
+    private static Map<String, long[]> measureAll(Samples s) {
+        RentalDAO rentalDAO = new RentalDAO();
+        PenaltyDAO penaltyDAO = new PenaltyDAO();
+        PaymentDAO paymentDAO = new PaymentDAO();
+        VehicleDAO vehicleDAO = new VehicleDAO();
+
+        Map<String, long[]> results = new LinkedHashMap<>();
+        results.put("RentalDAO.hasActiveRental", measure(i -> rentalDAO.hasActiveRental(pick(s.plates, i))));
+        results.put("RentalDAO.getActiveRentalByVehicle", measure(i -> rentalDAO.getActiveRentalByVehicle(pick(s.plates, i))));
+        results.put("PenaltyDAO.getPenaltiesByRental", measure(i -> penaltyDAO.getPenaltiesByRental(pick(s.rentals, i))));
+        results.put("PenaltyDAO.getTotalPenaltiesByRental", measure(i -> penaltyDAO.getTotalPenaltiesByRental(pick(s.rentals, i))));
+        results.put("PenaltyDAO.getPenaltiesByPaymentStatus", measure(i -> penaltyDAO.getPenaltiesByPaymentStatus(PENALTY_STATUSES[i % 3])));
+        results.put("PaymentDAO.getPaymentsByRental", measure(i -> paymentDAO.getPaymentsByRental(pick(s.rentals, i))));
+        results.put("VehicleDAO.getVehiclesByLocation", measure(i -> vehicleDAO.getVehiclesByLocation(pick(s.locations, i))));
+        results.put("VehicleDAO.getAvailableVehicles", measure(i -> vehicleDAO.getAvailableVehicles()));
+        return results;
+    }
+
+    private static String pick(List<String> keys, int i) {
+        // Spread calls over the whole key range instead of walking it in order
+        return keys.get((int) ((i * 7919L) % keys.size()));
+    }
+
+    /**
+     * Time one DAO call.
+     *
+     * @return {median, p95} in microseconds
+     */
+    private static long[] measure(Consumer<Integer> call) {
+        // The DAOs log to the console; keep that out of the timings
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        long[] nanos = new long[MEASURED_CALLS];
+        try {
+            for (int i = 0; i < WARMUP_CALLS; i++) {
+                call.accept(i);
+            }
+            for (int i = 0; i < MEASURED_CALLS; i++) {
+                long start = System.nanoTime();
+                call.accept(WARMUP_CALLS + i);
+                nanos[i] = System.nanoTime() - start;
+            }
+        } finally {
+            System.setOut(console);
+        }
+
+        Arrays.sort(nanos);
+        return new long[] { nanos[MEASURED_CALLS / 2] / 1000, nanos[MEASURED_CALLS * 95 / 100] / 1000 };
+    }
+
+    private static void printResults(Map<String, long[]> before, Map<String, long[]> after) {
+        System.out.println(String.format("%-40s %18s %18s %8s", "DAO method", "before p50/p95 us",
+                                         after != null ? "after p50/p95 us" : "", after != null ? "speedup" : ""));
+        System.out.println("─────────────────────────────────────────────────────────────────────────────────────────");
+        for (Map.Entry<String, long[]> row : before.entrySet()) {
+            long[] b = row.getValue();
+            long[] a = after != null ? after.get(row.getKey()) : null;
+            System.out.println(String.format("%-40s %18s %18s %8s", row.getKey(), b[0] + " / " + b[1],
+                    a != null ? a[0] + " / " + a[1] : "",
+                    a != null ? String.format("%.1fx", (double) Math.max(b[0], 1) / Math.max(a[0], 1)) : ""));
+        }
+    }
+
+    // ==================== SYNTHETIC DATA (embedded only) ====================
+
+    /**
+     * Add vehicles with deployments, rentals, payments and penalties.
+     * Most rentals and deployments are closed, like a system that has been
+     * running for a while; each lookup only wants the few open ones.
+     */
+    private static void seed(Connection conn) throws SQLException {
+        long start = System.currentTimeMillis();
+        List<String> locations = new ArrayList<>();
+        List<String> customers = new ArrayList<>();
+        readColumn(conn, "SELECT locationID FROM locations ORDER BY locationID", locations);
+        readColumn(conn, "SELECT customerID FROM customers ORDER BY customerID", customers);
+
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (PreparedStatement vehicle = conn.prepareStatement(
+                     "INSERT INTO vehicles (plateID, vehicleType, status, rentalPrice) VALUES (?, ?, ?, ?)");
+             PreparedStatement deployment = conn.prepareStatement(
+                     "INSERT INTO deployments (deploymentID, plateID, locationID, startDate, endDate, status) " +
+                     "VALUES (?, ?, ?, ?, ?, ?)");
+             PreparedStatement rental = conn.prepareStatement(
+                     "INSERT INTO rentals (rentalID, customerID, plateID, locationID, pickUpDateTime, " +
+                     "startDateTime, endDateTime, status) VALUES (?, ?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement payment = conn.prepareStatement(
+                     "INSERT INTO payments (paymentID, amount, rentalID, paymentDate, status) VALUES (?, ?, ?, ?, 'Active')");
+             PreparedStatement penalty = conn.prepareStatement(
+                     "INSERT INTO penalty (penaltyID, rentalID, totalPenalty, penaltyStatus, dateIssued, status) " +
+                     "VALUES (?, ?, ?, ?, ?, 'Active')")) {
+
+            long day = 24L * 60 * 60 * 1000;
+            long base = Timestamp.valueOf("2023-01-01 08:00:00").getTime();
+            int deployments = 0;
+            int rentals = 0;
+
+            for (int v = 1; v <= VEHICLES; v++) {
+                String plate = String.format("BV-%05d", v);
+                String status = VEHICLE_STATUSES[v % VEHICLE_STATUSES.length];
+                String location = locations.get(v % locations.size());
+
+                vehicle.setString(1, plate);
+                vehicle.setString(2, VEHICLE_TYPES[v % VEHICLE_TYPES.length]);
+                vehicle.setString(3, status);
+                vehicle.setBigDecimal(4, BigDecimal.valueOf(40 + v % 30));
+                vehicle.addBatch();
+
+                for (int d = 0; d <= CLOSED_DEPLOYMENTS_PER_VEHICLE; d++) {
+                    boolean open = d == CLOSED_DEPLOYMENTS_PER_VEHICLE;
+                    deployment.setString(1, String.format("BD-%06d", ++deployments));
+                    deployment.setString(2, plate);
+                    deployment.setString(3, open ? location : locations.get((v + d + 1) % locations.size()));
+                    deployment.setDate(4, new Date(base + d * 100 * day));
+                    deployment.setDate(5, open ? null : new Date(base + (d * 100 + 99) * day));
+                    deployment.setString(6, open ? "Active" : "Completed");
+                    deployment.addBatch();
+                }
+
+                for (int r = 0; r < RENTALS_PER_VEHICLE; r++) {
+                    // The newest rental of an 'In Use' vehicle is still out
+                    boolean open = r == RENTALS_PER_VEHICLE - 1 && "In Use".equals(status);
+                    String rentalID = String.format("BR-%07d", ++rentals);
+                    Timestamp pickUp = new Timestamp(base + (r * 30L + v % 30) * day);
+
+                    rental.setString(1, rentalID);
+                    rental.setString(2, customers.get(rentals % customers.size()));
+                    rental.setString(3, plate);
+                    rental.setString(4, location);
+                    rental.setTimestamp(5, pickUp);
+                    rental.setTimestamp(6, pickUp);
+                    rental.setTimestamp(7, open ? null : new Timestamp(pickUp.getTime() + 3 * 60 * 60 * 1000));
+                    rental.setString(8, open ? "Active" : "Completed");
+                    rental.addBatch();
+
+                    payment.setString(1, String.format("BP-%07d", rentals));
+                    payment.setBigDecimal(2, BigDecimal.valueOf(150));
+                    payment.setString(3, rentalID);
+                    payment.setDate(4, new Date(pickUp.getTime()));
+                    payment.addBatch();
+
+                    if (rentals % RENTALS_PER_PENALTY == 0) {
+                        penalty.setString(1, String.format("BN-%07d", rentals / RENTALS_PER_PENALTY));
+                        penalty.setString(2, rentalID);
+                        penalty.setBigDecimal(3, BigDecimal.valueOf(200));
+                        penalty.setString(4, PENALTY_STATUSES[(rentals / RENTALS_PER_PENALTY) % PENALTY_STATUSES.length]);
+                        penalty.setDate(5, new Date(pickUp.getTime() + day));
+                        penalty.addBatch();
+                    }
+                }
+
+                if (v % 500 == 0 || v == VEHICLES) {
+                    // Parents first, so the foreign keys are satisfied
+                    vehicle.executeBatch();
+                    deployment.executeBatch();
+                    rental.executeBatch();
+                    payment.executeBatch();
+                    penalty.executeBatch();
+                }
+            }
+            conn.commit();
+
+            System.out.println("Seeded " + VEHICLES + " vehicles, " + deployments + " deployments, " + rentals +
+                               " rentals (with payments and penalties) in " +
+                               (System.currentTimeMillis() - start) + " ms\n");
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+}
@@ -0,0 +1,806 @@
+package util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded JDBC Connection Pool.
+ *
+ * PURPOSE: Reuses physical database connections so DAO calls stop paying
+ * a TCP + authentication handshake every time they run a query.
+ *
+ * HOW IT WORKS:
+ * - getConnection() hands out a wrapper around a pooled physical connection
+ * - Calling close() on the wrapper returns the connection to the pool
+ *   (so the usual try-with-resources pattern in every DAO keeps working)
+ * - At most maxSize connections exist at once; callers wait up to
+ *   acquireTimeoutMs for a free one, then get an SQLException
+ *
+ * HEALTH CHECKS:
+ * - Idle validation: a connection idle longer than validationIntervalMs is
+ *   checked with isValid() before it is handed out
+ * - Max lifetime: connections older than maxLifetimeMs are retired and replaced
+ * - Leak detection: a connection borrowed longer than leakDetectionMs is reported
+ *   together with the DAO/service call site that borrowed it
+ *
+ * STATEMENT CACHE:
+ * - Each physical connection keeps an LRU cache of PreparedStatements keyed by SQL text
+ * - prepareStatement(sql) returns the cached statement when one is free, so hot
+ *   lookups like getRentalById skip the parse/plan step after the first call
+ * - close() on a cached statement resets it and keeps it for the next caller
+ * - Only the plain prepareStatement(String) overload is cached
+ *
+ * WORKLOAD LIMITS (used by the reporting pool):
+ * - queryTimeoutSec: every statement from this pool gets this query timeout
+ * - maxWaiters: when the pool is full and this many callers are already
+ *   waiting, new callers fail immediately instead of queueing
+ *
+ * CONFIGURATION (db.properties, see Settings.fromProperties):
+ *   db.pool.maxSize, db.pool.minIdle, db.pool.acquireTimeoutMs,
+ *   db.pool.validationIntervalMs, db.pool.validationTimeoutSec,
+ *   db.pool.maxLifetimeMs, db.pool.leakDetectionMs, db.pool.statementCacheSize,
+ *   db.pool.queryTimeoutSec, db.pool.maxWaiters
+ */
+public class ConnectionPool {
+
+    /**
+     * Creates new physical connections for the pool.
+     */
+    public interface ConnectionFactory {
+        Connection create() throws SQLException;
+    }
+
+    private final String name;
+    private final Settings settings;
+    private final ConnectionFactory factory;
+
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<PooledEntry> idle = new LinkedBlockingDeque<>();
+    private final Set<PooledEntry> borrowed = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final AtomicLong statementCacheHits = new AtomicLong();
+    private final AtomicLong statementCacheMisses = new AtomicLong();
+    private final ScheduledExecutorService housekeeper;
+
+    private volatile boolean closed = false;
+
+    public ConnectionPool(String name, Settings settings, ConnectionFactory factory) {
+        this.name = name;
+        this.settings = settings;
+        this.factory = factory;
+        this.permits = new Semaphore(settings.getMaxSize(), true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "pool-" + name + "-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1000L, settings.getHousekeepingIntervalMs());
+        housekeeper.scheduleWithFixedDelay(this::housekeep, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    // ==================== BORROW / RETURN ====================
+
+    /**
+     * Borrow a connection from the pool.
+     * Close the returned connection to give it back (try-with-resources).
+     *
+     * @return Pooled connection wrapper
+     * @throws SQLException if the pool is closed, exhausted past the acquire timeout,
+     *                      or a new physical connection cannot be opened
+     */
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool '" + name + "' is closed");
+        }
+
+        boolean acquired = permits.tryAcquire();
+        try {
+            if (!acquired) {
+                if (settings.getMaxWaiters() > 0 && permits.getQueueLength() >= settings.getMaxWaiters()) {
+                    throw new SQLTransientConnectionException("Pool '" + name + "' is busy: " +
+                            permits.getQueueLength() + " requests already waiting (maxWaiters=" +
+                            settings.getMaxWaiters() + ")");
+                }
+                acquired = permits.tryAcquire(settings.getAcquireTimeoutMs(), TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection from pool '" + name + "'", e);
+        }
+
+        if (!acquired) {
+            throw new SQLTransientConnectionException("Timed out after " + settings.getAcquireTimeoutMs() +
+                    "ms waiting for a connection from pool '" + name + "' (active=" + borrowed.size() +
+                    ", idle=" + idle.size() + ", max=" + settings.getMaxSize() + ")");
+        }
+
+        try {
+            PooledEntry entry = takeHealthyEntry();
+            entry.borrowedAt = System.currentTimeMillis();
+            entry.borrowSite = settings.getLeakDetectionMs() > 0 ? new Throwable("Connection borrowed here") : null;
+            entry.leakReported = false;
+            borrowed.add(entry);
+            return entry.newHandle();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Take an idle connection that passes lifetime and validation checks,
+     * or open a new one when none is available.
+     */
+    private PooledEntry takeHealthyEntry() throws SQLException {
+        PooledEntry entry;
+        while ((entry = idle.pollFirst()) != null) {
+            long now = System.currentTimeMillis();
+
+            if (isExpired(entry, now)) {
+                destroy(entry);
+                continue;
+            }
+
+            if (now - entry.lastReturnedAt >= settings.getValidationIntervalMs()
+                    && !isValid(entry)) {
+                System.err.println("Pool '" + name + "': discarding connection that failed validation");
+                destroy(entry);
+                continue;
+            }
+
+            return entry;
+        }
+        return openEntry();
+    }
+
+    private PooledEntry openEntry() throws SQLException {
+        Connection raw = factory.create();
+        totalConnections.incrementAndGet();
+        return new PooledEntry(raw);
+    }
+
+    /**
+     * Give a connection back to the pool. Called from the wrapper's close().
+     */
+    private void release(PooledEntry entry) {
+        borrowed.remove(entry);
+        entry.borrowSite = null;
+        entry.returnAllStatements();
+
+        try {
+            boolean reusable = !closed && !isExpired(entry, System.currentTimeMillis()) && resetState(entry);
+            if (reusable) {
+                entry.lastReturnedAt = System.currentTimeMillis();
+                idle.offerFirst(entry);
+            } else {
+                destroy(entry);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Undo per-borrower changes so the next borrower gets a clean connection.
+     *
+     * @return false if the connection is broken and should be discarded
+     */
+    private boolean resetState(PooledEntry entry) {
+        Connection raw = entry.raw;
+        try {
+            if (raw.isClosed()) {
+                return false;
+            }
+            if (!raw.getAutoCommit()) {
+                raw.rollback();
+                raw.setAutoCommit(true);
+            }
+            if (raw.isReadOnly() != entry.initialReadOnly) {
+                raw.setReadOnly(entry.initialReadOnly);
+            }
+            raw.clearWarnings();
+            return true;
+        } catch (SQLException e) {
+            System.err.println("Pool '" + name + "': discarding connection after reset failed: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean isExpired(PooledEntry entry, long now) {
+        return settings.getMaxLifetimeMs() > 0 && now - entry.createdAt > settings.getMaxLifetimeMs();
+    }
+
+    private boolean isValid(PooledEntry entry) {
+        try {
+            return entry.raw.isValid(settings.getValidationTimeoutSec());
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void destroy(PooledEntry entry) {
+        totalConnections.decrementAndGet();
+        entry.closeAllStatements();
+        try {
+            entry.raw.close();
+        } catch (SQLException e) {
+            // Connection is being discarded anyway
+        }
+    }
+
+    // ==================== HOUSEKEEPING ====================
+
+    /**
+     * Periodic maintenance: report leaks, retire expired idle connections,
+     * and keep minIdle connections ready.
+     */
+    private void housekeep() {
+        if (closed) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+
+            if (settings.getLeakDetectionMs() > 0) {
+                for (PooledEntry entry : borrowed) {
+                    Throwable site = entry.borrowSite;
+                    if (!entry.leakReported && site != null
+                            && now - entry.borrowedAt > settings.getLeakDetectionMs()) {
+                        entry.leakReported = true;
+                        reportLeak(entry, site, now);
+                    }
+                }
+            }
+
+            for (PooledEntry entry : idle) {
+                if (isExpired(entry, now) && idle.remove(entry)) {
+                    destroy(entry);
+                }
+            }
+
+            fillMinIdle();
+        } catch (RuntimeException e) {
+            System.err.println("Pool '" + name + "': housekeeping failed: " + e.getMessage());
+        }
+    }
+
+    private void reportLeak(PooledEntry entry, Throwable site, long now) {
+        System.err.println("WARNING: Possible connection leak in pool '" + name + "'");
+        System.err.println("   Connection borrowed " + (now - entry.borrowedAt) + "ms ago and not returned");
+        System.err.println("   Call site: " + findCallSite(site));
+        site.printStackTrace();
+    }
+
+    /**
+     * Find the first stack frame outside the pool/JDBC plumbing,
+     * which is normally the DAO or service method that borrowed the connection.
+     */
+    static String findCallSite(Throwable site) {
+        for (StackTraceElement frame : site.getStackTrace()) {
+            String cls = frame.getClassName();
+            if (cls.startsWith("util.") || cls.startsWith("java.") || cls.startsWith("jdk.")
+                    || cls.startsWith("com.sun.proxy.") || cls.startsWith("$Proxy")) {
+                continue;
+            }
+            return frame.toString();
+        }
+        return "unknown";
+    }
+
+    /**
+     * Open connections until at least minIdle are idle (bounded by maxSize).
+     */
+    public void fillMinIdle() {
+        while (!closed && idle.size() < settings.getMinIdle()
+                && totalConnections.get() < settings.getMaxSize()) {
+            try {
+                PooledEntry entry = openEntry();
+                entry.lastReturnedAt = System.currentTimeMillis();
+                idle.offerLast(entry);
+            } catch (SQLException e) {
+                System.err.println("Pool '" + name + "': could not open idle connection: " + e.getMessage());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Open connections and prepare statements before the first real request.
+     * Borrows up to max(minIdle, 1) connections at once, prepares every statement
+     * on each of them so it is already in that connection's statement cache,
+     * then returns them all to the pool. Never waits for a busy pool.
+     *
+     * @param statements SQL text exactly as the DAOs prepare it
+     * @return Number of connections warmed
+     */
+    public int warmUp(Collection<String> statements) {
+        int target = Math.max(1, Math.min(settings.getMinIdle(), settings.getMaxSize()));
+        List<Connection> held = new ArrayList<>();
+        try {
+            while (held.size() < target && !closed && permits.availablePermits() > 0) {
+                held.add(getConnection());
+            }
+            for (Connection conn : held) {
+                for (String sql : statements) {
+                    try {
+                        conn.prepareStatement(sql).close();  // close() puts it in the cache
+                    } catch (SQLException e) {
+                        System.err.println("Pool '" + name + "': could not prepare warm-up statement: " + e.getMessage());
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Pool '" + name + "': warm-up stopped: " + e.getMessage());
+        } finally {
+            for (Connection conn : held) {
+                try {
+                    conn.close();
+                } catch (SQLException e) {
+                    // already released
+                }
+            }
+        }
+        return held.size();
+    }
+
+    /**
+     * Close all idle connections and stop accepting new borrowers.
+     * Borrowed connections are closed as they are returned.
+     */
+    public void shutdown() {
+        closed = true;
+        housekeeper.shutdownNow();
+        PooledEntry entry;
+        while ((entry = idle.pollFirst()) != null) {
+            destroy(entry);
+        }
+    }
+
+    // ==================== STATISTICS ====================
+
+    public String getName() {
+        return name;
+    }
+
+    public int getActiveCount() {
+        return borrowed.size();
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    public int getTotalCount() {
+        return totalConnections.get();
+    }
+
+    public int getWaitingCount() {
+        return permits.getQueueLength();
+    }
+
+    public long getStatementCacheHits() {
+        return statementCacheHits.get();
+    }
+
+    public long getStatementCacheMisses() {
+        return statementCacheMisses.get();
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionPool{name='" + name + "', active=" + getActiveCount() +
+               ", idle=" + getIdleCount() + ", total=" + getTotalCount() +
+               ", max=" + settings.getMaxSize() + ", waiting=" + getWaitingCount() +
+               ", stmtCacheHits=" + getStatementCacheHits() +
+               ", stmtCacheMisses=" + getStatementCacheMisses() + "}";
+    }
+
+    // ==================== POOLED CONNECTION ====================
+
+    /**
+     * One physical connection owned by the pool.
+     */
+    private class PooledEntry {
+        final Connection raw;
+        final long createdAt = System.currentTimeMillis();
+        final boolean initialReadOnly;
+
+        volatile long borrowedAt;
+        volatile long lastReturnedAt = System.currentTimeMillis();
+        volatile Throwable borrowSite;
+        volatile boolean leakReported;
+
+        // LRU statement cache (access order); only touched by the current borrower
+        private final LinkedHashMap<String, CachedStatement> statementCache;
+
+        PooledEntry(Connection raw) throws SQLException {
+            this.raw = raw;
+            this.initialReadOnly = raw.isReadOnly();
+            this.statementCache = new LinkedHashMap<String, CachedStatement>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+                    if (size() <= settings.getStatementCacheSize()) {
+                        return false;
+                    }
+                    eldest.getValue().evict();
+                    return true;
+                }
+            };
+        }
+
+        /**
+         * Return the cached statement for this SQL, or prepare and cache a new one.
+         * If the cached statement is still open by the same borrower
+         * (e.g. a nested query with identical SQL), an uncached statement is used.
+         */
+        PreparedStatement prepareCached(String sql) throws SQLException {
+            CachedStatement cached = statementCache.get(sql);
+            if (cached != null && cached.evicted) {
+                statementCache.remove(sql);
+                cached = null;
+            }
+            if (cached != null) {
+                if (cached.inUse) {
+                    statementCacheMisses.incrementAndGet();
+                    return applyQueryTimeout(raw.prepareStatement(sql));
+                }
+                statementCacheHits.incrementAndGet();
+                cached.inUse = true;
+                return cached.handle;
+            }
+
+            statementCacheMisses.incrementAndGet();
+            cached = new CachedStatement(applyQueryTimeout(raw.prepareStatement(sql)),
+                                         settings.getQueryTimeoutSec());
+            cached.inUse = true;
+            statementCache.put(sql, cached);
+            return cached.handle;
+        }
+
+        /**
+         * Make sure statements the borrower forgot to close are reset before reuse.
+         */
+        void returnAllStatements() {
+            for (CachedStatement cached : statementCache.values()) {
+                if (cached.inUse) {
+                    cached.logicalClose();
+                }
+            }
+        }
+
+        void closeAllStatements() {
+            Iterator<CachedStatement> it = statementCache.values().iterator();
+            while (it.hasNext()) {
+                it.next().evict();
+                it.remove();
+            }
+        }
+
+        Connection newHandle() {
+            return (Connection) Proxy.newProxyInstance(
+                    ConnectionPool.class.getClassLoader(),
+                    new Class<?>[] { Connection.class },
+                    new HandleInvocationHandler(this));
+        }
+    }
+
+    /**
+     * The Connection object DAOs actually see.
+     * close() returns the physical connection to the pool exactly once;
+     * every other call is forwarded while the handle is open.
+     */
+    private class HandleInvocationHandler implements InvocationHandler {
+        private final PooledEntry entry;
+        private boolean handleClosed = false;
+
+        HandleInvocationHandler(PooledEntry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String methodName = method.getName();
+
+            switch (methodName) {
+                case "close":
+                    synchronized (this) {
+                        if (!handleClosed) {
+                            handleClosed = true;
+                            release(entry);
+                        }
+                    }
+                    return null;
+                case "isClosed":
+                    return handleClosed || entry.raw.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + name + "]" + (handleClosed ? " (closed)" : "");
+                default:
+                    break;
+            }
+
+            if (handleClosed) {
+                throw new SQLException("Connection has already been returned to pool '" + name + "'");
+            }
+
+            if ("prepareStatement".equals(methodName) && args.length == 1
+                    && settings.getStatementCacheSize() > 0) {
+                return entry.prepareCached((String) args[0]);
+            }
+
+            Object result;
+            try {
+                result = method.invoke(entry.raw, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+
+            if (result instanceof Statement) {
+                applyQueryTimeout((Statement) result);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Give a new statement this pool's query timeout, if one is configured.
+     */
+    private <S extends Statement> S applyQueryTimeout(S stmt) throws SQLException {
+        if (settings.getQueryTimeoutSec() > 0) {
+            stmt.setQueryTimeout(settings.getQueryTimeoutSec());
+        }
+        return stmt;
+    }
+
+    // ==================== CACHED STATEMENT ====================
+
+    /**
+     * A PreparedStatement kept open across borrowers.
+     * The handle's close() clears parameters and closes the last ResultSet
+     * instead of closing the statement on the server.
+     */
+    private static class CachedStatement implements InvocationHandler {
+        final PreparedStatement raw;
+        final PreparedStatement handle;
+        final int defaultQueryTimeout;
+
+        boolean inUse;
+        boolean evicted;
+        boolean settingsChanged;
+        ResultSet lastResultSet;
+
+        CachedStatement(PreparedStatement raw, int defaultQueryTimeout) {
+            this.raw = raw;
+            this.defaultQueryTimeout = defaultQueryTimeout;
+            this.handle = (PreparedStatement) Proxy.newProxyInstance(
+                    ConnectionPool.class.getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class },
+                    this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String methodName = method.getName();
+
+            switch (methodName) {
+                case "close":
+                    if (inUse) {
+                        logicalClose();
+                    }
+                    return null;
+                case "isClosed":
+                    return !inUse || raw.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + raw + "]";
+                case "setFetchSize":
+                case "setMaxRows":
+                case "setQueryTimeout":
+                case "setFetchDirection":
+                    settingsChanged = true;
+                    break;
+                default:
+                    break;
+            }
+
+            if (!inUse) {
+                throw new SQLException("Statement is closed");
+            }
+
+            Object result;
+            try {
+                result = method.invoke(raw, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+
+            if (result instanceof ResultSet) {
+                lastResultSet = (ResultSet) result;
+            }
+            return result;
+        }
+
+        /**
+         * Reset the statement for the next caller. If reset fails, the
+         * statement is closed and a fresh one will be prepared next time.
+         */
+        void logicalClose() {
+            inUse = false;
+            try {
+                if (lastResultSet != null) {
+                    lastResultSet.close();
+                    lastResultSet = null;
+                }
+                raw.clearParameters();
+                raw.clearBatch();
+                raw.clearWarnings();
+                if (settingsChanged) {
+                    raw.setFetchSize(0);
+                    raw.setMaxRows(0);
+                    raw.setQueryTimeout(defaultQueryTimeout);
+                    raw.setFetchDirection(ResultSet.FETCH_FORWARD);
+                    settingsChanged = false;
+                }
+            } catch (SQLException e) {
+                evicted = true;
+            }
+            if (evicted) {
+                closeQuietly();
+            }
+        }
+
+        /**
+         * Drop from the cache. Closed now if free, otherwise when the caller closes it.
+         */
+        void evict() {
+            evicted = true;
+            if (!inUse) {
+                closeQuietly();
+            }
+        }
+
+        private void closeQuietly() {
+            try {
+                raw.close();
+            } catch (SQLException e) {
+                // Statement is being discarded anyway
+            }
+        }
+    }
+
+    // ==================== SETTINGS ====================
+
+    /**
+     * Pool tuning values, read from db.properties.
+     */
+    public static class Settings {
+        private int maxSize = 10;
+        private int minIdle = 2;
+        private long acquireTimeoutMs = 5000;
+        private long validationIntervalMs = 30000;
+        private int validationTimeoutSec = 2;
+        private long maxLifetimeMs = 30 * 60 * 1000L;
+        private long leakDetectionMs = 60000;
+        private long housekeepingIntervalMs = 15000;
+        private int statementCacheSize = 50;
+        private int queryTimeoutSec = 0;
+        private int maxWaiters = 0;
+
+        /**
+         * Defaults for the reporting pool: few connections, long waits,
+         * a query timeout, and a cap on queued report requests.
+         */
+        public static Settings reportingDefaults() {
+            Settings s = new Settings();
+            s.maxSize = 3;
+            s.minIdle = 0;
+            s.acquireTimeoutMs = 30000;
+            s.leakDetectionMs = 300000;
+            s.queryTimeoutSec = 120;
+            s.maxWaiters = 5;
+            return s;
+        }
+
+        /**
+         * Read settings using the given key prefix (e.g. "db.pool.").
+         * Missing keys keep their defaults.
+         */
+        public static Settings fromProperties(Properties props, String prefix) {
+            return fromProperties(props, prefix, new Settings());
+        }
+
+        /**
+         * Read settings using the given key prefix, starting from the given defaults.
+         */
+        public static Settings fromProperties(Properties props, String prefix, Settings s) {
+            s.maxSize = intProp(props, prefix + "maxSize", s.maxSize);
+            s.minIdle = intProp(props, prefix + "minIdle", s.minIdle);
+            s.acquireTimeoutMs = longProp(props, prefix + "acquireTimeoutMs", s.acquireTimeoutMs);
+            s.validationIntervalMs = longProp(props, prefix + "validationIntervalMs", s.validationIntervalMs);
+            s.validationTimeoutSec = intProp(props, prefix + "validationTimeoutSec", s.validationTimeoutSec);
+            s.maxLifetimeMs = longProp(props, prefix + "maxLifetimeMs", s.maxLifetimeMs);
+            s.leakDetectionMs = longProp(props, prefix + "leakDetectionMs", s.leakDetectionMs);
+            s.housekeepingIntervalMs = longProp(props, prefix + "housekeepingIntervalMs", s.housekeepingIntervalMs);
+            s.statementCacheSize = intProp(props, prefix + "statementCacheSize", s.statementCacheSize);
+            s.queryTimeoutSec = intProp(props, prefix + "queryTimeoutSec", s.queryTimeoutSec);
+            s.maxWaiters = intProp(props, prefix + "maxWaiters", s.maxWaiters);
+
+            if (s.maxSize < 1) {
+                s.maxSize = 1;
+            }
+            if (s.minIdle > s.maxSize) {
+                s.minIdle = s.maxSize;
+            }
+            return s;
+        }
+
+        static int intProp(Properties props, String key, int defaultValue) {
+            String value = props.getProperty(key);
+            if (value == null || value.trim().isEmpty()) {
+                return defaultValue;
+            }
+            try {
+                return Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                System.err.println("Invalid number for " + key + ": " + value + " (using " + defaultValue + ")");
+                return defaultValue;
+            }
+        }
+
+        static long longProp(Properties props, String key, long defaultValue) {
+            String value = props.getProperty(key);
+            if (value == null || value.trim().isEmpty()) {
+                return defaultValue;
+            }
+            try {
+                return Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                System.err.println("Invalid number for " + key + ": " + value + " (using " + defaultValue + ")");
+                return defaultValue;
+            }
+        }
+
+        public int getMaxSize() { return maxSize; }
+        public int getMinIdle() { return minIdle; }
+        public long getAcquireTimeoutMs() { return acquireTimeoutMs; }
+        public long getValidationIntervalMs() { return validationIntervalMs; }
+        public int getValidationTimeoutSec() { return validationTimeoutSec; }
+        public long getMaxLifetimeMs() { return maxLifetimeMs; }
+        public long getLeakDetectionMs() { return leakDetectionMs; }
+        public long getHousekeepingIntervalMs() { return housekeepingIntervalMs; }
+        public int getStatementCacheSize() { return statementCacheSize; }
+        public int getQueryTimeoutSec() { return queryTimeoutSec; }
+        public int getMaxWaiters() { return maxWaiters; }
+    }
+}
@@ -0,0 +1,168 @@
+package util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming CSV parser (RFC 4180 style).
+ *
+ * PURPOSE: Reads one record at a time, so files of any size can be imported
+ * with constant memory.
+ *
+ * SUPPORTED:
+ * - Comma-separated fields, optionally in double quotes
+ * - Quoted fields containing commas, line breaks and "" (an escaped quote)
+ * - \n, \r\n and \r line endings
+ * - A UTF-8 byte order mark at the start of the file (Excel adds one)
+ *
+ * USAGE:
+ *   try (CsvReader csv = new CsvReader(Files.newBufferedReader(path))) {
+ *       List<String> record;
+ *       while ((record = csv.readRecord()) != null) { ... }
+ *   }
+ */
+public class CsvReader implements Closeable {
+
+    private static final int EOF = -1;
+
+    private final Reader reader;
+    private int pushedBack = -2;
+    private long lineNumber = 1;
+    private long recordLine = 0;
+    private boolean started = false;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Read the next record.
+     * Blank lines are skipped.
+     *
+     * @return Field values (never null), or null at end of file
+     * @throws IOException if the file cannot be read or a quoted field is not closed
+     */
+    public List<String> readRecord() throws IOException {
+        int c = read();
+        if (!started) {
+            started = true;
+            if (c == '\uFEFF') {
+                c = read();
+            }
+        }
+        while (c == '\r' || c == '\n') {
+            skipLineEnd(c);
+            c = read();
+        }
+        if (c == EOF) {
+            return null;
+        }
+
+        recordLine = lineNumber;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        while (true) {
+            if (quoted) {
+                if (c == EOF) {
+                    throw new IOException("Unclosed quoted field starting on line " + recordLine);
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n' || (c == '\r' && peek() != '\n')) {
+                        lineNumber++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == EOF) {
+                fields.add(field.toString());
+                if (c != EOF) {
+                    skipLineEnd(c);
+                }
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * @return Line in the file where the last record returned by readRecord() started (1-based)
+     */
+    public long getRecordLine() {
+        return recordLine;
+    }
+
+    /**
+     * Format one record as a CSV line (without the line break).
+     * Fields with commas, quotes or line breaks are quoted.
+     *
+     * @param fields Field values (null is written as an empty field)
+     * @return CSV line
+     */
+    public static String toLine(List<String> fields) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            String value = fields.get(i) == null ? "" : fields.get(i);
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 ||
+                    value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                line.append('"').append(value.replace("\"", "\"\"")).append('"');
+            } else {
+                line.append(value);
+            }
+        }
+        return line.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private int peek() throws IOException {
+        if (pushedBack == -2) {
+            pushedBack = reader.read();
+        }
+        return pushedBack;
+    }
+
+    /**
+     * Consume a line break (\r\n counts as one) and count the line.
+     */
+    private void skipLineEnd(int c) throws IOException {
+        if (c == '\r' && peek() == '\n') {
+            read();
+        }
+        lineNumber++;
+    }
+}
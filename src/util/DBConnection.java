@@ -21,6 +21,39 @@ import java.sql.SQLException;
  * 3. Create database: CREATE DATABASE vehicle_rental_db;
  * 4. Test connection: java util.DBConnection
  * 
+ * CONNECTION POOLING:
+ * - getConnection() borrows from a shared ConnectionPool instead of opening
+ *   a new physical connection on every DAO call
+ * - DAOs keep using try-with-resources; close() returns the connection to the pool
+ * - Pool size, timeouts and leak detection are set with db.pool.* keys
+ *   (see db.properties.example)
+ * - Each pooled connection caches its PreparedStatements, and MySQL URLs get
+ *   useServerPrepStmts=true so the server keeps the parsed statement too
+ * - MySQL URLs also get rewriteBatchedStatements=true, so the DAOs' bulk
+ *   insert methods send multi-row INSERTs
+ * - and useCursorFetch=true, so the DAOs' stream/forEach methods read large
+ *   tables through a server-side cursor, one fetch batch at a time
+ * 
+ * REPORTING POOL:
+ * - Reports use getReportingConnection(), a separate small pool (db.reporting.pool.*)
+ * - Report queries get a statement timeout, and extra report requests are
+ *   rejected once too many are waiting
+ * - Long-running reports can never use up the connections that booking,
+ *   return and payment screens need
+ * - If db.replica.url is set, reporting connections go to that read-only
+ *   replica instead of the primary; if it is unset (or unreachable), they
+ *   fall back to the primary database
+ * 
+ * EMBEDDED PROFILE:
+ * - Set db.profile=embedded in db.properties, or run with -Ddb.profile=embedded
+ * - Uses an in-memory H2 database in MySQL mode (H2 jar on the classpath
+ *   instead of MySQL Connector/J); no MySQL server or db.properties needed
+ * - The schema and test data from "CCINFOM 22-07.sql" are loaded automatically
+ *   when the first connection is requested, followed by the migrations in
+ *   sql/migrations (see MigrationRunner)
+ * - Meant for DAOCRUDTest, ServiceTest and benchmarks: every run starts from
+ *   the same data on the same machine
+ * 
  * COLLABORATOR NOTES:
  * - IMPORTANT: Add MySQL Connector/J library to project
  * - Download: https://dev.mysql.com/downloads/connector/j/
@@ -32,7 +65,21 @@ public class DBConnection {
     private static String DB_URL;
     private static String DB_USER;
     private static String DB_PASSWORD;
+    private static String REPLICA_URL;
+    private static String REPLICA_USER;
+    private static String REPLICA_PASSWORD;
     private static final String DB_DRIVER = "com.mysql.cj.jdbc.Driver";
+    private static String PROFILE;
+    private static final String PROFILE_MYSQL = "mysql";
+    private static final String PROFILE_EMBEDDED = "embedded";
+    private static final String EMBEDDED_URL =
+            "jdbc:h2:mem:vehicle_rental_db;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1";
+    private static final String DEFAULT_SCHEMA_SCRIPT = "CCINFOM 22-07.sql";
+    private static java.util.Properties config = new java.util.Properties();
+
+    // Shared pools, created on first use
+    private static volatile ConnectionPool pool;
+    private static volatile ConnectionPool reportingPool;
 
     // Load configuration when class is first used
     static {
@@ -60,45 +107,93 @@ public class DBConnection {
     * Load database configuration from db.properties file.
     * Each team member has their own db.properties with their credentials.
     * This file is NOT committed to Git (.gitignore protects it).
+    * 
+    * The embedded profile (db.profile=embedded, or -Ddb.profile=embedded on
+    * the command line) does not need db.properties at all.
     */
     private static void loadDatabaseConfig() {
     java.util.Properties props = new java.util.Properties();
+    boolean loaded = false;
     
     try (java.io.FileInputStream fis = new java.io.FileInputStream("db.properties")) {
         props.load(fis);
-        
+        loaded = true;
+    } catch (java.io.IOException e) {
+        if (!PROFILE_EMBEDDED.equalsIgnoreCase(System.getProperty("db.profile"))) {
+            System.err.println("════════════════════════════════════════════");
+            System.err.println("ERROR: Cannot find db.properties file!");
+            System.err.println("════════════════════════════════════════════");
+            System.err.println("\nSetup Instructions:");
+            System.err.println("1. Copy 'db.properties.example' to 'db.properties'");
+            System.err.println("2. Edit db.properties with YOUR MySQL credentials");
+            System.err.println("3. Make sure db.properties is in project root");
+            System.err.println("\nFile is in .gitignore - your password is safe!");
+            System.err.println("════════════════════════════════════════════\n");
+            e.printStackTrace();
+        }
+    }
+    
+    // -Ddb.profile overrides the file, so tests can switch without editing it
+    String profile = System.getProperty("db.profile", props.getProperty("db.profile", PROFILE_MYSQL));
+    PROFILE = profile.trim().toLowerCase();
+    
+    if (isEmbedded()) {
+        DB_URL = props.getProperty("db.embedded.url", EMBEDDED_URL);
+        DB_USER = props.getProperty("db.embedded.username", "sa");
+        DB_PASSWORD = props.getProperty("db.embedded.password", "");
+        REPLICA_URL = null;
+        REPLICA_USER = DB_USER;
+        REPLICA_PASSWORD = DB_PASSWORD;
+    } else {
         DB_URL = props.getProperty("db.url");
         DB_USER = props.getProperty("db.username");
         DB_PASSWORD = props.getProperty("db.password");
         
+        // Optional read replica for reports (username/password default to the primary's)
+        REPLICA_URL = blankToNull(props.getProperty("db.replica.url"));
+        REPLICA_USER = blankToNull(props.getProperty("db.replica.username"));
+        REPLICA_PASSWORD = blankToNull(props.getProperty("db.replica.password"));
+        if (REPLICA_USER == null) {
+            REPLICA_USER = DB_USER;
+            REPLICA_PASSWORD = DB_PASSWORD;
+        }
+    }
+    config = props;
+    
+    if (loaded) {
         System.out.println("✓ Database configuration loaded from db.properties");
-        
-    } catch (java.io.IOException e) {
-        System.err.println("════════════════════════════════════════════");
-        System.err.println("ERROR: Cannot find db.properties file!");
-        System.err.println("════════════════════════════════════════════");
-        System.err.println("\nSetup Instructions:");
-        System.err.println("1. Copy 'db.properties.example' to 'db.properties'");
-        System.err.println("2. Edit db.properties with YOUR MySQL credentials");
-        System.err.println("3. Make sure db.properties is in project root");
-        System.err.println("\nFile is in .gitignore - your password is safe!");
-        System.err.println("════════════════════════════════════════════\n");
-        e.printStackTrace();
+    }
+    if (isEmbedded()) {
+        System.out.println("✓ Using embedded database profile (" + DB_URL + ")");
     }
 }
     
     /**
      * Get database connection.
-     * Creates new connection each time - suitable for small applications.
+     * Borrows a connection from the shared pool; closing it returns it to the pool.
+     * Inside a UnitOfWork, returns the transaction's connection instead.
      * 
      * @return Connection object to MySQL database
-     * @throws SQLException if connection fails
+     * @throws SQLException if connection fails or the pool is exhausted
      */
     public static Connection getConnection() throws SQLException {
+        Connection transactional = UnitOfWork.currentConnection();
+        if (transactional != null) {
+            return transactional;
+        }
+        return getStandaloneConnection();
+    }
+    
+    /**
+     * Get a pooled connection that never joins the current UnitOfWork.
+     * Use for work that must commit on its own, independent of the caller's transaction.
+     * 
+     * @return Connection object to MySQL database
+     * @throws SQLException if connection fails or the pool is exhausted
+     */
+    public static Connection getStandaloneConnection() throws SQLException {
         try {
-            Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
-            System.out.println("Database connection established.");
-            return conn;
+            return getPool().getConnection();
         } catch (SQLException e) {
             System.err.println("ERROR: Failed to connect to database!");
             System.err.println("Check your DB_URL, DB_USER, and DB_PASSWORD settings.");
@@ -106,6 +201,247 @@ public class DBConnection {
         }
     }
     
+    /**
+     * Get the shared connection pool, creating it on first use.
+     * 
+     * @return Shared ConnectionPool
+     */
+    public static ConnectionPool getPool() {
+        ConnectionPool p = pool;
+        if (p == null) {
+            synchronized (DBConnection.class) {
+                p = pool;
+                if (p == null) {
+                    ConnectionPool.Settings settings = ConnectionPool.Settings.fromProperties(config, "db.pool.");
+                    p = new ConnectionPool("main", settings, DBConnection::openPhysicalConnection);
+                    if (isEmbedded()) {
+                        loadEmbeddedSchema(p);
+                    }
+                    pool = p;
+                }
+            }
+        }
+        return p;
+    }
+    
+    /**
+     * Open pooled connections and prepare frequently used statements ahead of time,
+     * so the first screens after login do not pay connection and parse costs.
+     * 
+     * @param hotStatements SQL text exactly as the DAOs prepare it
+     * @return Number of connections warmed
+     */
+    public static int warmUp(java.util.Collection<String> hotStatements) {
+        return getPool().warmUp(hotStatements);
+    }
+    
+    /**
+     * Get a connection for report queries.
+     * Comes from the reporting pool, so heavy aggregations never compete with
+     * rentals and payments for connections. Statements have a query timeout.
+     * 
+     * @return Connection object to MySQL database
+     * @throws SQLException if connection fails, the reporting pool is busy, or it times out
+     */
+    public static Connection getReportingConnection() throws SQLException {
+        try {
+            return getReportingPool().getConnection();
+        } catch (SQLException e) {
+            System.err.println("ERROR: Could not get a reporting connection: " + e.getMessage());
+            throw e;
+        }
+    }
+    
+    /**
+     * Get the reporting connection pool, creating it on first use.
+     * 
+     * @return Reporting ConnectionPool
+     */
+    public static ConnectionPool getReportingPool() {
+        ConnectionPool p = reportingPool;
+        if (p == null) {
+            synchronized (DBConnection.class) {
+                p = reportingPool;
+                if (p == null) {
+                    ConnectionPool.Settings settings = ConnectionPool.Settings.fromProperties(
+                            config, "db.reporting.pool.", ConnectionPool.Settings.reportingDefaults());
+                    p = new ConnectionPool("reporting", settings, DBConnection::openReportingConnection);
+                    System.out.println("Reports will read from " +
+                            (REPLICA_URL != null ? "replica " + REPLICA_URL : "the primary database"));
+                    reportingPool = p;
+                }
+            }
+        }
+        return p;
+    }
+    
+    /**
+     * Create the tables and test data in the embedded database.
+     * Runs the same script as MySQL setup (db.embedded.script, default
+     * "CCINFOM 22-07.sql"), so every run starts from identical data,
+     * then applies the migrations in sql/migrations.
+     */
+    private static void loadEmbeddedSchema(ConnectionPool p) {
+        String script = config.getProperty("db.embedded.script", DEFAULT_SCHEMA_SCRIPT);
+        long start = System.currentTimeMillis();
+        try (Connection conn = p.getConnection()) {
+            int count = SchemaLoader.loadScript(conn, script);
+            System.out.println("✓ Embedded database loaded from '" + script + "' (" + count +
+                    " statements, " + (System.currentTimeMillis() - start) + " ms)");
+            
+            // -Ddb.embedded.migrate=false keeps the plain script (e.g. for before/after benchmarks)
+            String migrate = System.getProperty("db.embedded.migrate", config.getProperty("db.embedded.migrate", "true"));
+            if (Boolean.parseBoolean(migrate.trim())) {
+                MigrationRunner.migrate(conn, config.getProperty("db.migrations.dir", MigrationRunner.DEFAULT_DIRECTORY));
+            }
+        } catch (SQLException | java.io.IOException e) {
+            System.err.println("ERROR: Could not load embedded database schema from '" + script + "'");
+            System.err.println(e.getMessage());
+        }
+    }
+    
+    /**
+     * Open a new physical connection with DriverManager.
+     * Only the pool should call this.
+     */
+    private static Connection openPhysicalConnection() throws SQLException {
+        return DriverManager.getConnection(withDriverDefaults(DB_URL), DB_USER, DB_PASSWORD);
+    }
+    
+    /**
+     * Open a new physical connection for the reporting pool.
+     * Uses the read replica when configured, otherwise (or if the replica
+     * cannot be reached) the primary. Connections are marked read-only.
+     */
+    private static Connection openReportingConnection() throws SQLException {
+        Connection conn = null;
+        if (REPLICA_URL != null) {
+            try {
+                conn = DriverManager.getConnection(withDriverDefaults(REPLICA_URL), REPLICA_USER, REPLICA_PASSWORD);
+            } catch (SQLException e) {
+                System.err.println("WARNING: Read replica unavailable, reports will use the primary: " + e.getMessage());
+            }
+        }
+        if (conn == null) {
+            conn = openPhysicalConnection();
+        }
+        conn.setReadOnly(true);
+        return conn;
+    }
+    
+    /**
+     * Read a setting from db.properties.
+     * 
+     * @param key Property name (e.g., "sequence.blockSize")
+     * @param defaultValue Returned if the key is missing
+     * @return Property value or defaultValue
+     */
+    public static String getProperty(String key, String defaultValue) {
+        return config.getProperty(key, defaultValue);
+    }
+    
+    /**
+     * Check if the embedded (in-process H2) profile is active.
+     * DAOs can use this to skip SQL the embedded database does not support.
+     * 
+     * @return true if db.profile=embedded
+     */
+    public static boolean isEmbedded() {
+        return PROFILE_EMBEDDED.equals(PROFILE);
+    }
+    
+    /**
+     * Name of the active database profile.
+     * 
+     * @return "mysql" (default) or "embedded"
+     */
+    public static String getProfile() {
+        return PROFILE;
+    }
+    
+    /**
+     * Check if reports are configured to read from a replica.
+     * 
+     * @return true if db.replica.url is set
+     */
+    public static boolean isReplicaConfigured() {
+        return REPLICA_URL != null;
+    }
+    
+    private static String blankToNull(String value) {
+        return (value == null || value.trim().isEmpty()) ? null : value.trim();
+    }
+    
+    /**
+     * Add the MySQL driver options the DAO layer relies on, unless db.url already sets them:
+     * - useServerPrepStmts=true: the server keeps parsed statements (see the statement cache)
+     * - rewriteBatchedStatements=true: JDBC batches are sent as multi-row INSERTs
+     * - useCursorFetch=true: statements with a fetch size read through a server-side
+     *   cursor instead of receiving the whole result (other statements are unchanged)
+     */
+    static String withDriverDefaults(String url) {
+        if (url == null || !url.startsWith("jdbc:mysql:")) {
+            return url;
+        }
+        url = withUrlOption(url, "useServerPrepStmts", "true");
+        url = withUrlOption(url, "rewriteBatchedStatements", "true");
+        return withUrlOption(url, "useCursorFetch", "true");
+    }
+    
+    private static String withUrlOption(String url, String option, String value) {
+        if (url.contains(option + "=")) {
+            return url;
+        }
+        return url + (url.contains("?") ? "&" : "?") + option + "=" + value;
+    }
+    
+    /**
+     * Close all pooled connections.
+     * Call this when the application exits.
+     */
+    public static void shutdown() {
+        synchronized (DBConnection.class) {
+            if (pool != null) {
+                pool.shutdown();
+                pool = null;
+                System.out.println("Database connection pool closed.");
+            }
+            if (reportingPool != null) {
+                reportingPool.shutdown();
+                reportingPool = null;
+                System.out.println("Reporting connection pool closed.");
+            }
+        }
+    }
+    
+    /**
+     * Current pool usage, for diagnostics.
+     * 
+     * @return Summary like "ConnectionPool{name='main', active=1, idle=3, ...}"
+     */
+    public static String getPoolStats() {
+        ConnectionPool p = pool;
+        ConnectionPool r = reportingPool;
+        String stats = p == null ? "ConnectionPool not started" : p.toString();
+        if (r != null) {
+            stats += "\n" + r;
+        }
+        return stats;
+    }
+    
+    /**
+     * Statement cache hit/miss counts for the shared pool.
+     * 
+     * @return {hits, misses}
+     */
+    public static long[] getStatementCacheStats() {
+        ConnectionPool p = pool;
+        if (p == null) {
+            return new long[] { 0, 0 };
+        }
+        return new long[] { p.getStatementCacheHits(), p.getStatementCacheMisses() };
+    }
+    
     /**
      * Test database connection.
      * Run this method to verify your database configuration.
@@ -135,7 +471,6 @@ public class DBConnection {
         if (conn != null) {
             try {
                 conn.close();
-                System.out.println("Database connection closed.");
             } catch (SQLException e) {
                 System.err.println("ERROR: Failed to close connection!");
                 e.printStackTrace();
@@ -150,5 +485,7 @@ public class DBConnection {
     public static void main(String[] args) {
         System.out.println("Testing database connection...");
         testConnection();
+        System.out.println(getPoolStats());
+        shutdown();
     }
 }
@@ -0,0 +1,321 @@
+package util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Applies versioned schema changes on top of "CCINFOM 22-07.sql".
+ *
+ * PURPOSE: Databases that were set up from the main script keep their data;
+ * later schema changes (e.g. new indexes) are shipped as numbered scripts in
+ * sql/migrations and applied once each, in order.
+ *
+ * HOW IT WORKS:
+ * - Scripts are named V<version>__<description>.sql (e.g. V1__dao_predicate_indexes.sql)
+ * - The schema_migrations table records each applied version with a checksum
+ *   of its script; versions already recorded are skipped
+ * - Statements are split and adapted exactly like SchemaLoader does
+ * - A script that was changed after it was applied only gets a warning;
+ *   write a new version instead of editing an old one
+ *
+ * RE-RUNNING AFTER A FAILURE:
+ * MySQL commits every CREATE/DROP INDEX and ALTER TABLE on its own, so a script
+ * that fails part-way is not recorded but its first statements stay applied. On
+ * the next run, "index already exists" (CREATE), "index not found" (DROP) and
+ * "duplicate column" (ADD COLUMN) are skipped, so the script can simply be run
+ * again once the problem is fixed. The same rule lets a migration re-state a
+ * change that newer copies of the main script already include.
+ *
+ * USAGE:
+ *   java util.MigrationRunner              (applies sql/migrations to db.properties' database)
+ *   java util.MigrationRunner other/dir
+ *
+ * The embedded profile runs this automatically after loading the main script.
+ */
+public class MigrationRunner {
+
+    public static final String DEFAULT_DIRECTORY = "sql/migrations";
+    static final String HISTORY_TABLE = "schema_migrations";
+
+    private static final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(.+)\\.sql");
+
+    // MySQL: ER_DUP_KEYNAME, ER_CANT_DROP_FIELD_OR_KEY, ER_DUP_FIELDNAME; H2 reports these SQL states instead
+    private static final int MYSQL_DUPLICATE_KEY_NAME = 1061;
+    private static final int MYSQL_CANT_DROP_KEY = 1091;
+    private static final int MYSQL_DUPLICATE_COLUMN = 1060;
+    private static final String STATE_INDEX_EXISTS = "42S11";
+    private static final String STATE_INDEX_NOT_FOUND = "42S12";
+    private static final String STATE_COLUMN_EXISTS = "42S21";
+
+    private MigrationRunner() {
+    }
+
+    /**
+     * One migration script.
+     */
+    public static class Migration {
+        private final int version;
+        private final String description;
+        private final Path path;
+
+        Migration(int version, String description, Path path) {
+            this.version = version;
+            this.description = description;
+            this.path = path;
+        }
+
+        public int getVersion() {
+            return version;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        @Override
+        public String toString() {
+            return "V" + version + " " + description;
+        }
+    }
+
+    /**
+     * List the migration scripts in a directory, lowest version first.
+     *
+     * @param directory Directory with V<version>__<description>.sql files
+     * @return Migrations in version order (empty if the directory does not exist)
+     * @throws IOException if the directory cannot be read or two scripts share a version
+     */
+    public static List<Migration> findMigrations(String directory) throws IOException {
+        List<Migration> migrations = new ArrayList<>();
+        Path dir = Paths.get(directory);
+        if (!Files.isDirectory(dir)) {
+            return migrations;
+        }
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "V*.sql")) {
+            for (Path file : files) {
+                Matcher m = FILE_NAME.matcher(file.getFileName().toString());
+                if (m.matches()) {
+                    migrations.add(new Migration(Integer.parseInt(m.group(1)),
+                                                 m.group(2).replace('_', ' '), file));
+                } else {
+                    System.err.println("WARNING: Ignoring migration with unexpected name: " + file.getFileName());
+                }
+            }
+        }
+
+        migrations.sort(Comparator.comparingInt(Migration::getVersion));
+        for (int i = 1; i < migrations.size(); i++) {
+            if (migrations.get(i).getVersion() == migrations.get(i - 1).getVersion()) {
+                throw new IOException("Two migrations have version " + migrations.get(i).getVersion() +
+                                      " in " + directory);
+            }
+        }
+        return migrations;
+    }
+
+    /**
+     * Apply every migration in the directory that the database has not recorded yet.
+     *
+     * @param conn Open connection to the target database (auto-commit)
+     * @param directory Directory with the migration scripts
+     * @return Number of migrations applied by this call
+     * @throws SQLException if a statement fails (message names the migration and statement)
+     * @throws IOException if a script cannot be read
+     */
+    public static int migrate(Connection conn, String directory) throws SQLException, IOException {
+        List<Migration> migrations = findMigrations(directory);
+        if (migrations.isEmpty()) {
+            return 0;
+        }
+
+        createHistoryTable(conn);
+        Map<Integer, String> applied = getAppliedChecksums(conn);
+
+        int count = 0;
+        for (Migration migration : migrations) {
+            String script = new String(Files.readAllBytes(migration.getPath()), StandardCharsets.UTF_8);
+            String checksum = checksum(script);
+
+            String recorded = applied.get(migration.getVersion());
+            if (recorded != null) {
+                if (!recorded.equals(checksum)) {
+                    System.err.println("WARNING: " + migration.getPath().getFileName() +
+                                       " was changed after it was applied; the change is not re-run");
+                }
+                continue;
+            }
+
+            long start = System.currentTimeMillis();
+            int statements = runScript(conn, migration, script);
+            long elapsed = System.currentTimeMillis() - start;
+            record(conn, migration, checksum, elapsed);
+
+            System.out.println("✓ Applied migration " + migration + " (" + statements +
+                               " statements, " + elapsed + " ms)");
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Versions recorded in schema_migrations.
+     *
+     * @param conn Open connection to the target database
+     * @return Applied versions in ascending order (empty if no migration has run yet)
+     * @throws SQLException if the history table cannot be read
+     */
+    public static List<Integer> getAppliedVersions(Connection conn) throws SQLException {
+        List<Integer> versions = new ArrayList<>(getAppliedChecksums(conn).keySet());
+        versions.sort(null);
+        return versions;
+    }
+
+    private static int runScript(Connection conn, Migration migration, String script) throws SQLException {
+        int executed = 0;
+        try (Statement stmt = conn.createStatement()) {
+            for (String sql : SchemaLoader.splitStatements(script)) {
+                String translated = SchemaLoader.translate(sql);
+                if (translated == null) {
+                    continue;
+                }
+                try {
+                    stmt.execute(translated);
+                    executed++;
+                } catch (SQLException e) {
+                    if (isAlreadyDone(e)) {
+                        System.out.println("  (skipped, already done: " + oneLine(translated) + ")");
+                        continue;
+                    }
+                    throw new SQLException("Migration " + migration + " failed at: " + oneLine(translated) +
+                                           "\n" + e.getMessage(), e.getSQLState(), e);
+                }
+            }
+        }
+        return executed;
+    }
+
+    private static boolean isAlreadyDone(SQLException e) {
+        return e.getErrorCode() == MYSQL_DUPLICATE_KEY_NAME
+                || e.getErrorCode() == MYSQL_CANT_DROP_KEY
+                || e.getErrorCode() == MYSQL_DUPLICATE_COLUMN
+                || STATE_INDEX_EXISTS.equals(e.getSQLState())
+                || STATE_INDEX_NOT_FOUND.equals(e.getSQLState())
+                || STATE_COLUMN_EXISTS.equals(e.getSQLState());
+    }
+
+    private static void createHistoryTable(Connection conn) throws SQLException {
+        String sql = "CREATE TABLE IF NOT EXISTS " + HISTORY_TABLE + " (" +
+                     "version INT PRIMARY KEY, " +
+                     "description VARCHAR(200) NOT NULL, " +
+                     "script VARCHAR(255) NOT NULL, " +
+                     "checksum VARCHAR(64) NOT NULL, " +
+                     "execution_ms BIGINT NOT NULL, " +
+                     "applied_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)";
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+
+    private static Map<Integer, String> getAppliedChecksums(Connection conn) throws SQLException {
+        Map<Integer, String> applied = new HashMap<>();
+        if (!historyTableExists(conn)) {
+            return applied;
+        }
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version, checksum FROM " + HISTORY_TABLE)) {
+            while (rs.next()) {
+                applied.put(rs.getInt("version"), rs.getString("checksum"));
+            }
+        }
+        return applied;
+    }
+
+    private static boolean historyTableExists(Connection conn) throws SQLException {
+        // Lower case for MySQL/H2 with DATABASE_TO_LOWER; upper case for other H2 URLs
+        for (String name : new String[] { HISTORY_TABLE, HISTORY_TABLE.toUpperCase() }) {
+            try (ResultSet rs = conn.getMetaData().getTables(conn.getCatalog(), null, name, new String[] { "TABLE" })) {
+                if (rs.next()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static void record(Connection conn, Migration migration, String checksum, long elapsed)
+            throws SQLException {
+        String sql = "INSERT INTO " + HISTORY_TABLE +
+                     " (version, description, script, checksum, execution_ms) VALUES (?, ?, ?, ?, ?)";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, migration.getVersion());
+            stmt.setString(2, migration.getDescription());
+            stmt.setString(3, migration.getPath().getFileName().toString());
+            stmt.setString(4, checksum);
+            stmt.setLong(5, elapsed);
+            stmt.executeUpdate();
+        }
+    }
+
+    private static String checksum(String script) {
+        try {
+            // Line endings ignored, so a checkout on Windows does not look like an edit
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(script.replace("\r\n", "\n").getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (byte b : hash) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String oneLine(String sql) {
+        return sql.replaceAll("\\s+", " ");
+    }
+
+    /**
+     * Apply pending migrations to the database in db.properties.
+     *
+     * @param args Optional migrations directory (default sql/migrations)
+     */
+    public static void main(String[] args) {
+        String directory = args.length > 0 ? args[0] : DEFAULT_DIRECTORY;
+        System.out.println("Applying migrations from '" + directory + "' (" + DBConnection.getProfile() + ")...");
+
+        try (Connection conn = DBConnection.getStandaloneConnection()) {
+            int applied = migrate(conn, directory);
+            System.out.println(applied == 0 ? "Database is up to date." : applied + " migration(s) applied.");
+            System.out.println("Applied versions: " + getAppliedVersions(conn));
+        } catch (SQLException | IOException e) {
+            System.err.println("ERROR: Migration failed");
+            System.err.println(e.getMessage());
+        } finally {
+            DBConnection.shutdown();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs a MySQL schema/seed script over JDBC.
+ *
+ * PURPOSE: Loads "CCINFOM 22-07.sql" (tables + test data) into the embedded
+ * database profile, so tests and benchmarks can run without a MySQL server.
+ *
+ * WHAT IT DOES:
+ * - Splits the script into statements on ';' (ignoring ';' inside quotes
+ *   and comments)
+ * - Skips CREATE DATABASE / USE, since the embedded database is already selected
+ * - Replaces SET FOREIGN_KEY_CHECKS with the embedded database's equivalent
+ * - Runs everything else in order and stops at the first failure
+ */
+public class SchemaLoader {
+
+    private SchemaLoader() {
+    }
+
+    /**
+     * Load a script file into the database.
+     *
+     * @param conn Open connection to the target database
+     * @param scriptPath Path to the .sql file
+     * @return Number of statements executed
+     * @throws SQLException if a statement fails (message includes the statement)
+     * @throws IOException if the script cannot be read
+     */
+    public static int loadScript(Connection conn, String scriptPath) throws SQLException, IOException {
+        String script = new String(Files.readAllBytes(Paths.get(scriptPath)), StandardCharsets.UTF_8);
+        List<String> statements = splitStatements(script);
+
+        int executed = 0;
+        try (Statement stmt = conn.createStatement()) {
+            for (String sql : statements) {
+                String translated = translate(sql);
+                if (translated == null) {
+                    continue;
+                }
+                try {
+                    stmt.execute(translated);
+                    executed++;
+                } catch (SQLException e) {
+                    throw new SQLException("Schema script failed at statement " + (executed + 1) + ": " +
+                            abbreviate(translated) + "\n" + e.getMessage(), e.getSQLState(), e);
+                }
+            }
+        }
+        return executed;
+    }
+
+    /**
+     * Adapt one MySQL statement for the embedded database.
+     *
+     * @return Statement to run, or null to skip it
+     */
+    static String translate(String sql) {
+        String upper = sql.trim().toUpperCase();
+
+        if (upper.startsWith("CREATE DATABASE") || upper.startsWith("DROP DATABASE")
+                || upper.startsWith("USE ")) {
+            return null;
+        }
+        if (upper.startsWith("SET FOREIGN_KEY_CHECKS")) {
+            boolean enable = upper.endsWith("1");
+            return "SET REFERENTIAL_INTEGRITY " + (enable ? "TRUE" : "FALSE");
+        }
+        return sql;
+    }
+
+    /**
+     * Split a script into statements. Handles '--' and '#' line comments,
+     * block comments, and quoted strings with doubled or backslash-escaped quotes.
+     */
+    static List<String> splitStatements(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        int i = 0;
+        int n = script.length();
+
+        while (i < n) {
+            char c = script.charAt(i);
+            char next = i + 1 < n ? script.charAt(i + 1) : '\0';
+
+            if (c == '-' && next == '-' || c == '#') {
+                // Line comment: skip to end of line
+                while (i < n && script.charAt(i) != '\n') {
+                    i++;
+                }
+                continue;
+            }
+
+            if (c == '/' && next == '*') {
+                int end = script.indexOf("*/", i + 2);
+                i = end < 0 ? n : end + 2;
+                current.append(' ');
+                continue;
+            }
+
+            if (c == '\'' || c == '"' || c == '`') {
+                int start = i;
+                i++;
+                while (i < n) {
+                    char q = script.charAt(i);
+                    if (q == '\\' && c != '`') {
+                        i += 2;
+                        continue;
+                    }
+                    if (q == c) {
+                        if (i + 1 < n && script.charAt(i + 1) == c) {
+                            i += 2; // doubled quote
+                            continue;
+                        }
+                        break;
+                    }
+                    i++;
+                }
+                i = Math.min(i + 1, n);
+                current.append(script, start, i);
+                continue;
+            }
+
+            if (c == ';') {
+                addStatement(statements, current);
+                i++;
+                continue;
+            }
+
+            current.append(c);
+            i++;
+        }
+        addStatement(statements, current);
+        return statements;
+    }
+
+    private static void addStatement(List<String> statements, StringBuilder current) {
+        String sql = current.toString().trim();
+        if (!sql.isEmpty()) {
+            statements.add(sql);
+        }
+        current.setLength(0);
+    }
+
+    private static String abbreviate(String sql) {
+        String oneLine = sql.replaceAll("\\s+", " ");
+        return oneLine.length() > 120 ? oneLine.substring(0, 117) + "..." : oneLine;
+    }
+}
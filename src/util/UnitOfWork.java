@@ -0,0 +1,182 @@
+package util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Transaction scope for multi-step service operations.
+ *
+ * PURPOSE: Lets a service method run all of its DAO calls on ONE connection
+ * with ONE commit, instead of every DAO call borrowing its own auto-commit
+ * connection. If any step fails, every write in the operation is rolled back.
+ *
+ * HOW IT WORKS:
+ * - execute() borrows a connection, turns off auto-commit, and binds it to
+ *   the current thread
+ * - While bound, DBConnection.getConnection() returns that same connection,
+ *   so DAOs join the transaction without any code changes
+ * - The DAOs' try-with-resources close() is ignored while the unit of work is open
+ * - When the work finishes, the transaction commits if the result counts as a
+ *   success, otherwise it rolls back
+ * - A nested execute() joins the outer unit of work; if the nested work fails,
+ *   the whole outer operation is rolled back
+ *
+ * USAGE:
+ *   return UnitOfWork.execute(
+ *       () -> doBookRental(customerID, plateID, locationID, pickUpDateTime),
+ *       rentalID -> rentalID != null,
+ *       null);
+ *
+ * NOTE: DAOs report failures by returning false/null, so the success check
+ * is how the unit of work knows whether to commit.
+ */
+public final class UnitOfWork {
+
+    private static final ThreadLocal<UnitOfWork> CURRENT = new ThreadLocal<>();
+
+    private final Connection connection;
+    private final Connection sharedHandle;
+    private boolean rollbackOnly = false;
+
+    private UnitOfWork(Connection connection) {
+        this.connection = connection;
+        this.sharedHandle = (Connection) Proxy.newProxyInstance(
+                UnitOfWork.class.getClassLoader(),
+                new Class<?>[] { Connection.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            return null; // the unit of work closes the real connection
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            try {
+                                return method.invoke(connection, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getCause();
+                            }
+                    }
+                });
+    }
+
+    /**
+     * Run work inside a transaction.
+     *
+     * @param work The service logic to run
+     * @param isSuccess Decides from the result whether to commit
+     * @param failureValue Returned if the commit itself fails
+     * @return The work's result, or failureValue if the commit failed
+     */
+    public static <T> T execute(Supplier<T> work, Predicate<T> isSuccess, T failureValue) {
+        UnitOfWork outer = CURRENT.get();
+        if (outer != null) {
+            return joinOuter(outer, work, isSuccess);
+        }
+
+        Connection conn;
+        try {
+            conn = DBConnection.getStandaloneConnection();
+            conn.setAutoCommit(false);
+        } catch (SQLException e) {
+            System.err.println("WARNING: Could not start transaction, running steps individually: " + e.getMessage());
+            return work.get();
+        }
+
+        UnitOfWork uow = new UnitOfWork(conn);
+        CURRENT.set(uow);
+        try {
+            T result;
+            try {
+                result = work.get();
+            } catch (RuntimeException e) {
+                uow.rollback();
+                throw e;
+            }
+
+            if (!uow.rollbackOnly && isSuccess.test(result)) {
+                try {
+                    conn.commit();
+                    return result;
+                } catch (SQLException e) {
+                    System.err.println("ERROR: Transaction commit failed: " + e.getMessage());
+                    uow.rollback();
+                    return failureValue;
+                }
+            }
+
+            uow.rollback();
+            if (uow.rollbackOnly && isSuccess.test(result)) {
+                // A nested step failed after this level reported success
+                return failureValue;
+            }
+            return result;
+        } finally {
+            CURRENT.remove();
+            try {
+                conn.close();
+            } catch (SQLException e) {
+                System.err.println("ERROR: Failed to release transaction connection: " + e.getMessage());
+            }
+        }
+    }
+
+    private static <T> T joinOuter(UnitOfWork outer, Supplier<T> work, Predicate<T> isSuccess) {
+        T result;
+        try {
+            result = work.get();
+        } catch (RuntimeException e) {
+            outer.rollbackOnly = true;
+            throw e;
+        }
+        if (!isSuccess.test(result)) {
+            outer.rollbackOnly = true;
+        }
+        return result;
+    }
+
+    private void rollback() {
+        try {
+            connection.rollback();
+            System.out.println("Transaction rolled back.");
+        } catch (SQLException e) {
+            System.err.println("ERROR: Transaction rollback failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Connection bound to the current thread's unit of work, if any.
+     * DBConnection.getConnection() uses this so DAOs join the transaction.
+     *
+     * @return Shared connection (close() is ignored), or null outside a unit of work
+     */
+    static Connection currentConnection() {
+        UnitOfWork uow = CURRENT.get();
+        return uow == null ? null : uow.sharedHandle;
+    }
+
+    /**
+     * Check if the current thread is inside a unit of work.
+     *
+     * @return true if DAO calls will join a transaction
+     */
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Force the current unit of work to roll back when it finishes.
+     * Does nothing outside a unit of work.
+     */
+    public static void markRollbackOnly() {
+        UnitOfWork uow = CURRENT.get();
+        if (uow != null) {
+            uow.rollbackOnly = true;
+        }
+    }
+}